@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.betweenness;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipIterator;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Approximates betweenness centrality by sampling node pairs (s, t) and a uniformly chosen shortest path between them
+ * (Riondato and Kornaropoulos, 2016). Every inner node of the sampled path receives one hit.
+ * <p>
+ * The number of samples is bounded by the Riondato-Kornaropoulos sample size for the given error bound and confidence level.
+ * Sampling stops earlier as soon as the adaptive bound of KADABRA (Borassi and Natale, 2016) for the currently
+ * highest estimate is below the error bound. The error bound refers to the normalized centrality, i.e. the
+ * fraction of all node pairs whose shortest paths run through a node.
+ */
+final class AdaptiveSampling {
+
+    // constant of the Riondato-Kornaropoulos sample size bound
+    private static final double UNIVERSAL_CONSTANT = 0.5;
+    private static final long MIN_SAMPLES_PER_ROUND = 1024;
+    private static final long ROUNDS = 100;
+
+    private final double errorBound;
+    private final double confidenceLevel;
+    private final Optional<Long> maybeRandomSeed;
+
+    private long sampledPairs;
+
+    AdaptiveSampling(double errorBound, double confidenceLevel, Optional<Long> maybeRandomSeed) {
+        this.errorBound = errorBound;
+        this.confidenceLevel = confidenceLevel;
+        this.maybeRandomSeed = maybeRandomSeed;
+    }
+
+    long sampledPairs() {
+        return sampledPairs;
+    }
+
+    /**
+     * Fills the given array with the estimated centrality and returns the achieved (normalized) error bound.
+     */
+    double compute(
+        Graph graph,
+        HugeAtomicDoubleArray centrality,
+        double divisor,
+        ExecutorService executorService,
+        int concurrency,
+        ProgressLogger progressLogger,
+        BooleanSupplier running,
+        AllocationTracker tracker
+    ) {
+        long nodeCount = graph.nodeCount();
+        if (nodeCount < 3) {
+            return 0.0;
+        }
+
+        double failureProbability = 1.0 - confidenceLevel;
+        // half of the failure probability is spent on the sample size bound, the other half on the per node bounds
+        long maxSamples = maxSamples(nodeCount, errorBound, failureProbability / 2);
+        double failureProbabilityPerNode = failureProbability / (2.0 * nodeCount);
+
+        var hits = HugeAtomicLongArray.newArray(nodeCount, tracker);
+        var maxHits = new AtomicLong();
+        var remaining = new AtomicLong();
+        var random = maybeRandomSeed.map(SplittableRandom::new).orElseGet(SplittableRandom::new);
+
+        Collection<Runnable> tasks = ParallelUtil.tasks(
+            concurrency,
+            () -> new SamplingTask(graph, hits, maxHits, remaining, random.split(), running, tracker)
+        );
+
+        long samplesPerRound = Math.max(MIN_SAMPLES_PER_ROUND, maxSamples / ROUNDS);
+        long samples = 0;
+        double achievedError = errorBound;
+        while (samples < maxSamples && running.getAsBoolean()) {
+            long round = Math.min(samplesPerRound, maxSamples - samples);
+            remaining.set(round);
+            ParallelUtil.run(tasks, executorService);
+            samples += round;
+            progressLogger.logProgress((double) samples, maxSamples);
+
+            double error = adaptiveErrorBound(
+                (double) maxHits.get() / samples,
+                maxSamples,
+                samples,
+                failureProbabilityPerNode
+            );
+            if (error <= errorBound) {
+                achievedError = error;
+                break;
+            }
+        }
+        sampledPairs = samples;
+
+        // scale the normalized estimate to the range of the exact algorithm
+        double scale = (double) nodeCount * (nodeCount - 1) / samples / divisor;
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            centrality.set(nodeId, hits.get(nodeId) * scale);
+        }
+        return achievedError;
+    }
+
+    /**
+     * Sample size from Riondato and Kornaropoulos. The vertex diameter is bounded by the node count.
+     */
+    static long maxSamples(long nodeCount, double errorBound, double failureProbability) {
+        double vertexDiameter = Math.max(3, nodeCount);
+        double log2 = Math.floor(Math.log(vertexDiameter - 2) / Math.log(2));
+        return (long) Math.ceil(UNIVERSAL_CONSTANT / (errorBound * errorBound) * (log2 + 1 + Math.log(1 / failureProbability)));
+    }
+
+    /**
+     * Upper deviation bound from KADABRA for a node with the given estimate after {@code samples} of at most
+     * {@code maxSamples} samples. The bound is monotone in the estimate, so the highest estimate bounds all nodes.
+     */
+    static double adaptiveErrorBound(double estimate, long maxSamples, long samples, double failureProbability) {
+        double logTerm = Math.log(1 / failureProbability);
+        double ratio = (double) maxSamples / samples;
+        double offset = 1.0 / 3.0 + ratio;
+        return logTerm / samples * (offset + Math.sqrt(offset * offset + 2 * estimate * maxSamples / logTerm));
+    }
+
+    private static final class SamplingTask implements Runnable {
+
+        private final Graph graph;
+        private final RelationshipIterator localRelationshipIterator;
+        private final HugeAtomicLongArray hits;
+        private final AtomicLong maxHits;
+        private final AtomicLong remaining;
+        private final SplittableRandom random;
+        private final BooleanSupplier running;
+
+        private final BetweennessCentrality.VisitedNodes visited;
+        private final HugeIntArray distance;
+        // number of shortest paths from a node to the target
+        private final HugeDoubleArray paths;
+
+        private long visitedCount;
+        private int currentDistance;
+        private double currentPaths;
+        private double threshold;
+        private long nextNode;
+
+        SamplingTask(
+            Graph graph,
+            HugeAtomicLongArray hits,
+            AtomicLong maxHits,
+            AtomicLong remaining,
+            SplittableRandom random,
+            BooleanSupplier running,
+            AllocationTracker tracker
+        ) {
+            long nodeCount = graph.nodeCount();
+            this.graph = graph;
+            this.localRelationshipIterator = graph.concurrentCopy();
+            this.hits = hits;
+            this.maxHits = maxHits;
+            this.remaining = remaining;
+            this.random = random;
+            this.running = running;
+            this.visited = BetweennessCentrality.VisitedNodes.of(nodeCount, tracker);
+            this.distance = HugeIntArray.newArray(nodeCount, tracker);
+            this.distance.fill(-1);
+            this.paths = HugeDoubleArray.newArray(nodeCount, tracker);
+        }
+
+        @Override
+        public void run() {
+            long nodeCount = graph.nodeCount();
+            while (remaining.getAndDecrement() > 0 && running.getAsBoolean()) {
+                long source = random.nextLong(nodeCount);
+                long target = random.nextLong(nodeCount - 1);
+                if (target >= source) {
+                    target++;
+                }
+                sample(source, target);
+            }
+        }
+
+        private void sample(long source, long target) {
+            distance.set(source, 0);
+            visited.set(0, source);
+            visitedCount = 1;
+
+            // BFS from the source until the level of the target is reached
+            for (long head = 0; head < visitedCount; head++) {
+                long node = visited.get(head);
+                currentDistance = distance.get(node);
+                int targetDistance = distance.get(target);
+                if (targetDistance >= 0 && currentDistance >= targetDistance) {
+                    break;
+                }
+                localRelationshipIterator.forEachRelationship(node, this::forward);
+            }
+
+            int targetDistance = distance.get(target);
+            if (targetDistance > 0) {
+                // count shortest paths towards the target, pulled from the successors
+                paths.set(target, 1);
+                for (long tail = visitedCount - 1; tail >= 0; tail--) {
+                    long node = visited.get(tail);
+                    currentDistance = distance.get(node);
+                    if (currentDistance < targetDistance) {
+                        currentPaths = 0;
+                        localRelationshipIterator.forEachRelationship(node, this::countPaths);
+                        paths.set(node, currentPaths);
+                    }
+                }
+
+                // walk a uniformly chosen shortest path and hit its inner nodes
+                long node = source;
+                while (true) {
+                    currentDistance = distance.get(node);
+                    threshold = random.nextDouble() * paths.get(node);
+                    nextNode = -1;
+                    localRelationshipIterator.forEachRelationship(node, this::choose);
+                    node = nextNode;
+                    if (node == target || node == -1) {
+                        break;
+                    }
+                    long nodeHits;
+                    do {
+                        nodeHits = hits.get(node);
+                    } while (!hits.compareAndSet(node, nodeHits, nodeHits + 1));
+                    nodeHits++;
+                    long currentMax = maxHits.get();
+                    while (nodeHits > currentMax && !maxHits.compareAndSet(currentMax, nodeHits)) {
+                        currentMax = maxHits.get();
+                    }
+                }
+            }
+
+            for (long i = 0; i < visitedCount; i++) {
+                long visitedNode = visited.get(i);
+                distance.set(visitedNode, -1);
+                paths.set(visitedNode, 0);
+            }
+        }
+
+        private boolean forward(long source, long target) {
+            if (distance.get(target) < 0) {
+                distance.set(target, currentDistance + 1);
+                visited.set(visitedCount++, target);
+            }
+            return true;
+        }
+
+        private boolean countPaths(long source, long target) {
+            if (distance.get(target) == currentDistance + 1) {
+                currentPaths += paths.get(target);
+            }
+            return true;
+        }
+
+        private boolean choose(long source, long target) {
+            if (distance.get(target) == currentDistance + 1) {
+                double targetPaths = paths.get(target);
+                if (targetPaths > 0) {
+                    nextNode = target;
+                    threshold -= targetPaths;
+                    return threshold >= 0;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -20,24 +20,19 @@
 package org.neo4j.graphalgo.betweenness;
 
 import com.carrotsearch.hppc.LongArrayList;
-import com.carrotsearch.hppc.cursors.LongCursor;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.RelationshipIterator;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
-import org.neo4j.graphalgo.core.utils.paged.HugeCursor;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
-import org.neo4j.graphalgo.core.utils.paged.HugeLongArrayQueue;
-import org.neo4j.graphalgo.core.utils.paged.HugeLongArrayStack;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeBufferedDoubleAdder;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.function.Consumer;
 
 public class BetweennessCentrality extends Algorithm<BetweennessCentrality, HugeAtomicDoubleArray> {
 
@@ -51,18 +46,47 @@ public class BetweennessCentrality extends Algorithm<BetweennessCentrality, Huge
 
     private final ExecutorService executorService;
     private final int concurrency;
+    private final boolean multiSourceTraversal;
+    private final AdaptiveSampling adaptiveSampling;
     private final AllocationTracker tracker;
 
+    private double approximationError;
+
+    public BetweennessCentrality(
+        Graph graph,
+        SelectionStrategy selectionStrategy,
+        ExecutorService executorService,
+        int concurrency,
+        AllocationTracker tracker
+    ) {
+        this(graph, selectionStrategy, executorService, concurrency, false, tracker);
+    }
+
     public BetweennessCentrality(
         Graph graph,
         SelectionStrategy selectionStrategy,
         ExecutorService executorService,
         int concurrency,
+        boolean multiSourceTraversal,
+        AllocationTracker tracker
+    ) {
+        this(graph, selectionStrategy, null, executorService, concurrency, multiSourceTraversal, tracker);
+    }
+
+    BetweennessCentrality(
+        Graph graph,
+        SelectionStrategy selectionStrategy,
+        AdaptiveSampling adaptiveSampling,
+        ExecutorService executorService,
+        int concurrency,
+        boolean multiSourceTraversal,
         AllocationTracker tracker
     ) {
         this.graph = graph;
+        this.adaptiveSampling = adaptiveSampling;
         this.executorService = executorService;
         this.concurrency = concurrency;
+        this.multiSourceTraversal = multiSourceTraversal;
         this.nodeCount = graph.nodeCount();
         this.centrality = HugeAtomicDoubleArray.newArray(nodeCount, tracker);
         this.selectionStrategy = selectionStrategy;
@@ -73,11 +97,41 @@ public class BetweennessCentrality extends Algorithm<BetweennessCentrality, Huge
 
     @Override
     public HugeAtomicDoubleArray compute() {
+        if (adaptiveSampling != null) {
+            approximationError = adaptiveSampling.compute(
+                graph,
+                centrality,
+                divisor,
+                executorService,
+                concurrency,
+                getProgressLogger(),
+                this::running,
+                tracker
+            );
+            return centrality;
+        }
+        approximationError = selectionStrategy == SelectionStrategy.ALL ? 0.0 : Double.NaN;
         nodeQueue.set(0);
-        ParallelUtil.run(ParallelUtil.tasks(concurrency, () -> new BCTask(tracker)), executorService);
+        // every thread sums up the scores of frequently updated nodes in its own cells, which avoids contention on high centrality nodes
+        var scores = HugeBufferedDoubleAdder.of(centrality, tracker);
+        if (multiSourceTraversal) {
+            ParallelUtil.run(ParallelUtil.tasks(concurrency, () -> new MultiSourceBCTask(scores, tracker)), executorService);
+        } else {
+            ParallelUtil.run(ParallelUtil.tasks(concurrency, () -> new BCTask(scores, tracker)), executorService);
+        }
+        scores.flush();
+        tracker.remove(scores.release());
         return centrality;
     }
 
+    /**
+     * Returns the error bound of the normalized centrality scores which holds with the configured confidence level.
+     * The bound is 0 for the exact computation and NaN when sampling a fixed number of source nodes.
+     */
+    public double approximationError() {
+        return approximationError;
+    }
+
     @Override
     public BetweennessCentrality me() {
         return this;
@@ -93,32 +147,34 @@ public class BetweennessCentrality extends Algorithm<BetweennessCentrality, Huge
 
         private final RelationshipIterator localRelationshipIterator;
 
-        private final HugeObjectArray<LongArrayList> predecessors;
-        private final HugeCursor<LongArrayList[]> predecessorsCursor;
-
-        private final HugeLongArrayQueue forwardNodes;
-        private final HugeLongArrayStack backwardNodes;
+        // nodes in the order they have been reached, used as
+        // FIFO queue in the forward and as stack in the backward traversal
+        private final VisitedNodes visited;
 
         private final HugeDoubleArray delta;
         private final HugeLongArray sigma;
         private final HugeIntArray distance;
+        private final HugeBufferedDoubleAdder scores;
 
-        private BCTask(AllocationTracker tracker) {
-            this.localRelationshipIterator = graph.concurrentCopy();
+        private long visitedCount;
+        private int currentDistance;
+        private double currentSigma;
+        private double currentDependency;
 
-            this.predecessors = HugeObjectArray.newArray(LongArrayList.class, nodeCount, tracker);
-            this.predecessorsCursor = predecessors.newCursor();
-            this.backwardNodes = HugeLongArrayStack.newStack(nodeCount, tracker);
-            // TODO: make queue growable
-            this.forwardNodes = HugeLongArrayQueue.newQueue(nodeCount, tracker);
+        private BCTask(HugeBufferedDoubleAdder scores, AllocationTracker tracker) {
+            this.localRelationshipIterator = graph.concurrentCopy();
+            this.scores = scores;
 
-            this.sigma = HugeLongArray.newArray(nodeCount, tracker);;
+            this.visited = VisitedNodes.of(nodeCount, tracker);
+            this.sigma = HugeLongArray.newArray(nodeCount, tracker);
             this.delta = HugeDoubleArray.newArray(nodeCount, tracker);
             this.distance = HugeIntArray.newArray(nodeCount, tracker);
+            this.distance.fill(-1);
         }
 
         @Override
         public void run() {
+            var localScores = scores.accumulator();
             for (;;) {
                 // take start node from the queue
                 long startNodeId = nodeQueue.getAndIncrement();
@@ -129,86 +185,353 @@ public class BetweennessCentrality extends Algorithm<BetweennessCentrality, Huge
                 if (!selectionStrategy.select(startNodeId)) {
                     continue;
                 }
-                // reset
                 getProgressLogger().logProgress(startNodeId / (nodeCount - 1));
 
-                clear();
-
-                sigma.addTo(startNodeId, 1);
+                sigma.set(startNodeId, 1);
                 distance.set(startNodeId, 0);
-
-                forwardNodes.add(startNodeId);
+                visited.set(0, startNodeId);
+                visitedCount = 1;
 
                 // BC forward traversal
-                while (!forwardNodes.isEmpty()) {
-                    long node = forwardNodes.remove();
-                    backwardNodes.push(node);
-                    int distanceNode = distance.get(node);
-
-                    localRelationshipIterator.forEachRelationship(node, (source, target) -> {
-                        if (distance.get(target) < 0) {
-                            forwardNodes.add(target);
-                            distance.set(target, distanceNode + 1);
-                        }
-
-                        if (distance.get(target) == distanceNode + 1) {
-                            sigma.addTo(target, sigma.get(source));
-                            append(target, source);
-                        }
-                        return true;
-                    });
+                for (long head = 0; head < visitedCount; head++) {
+                    long node = visited.get(head);
+                    currentDistance = distance.get(node);
+                    localRelationshipIterator.forEachRelationship(node, this::forward);
                 }
 
-                while (!backwardNodes.isEmpty()) {
-                    long node = backwardNodes.pop();
-                    LongArrayList predecessors = this.predecessors.get(node);
-
-                    double dependencyNode = delta.get(node);
-                    double sigmaNode = sigma.get(node);
+                // BC backward traversal, predecessors are not stored but the dependency of
+                // a node is pulled from all of its successors in the shortest path DAG
+                for (long tail = visitedCount - 1; tail >= 0; tail--) {
+                    long node = visited.get(tail);
+                    currentDistance = distance.get(node);
+                    currentSigma = sigma.get(node);
+                    currentDependency = 0.0;
+                    localRelationshipIterator.forEachRelationship(node, this::backward);
+                    delta.set(node, currentDependency);
 
-                    if (null != predecessors) {
-                        predecessors.forEach((Consumer<? super LongCursor>) predecessor -> {
-                            double sigmaPredecessor = sigma.get(predecessor.value);
-                            double dependency = sigmaPredecessor / sigmaNode * (dependencyNode + 1.0);
-                            delta.addTo(predecessor.value, dependency);
-                        });
-                    }
                     if (node != startNodeId) {
-                        double current;
-                        do {
-                            current = centrality.get(node);
-                        } while (!centrality.compareAndSet(node, current, current + dependencyNode / divisor));
+                        localScores.add(node, currentDependency / divisor);
                     }
                 }
+
+                // reset only the entries that have been touched by this source
+                for (long i = 0; i < visitedCount; i++) {
+                    long node = visited.get(i);
+                    distance.set(node, -1);
+                    sigma.set(node, 0);
+                    delta.set(node, 0);
+                }
             }
         }
 
-        // append node to the path at target
-        private void append(long target, long node) {
-            LongArrayList targetPredecessors = predecessors.get(target);
-            if (null == targetPredecessors) {
-                targetPredecessors = new LongArrayList();
-                predecessors.set(target, targetPredecessors);
+        private boolean forward(long source, long target) {
+            int distanceTarget = distance.get(target);
+            if (distanceTarget < 0) {
+                distanceTarget = currentDistance + 1;
+                distance.set(target, distanceTarget);
+                visited.set(visitedCount++, target);
             }
-            targetPredecessors.add(node);
+            if (distanceTarget == currentDistance + 1) {
+                sigma.addTo(target, sigma.get(source));
+            }
+            return true;
         }
 
-        private void clear() {
-            distance.fill(-1);
-            sigma.fill(0);
-            delta.fill(0);
+        private boolean backward(long source, long target) {
+            if (distance.get(target) == currentDistance + 1) {
+                currentDependency += currentSigma / sigma.get(target) * (delta.get(target) + 1.0);
+            }
+            return true;
+        }
+    }
 
-            predecessors.initCursor(predecessorsCursor);
+    /**
+     * Runs the traversals of up to 64 sources at once. Each node carries a bit mask
+     * with one bit per source of the batch, so that a single scan over the relationships of a node
+     * advances the BFS of all sources which reached that node at the same depth.
+     * Sigma and delta are only stored for the sources of a visit log entry, in the order of their bits,
+     * so the memory grows with the (node, source) pairs that are actually reached by a batch.
+     * As the sources reaching a node are only known once a level is complete, every level is scanned twice:
+     * first to collect the masks of the next level and then to push sigma along the shortest paths.
+     */
+    final class MultiSourceBCTask implements Runnable {
 
-            while (predecessorsCursor.next()) {
-                for (int i = predecessorsCursor.offset; i < predecessorsCursor.limit; i++) {
-                    if (predecessorsCursor.array[i] != null) {
-                        // We avoid using LongArrayList#clear since it would
-                        // fill the inner array with zeros. We don't need that
-                        // so we just reset the index which is cheaper
-                        predecessorsCursor.array[i].elementsCount = 0;
+        private final RelationshipIterator localRelationshipIterator;
+
+        // sources that already reached a node
+        private final HugeLongArray seen;
+        // sources that reach a node in the next level
+        private final HugeLongArray visitNext;
+        // visit log entry + 1 of a node on the level following the one currently processed
+        private final HugeLongArray levelEntry;
+
+        // (node, sources) pairs in the order they have been reached, grouped by level,
+        // and the index of the first sigma and delta value of each pair
+        private HugeLongArray logNodes;
+        private HugeLongArray logMasks;
+        private HugeLongArray logValueOffsets;
+        private long logSize;
+        private final LongArrayList levelOffsets;
+
+        private HugeLongArray sigma;
+        private HugeDoubleArray delta;
+        private long valueCount;
+
+        private final long[] sources;
+        private final HugeBufferedDoubleAdder scores;
+
+        private long currentEntry;
+        private long currentMask;
+        private long nextLevelStart;
+        private long nextLevelEnd;
+
+        private MultiSourceBCTask(HugeBufferedDoubleAdder scores, AllocationTracker tracker) {
+            this.localRelationshipIterator = graph.concurrentCopy();
+            this.scores = scores;
+
+            this.seen = HugeLongArray.newArray(nodeCount, tracker);
+            this.visitNext = HugeLongArray.newArray(nodeCount, tracker);
+            this.levelEntry = HugeLongArray.newArray(nodeCount, tracker);
+            this.logNodes = HugeLongArray.newArray(nodeCount, tracker);
+            this.logMasks = HugeLongArray.newArray(nodeCount, tracker);
+            this.logValueOffsets = HugeLongArray.newArray(nodeCount, tracker);
+            this.levelOffsets = new LongArrayList();
+            this.sigma = HugeLongArray.newArray(nodeCount, tracker);
+            this.delta = HugeDoubleArray.newArray(nodeCount, tracker);
+            this.sources = new long[Long.SIZE];
+        }
+
+        @Override
+        public void run() {
+            var localScores = scores.accumulator();
+            int sourceCount;
+            while ((sourceCount = nextBatch()) > 0) {
+                logSize = 0;
+                valueCount = 0;
+                levelOffsets.clear();
+
+                for (int i = 0; i < sourceCount; i++) {
+                    long source = sources[i];
+                    long bit = 1L << i;
+                    seen.set(source, bit);
+                    append(source, bit);
+                    sigma.set(logValueOffsets.get(i), 1);
+                }
+
+                // BC forward traversal, one level for all sources at a time
+                long levelStart = 0;
+                long levelEnd = logSize;
+                levelOffsets.add(levelStart);
+                while (levelStart < levelEnd) {
+                    for (long entry = levelStart; entry < levelEnd; entry++) {
+                        currentMask = logMasks.get(entry);
+                        localRelationshipIterator.forEachRelationship(logNodes.get(entry), this::discover);
+                    }
+                    for (long entry = levelEnd; entry < logSize; entry++) {
+                        long node = logNodes.get(entry);
+                        long mask = visitNext.get(node);
+                        setMask(entry, mask);
+                        seen.or(node, mask);
+                        visitNext.set(node, 0);
+                        levelEntry.set(node, entry + 1);
+                    }
+                    nextLevelStart = levelEnd;
+                    nextLevelEnd = logSize;
+                    for (long entry = levelStart; entry < levelEnd; entry++) {
+                        currentEntry = entry;
+                        currentMask = logMasks.get(entry);
+                        localRelationshipIterator.forEachRelationship(logNodes.get(entry), this::forward);
+                    }
+                    levelOffsets.add(levelEnd);
+                    levelStart = levelEnd;
+                    levelEnd = logSize;
+                }
+
+                // BC backward traversal, dependencies are pulled from the successors on the level below
+                int levels = levelOffsets.size() - 1;
+                for (int level = levels - 2; level >= 0; level--) {
+                    nextLevelStart = levelOffsets.get(level + 1);
+                    nextLevelEnd = levelOffsets.get(level + 2);
+                    for (long entry = nextLevelStart; entry < nextLevelEnd; entry++) {
+                        levelEntry.set(logNodes.get(entry), entry + 1);
+                    }
+                    for (long entry = levelOffsets.get(level); entry < nextLevelStart; entry++) {
+                        currentEntry = entry;
+                        currentMask = logMasks.get(entry);
+                        long node = logNodes.get(entry);
+                        localRelationshipIterator.forEachRelationship(node, this::backward);
+
+                        // sources are only visited on level 0 and do not gain centrality
+                        if (level > 0) {
+                            double dependency = 0.0;
+                            long offset = logValueOffsets.get(entry);
+                            long end = offset + Long.bitCount(currentMask);
+                            for (long index = offset; index < end; index++) {
+                                dependency += delta.get(index);
+                            }
+                            localScores.add(node, dependency / divisor);
+                        }
                     }
                 }
+
+                // reset only the entries that have been touched by this batch
+                for (long entry = 0; entry < logSize; entry++) {
+                    long node = logNodes.get(entry);
+                    seen.set(node, 0);
+                    levelEntry.set(node, 0);
+                }
+                for (long index = 0; index < valueCount; index++) {
+                    sigma.set(index, 0);
+                    delta.set(index, 0);
+                }
+            }
+        }
+
+        private int nextBatch() {
+            int sourceCount = 0;
+            while (sourceCount < sources.length && running()) {
+                long startNodeId = nodeQueue.getAndIncrement();
+                if (startNodeId >= nodeCount) {
+                    break;
+                }
+                if (selectionStrategy.select(startNodeId)) {
+                    getProgressLogger().logProgress(startNodeId / (nodeCount - 1));
+                    sources[sourceCount++] = startNodeId;
+                }
+            }
+            return sourceCount;
+        }
+
+        private boolean discover(long source, long target) {
+            long bits = currentMask & ~seen.get(target);
+            if (bits != 0) {
+                long next = visitNext.get(target);
+                if (next == 0) {
+                    append(target, 0);
+                }
+                visitNext.set(target, next | bits);
+            }
+            return true;
+        }
+
+        private boolean forward(long source, long target) {
+            long targetEntry = levelEntry.get(target) - 1;
+            if (targetEntry < nextLevelStart) {
+                return true;
+            }
+            long targetMask = logMasks.get(targetEntry);
+            long bits = currentMask & targetMask;
+            while (bits != 0) {
+                int i = Long.numberOfTrailingZeros(bits);
+                sigma.addTo(valueIndex(targetEntry, targetMask, i), sigma.get(valueIndex(currentEntry, currentMask, i)));
+                bits &= bits - 1;
+            }
+            return true;
+        }
+
+        private boolean backward(long source, long target) {
+            long targetEntry = levelEntry.get(target) - 1;
+            if (targetEntry < nextLevelStart || targetEntry >= nextLevelEnd) {
+                return true;
+            }
+            long targetMask = logMasks.get(targetEntry);
+            long bits = currentMask & targetMask;
+            while (bits != 0) {
+                int i = Long.numberOfTrailingZeros(bits);
+                long sourceIndex = valueIndex(currentEntry, currentMask, i);
+                long targetIndex = valueIndex(targetEntry, targetMask, i);
+                delta.addTo(
+                    sourceIndex,
+                    (double) sigma.get(sourceIndex) / sigma.get(targetIndex) * (delta.get(targetIndex) + 1.0)
+                );
+                bits &= bits - 1;
+            }
+            return true;
+        }
+
+        private void append(long node, long mask) {
+            if (logSize == logNodes.size()) {
+                long newSize = logSize + (logSize >> 1) + 1;
+                logNodes = logNodes.copyOf(newSize, tracker);
+                logMasks = logMasks.copyOf(newSize, tracker);
+                logValueOffsets = logValueOffsets.copyOf(newSize, tracker);
+            }
+            logNodes.set(logSize, node);
+            setMask(logSize, mask);
+            logSize++;
+        }
+
+        // masks of the next level are set once the level is complete, which keeps the values of an entry consecutive
+        private void setMask(long entry, long mask) {
+            logMasks.set(entry, mask);
+            logValueOffsets.set(entry, valueCount);
+            valueCount += Long.bitCount(mask);
+            if (valueCount > sigma.size()) {
+                long newSize = Math.max(valueCount, sigma.size() + (sigma.size() >> 1));
+                sigma = sigma.copyOf(newSize, tracker);
+                delta = delta.copyOf(newSize, tracker);
+            }
+        }
+
+        private long valueIndex(long entry, long mask, int source) {
+            return logValueOffsets.get(entry) + Long.bitCount(mask & ((1L << source) - 1));
+        }
+    }
+
+    /**
+     * Stores node ids in an int based array if all ids fit, which halves the memory per thread.
+     */
+    abstract static class VisitedNodes {
+
+        abstract long get(long index);
+
+        abstract void set(long index, long nodeId);
+
+        static VisitedNodes of(long nodeCount, AllocationTracker tracker) {
+            return nodeCount <= Integer.MAX_VALUE
+                ? new IntVisitedNodes(HugeIntArray.newArray(nodeCount, tracker))
+                : new LongVisitedNodes(HugeLongArray.newArray(nodeCount, tracker));
+        }
+
+        static long memoryEstimation(long nodeCount) {
+            return nodeCount <= Integer.MAX_VALUE
+                ? HugeIntArray.memoryEstimation(nodeCount)
+                : HugeLongArray.memoryEstimation(nodeCount);
+        }
+
+        private static final class IntVisitedNodes extends VisitedNodes {
+            private final HugeIntArray nodes;
+
+            private IntVisitedNodes(HugeIntArray nodes) {
+                this.nodes = nodes;
+            }
+
+            @Override
+            long get(long index) {
+                return nodes.get(index);
+            }
+
+            @Override
+            void set(long index, long nodeId) {
+                nodes.set(index, (int) nodeId);
+            }
+        }
+
+        private static final class LongVisitedNodes extends VisitedNodes {
+            private final HugeLongArray nodes;
+
+            private LongVisitedNodes(HugeLongArray nodes) {
+                this.nodes = nodes;
+            }
+
+            @Override
+            long get(long index) {
+                return nodes.get(index);
+            }
+
+            @Override
+            void set(long index, long nodeId) {
+                nodes.set(index, nodeId);
             }
         }
     }
@@ -31,6 +31,18 @@ public interface BetweennessCentralityBaseConfig extends AlgoBaseConfig {
 
     Optional<Long> samplingSeed();
 
+    Optional<Double> errorBound();
+
+    @Value.Default
+    default double confidenceLevel() {
+        return 0.95;
+    }
+
+    @Value.Default
+    default boolean multiSourceTraversal() {
+        return false;
+    }
+
     @Value.Check
     default void validate() {
         samplingSize().ifPresent(samplingSize -> {
@@ -42,5 +54,31 @@ public interface BetweennessCentralityBaseConfig extends AlgoBaseConfig {
                 ));
             }
         });
+        errorBound().ifPresent(errorBound -> {
+            if (errorBound <= 0 || errorBound >= 1) {
+                throw new IllegalArgumentException(String.format(
+                    Locale.ENGLISH,
+                    "Configuration parameter 'errorBound' must be in the range (0, 1), got %f.",
+                    errorBound
+                ));
+            }
+            if (samplingSize().isPresent()) {
+                throw new IllegalArgumentException(
+                    "Configuration parameters 'samplingSize' and 'errorBound' cannot be used together."
+                );
+            }
+            if (multiSourceTraversal()) {
+                throw new IllegalArgumentException(
+                    "Configuration parameters 'multiSourceTraversal' and 'errorBound' cannot be used together."
+                );
+            }
+        });
+        if (confidenceLevel() <= 0 || confidenceLevel() >= 1) {
+            throw new IllegalArgumentException(String.format(
+                Locale.ENGLISH,
+                "Configuration parameter 'confidenceLevel' must be in the range (0, 1), got %f.",
+                confidenceLevel()
+            ));
+        }
     }
 }
@@ -24,16 +24,16 @@ import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeBufferedDoubleAdder;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 import org.neo4j.logging.Log;
 
-import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
-
 public class BetweennessCentralityFactory<CONFIG extends BetweennessCentralityBaseConfig> implements AlgorithmFactory<BetweennessCentrality, CONFIG> {
 
     @Override
@@ -41,6 +41,18 @@ public class BetweennessCentralityFactory<CONFIG extends BetweennessCentralityBa
         var samplingSize = configuration.samplingSize();
         var samplingSeed = configuration.samplingSeed();
 
+        if (configuration.errorBound().isPresent()) {
+            return new BetweennessCentrality(
+                graph,
+                SelectionStrategy.ALL,
+                new AdaptiveSampling(configuration.errorBound().get(), configuration.confidenceLevel(), samplingSeed),
+                Pools.DEFAULT,
+                configuration.concurrency(),
+                false,
+                tracker
+            );
+        }
+
         var strategy = samplingSize.isPresent() && samplingSize.get() < graph.nodeCount()
             ? new SelectionStrategy.RandomDegree(samplingSize.get(), samplingSeed)
             : SelectionStrategy.ALL;
@@ -50,28 +62,54 @@ public class BetweennessCentralityFactory<CONFIG extends BetweennessCentralityBa
             strategy,
             Pools.DEFAULT,
             configuration.concurrency(),
+            configuration.multiSourceTraversal(),
             tracker
         );
     }
 
     @Override
     public MemoryEstimation memoryEstimation(CONFIG configuration) {
+        if (configuration != null && configuration.errorBound().isPresent()) {
+            return MemoryEstimations.builder(BetweennessCentrality.class)
+                .perNode("centrality scores", HugeAtomicDoubleArray::memoryEstimation)
+                .perNode("hits", HugeAtomicLongArray::memoryEstimation)
+                .perThread("sampling task", MemoryEstimations.builder(AdaptiveSampling.class)
+                    .perNode("visitedNodes", BetweennessCentrality.VisitedNodes::memoryEstimation)
+                    .perNode("paths", HugeDoubleArray::memoryEstimation)
+                    .perNode("distances", HugeIntArray::memoryEstimation)
+                    .build())
+                .build();
+        }
+        if (configuration != null && configuration.multiSourceTraversal()) {
+            return MemoryEstimations.builder(BetweennessCentrality.class)
+                .perNode("centrality scores", HugeAtomicDoubleArray::memoryEstimation)
+                .perThread("compute task", MemoryEstimations.builder(BetweennessCentrality.MultiSourceBCTask.class)
+                    .perNode("seen", HugeLongArray::memoryEstimation)
+                    .perNode("visitNext", HugeLongArray::memoryEstimation)
+                    .perNode("levelEntry", HugeLongArray::memoryEstimation)
+                    .perNode("visit log", nodeCount -> 3 * HugeLongArray.memoryEstimation(nodeCount))
+                    // one value per node and source in the batch that reaches the node
+                    .rangePerNode("deltas", nodeCount -> MemoryRange.of(
+                        HugeDoubleArray.memoryEstimation(nodeCount),
+                        HugeDoubleArray.memoryEstimation(nodeCount * Long.SIZE)
+                    ))
+                    .rangePerNode("sigmas", nodeCount -> MemoryRange.of(
+                        HugeLongArray.memoryEstimation(nodeCount),
+                        HugeLongArray.memoryEstimation(nodeCount * Long.SIZE)
+                    ))
+                    .build())
+                .add("centrality accumulator", HugeBufferedDoubleAdder.memoryEstimation())
+                .build();
+        }
         return MemoryEstimations.builder(BetweennessCentrality.class)
             .perNode("centrality scores", HugeAtomicDoubleArray::memoryEstimation)
             .perThread("compute task", MemoryEstimations.builder(BetweennessCentrality.BCTask.class)
-                .add("predecessors", MemoryEstimations.setup("", (dimensions, concurrency) -> {
-                    // Predecessors are represented by LongArrayList which wrap a long[]
-                    long averagePredecessorSize = sizeOfLongArray(dimensions.averageDegree());
-                    return MemoryEstimations.builder(HugeObjectArray.class)
-                        .perNode("array", nodeCount -> nodeCount * averagePredecessorSize)
-                        .build();
-                }))
-                .perNode("forwardNodes", HugeLongArray::memoryEstimation)
-                .perNode("backwardNodes", HugeLongArray::memoryEstimation)
+                .perNode("visitedNodes", BetweennessCentrality.VisitedNodes::memoryEstimation)
                 .perNode("deltas", HugeDoubleArray::memoryEstimation)
                 .perNode("sigmas", HugeLongArray::memoryEstimation)
                 .perNode("distances", HugeIntArray::memoryEstimation)
                 .build())
+            .add("centrality accumulator", HugeBufferedDoubleAdder.memoryEstimation())
             .build();
     }
 }
@@ -0,0 +1,162 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.nodesim;
+
+import org.neo4j.graphalgo.core.loading.VarLongEncoding;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Neighbour vectors of low-degree nodes, stored as delta-encoded target ids.
+ * <p>
+ * The gaps between the sorted target ids are written in the variable length encoding of
+ * {@link VarLongEncoding} and the bytes are packed into longs, least significant byte first.
+ * The last byte of every value has its highest bit set, so the number of targets is the number
+ * of bytes with the highest bit set and the zero bytes padding the last long are never decoded.
+ * A compressed vector is never larger than the sorted array of target ids.
+ */
+final class CompressedVectors {
+
+    private static final long TERMINATOR_BITS = 0x8080808080808080L;
+
+    private CompressedVectors() {}
+
+    static int sizeInLongs(long[] targets) {
+        return Math.toIntExact((encodedSize(targets) + Long.BYTES - 1) / Long.BYTES);
+    }
+
+    static long[] of(long[] targets) {
+        long[] vector = new long[sizeInLongs(targets)];
+        int position = 0;
+        long previous = 0;
+        for (long target : targets) {
+            long delta = target - previous;
+            previous = target;
+            while (delta >= 128) {
+                vector[position >>> 3] |= (delta & 127L) << ((position & 7) << 3);
+                delta >>>= 7;
+                position++;
+            }
+            vector[position >>> 3] |= (delta | 128L) << ((position & 7) << 3);
+            position++;
+        }
+        return vector;
+    }
+
+    static long size(long[] vector) {
+        long size = 0;
+        for (long word : vector) {
+            size += Long.bitCount(word & TERMINATOR_BITS);
+        }
+        return size;
+    }
+
+    static void forEachTarget(long[] vector, LongConsumer consumer) {
+        int limit = vector.length << 3;
+        long target = 0;
+        long delta = 0;
+        int shift = 0;
+        for (int position = 0; position < limit; position++) {
+            long value = (vector[position >>> 3] >>> ((position & 7) << 3)) & 0xFFL;
+            delta |= (value & 127L) << shift;
+            if (value >= 128) {
+                target += delta;
+                consumer.accept(target);
+                delta = 0;
+                shift = 0;
+            } else {
+                shift += 7;
+            }
+        }
+    }
+
+    static long intersection(long[] vector1, long[] vector2) {
+        int limit1 = vector1.length << 3;
+        int limit2 = vector2.length << 3;
+        int position1 = 0;
+        int position2 = 0;
+        long target1 = 0;
+        long target2 = 0;
+        long intersection = 0;
+        // -1 once the vector is exhausted, target ids are never negative
+        long next1 = 0;
+        long next2 = 0;
+        boolean advance1 = true;
+        boolean advance2 = true;
+        while (true) {
+            if (advance1) {
+                long delta = 0;
+                int shift = 0;
+                next1 = -1;
+                while (position1 < limit1) {
+                    long value = (vector1[position1 >>> 3] >>> ((position1 & 7) << 3)) & 0xFFL;
+                    position1++;
+                    delta |= (value & 127L) << shift;
+                    if (value >= 128) {
+                        target1 += delta;
+                        next1 = target1;
+                        break;
+                    }
+                    shift += 7;
+                }
+                if (next1 == -1) {
+                    return intersection;
+                }
+            }
+            if (advance2) {
+                long delta = 0;
+                int shift = 0;
+                next2 = -1;
+                while (position2 < limit2) {
+                    long value = (vector2[position2 >>> 3] >>> ((position2 & 7) << 3)) & 0xFFL;
+                    position2++;
+                    delta |= (value & 127L) << shift;
+                    if (value >= 128) {
+                        target2 += delta;
+                        next2 = target2;
+                        break;
+                    }
+                    shift += 7;
+                }
+                if (next2 == -1) {
+                    return intersection;
+                }
+            }
+            if (next1 == next2) {
+                intersection++;
+                advance1 = true;
+                advance2 = true;
+            } else {
+                advance1 = next1 < next2;
+                advance2 = !advance1;
+            }
+        }
+    }
+
+    private static long encodedSize(long[] targets) {
+        long size = 0;
+        long previous = 0;
+        for (long target : targets) {
+            size += VarLongEncoding.encodedVLongSize(target - previous);
+            previous = target;
+        }
+        return size;
+    }
+}
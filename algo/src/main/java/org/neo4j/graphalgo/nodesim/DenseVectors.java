@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.nodesim;
+
+import com.carrotsearch.hppc.BitSet;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Neighbour vectors of high-degree nodes, stored as a bitmap over all node ids.
+ * <p>
+ * The first element of a dense vector is the number of set bits, followed by the words of the bitmap.
+ * Intersecting two bitmaps costs a single {@code AND} and {@code popCount} per word, whereas merging two
+ * sorted arrays costs a few unpredictable branches per target id. A dense vector is only used when it
+ * is not larger than the {@link CompressedVectors compressed vector} of the same targets, so that the
+ * bitmaps never increase the memory footprint.
+ */
+final class DenseVectors {
+
+    private DenseVectors() {}
+
+    static long sizeInLongs(long nodeCount) {
+        return BitSet.bits2words(nodeCount) + 1;
+    }
+
+    static boolean isNotLargerThanSparse(long sparseSizeInLongs, long nodeCount) {
+        return sizeInLongs(nodeCount) <= sparseSizeInLongs;
+    }
+
+    static long[] of(long[] targets, long nodeCount) {
+        long[] vector = new long[Math.toIntExact(sizeInLongs(nodeCount))];
+        for (long target : targets) {
+            vector[(int) (target >>> 6) + 1] |= 1L << target;
+        }
+        vector[0] = targets.length;
+        return vector;
+    }
+
+    static long size(long[] vector) {
+        return vector[0];
+    }
+
+    static void forEachTarget(long[] vector, LongConsumer consumer) {
+        for (int word = 1; word < vector.length; word++) {
+            long bits = vector[word];
+            while (bits != 0) {
+                consumer.accept(((long) (word - 1) << 6) + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+    }
+
+    static long intersection(long[] vector1, long[] vector2) {
+        long intersection = 0;
+        for (int word = 1; word < vector1.length; word++) {
+            intersection += Long.bitCount(vector1[word] & vector2[word]);
+        }
+        return intersection;
+    }
+
+    static long intersectionWithCompressed(long[] vector, long[] compressedVector) {
+        int limit = compressedVector.length << 3;
+        long intersection = 0;
+        long target = 0;
+        long delta = 0;
+        int shift = 0;
+        for (int position = 0; position < limit; position++) {
+            long value = (compressedVector[position >>> 3] >>> ((position & 7) << 3)) & 0xFFL;
+            delta |= (value & 127L) << shift;
+            if (value >= 128) {
+                target += delta;
+                intersection += (vector[(int) (target >>> 6) + 1] >>> target) & 1L;
+                delta = 0;
+                shift = 0;
+            } else {
+                shift += 7;
+            }
+        }
+        return intersection;
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.nodesim;
+
+import com.carrotsearch.hppc.BitSet;
+import com.carrotsearch.hppc.LongArrayList;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.function.LongConsumer;
+
+/**
+ * Maps every item, i.e. every target of a neighbour vector, to the sorted list of compared nodes
+ * that have the item in their vector. Two nodes can only have a positive similarity if they
+ * share at least one item, so the candidates of a node are the union of the lists of its items.
+ */
+final class InvertedIndex {
+
+    static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(InvertedIndex.class)
+            .perNode("offsets", nodeCount -> HugeLongArray.memoryEstimation(nodeCount + 1))
+            .perGraphDimension(
+                "postings",
+                (dimensions, concurrency) -> MemoryRange.of(HugeLongArray.memoryEstimation(dimensions.maxRelCount()))
+            )
+            .build();
+    }
+
+    /**
+     * Visits the items of a node without materializing them, so that encoded vectors can be read directly.
+     */
+    @FunctionalInterface
+    interface ItemsOfNode {
+        void forEachItem(long node, LongConsumer consumer);
+    }
+
+    /**
+     * Builds an index over arbitrary items in the range {@code [0, itemCount)}.
+     * The items of a node must be distinct and are requested twice while building the index,
+     * possibly from different threads, and once more for every candidate lookup. Nodes are partitioned into ranges, which are counted
+     * and inserted in parallel, before every posting list is sorted.
+     */
+    static InvertedIndex of(
+        long nodeCount,
+        long itemCount,
+        BitSet nodeFilter,
+        ItemsOfNode itemsOfNode,
+        int maxItemDegree,
+        int concurrency,
+        ExecutorService executorService,
+        AllocationTracker tracker
+    ) {
+        HugeAtomicLongArray positions = HugeAtomicLongArray.newArray(itemCount + 1, tracker);
+
+        // count the nodes per item
+        ParallelUtil.readParallel(concurrency, nodeCount, executorService, (start, end) ->
+            forEachNode(nodeFilter, start, end, node ->
+                itemsOfNode.forEachItem(node, item -> getAndIncrement(positions, item + 1))
+            )
+        );
+
+        HugeLongArray offsets = HugeLongArray.newArray(itemCount + 1, tracker);
+        long postingCount = 0;
+        for (long item = 1; item <= itemCount; item++) {
+            postingCount += positions.get(item);
+            offsets.set(item, postingCount);
+            positions.set(item, postingCount);
+        }
+
+        HugeLongArray postings = HugeLongArray.newArray(postingCount, tracker);
+        ParallelUtil.readParallel(concurrency, nodeCount, executorService, (start, end) ->
+            forEachNode(nodeFilter, start, end, node ->
+                itemsOfNode.forEachItem(node, item -> postings.set(getAndIncrement(positions, item), node))
+            )
+        );
+        tracker.remove(positions.release());
+
+        // the ranges insert concurrently, which leaves the posting lists unordered
+        ParallelUtil.readParallel(concurrency, itemCount, executorService, (start, end) -> {
+            long[] buffer = new long[0];
+            for (long item = start; item < end; item++) {
+                long from = offsets.get(item);
+                int length = Math.toIntExact(offsets.get(item + 1) - from);
+                if (length < 2) {
+                    continue;
+                }
+                if (buffer.length < length) {
+                    buffer = new long[length];
+                }
+                for (int i = 0; i < length; i++) {
+                    buffer[i] = postings.get(from + i);
+                }
+                Arrays.sort(buffer, 0, length);
+                for (int i = 0; i < length; i++) {
+                    postings.set(from + i, buffer[i]);
+                }
+            }
+        });
+
+        return new InvertedIndex(offsets, postings, itemsOfNode, maxItemDegree);
+    }
+
+    private static void forEachNode(BitSet nodeFilter, long start, long end, LongConsumer consumer) {
+        for (long node = nodeFilter.nextSetBit(start); node != -1 && node < end; node = nodeFilter.nextSetBit(node + 1)) {
+            consumer.accept(node);
+        }
+    }
+
+    private static long getAndIncrement(HugeAtomicLongArray array, long index) {
+        long current = array.get(index);
+        while (!array.compareAndSet(index, current, current + 1)) {
+            current = array.get(index);
+        }
+        return current;
+    }
+
+    private final HugeLongArray offsets;
+    private final HugeLongArray postings;
+    private final ItemsOfNode itemsOfNode;
+    private final int maxItemDegree;
+
+    private InvertedIndex(HugeLongArray offsets, HugeLongArray postings, ItemsOfNode itemsOfNode, int maxItemDegree) {
+        this.offsets = offsets;
+        this.postings = postings;
+        this.itemsOfNode = itemsOfNode;
+        this.maxItemDegree = maxItemDegree;
+    }
+
+    long itemDegree(long item) {
+        return offsets.get(item + 1) - offsets.get(item);
+    }
+
+    /**
+     * Returns the sorted and distinct nodes that share at least one item with the given node,
+     * excluding the node itself and all nodes smaller than {@code minCandidate}.
+     * Items with more than {@code maxItemDegree} nodes are skipped.
+     */
+    long[] candidates(long node, long minCandidate) {
+        LongArrayList candidates = new LongArrayList();
+        itemsOfNode.forEachItem(node, item -> {
+            long start = offsets.get(item);
+            long end = offsets.get(item + 1);
+            if (end - start > maxItemDegree) {
+                return;
+            }
+            for (long position = lowerBound(start, end, minCandidate); position < end; position++) {
+                long candidate = postings.get(position);
+                if (candidate != node) {
+                    candidates.add(candidate);
+                }
+            }
+        });
+
+        long[] buffer = candidates.buffer;
+        int size = candidates.elementsCount;
+        Arrays.sort(buffer, 0, size);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinct == 0 || buffer[distinct - 1] != buffer[i]) {
+                buffer[distinct++] = buffer[i];
+            }
+        }
+        return Arrays.copyOf(buffer, distinct);
+    }
+
+    private long lowerBound(long start, long end, long value) {
+        long low = start;
+        long high = end;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (postings.get(mid) < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    void release(AllocationTracker tracker) {
+        tracker.remove(offsets.release());
+        tracker.remove(postings.release());
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.nodesim;
+
+import com.carrotsearch.hppc.BitSet;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongLongMap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Locality sensitive hashing for Jaccard similarity.
+ * <p>
+ * Every compared node gets a MinHash signature of {@code signatureSize} values, which is split into
+ * {@code bands} bands of equal size. Nodes whose signatures agree on all values of at least one band
+ * end up in the same bucket and become candidates for each other. Two nodes with Jaccard similarity
+ * {@code s} are candidates with probability {@code 1 - (1 - s^r)^b}, where {@code r} is the number of rows per band.
+ * <p>
+ * Buckets are the items of an {@link InvertedIndex}, so that candidates are enumerated in the same way
+ * as for the exact candidate generation. The band keys of every band are counted in a hash map first,
+ * and only buckets with at least two nodes are numbered and indexed, as all other buckets can not
+ * contribute a candidate. The index therefore grows with the number of colliding buckets rather than
+ * with {@code nodeCount * bands}.
+ */
+final class MinHashIndex {
+
+    static MemoryEstimation memoryEstimation(int signatureSize, int bands, boolean keepSignatures) {
+        return MemoryEstimations.builder(MinHashIndex.class)
+            .perNode("band keys", nodeCount -> HugeLongArray.memoryEstimation(nodeCount * bands))
+            .perThread("bucket sizes", HugeLongLongMap.memoryEstimation())
+            .perNode("bucket offsets", nodeCount -> HugeLongArray.memoryEstimation(nodeCount + 1))
+            .rangePerNode("buckets", nodeCount -> MemoryRange.of(
+                HugeLongArray.memoryEstimation(0),
+                HugeLongArray.memoryEstimation(nodeCount * bands)
+            ))
+            .perNode("signatures", nodeCount -> keepSignatures
+                ? HugeLongArray.memoryEstimation(nodeCount * signatureSize)
+                : 0L)
+            .add("bucket index", MemoryEstimations.builder(InvertedIndex.class)
+                // every indexed bucket holds at least two nodes
+                .rangePerNode("offsets", nodeCount -> MemoryRange.of(
+                    HugeLongArray.memoryEstimation(1),
+                    HugeLongArray.memoryEstimation(nodeCount * bands / 2 + 1)
+                ))
+                .rangePerNode("postings", nodeCount -> MemoryRange.of(
+                    HugeLongArray.memoryEstimation(0),
+                    HugeLongArray.memoryEstimation(nodeCount * bands)
+                ))
+                .build())
+            .build();
+    }
+
+    static MinHashIndex of(
+        long nodeCount,
+        BitSet nodeFilter,
+        InvertedIndex.ItemsOfNode itemsOfNode,
+        int signatureSize,
+        int bands,
+        boolean keepSignatures,
+        long randomSeed,
+        int concurrency,
+        ExecutorService executorService,
+        AllocationTracker tracker
+    ) {
+        int rows = signatureSize / bands;
+
+        var random = new SplittableRandom(randomSeed);
+        long[] hashSeeds = new long[signatureSize];
+        Arrays.setAll(hashSeeds, i -> random.nextLong());
+        long[] bandSeeds = new long[bands];
+        Arrays.setAll(bandSeeds, i -> random.nextLong());
+
+        // the keys of a band are stored next to each other, as the bands are numbered one at a time
+        HugeLongArray bandKeys = HugeLongArray.newArray(nodeCount * bands, tracker);
+        HugeLongArray signatures = keepSignatures
+            ? HugeLongArray.newArray(nodeCount * signatureSize, tracker)
+            : null;
+
+        ParallelUtil.readParallel(concurrency, nodeCount, executorService, (start, end) -> {
+            long[] signature = new long[signatureSize];
+            for (long node = start; node < end; node++) {
+                if (!nodeFilter.get(node)) {
+                    continue;
+                }
+                Arrays.fill(signature, Long.MAX_VALUE);
+                itemsOfNode.forEachItem(node, item -> {
+                    for (int i = 0; i < signatureSize; i++) {
+                        long hash = mix(item ^ hashSeeds[i]);
+                        if (hash < signature[i]) {
+                            signature[i] = hash;
+                        }
+                    }
+                });
+                for (int band = 0; band < bands; band++) {
+                    long bandHash = bandSeeds[band];
+                    for (int row = band * rows; row < (band + 1) * rows; row++) {
+                        bandHash = mix(bandHash ^ signature[row]);
+                    }
+                    // the map does not accept negative keys
+                    bandKeys.set(band * nodeCount + node, bandHash & Long.MAX_VALUE);
+                }
+                if (signatures != null) {
+                    for (int i = 0; i < signatureSize; i++) {
+                        signatures.set(node * signatureSize + i, signature[i]);
+                    }
+                }
+            }
+        });
+
+        // replace every band key with the number of its bucket within the band, or -1 if no other node shares it
+        long[] bucketsPerBand = new long[bands];
+        AtomicInteger nextBand = new AtomicInteger();
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < Math.min(concurrency, bands); i++) {
+            tasks.add(() -> {
+                int band;
+                while ((band = nextBand.getAndIncrement()) < bands) {
+                    bucketsPerBand[band] = numberBuckets(bandKeys, band * nodeCount, nodeCount, nodeFilter, tracker);
+                }
+            });
+        }
+        ParallelUtil.runWithConcurrency(concurrency, tasks, executorService);
+
+        long[] bandOffsets = new long[bands];
+        long bucketCount = 0;
+        for (int band = 0; band < bands; band++) {
+            bandOffsets[band] = bucketCount;
+            bucketCount += bucketsPerBand[band];
+        }
+
+        HugeLongArray bucketOffsets = HugeLongArray.newArray(nodeCount + 1, tracker);
+        long bucketPosition = 0;
+        for (long node = 0; node < nodeCount; node++) {
+            bucketOffsets.set(node, bucketPosition);
+            if (nodeFilter.get(node)) {
+                for (int band = 0; band < bands; band++) {
+                    if (bandKeys.get(band * nodeCount + node) != -1) {
+                        bucketPosition++;
+                    }
+                }
+            }
+        }
+        bucketOffsets.set(nodeCount, bucketPosition);
+
+        HugeLongArray buckets = HugeLongArray.newArray(bucketPosition, tracker);
+        ParallelUtil.readParallel(concurrency, nodeCount, executorService, (start, end) -> {
+            for (long node = nodeFilter.nextSetBit(start); node != -1 && node < end; node = nodeFilter.nextSetBit(node + 1)) {
+                long position = bucketOffsets.get(node);
+                for (int band = 0; band < bands; band++) {
+                    long bucket = bandKeys.get(band * nodeCount + node);
+                    if (bucket != -1) {
+                        buckets.set(position++, bandOffsets[band] + bucket);
+                    }
+                }
+            }
+        });
+        tracker.remove(bandKeys.release());
+
+        var bucketIndex = InvertedIndex.of(
+            nodeCount,
+            bucketCount,
+            nodeFilter,
+            (node, consumer) -> {
+                long end = bucketOffsets.get(node + 1);
+                for (long position = bucketOffsets.get(node); position < end; position++) {
+                    consumer.accept(buckets.get(position));
+                }
+            },
+            Integer.MAX_VALUE,
+            concurrency,
+            executorService,
+            tracker
+        );
+
+        return new MinHashIndex(bucketIndex, bucketOffsets, buckets, signatures, signatureSize);
+    }
+
+    /**
+     * Numbers the buckets of a single band that contain at least two nodes and returns their count.
+     * The value of a bucket in the map turns into {@code -1 - bucket} once it is numbered.
+     */
+    private static long numberBuckets(
+        HugeLongArray bandKeys,
+        long offset,
+        long nodeCount,
+        BitSet nodeFilter,
+        AllocationTracker tracker
+    ) {
+        HugeLongLongMap bucketSizes = new HugeLongLongMap(tracker);
+        for (long node = nodeFilter.nextSetBit(0); node != -1 && node < nodeCount; node = nodeFilter.nextSetBit(node + 1)) {
+            bucketSizes.addTo(bandKeys.get(offset + node), 1);
+        }
+
+        long bucketCount = 0;
+        for (long node = nodeFilter.nextSetBit(0); node != -1 && node < nodeCount; node = nodeFilter.nextSetBit(node + 1)) {
+            long key = bandKeys.get(offset + node);
+            long value = bucketSizes.getOrDefault(key, 0);
+            long bucket;
+            if (value < 0) {
+                bucket = -1 - value;
+            } else if (value > 1) {
+                bucket = bucketCount++;
+                bucketSizes.addTo(key, -1 - bucket - value);
+            } else {
+                bucket = -1;
+            }
+            bandKeys.set(offset + node, bucket);
+        }
+        bucketSizes.release();
+        return bucketCount;
+    }
+
+    private final InvertedIndex bucketIndex;
+    private final HugeLongArray bucketOffsets;
+    private final HugeLongArray buckets;
+    private final HugeLongArray signatures;
+    private final int signatureSize;
+
+    private MinHashIndex(
+        InvertedIndex bucketIndex,
+        HugeLongArray bucketOffsets,
+        HugeLongArray buckets,
+        HugeLongArray signatures,
+        int signatureSize
+    ) {
+        this.bucketIndex = bucketIndex;
+        this.bucketOffsets = bucketOffsets;
+        this.buckets = buckets;
+        this.signatures = signatures;
+        this.signatureSize = signatureSize;
+    }
+
+    /**
+     * Returns the sorted and distinct nodes sharing at least one bucket with the given node,
+     * excluding the node itself and all nodes smaller than {@code minCandidate}.
+     */
+    long[] candidates(long node, long minCandidate) {
+        return bucketIndex.candidates(node, minCandidate);
+    }
+
+    /**
+     * Estimates the Jaccard similarity as the fraction of equal signature values.
+     * Requires the index to be built with {@code keepSignatures}.
+     */
+    double estimatedJaccard(long node1, long node2) {
+        long offset1 = node1 * signatureSize;
+        long offset2 = node2 * signatureSize;
+        int matches = 0;
+        for (int i = 0; i < signatureSize; i++) {
+            if (signatures.get(offset1 + i) == signatures.get(offset2 + i)) {
+                matches++;
+            }
+        }
+        return (double) matches / signatureSize;
+    }
+
+    void release(AllocationTracker tracker) {
+        bucketIndex.release(tracker);
+        tracker.remove(bucketOffsets.release());
+        tracker.remove(buckets.release());
+        if (signatures != null) {
+            tracker.remove(signatures.release());
+        }
+    }
+
+    // finalizer of the SplitMix64 generator, a fast and well mixing 64 bit hash
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -25,21 +25,29 @@ import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.RelationshipConsumer;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.BatchingProgressLogger;
-import org.neo4j.graphalgo.core.utils.Intersections;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.SetBitsIterable;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.queue.BoundedLongPriorityQueue;
 
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Supplier;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResult> {
 
+    private static final int NODE_BATCH_SIZE = 64;
+
     private final Graph graph;
     private final NodeSimilarityBaseConfig config;
 
@@ -47,9 +55,12 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
     private final AllocationTracker tracker;
 
     private final BitSet nodeFilter;
+    private final BitSet denseNodes;
 
     private HugeObjectArray<long[]> vectors;
     private HugeObjectArray<double[]> weights;
+    private InvertedIndex invertedIndex;
+    private MinHashIndex minHashIndex;
     private long nodesToCompare;
 
     private final boolean weighted;
@@ -67,6 +78,7 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
         this.progressLogger = progressLogger;
         this.tracker = tracker;
         this.nodeFilter = new BitSet(graph.nodeCount());
+        this.denseNodes = new BitSet(graph.nodeCount());
         this.weighted = config.relationshipWeightProperty() != null;
     }
 
@@ -78,6 +90,22 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
     @Override
     public void release() {
         graph.release();
+        if (vectors != null) {
+            tracker.remove(vectors.release());
+            vectors = null;
+        }
+        if (weights != null) {
+            tracker.remove(weights.release());
+            weights = null;
+        }
+        if (invertedIndex != null) {
+            invertedIndex.release(tracker);
+            invertedIndex = null;
+        }
+        if (minHashIndex != null) {
+            minHashIndex.release(tracker);
+            minHashIndex = null;
+        }
     }
 
     @Override
@@ -105,12 +133,13 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
         progressLogger.logMessage("NodeSimilarity#computeToStream");
 
         // Compute similarities
-        if (config.hasTopN() && !config.hasTopK()) {
-            // Special case: compute topN without topK.
-            // This can not happen when algo is called from proc.
-            // Ignore parallelism, always run single threaded,
-            // but run on primitives.
-            return computeTopN();
+        if (config.hasTopN()) {
+            // With a global limit, every worker only keeps bounded lists
+            // that are merged into the final topN list.
+            // topN without topK can not happen when algo is called from proc.
+            return config.hasTopK()
+                ? computeTopKTopN()
+                : config.isParallel() ? computeTopNParallel() : computeTopN();
         } else {
             return config.isParallel()
                 ? computeParallel()
@@ -167,29 +196,62 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
                 if (weighted) {
                     weights.set(node, vectorComputer.getWeights());
                 }
-                return vectorComputer.targetIds.buffer;
+                long[] targets = vectorComputer.targetIds.buffer;
+                // Weights are aligned with the target ids, so only unweighted vectors are encoded
+                if (weighted) {
+                    return targets;
+                }
+                if (DenseVectors.isNotLargerThanSparse(CompressedVectors.sizeInLongs(targets), graph.nodeCount())) {
+                    denseNodes.set(node);
+                    return DenseVectors.of(targets, graph.nodeCount());
+                }
+                return CompressedVectors.of(targets);
             }
 
             progressLogger.logProgress(graph.degree(node));
             return null;
         });
+
+        // Nodes without a common neighbour have a similarity of 0, so with a positive
+        // similarity cutoff only pairs that share at least one neighbour need to be compared.
+        if (config.approximate()) {
+            minHashIndex = MinHashIndex.of(
+                vectors.size(),
+                nodeFilter,
+                this::forEachTarget,
+                config.signatureSize(),
+                config.bands(),
+                !weighted && !config.verifyCandidates(),
+                config.randomSeed(),
+                config.concurrency(),
+                executorService,
+                tracker
+            );
+        } else if (config.similarityCutoff() > 0) {
+            invertedIndex = InvertedIndex.of(
+                vectors.size(),
+                vectors.size(),
+                nodeFilter,
+                this::forEachTarget,
+                config.maxItemDegree(),
+                config.concurrency(),
+                executorService,
+                tracker
+            );
+        }
         progressLogger.logMessage("Finish :: NodeSimilarity#prepare");
     }
 
     private Stream<SimilarityResult> computeSimilarityResultStream() {
-        return (config.hasTopK() && config.hasTopN())
-            ? computeTopN(computeTopKMap())
-            : (config.hasTopK())
-                ? computeTopKMap().stream()
-                : computeAll();
+        return (config.hasTopK())
+            ? computeTopKMap().stream()
+            : computeAll();
     }
 
     private Stream<SimilarityResult> computeParallel() {
-        return (config.hasTopK() && config.hasTopN())
-            ? computeTopN(computeTopKMapParallel())
-            : (config.hasTopK())
-                ? computeTopKMapParallel().stream()
-                : computeAllParallel();
+        return (config.hasTopK())
+            ? computeTopKMapParallel().stream()
+            : computeAllParallel();
     }
 
     private Stream<SimilarityResult> computeAll() {
@@ -199,11 +261,9 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
             .boxed()
             .flatMap(node1 -> {
                 long[] vector1 = vectors.get(node1);
-                return nodeStream(node1 + 1)
+                return candidateStream(node1, node1 + 1)
                     .mapToObj(node2 -> {
-                        double similarity = weighted
-                            ? weightedJaccard(vector1, vectors.get(node2), weights.get(node1), weights.get(node2))
-                            : jaccard(vector1, vectors.get(node2));
+                        double similarity = similarity(node1, vector1, node2);
                         return Double.isNaN(similarity) ? null : new SimilarityResult(node1, node2, similarity);
                     })
                     .filter(Objects::nonNull);
@@ -218,11 +278,9 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
                 .boxed()
                 .flatMap(node1 -> {
                     long[] vector1 = vectors.get(node1);
-                    return nodeStream(node1 + 1)
+                    return candidateStream(node1, node1 + 1)
                         .mapToObj(node2 -> {
-                            double similarity = weighted
-                                ? weightedJaccard(vector1, vectors.get(node2), weights.get(node1), weights.get(node2))
-                                : jaccard(vector1, vectors.get(node2));
+                            double similarity = similarity(node1, vector1, node2);
                             return Double.isNaN(similarity) ? null : new SimilarityResult(node1, node2, similarity);
                         })
                         .filter(Objects::nonNull);
@@ -238,11 +296,9 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
         loggableAndTerminatableNodeStream()
             .forEach(node1 -> {
                 long[] vector1 = vectors.get(node1);
-                nodeStream(node1 + 1)
+                candidateStream(node1, node1 + 1)
                     .forEach(node2 -> {
-                        double similarity = weighted
-                            ? weightedJaccard(vector1, vectors.get(node2), weights.get(node1), weights.get(node2))
-                            : jaccard(vector1, vectors.get(node2));
+                        double similarity = similarity(node1, vector1, node2);
                         if (!Double.isNaN(similarity)) {
                             topKMap.put(node1, node2, similarity);
                             topKMap.put(node2, node1, similarity);
@@ -270,12 +326,10 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
                     // into these queues is not considered to be thread-safe.
                     // Hence, we need to ensure that down the stream, exactly one queue
                     // within the TopKMap processes all pairs for a single node.
-                    nodeStream()
+                    candidateStream(node1, 0)
                         .filter(node2 -> node1 != node2)
                         .forEach(node2 -> {
-                            double similarity = weighted
-                                ? weightedJaccard(vector1, vectors.get(node2), weights.get(node1), weights.get(node2))
-                                : jaccard(vector1, vectors.get(node2));
+                            double similarity = similarity(node1, vector1, node2);
                             if (!Double.isNaN(similarity)) {
                                 topKMap.put(node1, node2, similarity);
                             }
@@ -295,11 +349,9 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
             .forEach(node1 -> {
                 long[] vector1 = vectors.get(node1);
 
-                nodeStream(node1 + 1)
+                candidateStream(node1, node1 + 1)
                     .forEach(node2 -> {
-                        double similarity = weighted
-                            ? weightedJaccard(vector1, vectors.get(node2), weights.get(node1), weights.get(node2))
-                            : jaccard(vector1, vectors.get(node2));
+                        double similarity = similarity(node1, vector1, node2);
                         if (!Double.isNaN(similarity)) {
                             topNList.add(node1, node2, similarity);
                         }
@@ -310,18 +362,140 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
         return topNList.stream();
     }
 
-    private Stream<SimilarityResult> computeTopN(TopKMap topKMap) {
-        progressLogger.logMessage("Start :: NodeSimilarity#computeTopN(TopKMap)");
+    private Stream<SimilarityResult> computeTopNParallel() {
+        progressLogger.logMessage("Start :: NodeSimilarity#computeTopNParallel");
+
+        List<TopNList> threadLists = forEachNodeParallel(
+            () -> new TopNList(config.normalizedN()),
+            (threadList, node1) -> {
+                long[] vector1 = vectors.get(node1);
+                candidateStream(node1, node1 + 1)
+                    .forEach(node2 -> {
+                        double similarity = similarity(node1, vector1, node2);
+                        if (!Double.isNaN(similarity)) {
+                            threadList.add(node1, node2, similarity);
+                        }
+                    });
+            }
+        );
+
+        TopNList topNList = new TopNList(config.normalizedN());
+        threadLists.forEach(threadList -> threadList.forEach(topNList::add));
+
+        progressLogger.logMessage("Finish :: NodeSimilarity#computeTopNParallel");
+        return topNList.stream();
+    }
+
+    private Stream<SimilarityResult> computeTopKTopN() {
+        progressLogger.logMessage("Start :: NodeSimilarity#computeTopKTopN");
+
+        int topK = (int) Math.min(Math.abs(config.normalizedK()), vectors.size());
+        boolean topKDescending = config.normalizedK() > 0;
+        boolean topNDescending = config.normalizedN() > 0;
+        // A result that is worse than the last entry of the full topN list can be dropped
+        // before it enters the topK list of its node, if both limits agree on the order.
+        // It does not change which of the better results are kept for that node.
+        boolean prune = topKDescending == topNDescending;
 
         TopNList topNList = new TopNList(config.normalizedN());
-        topKMap.forEach(topNList::add);
-        progressLogger.logMessage("Finish :: NodeSimilarity#computeTopN(TopKMap)");
+        AtomicLong threshold = new AtomicLong(Double.doubleToLongBits(
+            topNDescending ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY
+        ));
+
+        // Rather than keeping the topK list of every node, we compute all similarities
+        // of a single node at a time and only the topN list is shared between workers.
+        forEachNodeParallel(
+            () -> topKDescending ? BoundedLongPriorityQueue.max(topK) : BoundedLongPriorityQueue.min(topK),
+            (topKList, node1) -> {
+                topKList.clear();
+                double lastSimilarity = Double.longBitsToDouble(threshold.get());
+                long[] vector1 = vectors.get(node1);
+                candidateStream(node1, 0)
+                    .filter(node2 -> node1 != node2)
+                    .forEach(node2 -> {
+                        double similarity = similarity(node1, vector1, node2);
+                        if (!Double.isNaN(similarity) && (!prune || reaches(similarity, lastSimilarity, topNDescending))) {
+                            topKList.offer(node2, similarity);
+                        }
+                    });
+                if (topKList.size() > 0) {
+                    synchronized (topNList) {
+                        topKList.forEach((node2, similarity) -> topNList.add(node1, node2, similarity));
+                        if (topNList.isFull()) {
+                            threshold.set(Double.doubleToLongBits(topNList.lastSimilarity()));
+                        }
+                    }
+                }
+            }
+        );
+
+        progressLogger.logMessage("Finish :: NodeSimilarity#computeTopKTopN");
         return topNList.stream();
     }
 
-    private double jaccard(long[] vector1, long[] vector2) {
-        long intersection = Intersections.intersection3(vector1, vector2);
-        double union = vector1.length + vector2.length - intersection;
+    private static boolean reaches(double similarity, double threshold, boolean descending) {
+        return descending ? similarity >= threshold : similarity <= threshold;
+    }
+
+    /**
+     * Runs the consumer for all compared nodes on {@code concurrency} workers, each with its own state.
+     * Nodes are handed out in small batches, as the amount of work per node is uneven.
+     */
+    private <STATE> List<STATE> forEachNodeParallel(Supplier<STATE> stateSupplier, ObjLongConsumer<STATE> consumer) {
+        long nodeCount = vectors.size();
+        AtomicLong nextBatch = new AtomicLong();
+        List<STATE> states = new ArrayList<>();
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < config.concurrency(); i++) {
+            STATE state = stateSupplier.get();
+            states.add(state);
+            tasks.add(() -> {
+                long start;
+                while ((start = nextBatch.getAndAdd(NODE_BATCH_SIZE)) < nodeCount) {
+                    assertRunning();
+                    long end = Math.min(start + NODE_BATCH_SIZE, nodeCount);
+                    for (long node = nodeFilter.nextSetBit(start); node != -1 && node < end; node = nodeFilter.nextSetBit(node + 1)) {
+                        consumer.accept(state, node);
+                    }
+                }
+            });
+        }
+        ParallelUtil.runWithConcurrency(config.concurrency(), tasks, executorService);
+        return states;
+    }
+
+    private double similarity(long node1, long[] vector1, long node2) {
+        if (weighted) {
+            return weightedJaccard(vector1, vectors.get(node2), weights.get(node1), weights.get(node2));
+        }
+        if (minHashIndex != null && !config.verifyCandidates()) {
+            return estimatedJaccard(node1, node2);
+        }
+        return jaccard(node1, vector1, node2, vectors.get(node2));
+    }
+
+    private double estimatedJaccard(long node1, long node2) {
+        double similarity = minHashIndex.estimatedJaccard(node1, node2);
+        getProgressLogger().logProgress();
+        return similarity >= config.similarityCutoff() ? similarity : Double.NaN;
+    }
+
+    private double jaccard(long node1, long[] vector1, long node2, long[] vector2) {
+        boolean dense1 = denseNodes.get(node1);
+        boolean dense2 = denseNodes.get(node2);
+        long intersection;
+        if (dense1 && dense2) {
+            intersection = DenseVectors.intersection(vector1, vector2);
+        } else if (dense1) {
+            intersection = DenseVectors.intersectionWithCompressed(vector1, vector2);
+        } else if (dense2) {
+            intersection = DenseVectors.intersectionWithCompressed(vector2, vector1);
+        } else {
+            intersection = CompressedVectors.intersection(vector1, vector2);
+        }
+        long size1 = dense1 ? DenseVectors.size(vector1) : CompressedVectors.size(vector1);
+        long size2 = dense2 ? DenseVectors.size(vector2) : CompressedVectors.size(vector2);
+        double union = size1 + size2 - intersection;
         double similarity = union == 0 ? 0 : intersection / union;
         getProgressLogger().logProgress();
         return similarity >= config.similarityCutoff() ? similarity : Double.NaN;
@@ -371,6 +545,29 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
         return similarity >= config.similarityCutoff() ? similarity : Double.NaN;
     }
 
+    private LongStream candidateStream(long node1, long offset) {
+        if (minHashIndex != null) {
+            return LongStream.of(minHashIndex.candidates(node1, offset));
+        }
+        if (invertedIndex != null) {
+            return LongStream.of(invertedIndex.candidates(node1, offset));
+        }
+        return nodeStream(offset);
+    }
+
+    private void forEachTarget(long node, LongConsumer consumer) {
+        long[] vector = vectors.get(node);
+        if (weighted) {
+            for (long target : vector) {
+                consumer.accept(target);
+            }
+        } else if (denseNodes.get(node)) {
+            DenseVectors.forEachTarget(vector, consumer);
+        } else {
+            CompressedVectors.forEachTarget(vector, consumer);
+        }
+    }
+
     private LongStream nodeStream() {
         return nodeStream(0);
     }
@@ -393,7 +590,9 @@ public class NodeSimilarity extends Algorithm<NodeSimilarity, NodeSimilarityResu
 
     private long calculateWorkload() {
         long workload = nodesToCompare * nodesToCompare;
-        if (config.concurrency() == 1) {
+        // Only the topK computations that write into a single list per node compare both orders of a pair
+        boolean comparesBothOrders = config.hasTopK() && (config.hasTopN() || config.concurrency() > 1);
+        if (!comparesBothOrders) {
             workload = workload / 2;
         }
         return workload;
@@ -52,6 +52,39 @@ public interface NodeSimilarityBaseConfig extends AlgoBaseConfig, RelationshipWe
         return 1;
     }
 
+    @Value.Default
+    @Configuration.IntegerRange(min = 1)
+    default int maxItemDegree() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Value.Default
+    default boolean approximate() {
+        return false;
+    }
+
+    @Value.Default
+    @Configuration.IntegerRange(min = 1)
+    default int signatureSize() {
+        return 64;
+    }
+
+    @Value.Default
+    @Configuration.IntegerRange(min = 1)
+    default int bands() {
+        return 16;
+    }
+
+    @Value.Default
+    default boolean verifyCandidates() {
+        return true;
+    }
+
+    @Value.Default
+    default long randomSeed() {
+        return 1;
+    }
+
     @Value.Default
     @Configuration.Key(TOP_K_KEY)
     @Configuration.IntegerRange(min = 1)
@@ -141,5 +174,12 @@ public interface NodeSimilarityBaseConfig extends AlgoBaseConfig, RelationshipWe
                 BOTTOM_N_KEY
             ));
         }
+        if (approximate() && signatureSize() % bands() != 0) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The signatureSize must be a multiple of the number of bands, got signatureSize %d and bands %d",
+                signatureSize(),
+                bands()
+            ));
+        }
     }
 }
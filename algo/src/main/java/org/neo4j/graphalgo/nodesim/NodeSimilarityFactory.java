@@ -29,6 +29,7 @@ import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
+import org.neo4j.graphalgo.core.utils.queue.BoundedLongPriorityQueue;
 import org.neo4j.logging.Log;
 
 import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfDoubleArray;
@@ -55,6 +56,7 @@ public class NodeSimilarityFactory<CONFIG extends NodeSimilarityBaseConfig> impl
 
         MemoryEstimations.Builder builder = MemoryEstimations.builder(NodeSimilarity.class)
             .perNode("node filter", nodeCount -> sizeOfLongArray(BitSet.bits2words(nodeCount)))
+            .perNode("dense nodes", nodeCount -> sizeOfLongArray(BitSet.bits2words(nodeCount)))
             .add(
                 "vectors",
                 MemoryEstimations.setup("", (dimensions, concurrency) -> {
@@ -76,18 +78,30 @@ public class NodeSimilarityFactory<CONFIG extends NodeSimilarityBaseConfig> impl
                     .rangePerNode("array", nodeCount -> MemoryRange.of(0, nodeCount * averageVectorSize))
                     .build();
             }));
+        if (config.approximate()) {
+            builder.add(
+                "minhash index",
+                MinHashIndex.memoryEstimation(config.signatureSize(), config.bands(), !config.verifyCandidates())
+            );
+        } else if (config.similarityCutoff() > 0) {
+            builder.add("inverted index", InvertedIndex.memoryEstimation());
+        }
         if (config.computeToGraph() && !config.hasTopK()) {
             builder.add(
                 "similarity graph",
                 SimilarityGraphBuilder.memoryEstimation(topK, topN)
             );
         }
-        if (config.hasTopK()) {
+        if (config.hasTopK() && config.hasTopN()) {
+            builder.perThread("topK list", BoundedLongPriorityQueue.memoryEstimation(topK));
+        } else if (config.hasTopK()) {
             builder.add(
                 "topK map",
                 MemoryEstimations.setup("", (dimensions, concurrency) ->
                     TopKMap.memoryEstimation(dimensions.nodeCount(), topK))
             );
+        } else if (config.hasTopN() && config.isParallel()) {
+            builder.perThread("topN lists", TopNList.memoryEstimation(topN));
         }
         if (config.hasTopN()) {
             builder.add("topN list", TopNList.memoryEstimation(topN));
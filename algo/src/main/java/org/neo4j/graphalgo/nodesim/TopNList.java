@@ -50,6 +50,21 @@ public class TopNList {
         queue.offer(node1, node2, similarity);
     }
 
+    void forEach(BoundedLongLongPriorityQueue.Consumer consumer) {
+        queue.foreach(consumer);
+    }
+
+    boolean isFull() {
+        return queue.isFull();
+    }
+
+    /**
+     * A new result with a worse similarity can not enter the full list.
+     */
+    double lastSimilarity() {
+        return queue.lastPriority();
+    }
+
     public Stream<SimilarityResult> stream() {
         Iterable<SimilarityResult> iterable = () -> new Iterator<SimilarityResult>() {
 
@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.triangle;
 
+import org.immutables.value.Value;
 import org.jetbrains.annotations.TestOnly;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.annotation.ValueClass;
@@ -46,6 +47,9 @@ import java.util.concurrent.atomic.LongAdder;
  * http://www.cse.cuhk.edu.hk/~jcheng/papers/triangle_kdd11.pdf
  * https://i11www.iti.kit.edu/extra/publications/sw-fclt-05_t.pdf
  * http://www.math.cmu.edu/~ctsourak/tsourICDM08.pdf
+ *
+ * With {@link TriangleCountMode#FORWARD}, counting is delegated to {@link ForwardTriangleCount},
+ * with {@link TriangleCountMode#SAMPLING} triangles are estimated by {@link SampledTriangleCount}.
  */
 @SuppressWarnings("FieldCanBeLocal")
 public class IntersectingTriangleCount extends Algorithm<IntersectingTriangleCount, IntersectingTriangleCount.TriangleCountResult> {
@@ -55,6 +59,7 @@ public class IntersectingTriangleCount extends Algorithm<IntersectingTriangleCou
     private Graph graph;
     private final TriangleCountBaseConfig config;
     private ExecutorService executorService;
+    private final AllocationTracker tracker;
     private final AtomicLong queue;
 
     // results
@@ -73,6 +78,7 @@ public class IntersectingTriangleCount extends Algorithm<IntersectingTriangleCou
         this.graph = graph;
         this.config = config;
         this.executorService = executorService;
+        this.tracker = tracker;
         triangleCounts = HugeAtomicLongArray.newArray(graph.nodeCount(), tracker);
         globalTriangleCounter = new LongAdder();
         queue = new AtomicLong();
@@ -103,6 +109,36 @@ public class IntersectingTriangleCount extends Algorithm<IntersectingTriangleCou
 
     @Override
     public TriangleCountResult compute() {
+        if (config.mode() == TriangleCountMode.FORWARD) {
+            globalTriangleCount = new ForwardTriangleCount(
+                graph,
+                config,
+                executorService,
+                tracker,
+                getProgressLogger(),
+                this,
+                triangleCounts
+            ).compute();
+
+            return TriangleCountResult.of(
+                triangleCounts,
+                globalTriangleCount
+            );
+        }
+        if (config.mode() == TriangleCountMode.SAMPLING) {
+            TriangleCountResult result = new SampledTriangleCount(
+                graph,
+                config,
+                executorService,
+                tracker,
+                getProgressLogger(),
+                this,
+                triangleCounts
+            ).compute();
+            globalTriangleCount = result.globalTriangles();
+            return result;
+        }
+
         queue.set(0);
         globalTriangleCounter.reset();
         // create tasks
@@ -158,6 +194,24 @@ public class IntersectingTriangleCount extends Algorithm<IntersectingTriangleCou
 
         long globalTriangles();
 
+        // lower end of the confidence interval of the global count, only differs from it when sampling
+        @Value.Default
+        default long globalTrianglesLowerBound() {
+            return globalTriangles();
+        }
+
+        // upper end of the confidence interval of the global count, only differs from it when sampling
+        @Value.Default
+        default long globalTrianglesUpperBound() {
+            return globalTriangles();
+        }
+
+        // number of nodes whose triangles have been estimated instead of counted
+        @Value.Default
+        default long sampledNodes() {
+            return 0L;
+        }
+
         static TriangleCountResult of(
             HugeAtomicLongArray triangles,
             long globalTriangles
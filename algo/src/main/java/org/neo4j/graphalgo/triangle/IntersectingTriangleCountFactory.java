@@ -26,8 +26,10 @@ import org.neo4j.graphalgo.core.utils.BatchingProgressLogger;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
 import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryRange;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.logging.Log;
 
 public class IntersectingTriangleCountFactory<CONFIG extends TriangleCountBaseConfig> implements AlgorithmFactory<IntersectingTriangleCount, CONFIG> {
@@ -55,9 +57,29 @@ public class IntersectingTriangleCountFactory<CONFIG extends TriangleCountBaseCo
 
     @Override
     public MemoryEstimation memoryEstimation(CONFIG configuration) {
-        return MemoryEstimations
+        MemoryEstimations.Builder builder = MemoryEstimations
             .builder(IntersectingTriangleCount.class)
-            .perNode("triangle-counts", HugeAtomicLongArray::memoryEstimation)
-            .build();
+            .perNode("triangle-counts", HugeAtomicLongArray::memoryEstimation);
+
+        if (configuration != null && configuration.mode() == TriangleCountMode.FORWARD) {
+            builder
+                .perNode("oriented offsets", nodeCount -> HugeLongArray.memoryEstimation(nodeCount + 1))
+                // every relationship of the undirected graph is stored twice, but oriented only once
+                .perGraphDimension("oriented targets", (dimensions, concurrency) -> MemoryRange.of(
+                    0L,
+                    HugeLongArray.memoryEstimation(dimensions.maxRelCount() / 2)
+                ));
+        }
+        if (configuration != null && configuration.mode() == TriangleCountMode.SAMPLING) {
+            builder
+                .perNode("indexed offsets", nodeCount -> HugeLongArray.memoryEstimation(nodeCount + 1))
+                // only the neighbours of high degree nodes are indexed
+                .perGraphDimension("indexed targets", (dimensions, concurrency) -> MemoryRange.of(
+                    0L,
+                    HugeLongArray.memoryEstimation(dimensions.maxRelCount())
+                ));
+        }
+
+        return builder.build();
     }
 }
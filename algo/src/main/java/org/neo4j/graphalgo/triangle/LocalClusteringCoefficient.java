@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.triangle;
 
+import org.immutables.value.Value;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.api.Graph;
@@ -47,6 +48,7 @@ public class LocalClusteringCoefficient extends Algorithm<LocalClusteringCoeffic
     // Results
     private HugeDoubleArray localClusteringCoefficients;
     private double averageClusteringCoefficient;
+    private double averageClusteringCoefficientError;
 
     LocalClusteringCoefficient(
         Graph graph,
@@ -70,16 +72,21 @@ public class LocalClusteringCoefficient extends Algorithm<LocalClusteringCoeffic
     public Result compute() {
 
         if (null == triangleCountProperty) {
-            HugeAtomicLongArray triangleCounts = computeTriangleCounts();
+            IntersectingTriangleCount.TriangleCountResult triangleCountResult = computeTriangleCounts();
+            HugeAtomicLongArray triangleCounts = triangleCountResult.localTriangles();
             calculateCoefficients((nodeId) -> Long.valueOf(triangleCounts.get(nodeId)).doubleValue());
+            averageClusteringCoefficientError = averageCoefficientError(triangleCountResult.sampledNodes());
         } else {
             calculateCoefficients((nodeId) -> triangleCountProperty.nodeProperty(nodeId, Double.NaN));
         }
 
-        return Result.of(
-            localClusteringCoefficients,
-            averageClusteringCoefficient
-        );
+        return ImmutableResult
+            .builder()
+            .localClusteringCoefficients(localClusteringCoefficients)
+            .averageClusteringCoefficient(averageClusteringCoefficient)
+            .averageClusteringCoefficientLowerBound(Math.max(0.0, averageClusteringCoefficient - averageClusteringCoefficientError))
+            .averageClusteringCoefficientUpperBound(Math.min(1.0, averageClusteringCoefficient + averageClusteringCoefficientError))
+            .build();
     }
 
     private void calculateCoefficients(Function<Long, Double> propertyValueFunction) {
@@ -103,7 +110,21 @@ public class LocalClusteringCoefficient extends Algorithm<LocalClusteringCoeffic
         averageClusteringCoefficient = localClusteringCoefficientSum.doubleValue() / nodeCount;
     }
 
-    private HugeAtomicLongArray computeTriangleCounts() {
+    // The coefficient of a sampled node is the mean of `samplesPerNode` samples, each contributing
+    // a value in [0, 1 / samplesPerNode]. The error of the average follows from Hoeffding's inequality.
+    private double averageCoefficientError(long sampledNodes) {
+        if (sampledNodes == 0 || graph.nodeCount() == 0) {
+            return 0.0;
+        }
+        long samplesPerNode = SampledTriangleCount.samplesPerNode(configuration.errorBound(), configuration.confidenceLevel());
+        double sumError = SampledTriangleCount.confidenceHalfWidth(
+            (double) sampledNodes / samplesPerNode,
+            configuration.confidenceLevel()
+        );
+        return sumError / graph.nodeCount();
+    }
+
+    private IntersectingTriangleCount.TriangleCountResult computeTriangleCounts() {
 
         IntersectingTriangleCount intersectingTriangleCount = new IntersectingTriangleCountFactory<>().build(
             graph,
@@ -112,7 +133,7 @@ public class LocalClusteringCoefficient extends Algorithm<LocalClusteringCoeffic
             progressLogger.getLog()
         );
 
-        return intersectingTriangleCount.compute().localTriangles();
+        return intersectingTriangleCount.compute();
     }
 
     private double calculateCoefficient(double triangles, int degree) {
@@ -146,6 +167,16 @@ public class LocalClusteringCoefficient extends Algorithm<LocalClusteringCoeffic
 
         double averageClusteringCoefficient();
 
+        @Value.Default
+        default double averageClusteringCoefficientLowerBound() {
+            return averageClusteringCoefficient();
+        }
+
+        @Value.Default
+        default double averageClusteringCoefficientUpperBound() {
+            return averageClusteringCoefficient();
+        }
+
         static Result of(
             HugeDoubleArray localClusteringCoefficients,
             double averageClusteringCoefficient
@@ -73,6 +73,10 @@ public class LocalClusteringCoefficientFactory<CONFIG extends LocalClusteringCoe
             .graphName(configuration.graphName())
             .implicitCreateConfig(configuration.implicitCreateConfig())
             .concurrency(configuration.concurrency())
+            .mode(configuration.mode())
+            .errorBound(configuration.errorBound())
+            .confidenceLevel(configuration.confidenceLevel())
+            .randomSeed(configuration.randomSeed())
             .build();
     }
 
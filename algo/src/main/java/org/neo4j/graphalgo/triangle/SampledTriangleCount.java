@@ -0,0 +1,363 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.triangle;
+
+import com.carrotsearch.hppc.LongArrayList;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipConsumer;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.triangle.IntersectingTriangleCount.TriangleCountResult;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.neo4j.graphalgo.triangle.IntersectingTriangleCount.EXCLUDED_NODE_TRIANGLE_COUNT;
+
+/**
+ * Approximate triangle counting by wedge sampling.
+ *
+ * A wedge is a pair of distinct neighbours of a node, the node's triangles are
+ * exactly its closed wedges. For every node with more wedges than the configured
+ * sample size {@code k}, {@code k} wedges are drawn uniformly at random and the
+ * number of triangles is estimated from the fraction of closed wedges. Nodes with
+ * at most {@code k} wedges are counted exactly.
+ *
+ * By Hoeffding's inequality, {@code k = ln(2 / (1 - confidenceLevel)) / (2 * errorBound^2)}
+ * samples estimate the fraction of closed wedges of a node, i.e. its local clustering
+ * coefficient, within {@code errorBound} with probability {@code confidenceLevel}.
+ * The confidence interval of the global triangle count is derived by applying the same
+ * inequality to the sum of all samples.
+ *
+ * If a random seed is given, the wedges of each node are drawn from a generator seeded with
+ * the seed and the node id, so that the estimates do not depend on the order in which the
+ * nodes are processed.
+ *
+ * A wedge is checked from its endpoint with the lower degree. Low degree endpoints
+ * scan their adjacency list, all others binary search a sorted copy of their neighbours
+ * that is materialised once, so every sample costs at most {@code O(SCAN_DEGREE + log(degree))}.
+ *
+ * http://www.math.cmu.edu/~ctsourak/tsourICDM08.pdf
+ * https://arxiv.org/abs/1202.5230
+ */
+final class SampledTriangleCount {
+
+    // wedge endpoints up to this degree are checked by scanning their adjacency list
+    static final int SCAN_DEGREE = 64;
+
+    private final Graph graph;
+    private final long maxDegree;
+    private final int concurrency;
+    private final double confidenceLevel;
+    private final long samplesPerNode;
+    private final Optional<Long> randomSeed;
+    private final ExecutorService executorService;
+    private final AllocationTracker tracker;
+    private final ProgressLogger progressLogger;
+    private final TerminationFlag terminationFlag;
+    private final HugeAtomicLongArray triangleCounts;
+
+    // sorted, de-duplicated neighbours of nodes with a degree above SCAN_DEGREE,
+    // the neighbours of node `n` are stored at [offsets[n], offsets[n + 1])
+    private HugeLongArray offsets;
+    private HugeLongArray targets;
+
+    SampledTriangleCount(
+        Graph graph,
+        TriangleCountBaseConfig config,
+        ExecutorService executorService,
+        AllocationTracker tracker,
+        ProgressLogger progressLogger,
+        TerminationFlag terminationFlag,
+        HugeAtomicLongArray triangleCounts
+    ) {
+        this.graph = graph;
+        this.maxDegree = config.maxDegree();
+        this.concurrency = config.concurrency();
+        this.confidenceLevel = config.confidenceLevel();
+        this.samplesPerNode = samplesPerNode(config.errorBound(), config.confidenceLevel());
+        this.randomSeed = config.randomSeed();
+        this.executorService = executorService;
+        this.tracker = tracker;
+        this.progressLogger = progressLogger;
+        this.terminationFlag = terminationFlag;
+        this.triangleCounts = triangleCounts;
+    }
+
+    /**
+     * @return the number of wedges that need to be sampled per node, so that the fraction
+     *     of closed wedges is within {@code errorBound} with probability {@code confidenceLevel}.
+     */
+    static long samplesPerNode(double errorBound, double confidenceLevel) {
+        return (long) Math.ceil(Math.log(2.0 / (1.0 - confidenceLevel)) / (2.0 * errorBound * errorBound));
+    }
+
+    /**
+     * @param sumOfSquaredRanges the sum of the squared value ranges of all independent samples
+     * @return the half-width of the Hoeffding confidence interval for the sum of all samples
+     */
+    static double confidenceHalfWidth(double sumOfSquaredRanges, double confidenceLevel) {
+        return Math.sqrt(Math.log(2.0 / (1.0 - confidenceLevel)) * sumOfSquaredRanges / 2.0);
+    }
+
+    TriangleCountResult compute() {
+        indexHighDegreeNodes();
+        try {
+            return sample();
+        } finally {
+            tracker.remove(offsets.release());
+            tracker.remove(targets.release());
+            offsets = null;
+            targets = null;
+        }
+    }
+
+    private void indexHighDegreeNodes() {
+        long nodeCount = graph.nodeCount();
+        offsets = HugeLongArray.newArray(nodeCount + 1, tracker);
+
+        // first pass: count the distinct neighbours of every indexed node
+        ParallelUtil.readParallel(concurrency, nodeCount, executorService, (start, end) -> {
+            var neighbours = new Neighbours(graph.concurrentCopy());
+            for (long node = start; node < end; node++) {
+                offsets.set(node, isIndexed(node) ? neighbours.collect(node) : 0L);
+            }
+        });
+
+        // turn degrees into offsets
+        long offset = 0L;
+        for (long node = 0; node < nodeCount; node++) {
+            long degree = offsets.get(node);
+            offsets.set(node, offset);
+            offset += degree;
+        }
+        offsets.set(nodeCount, offset);
+
+        targets = HugeLongArray.newArray(offset, tracker);
+
+        // second pass: write the sorted neighbours
+        ParallelUtil.readParallel(concurrency, nodeCount, executorService, (start, end) -> {
+            var neighbours = new Neighbours(graph.concurrentCopy());
+            for (long node = start; node < end; node++) {
+                if (isIndexed(node)) {
+                    int degree = neighbours.collect(node);
+                    long[] buffer = neighbours.buffer.buffer;
+                    long targetOffset = offsets.get(node);
+                    for (int i = 0; i < degree; i++) {
+                        targets.set(targetOffset + i, buffer[i]);
+                    }
+                }
+            }
+        });
+    }
+
+    private boolean isIndexed(long node) {
+        int degree = graph.degree(node);
+        return degree > SCAN_DEGREE && degree <= maxDegree;
+    }
+
+    private TriangleCountResult sample() {
+        var queue = new AtomicLong();
+        var triangleSum = new DoubleAdder();
+        var squaredRangeSum = new DoubleAdder();
+        var sampledNodes = new LongAdder();
+
+        Collection<Runnable> tasks = ParallelUtil.tasks(
+            concurrency,
+            () -> new SampleTask(queue, triangleSum, squaredRangeSum, sampledNodes)
+        );
+        ParallelUtil.run(tasks, executorService);
+
+        // every triangle is seen by each of its three nodes
+        double globalTriangles = triangleSum.sum() / 3.0;
+        double halfWidth = confidenceHalfWidth(squaredRangeSum.sum() / 9.0, confidenceLevel);
+
+        return ImmutableTriangleCountResult.builder()
+            .localTriangles(triangleCounts)
+            .globalTriangles(Math.round(globalTriangles))
+            .globalTrianglesLowerBound((long) Math.max(0.0, Math.floor(globalTriangles - halfWidth)))
+            .globalTrianglesUpperBound((long) Math.ceil(globalTriangles + halfWidth))
+            .sampledNodes(sampledNodes.sum())
+            .build();
+    }
+
+    private final class SampleTask implements Runnable {
+
+        private final Graph graph;
+        private final AtomicLong queue;
+        private final DoubleAdder triangleSum;
+        private final DoubleAdder squaredRangeSum;
+        private final LongAdder sampledNodes;
+        private final Neighbours neighbours;
+        private final SplittableRandom random;
+
+        SampleTask(AtomicLong queue, DoubleAdder triangleSum, DoubleAdder squaredRangeSum, LongAdder sampledNodes) {
+            this.graph = SampledTriangleCount.this.graph.concurrentCopy();
+            this.queue = queue;
+            this.triangleSum = triangleSum;
+            this.squaredRangeSum = squaredRangeSum;
+            this.sampledNodes = sampledNodes;
+            this.neighbours = new Neighbours(graph);
+            this.random = new SplittableRandom(ThreadLocalRandom.current().nextLong());
+        }
+
+        @Override
+        public void run() {
+            long nodeCount = graph.nodeCount();
+            long node;
+            while ((node = queue.getAndIncrement()) < nodeCount && terminationFlag.running()) {
+                if (graph.degree(node) > maxDegree) {
+                    triangleCounts.set(node, EXCLUDED_NODE_TRIANGLE_COUNT);
+                } else {
+                    double triangles = estimate(node);
+                    triangleCounts.set(node, Math.round(triangles));
+                    triangleSum.add(triangles);
+                }
+                progressLogger.logProgress();
+            }
+        }
+
+        private double estimate(long node) {
+            int degree = neighbours.collect(node);
+            long[] candidates = neighbours.buffer.buffer;
+            long wedges = (long) degree * (degree - 1) / 2;
+
+            if (wedges <= samplesPerNode) {
+                long closed = 0L;
+                for (int i = 0; i < degree; i++) {
+                    for (int j = i + 1; j < degree; j++) {
+                        if (closes(candidates[i], candidates[j])) {
+                            closed++;
+                        }
+                    }
+                }
+                return closed;
+            }
+
+            SplittableRandom random = randomSeed.isPresent()
+                ? new SplittableRandom(randomSeed.get() + node)
+                : this.random;
+            long closed = 0L;
+            for (long sample = 0; sample < samplesPerNode; sample++) {
+                int first = random.nextInt(degree);
+                int second = random.nextInt(degree - 1);
+                if (second >= first) {
+                    second++;
+                }
+                if (closes(candidates[first], candidates[second])) {
+                    closed++;
+                }
+            }
+
+            // every sample contributes a value in [0, wedges / samplesPerNode] to the estimate
+            double range = (double) wedges / samplesPerNode;
+            squaredRangeSum.add(range * range * samplesPerNode);
+            sampledNodes.increment();
+
+            return closed * range;
+        }
+
+        private boolean closes(long first, long second) {
+            // the graph is undirected, so checking from either endpoint is sufficient
+            long low = first;
+            long high = second;
+            if (graph.degree(first) > graph.degree(second)) {
+                low = second;
+                high = first;
+            }
+            if (graph.degree(low) <= SCAN_DEGREE) {
+                return graph.exists(low, high);
+            }
+            return contains(low, high);
+        }
+
+        private boolean contains(long node, long target) {
+            long from = offsets.get(node);
+            long to = offsets.get(node + 1) - 1;
+            while (from <= to) {
+                long mid = (from + to) >>> 1;
+                long value = targets.get(mid);
+                if (value < target) {
+                    from = mid + 1;
+                } else if (value > target) {
+                    to = mid - 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Collects the sorted, distinct neighbours of a node,
+     * ignoring self-loops and neighbours excluded by {@code maxDegree}.
+     */
+    private final class Neighbours implements RelationshipConsumer {
+
+        private final Graph graph;
+        final LongArrayList buffer;
+
+        Neighbours(Graph graph) {
+            this.graph = graph;
+            this.buffer = new LongArrayList();
+        }
+
+        int collect(long node) {
+            buffer.elementsCount = 0;
+            graph.forEachRelationship(node, this);
+
+            long[] neighbours = buffer.buffer;
+            int size = buffer.elementsCount;
+            if (size <= 1) {
+                return size;
+            }
+
+            Arrays.sort(neighbours, 0, size);
+            int distinct = 1;
+            for (int i = 1; i < size; i++) {
+                if (neighbours[i] != neighbours[distinct - 1]) {
+                    neighbours[distinct++] = neighbours[i];
+                }
+            }
+            buffer.elementsCount = distinct;
+            return distinct;
+        }
+
+        @Override
+        public boolean accept(long source, long target) {
+            if (source != target && graph.degree(target) <= maxDegree) {
+                buffer.add(target);
+            }
+            return true;
+        }
+    }
+}
@@ -32,7 +32,7 @@ import java.util.Optional;
 @ValueClass
 @Configuration
 @SuppressWarnings("immutables:subtype")
-public interface TriangleCountBaseConfig extends AlgoBaseConfig {
+public interface TriangleCountBaseConfig extends AlgoBaseConfig, TriangleCountModeConfig {
 
     @Value.Default
     default long maxDegree() {
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.triangle;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Selects the strategy used by {@link IntersectingTriangleCount} to enumerate triangles.
+ */
+public enum TriangleCountMode {
+
+    /**
+     * Intersects the full, compressed adjacency lists of the in-memory graph.
+     */
+    INTERSECTING,
+
+    /**
+     * Orients every relationship towards its higher-degree endpoint and
+     * intersects the resulting out-neighbourhoods, which counts every
+     * triangle exactly once.
+     *
+     * @see ForwardTriangleCount
+     */
+    FORWARD,
+
+    /**
+     * Estimates the triangles of every node from a sample of its wedges,
+     * i.e. pairs of neighbours, and reports confidence intervals.
+     *
+     * @see SampledTriangleCount
+     */
+    SAMPLING;
+
+    public static TriangleCountMode of(String value) {
+        try {
+            return TriangleCountMode.valueOf(value.toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            String availableModes = Arrays
+                .stream(TriangleCountMode.values())
+                .map(TriangleCountMode::name)
+                .collect(Collectors.joining(", "));
+            throw new IllegalArgumentException(formatWithLocale(
+                "Triangle count mode `%s` is not supported. Must be one of: %s.",
+                value,
+                availableModes
+            ));
+        }
+    }
+
+    public static TriangleCountMode parse(Object object) {
+        if (object == null) {
+            return null;
+        }
+        if (object instanceof String) {
+            return of((String) object);
+        }
+        if (object instanceof TriangleCountMode) {
+            return (TriangleCountMode) object;
+        }
+        return null;
+    }
+
+    public static String toString(TriangleCountMode mode) {
+        return mode.name();
+    }
+}
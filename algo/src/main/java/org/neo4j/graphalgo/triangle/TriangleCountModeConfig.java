@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.triangle;
+
+import org.immutables.value.Value;
+import org.neo4j.graphalgo.annotation.Configuration;
+
+import java.util.Optional;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Configuration shared by all algorithms that count triangles.
+ */
+public interface TriangleCountModeConfig {
+
+    @Value.Default
+    @Configuration.ConvertWith("org.neo4j.graphalgo.triangle.TriangleCountMode#parse")
+    @Configuration.ToMapValue("org.neo4j.graphalgo.triangle.TriangleCountMode#toString")
+    default TriangleCountMode mode() {
+        return TriangleCountMode.INTERSECTING;
+    }
+
+    /**
+     * The maximum absolute error of the sampled fraction of closed wedges of a node.
+     * Only used in {@link TriangleCountMode#SAMPLING} mode.
+     */
+    @Value.Default
+    default double errorBound() {
+        return 0.05;
+    }
+
+    /**
+     * The probability with which the sampled estimates stay within the error bound.
+     * Only used in {@link TriangleCountMode#SAMPLING} mode.
+     */
+    @Value.Default
+    default double confidenceLevel() {
+        return 0.95;
+    }
+
+    /**
+     * The seed for sampling wedges, the estimates are reproducible if set.
+     * Only used in {@link TriangleCountMode#SAMPLING} mode.
+     */
+    Optional<Long> randomSeed();
+
+    @Value.Check
+    default void validateSampling() {
+        if (errorBound() <= 0 || errorBound() >= 1) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The 'errorBound' parameter must be in the range (0, 1), but got %s.",
+                errorBound()
+            ));
+        }
+        if (confidenceLevel() <= 0 || confidenceLevel() >= 1) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "The 'confidenceLevel' parameter must be in the range (0, 1), but got %s.",
+                confidenceLevel()
+            ));
+        }
+    }
+}
@@ -19,14 +19,21 @@
  */
 package org.neo4j.graphalgo.betweenness;
 
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.HugeGraphUtil;
+import org.neo4j.graphalgo.core.loading.IdMap;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.graphalgo.extension.TestGraph;
 
 import java.util.Map;
@@ -34,6 +41,8 @@ import java.util.Optional;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.graphalgo.Orientation.UNDIRECTED;
 import static org.neo4j.graphalgo.TestSupport.assertMemoryEstimation;
 import static org.neo4j.graphalgo.TestSupport.crossArguments;
@@ -149,6 +158,24 @@ class BetweennessCentralityTest {
         );
     }
 
+    @ParameterizedTest(name = "graph={1}, concurrency={0}, samplingSize={2}")
+    @MethodSource("org.neo4j.graphalgo.betweenness.BetweennessCentralityTest#testArguments")
+    void multiSourceTraversal(int concurrency, TestGraph graph, int samplingSize, Map<String, Double> expectedResult) {
+        HugeAtomicDoubleArray actualResult = new BetweennessCentrality(
+            graph,
+            new SelectionStrategy.RandomDegree(samplingSize, Optional.of(42L)),
+            Pools.DEFAULT,
+            concurrency,
+            true,
+            TRACKER
+        ).compute();
+
+        assertEquals(expectedResult.size(), actualResult.size());
+        expectedResult.forEach((variable, expectedCentrality) ->
+            assertEquals(expectedCentrality, actualResult.get(graph.toMappedNodeId(variable)), 1E-9, variable)
+        );
+    }
+
     @ParameterizedTest
     @ValueSource(ints = {1, 4})
     void noSampling(int concurrency) {
@@ -162,11 +189,93 @@ class BetweennessCentralityTest {
         assertEquals(0.0, actualResult.get((int) graph.toMappedNodeId("e")));
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void adaptiveSampling(int concurrency) {
+        TestGraph graph = fromGdl(DIAMOND);
+        var errorBound = 0.1;
+        var algo = new BetweennessCentrality(
+            graph,
+            SelectionStrategy.ALL,
+            new AdaptiveSampling(errorBound, 0.95, Optional.of(42L)),
+            Pools.DEFAULT,
+            concurrency,
+            false,
+            TRACKER
+        );
+        var actualResult = algo.compute();
+
+        assertTrue(algo.approximationError() <= errorBound);
+        long nodeCount = graph.nodeCount();
+        double normalization = nodeCount * (nodeCount - 1);
+        Map.of("a1", 0.0, "a2", 0.0, "b", 8.0, "c", 3.0, "d", 3.0, "e", 5.0, "f", 0.0).forEach((variable, expected) ->
+            assertEquals(
+                expected / normalization,
+                actualResult.get(graph.toMappedNodeId(variable)) / normalization,
+                errorBound,
+                variable
+            )
+        );
+    }
+
+    @Test
+    void multiSourceTraversalOnLargeGraphs() {
+        // 100,000 directed triangles, large enough for the former dense sigma and delta arrays to shrink the batch
+        int nodeCount = 300_000;
+        var idMapBuilder = HugeGraphUtil.idMapBuilder(nodeCount, Pools.DEFAULT, TRACKER);
+        for (int i = 0; i < nodeCount; i++) {
+            idMapBuilder.addNode(i);
+        }
+        IdMap idMap = idMapBuilder.build();
+        var relationshipsBuilder = HugeGraphUtil.createRelImporter(
+            idMap,
+            Orientation.NATURAL,
+            false,
+            Aggregation.NONE,
+            Pools.DEFAULT,
+            TRACKER
+        );
+        for (int i = 0; i < nodeCount; i++) {
+            relationshipsBuilder.add(i, i - i % 3 + (i + 1) % 3);
+        }
+        Graph graph = HugeGraphUtil.create(idMap, relationshipsBuilder.build(), TRACKER);
+
+        var tracker = AllocationTracker.create();
+        HugeAtomicDoubleArray actualResult = new BetweennessCentrality(
+            graph,
+            SelectionStrategy.ALL,
+            Pools.DEFAULT,
+            1,
+            true,
+            tracker
+        ).compute();
+
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            assertEquals(1.0, actualResult.get(nodeId), 1E-9);
+        }
+        // 64 sources only reach 192 (node, source) pairs, so sigma and delta never grow
+        assertTrue(tracker.tracked() < 12L * HugeLongArray.memoryEstimation(nodeCount));
+    }
+
+    @Test
+    void rejectsMultiSourceTraversalWithErrorBound() {
+        var exception = assertThrows(IllegalArgumentException.class, () -> BetweennessCentralityStreamConfig.of(
+            "",
+            Optional.empty(),
+            Optional.empty(),
+            CypherMapWrapper.create(Map.of("errorBound", 0.1, "multiSourceTraversal", true))
+        ));
+        assertEquals(
+            "Configuration parameters 'multiSourceTraversal' and 'errorBound' cannot be used together.",
+            exception.getMessage()
+        );
+    }
+
     static Stream<Arguments> expectedMemoryEstimation() {
         return Stream.of(
-            Arguments.of(1, 6_000_368L, 6_000_368L),
-            Arguments.of(4, 21_601_160L, 21_601_160L),
-            Arguments.of(42, 219_211_192L, 219_211_192L)
+            Arguments.of(1, 3_265_976L, 3_265_976L),
+            Arguments.of(4, 10_663_448L, 10_663_448L),
+            Arguments.of(42, 104_364_760L, 104_364_760L)
         );
     }
 
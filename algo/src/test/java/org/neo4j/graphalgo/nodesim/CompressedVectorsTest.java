@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.nodesim;
+
+import com.carrotsearch.hppc.LongArrayList;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompressedVectorsTest {
+
+    @Test
+    void shouldRoundTripTargets() {
+        // gaps of 0, 1, 127, 128 and above 2^21 need one to four bytes
+        long[] targets = {0, 1, 128, 256, 3_000_000, 3_000_001};
+        long[] vector = CompressedVectors.of(targets);
+
+        assertEquals(targets.length, CompressedVectors.size(vector));
+        LongArrayList decoded = new LongArrayList();
+        CompressedVectors.forEachTarget(vector, decoded::add);
+        assertArrayEquals(targets, decoded.toArray());
+    }
+
+    @Test
+    void shouldIntersect() {
+        long[] targets1 = {1, 2, 64, 100, 127, 1_000_000};
+        long[] targets2 = {2, 3, 64, 127, 999_999};
+
+        assertEquals(3, CompressedVectors.intersection(CompressedVectors.of(targets1), CompressedVectors.of(targets2)));
+        assertEquals(3, CompressedVectors.intersection(CompressedVectors.of(targets2), CompressedVectors.of(targets1)));
+        assertEquals(0, CompressedVectors.intersection(CompressedVectors.of(targets1), CompressedVectors.of(new long[0])));
+    }
+
+    @Test
+    void shouldNotBeLargerThanSortedTargets() {
+        long[] smallGaps = {10, 11, 12, 13, 14, 15, 16, 17};
+        assertEquals(1, CompressedVectors.sizeInLongs(smallGaps));
+
+        long[] largeGaps = {1L << 40, 1L << 41, 1L << 42};
+        assertTrue(CompressedVectors.sizeInLongs(largeGaps) <= largeGaps.length);
+    }
+}
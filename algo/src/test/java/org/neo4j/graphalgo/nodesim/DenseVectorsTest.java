@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.nodesim;
+
+import com.carrotsearch.hppc.LongArrayList;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DenseVectorsTest {
+
+    @Test
+    void shouldRoundTripTargets() {
+        long[] targets = {0, 3, 63, 64, 65, 129};
+        long[] vector = DenseVectors.of(targets, 130);
+
+        assertEquals(targets.length, DenseVectors.size(vector));
+        LongArrayList decoded = new LongArrayList();
+        DenseVectors.forEachTarget(vector, decoded::add);
+        assertArrayEquals(targets, decoded.toArray());
+    }
+
+    @Test
+    void shouldIntersect() {
+        long[] targets1 = {1, 2, 64, 100, 127};
+        long[] targets2 = {2, 3, 64, 127};
+        long[] vector1 = DenseVectors.of(targets1, 128);
+        long[] vector2 = DenseVectors.of(targets2, 128);
+
+        assertEquals(3, DenseVectors.intersection(vector1, vector2));
+        assertEquals(3, DenseVectors.intersectionWithCompressed(vector1, CompressedVectors.of(targets2)));
+        assertEquals(3, DenseVectors.intersectionWithCompressed(vector2, CompressedVectors.of(targets1)));
+    }
+
+    @Test
+    void shouldOnlyBeUsedWhenNotLargerThanSparse() {
+        // 1024 nodes need 16 words plus the size
+        assertFalse(DenseVectors.isNotLargerThanSparse(16, 1024));
+        assertTrue(DenseVectors.isNotLargerThanSparse(17, 1024));
+        // 1M nodes need 15625 words plus the size
+        assertFalse(DenseVectors.isNotLargerThanSparse(15625, 1_000_000));
+        assertTrue(DenseVectors.isNotLargerThanSparse(15626, 1_000_000));
+    }
+}
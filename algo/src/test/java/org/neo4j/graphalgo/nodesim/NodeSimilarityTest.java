@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.nodesim;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -42,18 +43,22 @@ import org.neo4j.graphalgo.extension.GdlGraph;
 import org.neo4j.graphalgo.extension.Inject;
 import org.neo4j.graphalgo.extension.TestGraph;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
@@ -425,6 +430,213 @@ final class NodeSimilarityTest {
         );
     }
 
+    @ParameterizedTest
+    @MethodSource("org.neo4j.graphalgo.nodesim.NodeSimilarityTest#concurrencies")
+    void shouldComputeJaccardAcrossDenseAndSparseVectors(int concurrency) {
+        // 1024 nodes need 17 longs for a dense vector, while the compressed vectors
+        // below need a single byte per target, so only nodes with a degree above 128 are dense
+        int[][] neighbours = {
+            {0, 1},
+            {0, 1, 2},
+            {1, 2, 3, 4, 300, 900},
+            IntStream.range(0, 100).map(i -> i * 3).toArray(),
+            IntStream.range(0, 150).map(i -> i * 2).toArray(),
+            IntStream.range(0, 400).toArray()
+        };
+        int nodeCount = 1024;
+        StringBuilder gdl = new StringBuilder("CREATE (p0)");
+        for (int person = 1; person < neighbours.length; person++) {
+            gdl.append(formatWithLocale(", (p%d)", person));
+        }
+        for (int item = 0; item < nodeCount - neighbours.length; item++) {
+            gdl.append(formatWithLocale(", (i%d)", item));
+        }
+        for (int person = 0; person < neighbours.length; person++) {
+            for (int item : neighbours[person]) {
+                gdl.append(formatWithLocale(", (p%d)-[:LIKES]->(i%d)", person, item));
+            }
+        }
+        TestGraph graph = fromGdl(gdl.toString());
+        for (int person = 0; person < neighbours.length; person++) {
+            long[] targets = Arrays.stream(neighbours[person]).asLongStream().toArray();
+            assertEquals(
+                person >= 4,
+                DenseVectors.isNotLargerThanSparse(CompressedVectors.sizeInLongs(targets), nodeCount)
+            );
+        }
+
+        Set<String> expected = new HashSet<>();
+        for (int person1 = 0; person1 < neighbours.length; person1++) {
+            for (int person2 = 0; person2 < neighbours.length; person2++) {
+                if (person1 == person2) {
+                    continue;
+                }
+                Set<Integer> union = new HashSet<>();
+                Arrays.stream(neighbours[person1]).forEach(union::add);
+                Arrays.stream(neighbours[person2]).forEach(union::add);
+                double intersection = neighbours[person1].length + neighbours[person2].length - union.size();
+                expected.add(resultString(
+                    graph.toMappedNodeId(formatWithLocale("p%d", person1)),
+                    graph.toMappedNodeId(formatWithLocale("p%d", person2)),
+                    intersection / union.size()
+                ));
+            }
+        }
+
+        NodeSimilarity nodeSimilarity = new NodeSimilarity(
+            graph,
+            configBuilder().concurrency(concurrency).build(),
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.EMPTY
+        );
+        Set<String> result = nodeSimilarity
+            .computeToStream()
+            .map(NodeSimilarityTest::resultString)
+            .collect(Collectors.toSet());
+        nodeSimilarity.release();
+
+        assertEquals(expected, result);
+    }
+
+    @ParameterizedTest(name = "approximate: {0}")
+    @ValueSource(booleans = {false, true})
+    void shouldReleaseIndexAndVectors(boolean approximate) {
+        AllocationTracker tracker = AllocationTracker.create();
+        NodeSimilarity nodeSimilarity = new NodeSimilarity(
+            naturalGraph,
+            configBuilder().concurrency(4).similarityCutoff(1E-42).approximate(approximate).build(),
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            tracker
+        );
+
+        long resultCount = nodeSimilarity.computeToStream().count();
+        assertTrue(resultCount > 0);
+        assertTrue(tracker.tracked() > 0);
+
+        nodeSimilarity.release();
+        assertEquals(0, tracker.tracked());
+    }
+
+    @ParameterizedTest(name = "orientation: {0}, concurrency: {1}")
+    @MethodSource("supportedLoadAndComputeDirections")
+    void shouldOnlyCompareCandidatesSharingNeighbours(Orientation orientation, int concurrency) {
+        Graph graph = orientation == NATURAL ? naturalGraph : reverseGraph;
+
+        NodeSimilarity allPairs = new NodeSimilarity(
+            graph,
+            configBuilder().concurrency(concurrency).build(),
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.EMPTY
+        );
+        Set<String> expected = allPairs
+            .computeToStream()
+            .filter(result -> result.similarity > 0)
+            .map(NodeSimilarityTest::resultString)
+            .collect(Collectors.toSet());
+        allPairs.release();
+
+        NodeSimilarity candidates = new NodeSimilarity(
+            graph,
+            configBuilder().concurrency(concurrency).similarityCutoff(1E-42).build(),
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.EMPTY
+        );
+        Set<String> result = candidates
+            .computeToStream()
+            .map(NodeSimilarityTest::resultString)
+            .collect(Collectors.toSet());
+        candidates.release();
+
+        assertEquals(expected, result);
+    }
+
+    @ParameterizedTest(name = "orientation: {0}, concurrency: {1}")
+    @MethodSource("supportedLoadAndComputeDirections")
+    void shouldSelectTopNOfTopKResults(Orientation orientation, int concurrency) {
+        Graph graph = orientation == NATURAL ? naturalGraph : reverseGraph;
+
+        NodeSimilarity topK = new NodeSimilarity(
+            graph,
+            configBuilder().concurrency(concurrency).topK(2).build(),
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.EMPTY
+        );
+        List<String> expected = topK
+            .computeToStream()
+            .sorted(Comparator
+                .comparingDouble((SimilarityResult result) -> -result.similarity)
+                .thenComparingLong(result -> result.node1)
+                .thenComparingLong(result -> result.node2))
+            .limit(3)
+            .map(NodeSimilarityTest::resultString)
+            .collect(Collectors.toList());
+        topK.release();
+
+        NodeSimilarity topKTopN = new NodeSimilarity(
+            graph,
+            configBuilder().concurrency(concurrency).topK(2).topN(3).build(),
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.EMPTY
+        );
+        List<String> result = topKTopN
+            .computeToStream()
+            .map(NodeSimilarityTest::resultString)
+            .collect(Collectors.toList());
+        topKTopN.release();
+
+        assertEquals(expected, result);
+    }
+
+    @ParameterizedTest(name = "orientation: {0}, concurrency: {1}")
+    @MethodSource("supportedLoadAndComputeDirections")
+    void shouldFindSubsetOfExactResultsInApproximateMode(Orientation orientation, int concurrency) {
+        Graph graph = orientation == NATURAL ? naturalGraph : reverseGraph;
+
+        NodeSimilarity exact = new NodeSimilarity(
+            graph,
+            configBuilder().concurrency(concurrency).build(),
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.EMPTY
+        );
+        Set<String> expected = exact
+            .computeToStream()
+            .map(NodeSimilarityTest::resultString)
+            .collect(Collectors.toSet());
+        exact.release();
+
+        NodeSimilarity approximate = new NodeSimilarity(
+            graph,
+            configBuilder().concurrency(concurrency).approximate(true).signatureSize(32).bands(32).build(),
+            Pools.DEFAULT,
+            ProgressLogger.NULL_LOGGER,
+            AllocationTracker.EMPTY
+        );
+        Set<String> result = approximate
+            .computeToStream()
+            .map(NodeSimilarityTest::resultString)
+            .collect(Collectors.toSet());
+        approximate.release();
+
+        assertFalse(result.isEmpty());
+        assertTrue(expected.containsAll(result));
+    }
+
+    @Test
+    void shouldFailWhenSignatureSizeIsNotAMultipleOfBands() {
+        IllegalArgumentException ex = Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> configBuilder().approximate(true).signatureSize(10).bands(4).build()
+        );
+        assertThat(ex.getMessage(), containsString("signatureSize must be a multiple of the number of bands"));
+    }
+
     @ParameterizedTest(name = "orientation: {0}, concurrency: {1}")
     @MethodSource("supportedLoadAndComputeDirections")
     void shouldComputeWithDegreeCutoffForSupportedDirections(Orientation orientation, int concurrency) {
@@ -646,7 +858,7 @@ final class NodeSimilarityTest {
 
         MemoryTree actual = new NodeSimilarityFactory<>().memoryEstimation(config).estimate(dimensions, 1);
 
-        long thisInstance = 64;
+        long thisInstance = 72;
 
         long nodeFilterRangeMin = 125_016L;
         long nodeFilterRangeMax = 125_016L;
@@ -663,6 +875,7 @@ final class NodeSimilarityTest {
         MemoryEstimations.Builder builder = MemoryEstimations.builder()
             .fixed("this.instance", thisInstance)
             .fixed("node filter", nodeFilterRange)
+            .fixed("dense nodes", nodeFilterRange)
             .fixed("vectors", vectorsRange)
             .fixed("weights", weightsRange);
 
@@ -701,7 +914,7 @@ final class NodeSimilarityTest {
 
         MemoryTree actual = new NodeSimilarityFactory<>().memoryEstimation(config).estimate(dimensions, 1);
 
-        long thisInstance = 64;
+        long thisInstance = 72;
 
         long nodeFilterRangeMin = 125_016L;
         long nodeFilterRangeMax = 125_016L;
@@ -722,20 +935,21 @@ final class NodeSimilarityTest {
         MemoryEstimations.Builder builder = MemoryEstimations.builder()
             .fixed("this.instance", thisInstance)
             .fixed("node filter", nodeFilterRange)
+            .fixed("dense nodes", nodeFilterRange)
             .fixed("vectors", vectorsRange)
             .fixed("weights", weightsRange)
             .fixed("topNList", topNListRange);
 
-        long topKMapRangeMin;
-        long topKMapRangeMax;
+        long topKListRangeMin;
+        long topKListRangeMax;
         if (topK == TOP_K_DEFAULT) {
-            topKMapRangeMin = 248_000_024L;
-            topKMapRangeMax = 248_000_024L;
+            topKListRangeMin = 232L;
+            topKListRangeMax = 232L;
         } else {
-            topKMapRangeMin = 1_688_000_024L;
-            topKMapRangeMax = 1_688_000_024L;
+            topKListRangeMin = 1_672L;
+            topKListRangeMax = 1_672L;
         }
-        builder.fixed("topK map", MemoryRange.of(topKMapRangeMin, topKMapRangeMax));
+        builder.fixed("topK list", MemoryRange.of(topKListRangeMin, topKListRangeMax));
 
         MemoryTree expected = builder.build().estimate(dimensions, 1);
 
@@ -764,16 +978,8 @@ final class NodeSimilarityTest {
         assertTrue(progressLogger.containsMessage(INFO, "Finish :: NodeSimilarity#prepare"));
         assertTrue(progressLogger.containsMessage(INFO, "NodeSimilarity#computeToStream"));
 
-        if (concurrency > 1) {
-            assertTrue(progressLogger.containsMessage(INFO, "Start :: NodeSimilarity#computeTopKMapParallel"));
-            assertTrue(progressLogger.containsMessage(INFO, "Finish :: NodeSimilarity#computeTopKMapParallel"));
-        } else {
-            assertTrue(progressLogger.containsMessage(INFO, "Start :: NodeSimilarity#computeTopKMap"));
-            assertTrue(progressLogger.containsMessage(INFO, "Finish :: NodeSimilarity#computeTopKMap"));
-        }
-
-        assertTrue(progressLogger.containsMessage(INFO, "Start :: NodeSimilarity#computeTopN(TopKMap)"));
-        assertTrue(progressLogger.containsMessage(INFO, "Finish :: NodeSimilarity#computeTopN(TopKMap)"));
+        assertTrue(progressLogger.containsMessage(INFO, "Start :: NodeSimilarity#computeTopKTopN"));
+        assertTrue(progressLogger.containsMessage(INFO, "Finish :: NodeSimilarity#computeTopKTopN"));
     }
 
     @ParameterizedTest(name = "concurrency = {0}")
@@ -34,6 +34,7 @@ import org.neo4j.graphalgo.triangle.IntersectingTriangleCount.TriangleCountResul
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.graphalgo.Orientation.UNDIRECTED;
 import static org.neo4j.graphalgo.TestSupport.fromGdl;
 import static org.neo4j.graphalgo.triangle.IntersectingTriangleCount.EXCLUDED_NODE_TRIANGLE_COUNT;
@@ -269,6 +270,164 @@ class IntersectingTriangleCountTest {
         assertEquals(1, result.globalTriangles());
     }
 
+    private static Stream<Arguments> forwardModeQueries() {
+        return Stream.of(
+            Arguments.of(
+                "CREATE (a)-[:T]->(b)-[:T]->(c)-[:T]->(a), (a)-[:T]->(b), (a)-[:T]->(a)",
+                "parallel relationships and self loop"
+            ),
+            Arguments.of(
+                "CREATE " +
+                " (a1)-[:T]->(a2), (a1)-[:T]->(a3), (a1)-[:T]->(a4), (a1)-[:T]->(a5)," +
+                " (a2)-[:T]->(a3), (a2)-[:T]->(a4), (a2)-[:T]->(a5)," +
+                " (a3)-[:T]->(a4), (a3)-[:T]->(a5)," +
+                " (a4)-[:T]->(a5)",
+                "clique5"
+            ),
+            Arguments.of(
+                "CREATE" +
+                " (a)-[:T]->(b)-[:T]->(b)-[:T]->(c)-[:T]->(a)" +
+                ", (c)-[:T]->(d)-[:T]->(e)-[:T]->(f)-[:T]->(d)" +
+                ", (f)-[:T]->(g)-[:T]->(h)-[:T]->(f)" +
+                ", (h)-[:T]->(i)-[:T]->(j)-[:T]->(k)-[:T]->(e)" +
+                ", (k)-[:T]->(l)" +
+                ", (k)-[:T]->(m)-[:T]->(n)-[:T]->(j)" +
+                ", (o)",
+                "many triangles and other things"
+            ),
+            Arguments.of(
+                "CREATE" +
+                "  (hub)-[:T]->(a), (hub)-[:T]->(b), (hub)-[:T]->(c), (hub)-[:T]->(d), (hub)-[:T]->(e)" +
+                ", (a)-[:T]->(b)-[:T]->(c)-[:T]->(d)-[:T]->(e)-[:T]->(a)",
+                "wheel"
+            )
+        );
+    }
+
+    @MethodSource("forwardModeQueries")
+    @ParameterizedTest(name = "{1}")
+    void forwardModeMatchesIntersecting(String gdl, String ignoredName) {
+        var graph = fromGdl(gdl, UNDIRECTED);
+
+        TriangleCountResult expected = compute(graph);
+        TriangleCountResult actual = compute(
+            graph,
+            ImmutableTriangleCountBaseConfig.builder().mode(TriangleCountMode.FORWARD).concurrency(4).build()
+        );
+
+        assertEquals(expected.globalTriangles(), actual.globalTriangles());
+        assertEquals(expected.localTriangles().size(), actual.localTriangles().size());
+        for (int i = 0; i < expected.localTriangles().size(); ++i) {
+            assertEquals(expected.localTriangles().get(i), actual.localTriangles().get(i));
+        }
+    }
+
+    @Test
+    void forwardModeWithMaxDegree() {
+        var graph = fromGdl(
+            "CREATE" +
+            "  (a)-[:T]->(b)"+
+            " ,(a)-[:T]->(c)"+
+            " ,(a)-[:T]->(d)"+
+            " ,(b)-[:T]->(c)"+
+            " ,(b)-[:T]->(d)"+
+
+            " ,(e)-[:T]->(f)"+
+            " ,(f)-[:T]->(g)"+
+            " ,(g)-[:T]->(e)",
+            UNDIRECTED
+        );
+
+        TriangleCountBaseConfig config = ImmutableTriangleCountBaseConfig
+            .builder()
+            .mode(TriangleCountMode.FORWARD)
+            .maxDegree(2)
+            .build();
+
+        TriangleCountResult result = compute(graph, config);
+
+        assertEquals(EXCLUDED_NODE_TRIANGLE_COUNT, result.localTriangles().get(0)); // a (deg = 3)
+        assertEquals(EXCLUDED_NODE_TRIANGLE_COUNT, result.localTriangles().get(1)); // b (deg = 3)
+        assertEquals(0, result.localTriangles().get(2));  // c (deg = 2)
+        assertEquals(0, result.localTriangles().get(3));  // d (deg = 2)
+
+        assertEquals(1, result.localTriangles().get(4)); // e (deg = 2)
+        assertEquals(1, result.localTriangles().get(5)); // f (deg = 2)
+        assertEquals(1, result.localTriangles().get(6)); // g (deg = 2)
+        assertEquals(1, result.globalTriangles());
+    }
+
+    @Test
+    void samplingModeIsExactForLowDegreeNodes() {
+        var graph = fromGdl(
+            "CREATE" +
+            " (a)-[:T]->(b)-[:T]->(c)-[:T]->(a)" +
+            ", (c)-[:T]->(d)-[:T]->(e)-[:T]->(c)",
+            UNDIRECTED
+        );
+
+        TriangleCountResult result = compute(
+            graph,
+            ImmutableTriangleCountBaseConfig.builder().mode(TriangleCountMode.SAMPLING).build()
+        );
+
+        assertEquals(0, result.sampledNodes());
+        assertEquals(2, result.globalTriangles());
+        assertEquals(2, result.globalTrianglesLowerBound());
+        assertEquals(2, result.globalTrianglesUpperBound());
+        assertEquals(1, result.localTriangles().get(0));
+        assertEquals(1, result.localTriangles().get(1));
+        assertEquals(2, result.localTriangles().get(2));
+        assertEquals(1, result.localTriangles().get(3));
+        assertEquals(1, result.localTriangles().get(4));
+    }
+
+    @Test
+    void samplingModeEstimatesHighDegreeNodesWithinErrorBound() {
+        // every ring node is connected to the hub and to its 40 successors on the ring,
+        // so all nodes have more wedges than samples and are above the scan degree
+        int ringSize = 150;
+        int reach = 40;
+        var graph = fromGdl(hubAndCirculantRing(ringSize, reach), UNDIRECTED);
+
+        double errorBound = 0.05;
+        // 2902 samples per node, the hub has 11175 wedges, every ring node 3240
+        TriangleCountBaseConfig config = ImmutableTriangleCountBaseConfig
+            .builder()
+            .mode(TriangleCountMode.SAMPLING)
+            .errorBound(errorBound)
+            .confidenceLevel(0.999999)
+            .concurrency(4)
+            .build();
+
+        TriangleCountResult exact = compute(graph);
+        TriangleCountResult result = compute(graph, config);
+
+        assertEquals(ringSize + 1, result.sampledNodes());
+        for (long node = 0; node < graph.nodeCount(); node++) {
+            long degree = graph.degree(node);
+            double maxError = errorBound * degree * (degree - 1) / 2 + 1;
+            long expected = exact.localTriangles().get(node);
+            long actual = result.localTriangles().get(node);
+            assertTrue(Math.abs(expected - actual) <= maxError, formatWithLocale(
+                "node %d: expected %d triangles +/- %.1f, but got %d", node, expected, maxError, actual
+            ));
+        }
+        assertTrue(result.globalTrianglesLowerBound() <= exact.globalTriangles());
+        assertTrue(result.globalTrianglesUpperBound() >= exact.globalTriangles());
+    }
+
+    static String hubAndCirculantRing(int ringSize, int reach) {
+        StringBuilder gdl = new StringBuilder("CREATE (hub)");
+        for (int i = 0; i < ringSize; ++i) {
+            gdl.append(formatWithLocale(", (hub)-[:T]->(r%d)", i));
+            for (int j = 1; j <= reach; ++j) {
+                gdl.append(formatWithLocale(", (r%d)-[:T]->(r%d)", i, (i + j) % ringSize));
+            }
+        }
+        return gdl.toString();
+    }
+
     private TriangleCountResult compute(Graph graph) {
         TriangleCountStatsConfig config = ImmutableTriangleCountStatsConfig.builder().build();
         return compute(graph, config);
@@ -36,6 +36,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.neo4j.graphalgo.Orientation.UNDIRECTED;
 import static org.neo4j.graphalgo.TestSupport.fromGdl;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
@@ -314,6 +315,79 @@ class LocalClusteringCoefficientTest {
         assertEquals(0, result.localClusteringCoefficients().get(14)); // o
     }
 
+    @Test
+    void samplingModeEstimatesCoefficientsWithinErrorBound() {
+        var graph = fromGdl(IntersectingTriangleCountTest.hubAndCirculantRing(150, 40), UNDIRECTED);
+        double errorBound = 0.05;
+
+        LocalClusteringCoefficient.Result exact = compute(graph);
+        LocalClusteringCoefficient.Result result = compute(graph, samplingConfig(errorBound).build());
+
+        for (long node = 0; node < graph.nodeCount(); node++) {
+            // the sampled triangle counts are rounded, which adds less than 0.001 here
+            assertEquals(
+                exact.localClusteringCoefficients().get(node),
+                result.localClusteringCoefficients().get(node),
+                errorBound + 0.001
+            );
+        }
+        assertTrue(result.averageClusteringCoefficientLowerBound() <= exact.averageClusteringCoefficient());
+        assertTrue(result.averageClusteringCoefficientUpperBound() >= exact.averageClusteringCoefficient());
+    }
+
+    @Test
+    void samplingModeReportsAverageCoefficientError() {
+        var graph = fromGdl(IntersectingTriangleCountTest.hubAndCirculantRing(150, 40), UNDIRECTED);
+        var config = samplingConfig(0.05).build();
+
+        LocalClusteringCoefficient.Result result = compute(graph, config);
+
+        // all 151 nodes have more wedges than the 2902 samples per node
+        long samplesPerNode = SampledTriangleCount.samplesPerNode(config.errorBound(), config.confidenceLevel());
+        double expectedError = SampledTriangleCount.confidenceHalfWidth(
+            151.0 / samplesPerNode,
+            config.confidenceLevel()
+        ) / graph.nodeCount();
+
+        double average = result.averageClusteringCoefficient();
+        assertEquals(average - expectedError, result.averageClusteringCoefficientLowerBound(), 1e-9);
+        assertEquals(average + expectedError, result.averageClusteringCoefficientUpperBound(), 1e-9);
+    }
+
+    @Test
+    void samplingModeHasNoErrorWithoutSampledNodes() {
+        var graph = fromGdl(
+            "CREATE " +
+            "  (a)-[:T]->()-[:T]->()-[:T]->(a) " +
+            ", (a)-[:T]->()-[:T]->()-[:T]->(a)",
+            UNDIRECTED
+        );
+
+        LocalClusteringCoefficient.Result exact = compute(graph);
+        LocalClusteringCoefficient.Result result = compute(graph, samplingConfig(0.05).build());
+
+        assertEquals(exact.averageClusteringCoefficient(), result.averageClusteringCoefficient(), 1e-10);
+        assertEquals(result.averageClusteringCoefficient(), result.averageClusteringCoefficientLowerBound());
+        assertEquals(result.averageClusteringCoefficient(), result.averageClusteringCoefficientUpperBound());
+    }
+
+    private LocalClusteringCoefficient.Result compute(Graph graph, LocalClusteringCoefficientBaseConfig config) {
+        return new LocalClusteringCoefficient(
+            graph,
+            config,
+            AllocationTracker.EMPTY,
+            ProgressLogger.NULL_LOGGER
+        ).compute();
+    }
+
+    private ImmutableLocalClusteringCoefficientBaseConfig.Builder samplingConfig(double errorBound) {
+        return createConfig()
+            .mode(TriangleCountMode.SAMPLING)
+            .errorBound(errorBound)
+            .confidenceLevel(0.999999)
+            .concurrency(4);
+    }
+
     private LocalClusteringCoefficient.Result compute(Graph graph) {
         return new LocalClusteringCoefficient(
             graph,
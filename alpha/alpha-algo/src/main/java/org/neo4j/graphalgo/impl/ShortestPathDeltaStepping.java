@@ -19,22 +19,25 @@
  */
 package org.neo4j.graphalgo.impl;
 
+import com.carrotsearch.hppc.LongArrayList;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+import org.neo4j.graphalgo.config.ConcurrencyConfig;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
-import org.neo4j.graphalgo.core.utils.container.Buckets;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 
 import java.util.ArrayDeque;
-import java.util.Collection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
-import java.util.concurrent.atomic.AtomicIntegerArray;
-import java.util.stream.IntStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
-import static org.neo4j.graphalgo.core.heavyweight.Converters.longToIntConsumer;
-
 /**
  * parallel non-negative single source shortest path algorithm
  * <p>
@@ -43,48 +46,60 @@ import static org.neo4j.graphalgo.core.heavyweight.Converters.longToIntConsumer;
  * nodes in the graph. It can be tweaked using the delta-parameter which controls
  * the grade of concurrency.<br>
  * <p>
+ * Distances are kept as doubles in a {@link HugeAtomicDoubleArray}. Every worker
+ * collects improved nodes in its own buckets, which are merged into a shared
+ * frontier only when the next bucket is processed. Nodes a worker adds to the
+ * current bucket are processed right away by the same worker as long as that
+ * bucket stays small (bucket fusion), which saves most of the synchronization
+ * rounds caused by light edges. Only non-empty buckets are kept, in a sorted map,
+ * so that the number of buckets does not depend on the largest distance.<br>
+ * <p>
  * More information in:<br>
  * <p>
  * <a href="https://arxiv.org/pdf/1604.02113v1.pdf">https://arxiv.org/pdf/1604.02113v1.pdf</a><br>
  * <a href="https://ae.cs.uni-frankfurt.de/pdf/diss_uli.pdf">https://ae.cs.uni-frankfurt.de/pdf/diss_uli.pdf</a><br>
  * <a href="http://www.cc.gatech.edu/~bader/papers/ShortestPaths-ALENEX2007.pdf">http://www.cc.gatech.edu/~bader/papers/ShortestPaths-ALENEX2007.pdf</a><br>
- * <a href="http://www.dis.uniroma1.it/challenge9/papers/madduri.pdf">http://www.dis.uniroma1.it/challenge9/papers/madduri.pdf</a>
+ * <a href="http://www.dis.uniroma1.it/challenge9/papers/madduri.pdf">http://www.dis.uniroma1.it/challenge9/papers/madduri.pdf</a><br>
+ * <a href="https://arxiv.org/pdf/1911.07260.pdf">https://arxiv.org/pdf/1911.07260.pdf</a>
  */
 public class ShortestPathDeltaStepping extends Algorithm<ShortestPathDeltaStepping, ShortestPathDeltaStepping> {
 
-    // distance array
-    private AtomicIntegerArray distance;
-    // bucket impl
-    private Buckets buckets;
-    private Graph graph;
-    // collections of runnables containing either heavy edge relax-operations or light edge relax-ops.
-    private Collection<Runnable> light, heavy;
-    // list of futures of light and heavy edge relax-operations
-    private Collection<Future<?>> futures;
+    // a worker keeps processing its own bucket as long as it contains less nodes
+    static final int BUCKET_FUSION_THRESHOLD = 1000;
+    // number of frontier nodes a worker takes at once
+    private static final int BATCH_SIZE = 64;
+    private static final long NO_BUCKET = -1L;
 
+    private final Graph graph;
     private final long startNode;
     // delta parameter
     private final double delta;
-    private final int nodeCount;
-    // scaled delta
-    private int iDelta;
+    private final long nodeCount;
+    private final AllocationTracker tracker;
 
-    private ExecutorService executorService;
+    // distance array
+    private HugeAtomicDoubleArray distances;
+    // nodes of the bucket that is currently processed
+    private HugeLongArray frontier;
 
-    // multiplier used to scale an double to int
-    private double multiplier = 100_000D; // double type is intended
+    private ExecutorService executorService;
+    private int concurrency = ConcurrencyConfig.DEFAULT_CONCURRENCY;
 
     public ShortestPathDeltaStepping(Graph graph, long startNode, double delta) {
+        this(graph, startNode, delta, AllocationTracker.EMPTY);
+    }
+
+    public ShortestPathDeltaStepping(Graph graph, long startNode, double delta, AllocationTracker tracker) {
+        if (delta <= 0) {
+            throw new IllegalArgumentException("delta must be > 0");
+        }
         this.graph = graph;
         this.startNode = startNode;
         this.delta = delta;
-        this.iDelta = (int) (multiplier * delta);
-        nodeCount = Math.toIntExact(graph.nodeCount());
-        distance = new AtomicIntegerArray(nodeCount);
-        buckets = new Buckets(nodeCount);
-        heavy = new ArrayDeque<>(1024);
-        light = new ArrayDeque<>(1024);
-        futures = new ArrayDeque<>(128);
+        this.tracker = tracker;
+        this.nodeCount = graph.nodeCount();
+        this.distances = HugeAtomicDoubleArray.newArray(nodeCount, tracker);
+        this.frontier = HugeLongArray.newArray(BATCH_SIZE, tracker);
     }
 
     /**
@@ -99,123 +114,95 @@ public class ShortestPathDeltaStepping extends Algorithm<ShortestPathDeltaSteppi
     }
 
     /**
-     * set the multiplier used to scale up double weights to integers
+     * Set the number of workers used for concurrent evaluation.
      *
-     * @param multiplier the multiplier
+     * @param concurrency the number of workers, only used if an executor service is set
      * @return itself for method chaining
      */
-    public ShortestPathDeltaStepping withMultiplier(int multiplier) {
-        if (multiplier < 1) {
-            throw new IllegalArgumentException("multiplier must be >= 1");
+    public ShortestPathDeltaStepping withConcurrency(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be >= 1");
         }
-        this.multiplier = multiplier;
-        this.iDelta = (int) (multiplier * delta);
+        this.concurrency = concurrency;
         return this;
     }
 
     @Override
     public ShortestPathDeltaStepping compute() {
         // reset
-        for (int i = 0; i < nodeCount; i++) {
-            distance.set(i, Integer.MAX_VALUE);
+        for (long i = 0; i < nodeCount; i++) {
+            distances.set(i, Double.POSITIVE_INFINITY);
         }
-        buckets.reset();
-
-        // basically assign start node to bucket 0
-        relax(Math.toIntExact(graph.toMappedNodeId(startNode)), 0);
-
-        // as long as the bucket contains any value
-        while (!buckets.isEmpty() && running()) {
-            // reset temporary arrays
-            light.clear();
-            heavy.clear();
-
-            // get next bucket index
-            final int phase = buckets.nextNonEmptyBucket();
-
-            // for each node in bucket
-            buckets.forEachInBucket(phase, node -> {
-                // relax each outgoing light edge
-                RelationshipWithPropertyConsumer relationshipConsumer = longToIntConsumer((sourceNodeId, targetNodeId, cost) -> {
-                    final int iCost = (int) (cost * multiplier + distance.get(sourceNodeId));
-                    if (cost <= delta) { // determine if light or heavy edge
-                        light.add(() -> relax(targetNodeId, iCost));
-                    } else {
-                        heavy.add(() -> relax(targetNodeId, iCost));
-                    }
-                    return true;
-                });
-
-                graph.forEachRelationship(node, 0.0D, relationshipConsumer);
-                return true;
-            });
-            ParallelUtil.run(light, executorService, futures);
-            ParallelUtil.run(heavy, executorService, futures);
+
+        long startNodeId = graph.toMappedNodeId(startNode);
+        distances.set(startNodeId, 0D);
+        frontier.set(0, startNodeId);
+        long frontierSize = 1;
+
+        int workerCount = ParallelUtil.canRunInParallel(executorService) ? concurrency : 1;
+        List<DeltaSteppingTask> tasks = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            tasks.add(new DeltaSteppingTask(graph.concurrentCopy()));
         }
-        return this;
-    }
 
-    /**
-     * get downscaled sum of distance
-     *
-     * @param nodeId the mapped node-id
-     * @return the overall distance from source to nodeId
-     */
-    private double get(int nodeId) {
-        int distance = this.distance.get(nodeId);
-        return distance == Integer.MAX_VALUE ? Double.POSITIVE_INFINITY : distance / multiplier;
-    }
+        AtomicLong frontierIndex = new AtomicLong();
+        long bucket = 0;
 
-    /**
-     * compare and set. tries to store the new calculated costs
-     * as long as no other thread has already written a value
-     * smaller then cost. if another thread writes a value bigger
-     * then cost the loop tries again otherwise the function
-     * terminates.
-     *
-     * @param nodeId
-     * @param cost
-     */
-    private void cas(int nodeId, int cost) {
-        boolean stored = false;
-        while (!stored) {
-            int oldC = distance.get(nodeId);
-            if (cost < oldC) {
-                stored = distance.compareAndSet(nodeId, oldC, cost);
-            } else {
+        // as long as any bucket contains a node
+        while (frontierSize > 0 && running()) {
+            frontierIndex.set(0);
+            for (DeltaSteppingTask task : tasks) {
+                task.prepare(bucket, frontierSize, frontierIndex);
+            }
+            ParallelUtil.run(tasks, executorService);
+
+            // find next bucket index over all workers
+            long nextBucket = NO_BUCKET;
+            for (DeltaSteppingTask task : tasks) {
+                long taskBucket = task.nextNonEmptyBucket(bucket);
+                if (taskBucket != NO_BUCKET && (nextBucket == NO_BUCKET || taskBucket < nextBucket)) {
+                    nextBucket = taskBucket;
+                }
+            }
+            if (nextBucket == NO_BUCKET) {
                 break;
             }
+            bucket = nextBucket;
+
+            // merge the local buckets into the shared frontier
+            frontierSize = 0;
+            List<Runnable> merges = new ArrayList<>(workerCount);
+            for (DeltaSteppingTask task : tasks) {
+                long offset = frontierSize;
+                frontierSize += task.bucketSize(bucket);
+                long mergeBucket = bucket;
+                merges.add(() -> task.flushBucket(mergeBucket, offset));
+            }
+            ensureFrontierCapacity(frontierSize);
+            ParallelUtil.run(merges, executorService);
         }
+        return this;
     }
 
-    /**
-     * relax() sets the summed cost in {@link ShortestPathDeltaStepping#distance}
-     * if they are smaller then the current cost - like dijkstra. If so it also
-     * calculates the next bucket index for the node and assigns it.
-     *
-     * @param nodeId node id
-     * @param cost   the summed cost
-     */
-    private void relax(int nodeId, int cost) {
-        if (cost >= distance.get(nodeId)) {
-            return;
+    private void ensureFrontierCapacity(long size) {
+        if (size > frontier.size()) {
+            long newSize = Math.max(size, frontier.size() + (frontier.size() >> 1));
+            tracker.remove(frontier.release());
+            frontier = HugeLongArray.newArray(newSize, tracker);
         }
-        int bucketIndex = (cost / iDelta); // calculate bucket index
-        buckets.set(nodeId, bucketIndex);
-        cas(nodeId, cost);
+    }
+
+    private long bucketOf(double distance) {
+        return (long) (distance / delta);
     }
 
     /**
-     * scale down integer representation to double[]
+     * get the distances from the start node
      *
-     * @return mapped-id to costSum array
+     * @return mapped-id to costSum array, unreachable nodes are {@link Double#POSITIVE_INFINITY}
      */
-    public double[] getShortestPaths() {
-        double[] d = new double[nodeCount];
-        for (int i = nodeCount - 1; i >= 0; i--) {
-            d[i] = get(i);
-        }
-        return d;
+    public HugeAtomicDoubleArray getShortestPaths() {
+        return distances;
     }
 
     /**
@@ -224,9 +211,9 @@ public class ShortestPathDeltaStepping extends Algorithm<ShortestPathDeltaSteppi
      * @return Stream of results containing neo4j-NodeId and Sum of Costs of the shortest path
      */
     public Stream<DeltaSteppingResult> resultStream() {
-        return IntStream.range(0, nodeCount)
+        return LongStream.range(0, nodeCount)
                 .mapToObj(node ->
-                        new DeltaSteppingResult(graph.toOriginalNodeId(node), get(node)));
+                        new DeltaSteppingResult(graph.toOriginalNodeId(node), distances.get(node)));
     }
 
     @Override
@@ -236,10 +223,119 @@ public class ShortestPathDeltaStepping extends Algorithm<ShortestPathDeltaSteppi
 
     @Override
     public void release() {
-        buckets = null;
-        light = null;
-        heavy = null;
-        futures = null;
+        tracker.remove(frontier.release());
+        frontier = null;
+    }
+
+    /**
+     * Relaxes the outgoing edges of the frontier nodes and keeps the
+     * improved nodes in thread-local buckets.
+     */
+    private final class DeltaSteppingTask implements Runnable, RelationshipWithPropertyConsumer {
+
+        private final Graph localGraph;
+        // non-empty buckets by index, buckets are removed once they have been processed
+        private final TreeMap<Long, LongArrayList> buckets;
+        // emptied bucket lists, which are reused for new buckets
+        private final ArrayDeque<LongArrayList> spares;
+
+        private long bucket;
+        private long frontierSize;
+        private AtomicLong frontierIndex;
+        private double sourceDistance;
+
+        DeltaSteppingTask(Graph localGraph) {
+            this.localGraph = localGraph;
+            this.buckets = new TreeMap<>();
+            this.spares = new ArrayDeque<>();
+        }
+
+        void prepare(long bucket, long frontierSize, AtomicLong frontierIndex) {
+            this.bucket = bucket;
+            this.frontierSize = frontierSize;
+            this.frontierIndex = frontierIndex;
+        }
+
+        @Override
+        public void run() {
+            long offset;
+            while ((offset = frontierIndex.getAndAdd(BATCH_SIZE)) < frontierSize) {
+                long end = Math.min(offset + BATCH_SIZE, frontierSize);
+                for (long i = offset; i < end; i++) {
+                    process(frontier.get(i));
+                }
+            }
+
+            // bucket fusion: process own nodes of the current bucket without waiting for the other workers
+            LongArrayList current;
+            while ((current = buckets.get(bucket)) != null && current.size() < BUCKET_FUSION_THRESHOLD) {
+                buckets.remove(bucket);
+                for (int i = 0; i < current.elementsCount; i++) {
+                    process(current.buffer[i]);
+                }
+                recycle(current);
+            }
+        }
+
+        private void process(long node) {
+            double distance = distances.get(node);
+            // the node has been improved and processed in an earlier bucket
+            if (bucketOf(distance) < bucket) {
+                return;
+            }
+            sourceDistance = distance;
+            localGraph.forEachRelationship(node, 0.0D, this);
+        }
+
+        @Override
+        public boolean accept(long sourceNodeId, long targetNodeId, double cost) {
+            double newDistance = sourceDistance + cost;
+            double oldDistance = distances.get(targetNodeId);
+            while (newDistance < oldDistance) {
+                if (distances.compareAndSet(targetNodeId, oldDistance, newDistance)) {
+                    bucket(bucketOf(newDistance)).add(targetNodeId);
+                    break;
+                }
+                oldDistance = distances.get(targetNodeId);
+            }
+            return true;
+        }
+
+        private LongArrayList bucket(long index) {
+            LongArrayList list = buckets.get(index);
+            if (list == null) {
+                list = spares.isEmpty() ? new LongArrayList() : spares.pop();
+                buckets.put(index, list);
+            }
+            return list;
+        }
+
+        private void recycle(LongArrayList list) {
+            list.elementsCount = 0;
+            spares.push(list);
+        }
+
+        long nextNonEmptyBucket(long from) {
+            Long next = buckets.ceilingKey(from);
+            return next == null ? NO_BUCKET : next;
+        }
+
+        long bucketSize(long index) {
+            LongArrayList list = buckets.get(index);
+            return list == null ? 0 : list.size();
+        }
+
+        void flushBucket(long index, long offset) {
+            // buckets are never visited twice
+            LongArrayList list = buckets.remove(index);
+            if (list == null) {
+                return;
+            }
+            for (int i = 0; i < list.elementsCount; i++) {
+                frontier.set(offset + i, list.buffer[i]);
+            }
+            recycle(list);
+        }
     }
 
     /**
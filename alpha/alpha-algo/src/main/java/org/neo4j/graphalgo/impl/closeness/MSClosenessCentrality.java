@@ -22,8 +22,13 @@ package org.neo4j.graphalgo.impl.closeness;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.mem.MemoryUsage;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeBufferedDoubleAdder;
 import org.neo4j.graphalgo.core.utils.paged.PagedAtomicIntegerArray;
 import org.neo4j.graphalgo.core.write.NodePropertyExporter;
 import org.neo4j.graphalgo.core.write.PropertyTranslator;
@@ -43,7 +48,7 @@ import java.util.stream.Stream;
 public class MSClosenessCentrality extends Algorithm<MSClosenessCentrality, MSClosenessCentrality> {
 
     private Graph graph;
-    private PagedAtomicIntegerArray farness;
+    private HugeAtomicDoubleArray farness;
     private PagedAtomicIntegerArray component;
 
     private final int concurrency;
@@ -53,6 +58,15 @@ public class MSClosenessCentrality extends Algorithm<MSClosenessCentrality, MSCl
 
     private final boolean wassermanFaust;
 
+    public static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(MSClosenessCentrality.class)
+            .perNode("farness", HugeAtomicDoubleArray::memoryEstimation)
+            .perNode("component", MemoryUsage::sizeOfIntArray)
+            .add("farness accumulator", HugeBufferedDoubleAdder.memoryEstimation())
+            .add("msbfs", MultiSourceBFS.memoryEstimation(false))
+            .build();
+    }
+
     public MSClosenessCentrality(
             Graph graph,
             AllocationTracker tracker,
@@ -64,7 +78,7 @@ public class MSClosenessCentrality extends Algorithm<MSClosenessCentrality, MSCl
         this.executorService = executorService;
         this.tracker = tracker;
         this.wassermanFaust = wassermanFaust;
-        farness = PagedAtomicIntegerArray.newArray(nodeCount, this.tracker);
+        farness = HugeAtomicDoubleArray.newArray(nodeCount, this.tracker);
         component = PagedAtomicIntegerArray.newArray(nodeCount, this.tracker);
     }
 
@@ -83,7 +97,7 @@ public class MSClosenessCentrality extends Algorithm<MSClosenessCentrality, MSCl
         exporter.write(
                 propertyName,
                 farness,
-                (PropertyTranslator.OfDouble<PagedAtomicIntegerArray>)
+                (PropertyTranslator.OfDouble<HugeAtomicDoubleArray>)
                         (data, nodeId) -> centrality(data.get(nodeId), component.get(nodeId), nodeCount, wassermanFaust));
     }
 
@@ -107,9 +121,11 @@ public class MSClosenessCentrality extends Algorithm<MSClosenessCentrality, MSCl
     public MSClosenessCentrality compute() {
         final ProgressLogger progressLogger = getProgressLogger();
 
+        // farness is summed up per thread, as every node is reached by many concurrent traversals
+        final HugeBufferedDoubleAdder farnessAdder = HugeBufferedDoubleAdder.of(farness, tracker);
         final BfsConsumer consumer = (nodeId, depth, sourceNodeIds) -> {
             int len = sourceNodeIds.size();
-            farness.add(nodeId, len * depth);
+            farnessAdder.add(nodeId, (double) len * depth);
             while (sourceNodeIds.hasNext()) {
                 component.add(sourceNodeIds.next(), 1);
             }
@@ -120,6 +136,9 @@ public class MSClosenessCentrality extends Algorithm<MSClosenessCentrality, MSCl
             .aggregatedNeighborProcessing(graph, graph, consumer, tracker)
             .run(concurrency, executorService);
 
+        farnessAdder.flush();
+        tracker.remove(farnessAdder.release());
+
         return this;
     }
 
@@ -130,14 +149,14 @@ public class MSClosenessCentrality extends Algorithm<MSClosenessCentrality, MSCl
                 .toArray();
     }
 
-    static double centrality(long farness, long componentSize, long nodeCount, boolean wassermanFaust) {
-        if (farness == 0L) {
+    static double centrality(double farness, long componentSize, long nodeCount, boolean wassermanFaust) {
+        if (farness == 0.0) {
             return 0.;
         }
         if (wassermanFaust) {
-            return (componentSize / ((double) farness)) * ((componentSize) / (nodeCount - 1.));
+            return (componentSize / farness) * ((componentSize) / (nodeCount - 1.));
         } else {
-            return componentSize / ((double) farness);
+            return componentSize / farness;
         }
     }
 
@@ -21,8 +21,11 @@ package org.neo4j.graphalgo.impl.harmonic;
 
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeBufferedDoubleAdder;
 import org.neo4j.graphalgo.impl.msbfs.BfsConsumer;
 import org.neo4j.graphalgo.impl.msbfs.MultiSourceBFS;
 
@@ -38,6 +41,14 @@ public class HarmonicCentrality extends Algorithm<HarmonicCentrality, HarmonicCe
 
     private Graph graph;
 
+    public static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(HarmonicCentrality.class)
+            .perNode("inverse farness", HugeAtomicDoubleArray::memoryEstimation)
+            .add("inverse farness accumulator", HugeBufferedDoubleAdder.memoryEstimation())
+            .add("msbfs", MultiSourceBFS.memoryEstimation(false))
+            .build();
+    }
+
     public HarmonicCentrality(
         Graph graph,
         AllocationTracker allocationTracker,
@@ -54,9 +65,10 @@ public class HarmonicCentrality extends Algorithm<HarmonicCentrality, HarmonicCe
 
     @Override
     public HarmonicCentrality compute() {
+        var inverseFarnessAdder = HugeBufferedDoubleAdder.of(inverseFarness, allocationTracker);
         final BfsConsumer consumer = (nodeId, depth, sourceNodeIds) -> {
             double len = sourceNodeIds.size();
-            inverseFarness.update(nodeId, currentValue -> currentValue + (len * (1.0 / depth)));
+            inverseFarnessAdder.add(nodeId, len * (1.0 / depth));
         };
 
         MultiSourceBFS.aggregatedNeighborProcessing(
@@ -66,6 +78,9 @@ public class HarmonicCentrality extends Algorithm<HarmonicCentrality, HarmonicCe
             allocationTracker
         ).run(concurrency, executorService);
 
+        inverseFarnessAdder.flush();
+        allocationTracker.remove(inverseFarnessAdder.release());
+
         return this;
     }
 
@@ -0,0 +1,422 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.linkprediction;
+
+import com.carrotsearch.hppc.LongArrayList;
+import com.carrotsearch.hppc.LongHashSet;
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.queue.QueueBasedSpliterator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Scores candidate links with a {@link LinkPredictor} on the adjacency lists of an in-memory graph.
+ * <p>
+ * The candidates are either the given (source, target) pairs, or, if no pairs are given, all pairs of
+ * nodes that are two hops but not one hop apart. In an undirected graph each of those pairs is scored once.
+ * Neighbourhoods are read as sorted, distinct id lists so that common neighbours are found by merging.
+ * Node degrees count all relationships, as the functions do.
+ * <p>
+ * The pairs are scored lazily by {@link #resultStream()} or {@link #forEachPair(Supplier)},
+ * one batch at a time, so that the scores of all pairs are never held in memory at once.
+ */
+public class LinkPrediction extends Algorithm<LinkPrediction, LinkPrediction> {
+
+    private static final int BATCH_SIZE = 1024;
+    private static final int QUEUE_SIZE = 64;
+    private static final int QUEUE_TIMEOUT = 100;
+
+    private final Graph graph;
+    private final LinkPredictor predictor;
+    private final int concurrency;
+    private final ExecutorService executor;
+    private final long[] sources;
+    private final long[] targets;
+
+    /**
+     * @param sourceNodes original ids of the source node of each pair, all two-hop pairs are scored if empty
+     * @param targetNodes original ids of the target node of each pair
+     */
+    public LinkPrediction(
+        Graph graph,
+        LinkPredictor predictor,
+        long[] sourceNodes,
+        long[] targetNodes,
+        int concurrency,
+        ExecutorService executor
+    ) {
+        if (sourceNodes.length != targetNodes.length) {
+            throw new IllegalArgumentException("The number of source nodes must match the number of target nodes");
+        }
+        this.graph = graph;
+        this.predictor = predictor;
+        this.concurrency = concurrency;
+        this.executor = executor;
+        this.sources = mappedNodeIds(sourceNodes);
+        this.targets = mappedNodeIds(targetNodes);
+    }
+
+    private long[] mappedNodeIds(long[] originalNodeIds) {
+        long[] mappedNodeIds = new long[originalNodeIds.length];
+        for (int i = 0; i < originalNodeIds.length; i++) {
+            mappedNodeIds[i] = graph.toMappedNodeId(originalNodeIds[i]);
+            if (mappedNodeIds[i] == -1) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Node with id %d was not found in the graph",
+                    originalNodeIds[i]
+                ));
+            }
+        }
+        return mappedNodeIds;
+    }
+
+    @Override
+    public LinkPrediction compute() {
+        return this;
+    }
+
+    /**
+     * Scores all pairs in parallel. Each worker passes the mapped node ids and the score of its pairs
+     * to its own consumer, taken from {@code consumers} before scoring starts. A worker stops once its consumer returns false.
+     *
+     * @return the number of scored pairs
+     */
+    public long forEachPair(Supplier<RelationshipWithPropertyConsumer> consumers) {
+        List<ScoreTask> tasks = scoreTasks(() -> consumers.get()::accept);
+        ParallelUtil.run(tasks, executor);
+        return tasks.stream().mapToLong(task -> task.pairCount).sum();
+    }
+
+    /**
+     * Scores the pairs in the background, handing over the results batch by batch.
+     */
+    public Stream<Result> resultStream() {
+        BlockingQueue<List<Result>> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+        List<Result> tombstone = new ArrayList<>(0);
+
+        List<ScoreTask> tasks = scoreTasks(() -> new QueueingConsumer(queue));
+        new Thread(() -> {
+            try {
+                ParallelUtil.run(tasks, executor);
+            } finally {
+                put(queue, tombstone);
+            }
+        }).start();
+
+        QueueBasedSpliterator<List<Result>> spliterator = new QueueBasedSpliterator<>(
+            queue,
+            tombstone,
+            terminationFlag,
+            QUEUE_TIMEOUT
+        );
+        return StreamSupport.stream(spliterator, false).flatMap(List::stream);
+    }
+
+    private List<ScoreTask> scoreTasks(Supplier<BatchConsumer> consumers) {
+        long nodeOrPairCount = sources.length > 0 ? sources.length : graph.nodeCount();
+        AtomicLong nextBatch = new AtomicLong();
+        long batchCount = ParallelUtil.threadCount(BATCH_SIZE, nodeOrPairCount);
+        int workerCount = (int) Math.max(1, Math.min(concurrency, batchCount));
+        List<ScoreTask> tasks = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            tasks.add(new ScoreTask(
+                i == 0 ? graph : graph.concurrentCopy(),
+                consumers.get(),
+                nextBatch,
+                batchCount,
+                nodeOrPairCount
+            ));
+        }
+        return tasks;
+    }
+
+    private static <T> void put(BlockingQueue<T> queue, T items) {
+        try {
+            queue.put(items);
+        } catch (InterruptedException e) {}
+    }
+
+    @Override
+    public LinkPrediction me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+    }
+
+    private interface BatchConsumer extends RelationshipWithPropertyConsumer {
+        default void endBatch() {
+        }
+    }
+
+    /**
+     * Collects the results of a batch and puts them on the queue once the batch is done.
+     */
+    private final class QueueingConsumer implements BatchConsumer {
+
+        private final BlockingQueue<List<Result>> queue;
+        private List<Result> batch = new ArrayList<>();
+
+        QueueingConsumer(BlockingQueue<List<Result>> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public boolean accept(long sourceNodeId, long targetNodeId, double property) {
+            batch.add(new Result(graph.toOriginalNodeId(sourceNodeId), graph.toOriginalNodeId(targetNodeId), property));
+            return true;
+        }
+
+        @Override
+        public void endBatch() {
+            if (!batch.isEmpty()) {
+                put(queue, batch);
+                batch = new ArrayList<>();
+            }
+        }
+    }
+
+    private final class ScoreTask implements Runnable {
+
+        private final Graph localGraph;
+        private final BatchConsumer consumer;
+        private final AtomicLong nextBatch;
+        private final long batchCount;
+        private final long nodeOrPairCount;
+        private final Scorer scorer;
+        private long pairCount;
+
+        ScoreTask(Graph localGraph, BatchConsumer consumer, AtomicLong nextBatch, long batchCount, long nodeOrPairCount) {
+            this.localGraph = localGraph;
+            this.consumer = consumer;
+            this.nextBatch = nextBatch;
+            this.batchCount = batchCount;
+            this.nodeOrPairCount = nodeOrPairCount;
+            this.scorer = new Scorer(localGraph);
+        }
+
+        @Override
+        public void run() {
+            boolean twoHop = sources.length == 0;
+            Neighbours middle = twoHop ? new Neighbours(localGraph) : null;
+            LongHashSet seen = new LongHashSet();
+            LongArrayList candidates = new LongArrayList();
+
+            long batch;
+            while ((batch = nextBatch.getAndIncrement()) < batchCount && running()) {
+                long start = batch * BATCH_SIZE;
+                long end = Math.min(start + BATCH_SIZE, nodeOrPairCount);
+                boolean proceed = twoHop
+                    ? scoreTwoHopPairs(start, end, middle, seen, candidates)
+                    : scorePairs((int) start, (int) end);
+                consumer.endBatch();
+                progressLogger.logProgress(end, nodeOrPairCount);
+                if (!proceed) {
+                    return;
+                }
+            }
+        }
+
+        private boolean scorePairs(int start, int end) {
+            for (int pair = start; pair < end; pair++) {
+                pairCount++;
+                if (!consumer.accept(sources[pair], targets[pair], scorer.score(sources[pair], targets[pair]))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean scoreTwoHopPairs(long start, long end, Neighbours middle, LongHashSet seen, LongArrayList candidates) {
+            boolean undirected = localGraph.isUndirected();
+            for (long source = start; source < end; source++) {
+                Neighbours sourceNeighbours = scorer.sourceNeighbours(source);
+                seen.clear();
+                candidates.clear();
+                for (int i = 0; i < sourceNeighbours.length; i++) {
+                    middle.load(sourceNeighbours.ids[i]);
+                    for (int j = 0; j < middle.length; j++) {
+                        long target = middle.ids[j];
+                        if (target == source || (undirected && target < source)) {
+                            continue;
+                        }
+                        if (!sourceNeighbours.contains(target) && seen.add(target)) {
+                            candidates.add(target);
+                        }
+                    }
+                }
+                Arrays.sort(candidates.buffer, 0, candidates.size());
+                for (int i = 0; i < candidates.size(); i++) {
+                    long target = candidates.get(i);
+                    pairCount++;
+                    if (!consumer.accept(source, target, scorer.score(source, target))) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Scores pairs of mapped node ids, keeping the neighbours of the last source node for consecutive pairs.
+     */
+    private final class Scorer {
+
+        private final Graph localGraph;
+        private final Neighbours sourceNeighbours;
+        private final Neighbours targetNeighbours;
+        private long currentSource = -1;
+
+        Scorer(Graph localGraph) {
+            this.localGraph = localGraph;
+            this.sourceNeighbours = new Neighbours(localGraph);
+            this.targetNeighbours = new Neighbours(localGraph);
+        }
+
+        Neighbours sourceNeighbours(long source) {
+            if (source != currentSource) {
+                sourceNeighbours.load(source);
+                currentSource = source;
+            }
+            return sourceNeighbours;
+        }
+
+        double score(long source, long target) {
+            if (predictor == LinkPredictor.preferentialAttachment) {
+                return (double) localGraph.degree(source) * localGraph.degree(target);
+            }
+
+            Neighbours first = sourceNeighbours(source);
+            targetNeighbours.load(target);
+            Neighbours second = targetNeighbours;
+
+            if (predictor == LinkPredictor.totalNeighbors) {
+                return first.length + second.length - (source == target ? first.length : commonNeighbours(first, second, false));
+            }
+            if (source == target) {
+                return 0D;
+            }
+            return commonNeighbours(first, second, true);
+        }
+
+        /**
+         * Merges both sorted neighbourhoods, weighting each common neighbour according to the predictor if requested.
+         */
+        private double commonNeighbours(Neighbours first, Neighbours second, boolean weighted) {
+            double score = 0D;
+            int i = 0;
+            int j = 0;
+            while (i < first.length && j < second.length) {
+                long a = first.ids[i];
+                long b = second.ids[j];
+                if (a < b) {
+                    i++;
+                } else if (a > b) {
+                    j++;
+                } else {
+                    score += weighted ? weight(a) : 1D;
+                    i++;
+                    j++;
+                }
+            }
+            return score;
+        }
+
+        private double weight(long commonNeighbour) {
+            switch (predictor) {
+                case adamicAdar:
+                    return 1D / Math.log(localGraph.degree(commonNeighbour));
+                case resourceAllocation:
+                    return 1D / localGraph.degree(commonNeighbour);
+                default:
+                    return 1D;
+            }
+        }
+    }
+
+    /**
+     * The distinct neighbours of a node in ascending order, without the node itself.
+     */
+    private static final class Neighbours {
+
+        private final Graph localGraph;
+        private long[] ids = new long[16];
+        private int length;
+
+        Neighbours(Graph localGraph) {
+            this.localGraph = localGraph;
+        }
+
+        void load(long nodeId) {
+            int degree = localGraph.degree(nodeId);
+            if (ids.length < degree) {
+                ids = new long[degree];
+            }
+            length = 0;
+            localGraph.forEachRelationship(nodeId, (sourceNodeId, targetNodeId) -> {
+                if (targetNodeId != nodeId) {
+                    ids[length++] = targetNodeId;
+                }
+                return true;
+            });
+            Arrays.sort(ids, 0, length);
+            int distinct = 0;
+            for (int i = 0; i < length; i++) {
+                if (distinct == 0 || ids[distinct - 1] != ids[i]) {
+                    ids[distinct++] = ids[i];
+                }
+            }
+            length = distinct;
+        }
+
+        boolean contains(long nodeId) {
+            return Arrays.binarySearch(ids, 0, length, nodeId) >= 0;
+        }
+    }
+
+    public static class Result {
+
+        public final long node1;
+        public final long node2;
+        public final double score;
+
+        public Result(long node1, long node2, double score) {
+            this.node1 = node1;
+            this.node2 = node2;
+            this.score = score;
+        }
+    }
+}
@@ -24,6 +24,8 @@ import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.IdMapping;
 import org.neo4j.graphalgo.api.RelationshipIterator;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.graphalgo.utils.CloseableThreadLocal;
@@ -96,6 +98,23 @@ public final class MultiSourceBFS implements Runnable {
     private int sourceNodeCount;
     private long nodeOffset;
 
+    /**
+     * Estimates the bit sets every thread allocates on its first traversal.
+     * Only the Predecessor Processing strategy uses the additional {@code seenNext} set.
+     */
+    public static MemoryEstimation memoryEstimation(boolean seenNext) {
+        MemoryEstimations.Builder localArrays = MemoryEstimations.builder()
+            .perNode("visit", HugeLongArray::memoryEstimation)
+            .perNode("visitNext", HugeLongArray::memoryEstimation)
+            .perNode("seen", HugeLongArray::memoryEstimation);
+        if (seenNext) {
+            localArrays.perNode("seenNext", HugeLongArray::memoryEstimation);
+        }
+        return MemoryEstimations.builder(MultiSourceBFS.class)
+            .perThread("local arrays", localArrays.build())
+            .build();
+    }
+
     /**
      * Initializes MS-BFS prepared for executing the Aggregated Neighbor Processing strategy.
      * <p>
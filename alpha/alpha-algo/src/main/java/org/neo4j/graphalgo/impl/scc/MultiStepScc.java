@@ -0,0 +1,501 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.scc;
+
+import com.carrotsearch.hppc.BitSet;
+import com.carrotsearch.hppc.LongArrayDeque;
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+import java.util.stream.LongStream;
+
+/**
+ * Parallel strongly connected components, following the Multistep approach by Slota et al.
+ * <ol>
+ *     <li>Trim: nodes without a remaining incoming or outgoing neighbour form a component on their own.</li>
+ *     <li>Forward-backward: the component of a high-degree pivot, usually the largest component,
+ *     consists of the nodes that are reachable from the pivot and that reach the pivot.</li>
+ *     <li>Coloring: the smallest node id is propagated along outgoing relationships.
+ *     Every node that keeps its own id is the root of a component, which consists
+ *     of the nodes with the same color that reach the root.</li>
+ * </ol>
+ * Incoming relationships are read from an inverse index that is built once.
+ * Every component is identified by its smallest node id.
+ */
+public class MultiStepScc extends Algorithm<MultiStepScc, HugeLongArray> {
+
+    private static final long UNASSIGNED = -1L;
+    private static final int BATCH_SIZE = 1024;
+    private static final int MAX_TRIM_ROUNDS = 5;
+
+    private Graph graph;
+    private final int concurrency;
+    private final ExecutorService executorService;
+    private final AllocationTracker tracker;
+    private final long nodeCount;
+
+    private HugeLongArray components;
+    private HugeLongArray inverseOffsets;
+    private HugeLongArray inverseTargets;
+
+    private long setCount;
+    private long minSetSize;
+    private long maxSetSize;
+
+    public MultiStepScc(
+        Graph graph,
+        int concurrency,
+        ExecutorService executorService,
+        AllocationTracker tracker
+    ) {
+        this.graph = graph;
+        this.concurrency = concurrency;
+        this.executorService = executorService;
+        this.tracker = tracker;
+        this.nodeCount = graph.nodeCount();
+    }
+
+    @Override
+    public HugeLongArray compute() {
+        components = HugeLongArray.newArray(nodeCount, tracker);
+        components.fill(UNASSIGNED);
+
+        buildInverseIndex();
+        trim();
+        forwardBackward();
+        coloring();
+        computeSetSizes();
+
+        tracker.remove(inverseOffsets.release());
+        tracker.remove(inverseTargets.release());
+        return components;
+    }
+
+    @Override
+    public MultiStepScc me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+        graph = null;
+        components = null;
+        inverseOffsets = null;
+        inverseTargets = null;
+    }
+
+    /**
+     * number of connected components in the graph
+     */
+    public long getSetCount() {
+        return setCount;
+    }
+
+    /**
+     * minimum set size
+     */
+    public long getMinSetSize() {
+        return minSetSize;
+    }
+
+    /**
+     * maximum component size
+     */
+    public long getMaxSetSize() {
+        return maxSetSize;
+    }
+
+    private void buildInverseIndex() {
+        HugeAtomicLongArray positions = HugeAtomicLongArray.newArray(nodeCount + 1, tracker);
+        parallelForEachNode(localGraph -> node -> localGraph.forEachRelationship(node, (source, target) -> {
+            getAndIncrement(positions, target + 1);
+            return true;
+        }));
+
+        inverseOffsets = HugeLongArray.newArray(nodeCount + 1, tracker);
+        long relationshipCount = 0;
+        for (long node = 0; node <= nodeCount; node++) {
+            relationshipCount += positions.get(node);
+            inverseOffsets.set(node, relationshipCount);
+            positions.set(node, relationshipCount);
+        }
+
+        inverseTargets = HugeLongArray.newArray(relationshipCount, tracker);
+        parallelForEachNode(localGraph -> node -> localGraph.forEachRelationship(node, (source, target) -> {
+            inverseTargets.set(getAndIncrement(positions, target), source);
+            return true;
+        }));
+        tracker.remove(positions.release());
+    }
+
+    private void trim() {
+        // Long chains would need one round per node, those are left to the coloring phase
+        for (int round = 0; round < MAX_TRIM_ROUNDS; round++) {
+            LongAdder trimmed = new LongAdder();
+            parallelForEachNode(localGraph -> node -> {
+                if (components.get(node) == UNASSIGNED
+                    && (!hasRemainingOutNeighbour(localGraph, node) || !hasRemainingInNeighbour(node))) {
+                    components.set(node, node);
+                    trimmed.increment();
+                }
+            });
+            if (trimmed.sum() == 0) {
+                return;
+            }
+        }
+    }
+
+    private void forwardBackward() {
+        long pivot = ParallelUtil.parallelStream(
+            LongStream.range(0, nodeCount),
+            concurrency,
+            stream -> stream
+                .filter(node -> components.get(node) == UNASSIGNED)
+                .reduce(UNASSIGNED, this::higherDegree)
+        );
+        if (pivot == UNASSIGNED) {
+            return;
+        }
+
+        HugeLongArray queue = HugeLongArray.newArray(nodeCount, tracker);
+        HugeAtomicLongArray forward = HugeAtomicLongArray.newArray(BitSet.bits2words(nodeCount), tracker);
+        HugeAtomicLongArray backward = HugeAtomicLongArray.newArray(BitSet.bits2words(nodeCount), tracker);
+
+        parallelBfs(pivot, queue, forward, true, node -> components.get(node) == UNASSIGNED);
+        long componentSize = parallelBfs(pivot, queue, backward, false, node -> isSet(forward, node));
+
+        // the backward search only visits nodes of the forward search, so the queue holds the component
+        long componentId = ParallelUtil.parallelStream(
+            LongStream.range(0, componentSize),
+            concurrency,
+            stream -> stream.map(queue::get).min().orElse(pivot)
+        );
+        ParallelUtil.readParallel(concurrency, componentSize, executorService, (start, end) -> {
+            for (long i = start; i < end; i++) {
+                components.set(queue.get(i), componentId);
+            }
+        });
+
+        tracker.remove(queue.release());
+        tracker.remove(forward.release());
+        tracker.remove(backward.release());
+    }
+
+    private void coloring() {
+        HugeAtomicLongArray colors = HugeAtomicLongArray.newArray(nodeCount, tracker);
+        while (true) {
+            LongAdder remaining = new LongAdder();
+            parallelForEachNode(localGraph -> node -> {
+                if (components.get(node) == UNASSIGNED) {
+                    colors.set(node, node);
+                    remaining.increment();
+                } else {
+                    colors.set(node, UNASSIGNED);
+                }
+            });
+            if (remaining.sum() == 0) {
+                break;
+            }
+
+            AtomicBoolean changed = new AtomicBoolean();
+            do {
+                changed.set(false);
+                parallelForEachNode(localGraph -> node -> {
+                    long color = colors.get(node);
+                    if (color != UNASSIGNED) {
+                        localGraph.forEachRelationship(node, (source, target) -> {
+                            if (lowerColor(colors, target, color)) {
+                                changed.set(true);
+                            }
+                            return true;
+                        });
+                    }
+                });
+            } while (changed.get());
+
+            // Nodes of different colors are disjoint, so every root can collect its component independently
+            parallelForEachNode(localGraph -> {
+                LongArrayDeque queue = new LongArrayDeque();
+                return node -> {
+                    if (colors.get(node) == node) {
+                        collectComponent(node, colors, queue);
+                    }
+                };
+            });
+        }
+        tracker.remove(colors.release());
+    }
+
+    private void collectComponent(long root, HugeAtomicLongArray colors, LongArrayDeque queue) {
+        components.set(root, root);
+        queue.addLast(root);
+        while (!queue.isEmpty()) {
+            long node = queue.removeFirst();
+            for (long offset = inverseOffsets.get(node); offset < inverseOffsets.get(node + 1); offset++) {
+                long source = inverseTargets.get(offset);
+                if (colors.get(source) == root && components.get(source) == UNASSIGNED) {
+                    components.set(source, root);
+                    queue.addLast(source);
+                }
+            }
+        }
+    }
+
+    private void computeSetSizes() {
+        HugeAtomicLongArray sizes = HugeAtomicLongArray.newArray(nodeCount, tracker);
+        parallelForEachNode(localGraph -> node -> getAndIncrement(sizes, components.get(node)));
+
+        setCount = 0;
+        minSetSize = nodeCount == 0 ? 0 : Long.MAX_VALUE;
+        maxSetSize = 0;
+        for (long node = 0; node < nodeCount; node++) {
+            long size = sizes.get(node);
+            if (size > 0) {
+                setCount++;
+                minSetSize = Math.min(minSetSize, size);
+                maxSetSize = Math.max(maxSetSize, size);
+            }
+        }
+        tracker.remove(sizes.release());
+    }
+
+    /**
+     * Level synchronous breadth first search, where every level is expanded in parallel.
+     * All visited nodes are appended to the queue, in the order of their level.
+     *
+     * @return the number of visited nodes
+     */
+    private long parallelBfs(
+        long source,
+        HugeLongArray queue,
+        HugeAtomicLongArray visited,
+        boolean forward,
+        LongPredicate canVisit
+    ) {
+        setBit(visited, source);
+        queue.set(0, source);
+        AtomicLong tail = new AtomicLong(1);
+        long head = 0;
+        while (head < tail.get()) {
+            assertRunning();
+            long levelEnd = tail.get();
+            AtomicLong nextBatch = new AtomicLong(head);
+            var tasks = ParallelUtil.tasks(concurrency, () -> new BfsTask(
+                graph.concurrentCopy(),
+                queue,
+                visited,
+                forward,
+                canVisit,
+                nextBatch,
+                levelEnd,
+                tail
+            ));
+            ParallelUtil.runWithConcurrency(concurrency, tasks, executorService);
+            head = levelEnd;
+        }
+        return tail.get();
+    }
+
+    private final class BfsTask implements Runnable {
+
+        private final Graph localGraph;
+        private final HugeLongArray queue;
+        private final HugeAtomicLongArray visited;
+        private final boolean forward;
+        private final LongPredicate canVisit;
+        private final AtomicLong nextBatch;
+        private final long levelEnd;
+        private final AtomicLong tail;
+
+        private final long[] buffer;
+        private int bufferLength;
+
+        BfsTask(
+            Graph localGraph,
+            HugeLongArray queue,
+            HugeAtomicLongArray visited,
+            boolean forward,
+            LongPredicate canVisit,
+            AtomicLong nextBatch,
+            long levelEnd,
+            AtomicLong tail
+        ) {
+            this.localGraph = localGraph;
+            this.queue = queue;
+            this.visited = visited;
+            this.forward = forward;
+            this.canVisit = canVisit;
+            this.nextBatch = nextBatch;
+            this.levelEnd = levelEnd;
+            this.tail = tail;
+            this.buffer = new long[BATCH_SIZE];
+        }
+
+        @Override
+        public void run() {
+            long start;
+            while ((start = nextBatch.getAndAdd(BATCH_SIZE)) < levelEnd) {
+                long end = Math.min(start + BATCH_SIZE, levelEnd);
+                for (long i = start; i < end; i++) {
+                    forEachNeighbour(localGraph, queue.get(i), forward, this::visit);
+                }
+            }
+            flush();
+        }
+
+        private void visit(long node) {
+            if (canVisit.test(node) && setBit(visited, node)) {
+                buffer[bufferLength++] = node;
+                if (bufferLength == buffer.length) {
+                    flush();
+                }
+            }
+        }
+
+        // appending a whole buffer keeps the contention on the queue tail low
+        private void flush() {
+            long offset = tail.getAndAdd(bufferLength);
+            for (int i = 0; i < bufferLength; i++) {
+                queue.set(offset + i, buffer[i]);
+            }
+            bufferLength = 0;
+        }
+    }
+
+    private void forEachNeighbour(Graph localGraph, long node, boolean forward, LongConsumer consumer) {
+        if (forward) {
+            localGraph.forEachRelationship(node, (source, target) -> {
+                consumer.accept(target);
+                return true;
+            });
+        } else {
+            for (long offset = inverseOffsets.get(node); offset < inverseOffsets.get(node + 1); offset++) {
+                consumer.accept(inverseTargets.get(offset));
+            }
+        }
+    }
+
+    private boolean hasRemainingOutNeighbour(Graph localGraph, long node) {
+        boolean[] found = {false};
+        localGraph.forEachRelationship(node, (source, target) -> {
+            if (target != source && components.get(target) == UNASSIGNED) {
+                found[0] = true;
+                return false;
+            }
+            return true;
+        });
+        return found[0];
+    }
+
+    private boolean hasRemainingInNeighbour(long node) {
+        for (long offset = inverseOffsets.get(node); offset < inverseOffsets.get(node + 1); offset++) {
+            long source = inverseTargets.get(offset);
+            if (source != node && components.get(source) == UNASSIGNED) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long higherDegree(long node1, long node2) {
+        if (node1 == UNASSIGNED) {
+            return node2;
+        }
+        if (node2 == UNASSIGNED) {
+            return node1;
+        }
+        double degree1 = (double) graph.degree(node1) * inDegree(node1);
+        double degree2 = (double) graph.degree(node2) * inDegree(node2);
+        return degree2 > degree1 || (degree2 == degree1 && node2 < node1) ? node2 : node1;
+    }
+
+    private long inDegree(long node) {
+        return inverseOffsets.get(node + 1) - inverseOffsets.get(node);
+    }
+
+    /**
+     * Runs {@code concurrency} tasks over all nodes, which are handed out in batches.
+     * Every task gets its own copy of the graph to iterate relationships.
+     */
+    private void parallelForEachNode(Function<Graph, LongConsumer> newTask) {
+        AtomicLong nextBatch = new AtomicLong();
+        var tasks = ParallelUtil.tasks(concurrency, () -> {
+            LongConsumer task = newTask.apply(graph.concurrentCopy());
+            return (Runnable) () -> {
+                long start;
+                while ((start = nextBatch.getAndAdd(BATCH_SIZE)) < nodeCount) {
+                    assertRunning();
+                    long end = Math.min(start + BATCH_SIZE, nodeCount);
+                    for (long node = start; node < end; node++) {
+                        task.accept(node);
+                    }
+                }
+            };
+        });
+        ParallelUtil.runWithConcurrency(concurrency, tasks, executorService);
+    }
+
+    private static boolean lowerColor(HugeAtomicLongArray colors, long node, long color) {
+        long current;
+        do {
+            current = colors.get(node);
+            if (current == UNASSIGNED || current <= color) {
+                return false;
+            }
+        } while (!colors.compareAndSet(node, current, color));
+        return true;
+    }
+
+    private static long getAndIncrement(HugeAtomicLongArray array, long index) {
+        long current;
+        do {
+            current = array.get(index);
+        } while (!array.compareAndSet(index, current, current + 1));
+        return current;
+    }
+
+    private static boolean setBit(HugeAtomicLongArray bits, long index) {
+        long word = index >>> 6;
+        long mask = 1L << index;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+        return true;
+    }
+
+    private static boolean isSet(HugeAtomicLongArray bits, long index) {
+        return (bits.get(index >>> 6) & (1L << index)) != 0;
+    }
+}
@@ -50,6 +50,11 @@ public interface DijkstraConfig extends AlgoBaseConfig, RelationshipWeightConfig
     @Configuration.ConvertWith("nodeId")
     long endNode();
 
+    @Value.Default
+    default boolean bidirectional() {
+        return false;
+    }
+
     static DijkstraConfig of(long startNode, long endNode) {
         return ImmutableDijkstraConfig.builder().startNode(startNode).endNode(endNode).build();
     }
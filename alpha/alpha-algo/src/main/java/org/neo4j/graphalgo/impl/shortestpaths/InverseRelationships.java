@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.shortestpaths;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+/**
+ * Incoming relationships and their weights of a directed graph in CSR layout.
+ * The index is immutable after construction and can be shared between threads.
+ */
+final class InverseRelationships {
+
+    private final AllocationTracker tracker;
+    private HugeLongArray offsets;
+    private HugeLongArray sources;
+    private HugeDoubleArray weights;
+
+    static InverseRelationships of(Graph graph, double fallbackWeight, AllocationTracker tracker) {
+        long nodeCount = graph.nodeCount();
+        HugeLongArray offsets = HugeLongArray.newArray(nodeCount + 1, tracker);
+        for (long node = 0; node < nodeCount; node++) {
+            graph.forEachRelationship(node, (source, target) -> {
+                offsets.set(target + 1, offsets.get(target + 1) + 1);
+                return true;
+            });
+        }
+        for (long node = 1; node <= nodeCount; node++) {
+            offsets.set(node, offsets.get(node) + offsets.get(node - 1));
+        }
+
+        long relationshipCount = offsets.get(nodeCount);
+        HugeLongArray sources = HugeLongArray.newArray(relationshipCount, tracker);
+        HugeDoubleArray weights = HugeDoubleArray.newArray(relationshipCount, tracker);
+        HugeLongArray positions = HugeLongArray.newArray(nodeCount, tracker);
+        positions.setAll(offsets::get);
+        for (long node = 0; node < nodeCount; node++) {
+            graph.forEachRelationship(node, fallbackWeight, (source, target, weight) -> {
+                long position = positions.get(target);
+                sources.set(position, source);
+                weights.set(position, weight);
+                positions.set(target, position + 1);
+                return true;
+            });
+        }
+        tracker.remove(positions.release());
+
+        return new InverseRelationships(offsets, sources, weights, tracker);
+    }
+
+    private InverseRelationships(
+        HugeLongArray offsets,
+        HugeLongArray sources,
+        HugeDoubleArray weights,
+        AllocationTracker tracker
+    ) {
+        this.offsets = offsets;
+        this.sources = sources;
+        this.weights = weights;
+        this.tracker = tracker;
+    }
+
+    /**
+     * Calls the consumer with {@code (node, source, weight)} for every relationship {@code source -> node}.
+     */
+    void forEachRelationship(long node, RelationshipWithPropertyConsumer consumer) {
+        long end = offsets.get(node + 1);
+        for (long i = offsets.get(node); i < end; i++) {
+            if (!consumer.accept(node, sources.get(i), weights.get(i))) {
+                return;
+            }
+        }
+    }
+
+    void release() {
+        tracker.remove(offsets.release());
+        tracker.remove(sources.release());
+        tracker.remove(weights.release());
+        offsets = null;
+        sources = null;
+        weights = null;
+    }
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.shortestpaths;
+
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.queue.HugeLongPriorityQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Selects landmark nodes and computes the distances from and to every landmark.
+ * <p>
+ * The landmarks are picked greedily: the next landmark is the node which is
+ * farthest away from all landmarks chosen so far, starting with the node
+ * farthest from node 0. Unreachable nodes count as farthest, so every
+ * component receives a landmark before a component gets a second one.
+ * <p>
+ * By the triangle inequality {@code d(L, t) - d(L, v)} and {@code d(v, L) - d(t, L)}
+ * are lower bounds for {@code d(v, t)}, which makes the distances an admissible
+ * and consistent heuristic for A* (ALT).
+ * <p>
+ * More information in:<br>
+ * <a href="https://www.microsoft.com/en-us/research/publication/computing-the-shortest-path-a-search-meets-graph-theory/">
+ * Computing the Shortest Path: A* Search Meets Graph Theory</a>
+ */
+public class Landmarks extends Algorithm<Landmarks, Landmarks> {
+
+    private final Graph graph;
+    private final int landmarkCount;
+    private final double fallbackWeight;
+    private final int concurrency;
+    private final ExecutorService executorService;
+    private final AllocationTracker tracker;
+    private final long nodeCount;
+
+    private long[] landmarks;
+    // d(landmark, node)
+    private HugeDoubleArray[] fromLandmark;
+    // d(node, landmark)
+    private HugeDoubleArray[] toLandmark;
+
+    public Landmarks(
+        Graph graph,
+        int landmarkCount,
+        double fallbackWeight,
+        int concurrency,
+        ExecutorService executorService,
+        AllocationTracker tracker
+    ) {
+        this.graph = graph;
+        this.landmarkCount = landmarkCount;
+        this.fallbackWeight = fallbackWeight;
+        this.concurrency = concurrency;
+        this.executorService = executorService;
+        this.tracker = tracker;
+        this.nodeCount = graph.nodeCount();
+    }
+
+    @Override
+    public Landmarks compute() {
+        int count = (int) Math.min(landmarkCount, nodeCount);
+        landmarks = new long[count];
+        fromLandmark = new HugeDoubleArray[count];
+        if (count == 0) {
+            toLandmark = fromLandmark;
+            return this;
+        }
+
+        HugeLongPriorityQueue queue = HugeLongPriorityQueue.min(nodeCount, tracker);
+        Adjacency outgoing = (node, consumer) -> graph.forEachRelationship(node, fallbackWeight, consumer);
+
+        // distance to the closest landmark, infinite for unreachable nodes
+        HugeDoubleArray closest = HugeDoubleArray.newArray(nodeCount, tracker);
+        shortestPaths(outgoing, 0, closest, queue);
+        for (int i = 0; i < count && running(); i++) {
+            long landmark = farthest(closest);
+            landmarks[i] = landmark;
+            fromLandmark[i] = HugeDoubleArray.newArray(nodeCount, tracker);
+            shortestPaths(outgoing, landmark, fromLandmark[i], queue);
+            HugeDoubleArray distances = fromLandmark[i];
+            for (long node = 0; node < nodeCount; node++) {
+                closest.set(node, Math.min(closest.get(node), distances.get(node)));
+            }
+            progressLogger.logProgress(i + 1, graph.isUndirected() ? count : 2 * count);
+        }
+        tracker.remove(closest.release());
+        queue.release();
+
+        if (graph.isUndirected()) {
+            toLandmark = fromLandmark;
+        } else {
+            computeDistancesToLandmarks(count);
+        }
+        return this;
+    }
+
+    private void computeDistancesToLandmarks(int count) {
+        InverseRelationships inverse = InverseRelationships.of(graph, fallbackWeight, tracker);
+        toLandmark = new HugeDoubleArray[count];
+        AtomicInteger nextLandmark = new AtomicInteger();
+        AtomicInteger done = new AtomicInteger();
+
+        List<Runnable> tasks = new ArrayList<>();
+        for (int i = 0; i < Math.min(concurrency, count); i++) {
+            tasks.add(() -> {
+                HugeLongPriorityQueue localQueue = HugeLongPriorityQueue.min(nodeCount, tracker);
+                int landmark;
+                while ((landmark = nextLandmark.getAndIncrement()) < count && running()) {
+                    HugeDoubleArray distances = HugeDoubleArray.newArray(nodeCount, tracker);
+                    shortestPaths(inverse::forEachRelationship, landmarks[landmark], distances, localQueue);
+                    toLandmark[landmark] = distances;
+                    progressLogger.logProgress(count + done.incrementAndGet(), 2 * count);
+                }
+                localQueue.release();
+            });
+        }
+        ParallelUtil.runWithConcurrency(concurrency, tasks, executorService);
+        inverse.release();
+    }
+
+    private long farthest(HugeDoubleArray closest) {
+        long farthest = 0;
+        double maxDistance = -1;
+        for (long node = 0; node < nodeCount; node++) {
+            double distance = closest.get(node);
+            if (distance > maxDistance) {
+                maxDistance = distance;
+                farthest = node;
+            }
+        }
+        return farthest;
+    }
+
+    /**
+     * Plain Dijkstra from the source node which visits the whole reachable graph.
+     */
+    private void shortestPaths(
+        Adjacency adjacency,
+        long source,
+        HugeDoubleArray distances,
+        HugeLongPriorityQueue queue
+    ) {
+        distances.fill(Double.POSITIVE_INFINITY);
+        distances.set(source, 0.0);
+        queue.clear();
+        queue.add(source, 0.0);
+        while (!queue.isEmpty()) {
+            long node = queue.pop();
+            double cost = distances.get(node);
+            adjacency.forEachRelationship(node, (s, target, weight) -> {
+                double newCost = cost + weight;
+                if (newCost < distances.get(target)) {
+                    distances.set(target, newCost);
+                    queue.set(target, newCost);
+                }
+                return true;
+            });
+        }
+    }
+
+    /**
+     * @return the mapped node ids of the landmarks
+     */
+    public long[] landmarks() {
+        return landmarks;
+    }
+
+    public HugeDoubleArray distancesFrom(int landmark) {
+        return fromLandmark[landmark];
+    }
+
+    public HugeDoubleArray distancesTo(int landmark) {
+        return toLandmark[landmark];
+    }
+
+    @Override
+    public Landmarks me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+    }
+
+    /**
+     * Property key for {@code d(landmark, node)}.
+     */
+    public static String fromLandmarkProperty(String prefix, int landmark) {
+        return formatWithLocale("%s_from_%d", prefix, landmark);
+    }
+
+    /**
+     * Property key for {@code d(node, landmark)}.
+     */
+    public static String toLandmarkProperty(String prefix, int landmark) {
+        return formatWithLocale("%s_to_%d", prefix, landmark);
+    }
+
+    /**
+     * Reads landmark distances stored as node properties with the given prefix
+     * and turns them into a lower bound for the distance between two nodes.
+     */
+    public static ShortestPathAStar.Heuristic heuristic(Graph graph, String prefix) {
+        List<NodeProperties> from = new ArrayList<>();
+        List<NodeProperties> to = new ArrayList<>();
+        for (int i = 0; graph.availableNodeProperties().contains(fromLandmarkProperty(prefix, i)); i++) {
+            from.add(graph.nodeProperties(fromLandmarkProperty(prefix, i)));
+            to.add(graph.nodeProperties(toLandmarkProperty(prefix, i)));
+        }
+        if (from.isEmpty()) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "No landmark properties with prefix `%s` found in the graph.",
+                prefix
+            ));
+        }
+        return heuristic(from.toArray(new NodeProperties[0]), to.toArray(new NodeProperties[0]));
+    }
+
+    static ShortestPathAStar.Heuristic heuristic(NodeProperties[] from, NodeProperties[] to) {
+        return (node, goal) -> {
+            double bound = 0.0;
+            for (int i = 0; i < from.length; i++) {
+                double fromNode = from[i].nodeProperty(node);
+                double fromGoal = from[i].nodeProperty(goal);
+                if (fromNode != Double.POSITIVE_INFINITY && fromGoal != Double.POSITIVE_INFINITY) {
+                    bound = Math.max(bound, fromGoal - fromNode);
+                }
+                double toNode = to[i].nodeProperty(node);
+                double toGoal = to[i].nodeProperty(goal);
+                if (toNode != Double.POSITIVE_INFINITY && toGoal != Double.POSITIVE_INFINITY) {
+                    bound = Math.max(bound, toNode - toGoal);
+                }
+            }
+            return bound;
+        };
+    }
+
+    @FunctionalInterface
+    private interface Adjacency {
+        void forEachRelationship(long node, RelationshipWithPropertyConsumer consumer);
+    }
+}
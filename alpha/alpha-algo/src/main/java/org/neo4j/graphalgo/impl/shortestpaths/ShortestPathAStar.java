@@ -45,8 +45,7 @@ public class ShortestPathAStar extends Algorithm<ShortestPathAStar, ShortestPath
     private final int nodeCount;
     private final long startNode;
     private final long goalNode;
-    private final NodeProperties latitudes;
-    private final NodeProperties longitudes;
+    private final Heuristic heuristic;
     private IntDoubleMap gCosts;
     private IntDoubleMap fCosts;
     private double totalCost;
@@ -64,13 +63,21 @@ public class ShortestPathAStar extends Algorithm<ShortestPathAStar, ShortestPath
         long goalNode,
         NodeProperties latitudes,
         NodeProperties longitudes
+    ) {
+        this(graph, startNode, goalNode, haversine(latitudes, longitudes));
+    }
+
+    public ShortestPathAStar(
+        Graph graph,
+        long startNode,
+        long goalNode,
+        Heuristic heuristic
     ) {
         this.graph = graph;
         this.nodeCount = Math.toIntExact(graph.nodeCount());
         this.startNode = startNode;
         this.goalNode = goalNode;
-        this.latitudes = latitudes;
-        this.longitudes = longitudes;
+        this.heuristic = heuristic;
         this.gCosts = new IntDoubleScatterMap(nodeCount);
         this.fCosts = new IntDoubleScatterMap(nodeCount);
         this.openNodes = SharedIntPriorityQueue.min(nodeCount, fCosts, Double.MAX_VALUE);
@@ -84,12 +91,8 @@ public class ShortestPathAStar extends Algorithm<ShortestPathAStar, ShortestPath
     public ShortestPathAStar compute() {
         reset();
         int startNodeInternal = Math.toIntExact(graph.toMappedNodeId(startNode));
-        double startNodeLat = getLatitude(startNodeInternal);
-        double startNodeLon = getLongitude(startNodeInternal);
         int goalNodeInternal = Math.toIntExact(graph.toMappedNodeId(goalNode));
-        double goalNodeLat = getLatitude(goalNodeInternal);
-        double goalNodeLon = getLongitude(goalNodeInternal);
-        double initialHeuristic = computeHeuristic(startNodeLat, startNodeLon, goalNodeLat, goalNodeLon);
+        double initialHeuristic = heuristic.estimate(startNodeInternal, goalNodeInternal);
         gCosts.put(startNodeInternal, 0.0);
         fCosts.put(startNodeInternal, initialHeuristic);
         openNodes.add(startNodeInternal, 0.0);
@@ -106,8 +109,6 @@ public class ShortestPathAStar extends Algorithm<ShortestPathAStar, ShortestPath
     }
 
     private void run(int goalNodeId) {
-        double goalLat = getLatitude(goalNodeId);
-        double goalLon = getLongitude(goalNodeId);
         while (!openNodes.isEmpty() && running()) {
             int currentNodeId = openNodes.pop();
             if (currentNodeId == goalNodeId) {
@@ -119,10 +120,8 @@ public class ShortestPathAStar extends Algorithm<ShortestPathAStar, ShortestPath
                     currentNodeId,
                     1.0D,
                     longToIntConsumer((source, target, weight) -> {
-                        double neighbourLat = getLatitude(target);
-                        double neighbourLon = getLongitude(target);
-                        double heuristic = computeHeuristic(neighbourLat, neighbourLon, goalLat, goalLon);
-                        boolean weightChanged = updateCosts(source, target, weight + currentNodeCost, heuristic);
+                        double estimate = heuristic.estimate(target, goalNodeId);
+                        boolean weightChanged = updateCosts(source, target, weight + currentNodeCost, estimate);
                         if (!closedNodes.get(target)) {
                             if (weightChanged) {
                                 openNodes.update(target);
@@ -136,7 +135,19 @@ public class ShortestPathAStar extends Algorithm<ShortestPathAStar, ShortestPath
         }
     }
 
-    private double computeHeuristic(double lat1, double lon1, double lat2, double lon2) {
+    /**
+     * Great-circle distance in nautical miles between the coordinates of two nodes.
+     */
+    public static Heuristic haversine(NodeProperties latitudes, NodeProperties longitudes) {
+        return (node, goal) -> computeHeuristic(
+            latitudes.nodeProperty(node),
+            longitudes.nodeProperty(node),
+            latitudes.nodeProperty(goal),
+            longitudes.nodeProperty(goal)
+        );
+    }
+
+    private static double computeHeuristic(double lat1, double lon1, double lat2, double lon2) {
         final int earthRadius = 6371;
         final double kmToNM = 0.539957;
         double latDistance = Math.toRadians(lat2 - lat1);
@@ -149,14 +160,6 @@ public class ShortestPathAStar extends Algorithm<ShortestPathAStar, ShortestPath
         return distance;
     }
 
-    private double getLongitude(long nodeId) {
-        return longitudes.nodeProperty(nodeId);
-    }
-
-    private double getLatitude(long nodeId) {
-        return latitudes.nodeProperty(nodeId);
-    }
-
     private boolean updateCosts(int source, int target, double newCost, double heuristic) {
         double oldCost = gCosts.getOrDefault(target, Double.MAX_VALUE);
         if (newCost < oldCost) {
@@ -211,6 +214,18 @@ public class ShortestPathAStar extends Algorithm<ShortestPathAStar, ShortestPath
         closedNodes = null;
     }
 
+    /**
+     * Lower bound for the cost of the shortest path between two nodes.
+     */
+    @FunctionalInterface
+    public interface Heuristic {
+        /**
+         * @param node mapped id of the node to estimate
+         * @param goal mapped id of the goal node
+         */
+        double estimate(long node, long goal);
+    }
+
     public static class Result {
 
         /**
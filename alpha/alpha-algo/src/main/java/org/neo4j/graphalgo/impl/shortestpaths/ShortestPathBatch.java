@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.shortestpaths;
+
+import com.carrotsearch.hppc.IntArrayList;
+import com.carrotsearch.hppc.LongArrayDeque;
+import com.carrotsearch.hppc.LongObjectHashMap;
+import com.carrotsearch.hppc.cursors.LongCursor;
+import com.carrotsearch.hppc.cursors.LongObjectCursor;
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Computes the shortest paths for many (source, target) pairs.
+ * <p>
+ * The pairs are grouped by their source node and a single search from each
+ * distinct source node settles all of its target nodes. The sources are
+ * distributed over {@code concurrency} workers, each of which reuses the
+ * state of its own {@link ShortestPathDijkstra} for all of its sources.
+ * Results are returned in the order of the input pairs, pairs without a
+ * path are omitted.
+ */
+public class ShortestPathBatch extends Algorithm<ShortestPathBatch, ShortestPathBatch> {
+
+    private final Graph graph;
+    private final long[] sourceNodes;
+    private final long[] targetNodes;
+    private final boolean computePaths;
+    private final int concurrency;
+    private final ExecutorService executor;
+    private final AllocationTracker tracker;
+
+    private final double[] costs;
+    private final long[][] paths;
+
+    /**
+     * @param sourceNodes  original ids of the source node of each pair
+     * @param targetNodes  original ids of the target node of each pair
+     * @param computePaths whether to collect the nodes of each path or just its cost
+     */
+    public ShortestPathBatch(
+        Graph graph,
+        long[] sourceNodes,
+        long[] targetNodes,
+        boolean computePaths,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        if (sourceNodes.length != targetNodes.length) {
+            throw new IllegalArgumentException("The number of source nodes must match the number of target nodes");
+        }
+        this.graph = graph;
+        this.sourceNodes = sourceNodes;
+        this.targetNodes = targetNodes;
+        this.computePaths = computePaths;
+        this.concurrency = concurrency;
+        this.executor = executor;
+        this.tracker = tracker;
+        this.costs = new double[sourceNodes.length];
+        this.paths = computePaths ? new long[sourceNodes.length][] : null;
+    }
+
+    @Override
+    public ShortestPathBatch compute() {
+        Arrays.fill(costs, ShortestPathDijkstra.NO_PATH_FOUND);
+
+        LongObjectHashMap<IntArrayList> pairsBySource = new LongObjectHashMap<>();
+        for (int pair = 0; pair < sourceNodes.length; pair++) {
+            IntArrayList pairs = pairsBySource.get(sourceNodes[pair]);
+            if (pairs == null) {
+                pairs = new IntArrayList();
+                pairsBySource.put(sourceNodes[pair], pairs);
+            }
+            pairs.add(pair);
+        }
+
+        long[] sources = new long[pairsBySource.size()];
+        IntArrayList[] pairsOfSource = new IntArrayList[pairsBySource.size()];
+        int index = 0;
+        for (LongObjectCursor<IntArrayList> cursor : pairsBySource) {
+            sources[index] = cursor.key;
+            pairsOfSource[index] = cursor.value;
+            index++;
+        }
+
+        AtomicInteger nextSource = new AtomicInteger();
+        int workerCount = Math.max(1, Math.min(concurrency, sources.length));
+        List<Runnable> tasks = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            tasks.add(new SourceTask(
+                i == 0 ? graph : graph.concurrentCopy(),
+                sources,
+                pairsOfSource,
+                nextSource
+            ));
+        }
+        ParallelUtil.run(tasks, executor);
+        return this;
+    }
+
+    /**
+     * @return the cost of each pair, {@link ShortestPathDijkstra#NO_PATH_FOUND} if there is no path
+     */
+    public double[] costs() {
+        return costs;
+    }
+
+    public Stream<Result> resultStream() {
+        return IntStream.range(0, costs.length)
+            .filter(pair -> costs[pair] != ShortestPathDijkstra.NO_PATH_FOUND)
+            .mapToObj(pair -> new Result(
+                sourceNodes[pair],
+                targetNodes[pair],
+                costs[pair],
+                computePaths ? pathOf(pair) : null
+            ));
+    }
+
+    private List<Long> pathOf(int pair) {
+        List<Long> nodeIds = new ArrayList<>(paths[pair].length);
+        for (long nodeId : paths[pair]) {
+            nodeIds.add(nodeId);
+        }
+        return nodeIds;
+    }
+
+    @Override
+    public ShortestPathBatch me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+    }
+
+    private final class SourceTask implements Runnable {
+
+        private final Graph localGraph;
+        private final long[] sources;
+        private final IntArrayList[] pairsOfSource;
+        private final AtomicInteger nextSource;
+
+        SourceTask(Graph localGraph, long[] sources, IntArrayList[] pairsOfSource, AtomicInteger nextSource) {
+            this.localGraph = localGraph;
+            this.sources = sources;
+            this.pairsOfSource = pairsOfSource;
+            this.nextSource = nextSource;
+        }
+
+        @Override
+        public void run() {
+            ShortestPathDijkstra dijkstra = new ShortestPathDijkstra(localGraph, tracker)
+                .withTerminationFlag(terminationFlag);
+            try {
+                int source;
+                while ((source = nextSource.getAndIncrement()) < sources.length && running()) {
+                    IntArrayList pairs = pairsOfSource[source];
+                    long[] goals = new long[pairs.size()];
+                    for (int i = 0; i < goals.length; i++) {
+                        goals[i] = targetNodes[pairs.get(i)];
+                    }
+
+                    double[] goalCosts = dijkstra.compute(sources[source], goals);
+                    for (int i = 0; i < goals.length; i++) {
+                        int pair = pairs.get(i);
+                        costs[pair] = goalCosts[i];
+                        if (computePaths && goalCosts[i] != ShortestPathDijkstra.NO_PATH_FOUND) {
+                            paths[pair] = originalPath(dijkstra.getPath(goals[i]));
+                        }
+                    }
+                    progressLogger.logProgress(source + 1, sources.length);
+                }
+            } finally {
+                dijkstra.release();
+            }
+        }
+
+        private long[] originalPath(LongArrayDeque mappedPath) {
+            long[] path = new long[mappedPath.size()];
+            int i = 0;
+            for (LongCursor cursor : mappedPath) {
+                path[i++] = localGraph.toOriginalNodeId(cursor.value);
+            }
+            return path;
+        }
+    }
+
+    public static class Result {
+
+        public final long sourceNodeId;
+        public final long targetNodeId;
+        public final double totalCost;
+        /**
+         * original ids of the path nodes, {@code null} unless paths are requested
+         */
+        public final List<Long> nodeIds;
+
+        public Result(long sourceNodeId, long targetNodeId, double totalCost, List<Long> nodeIds) {
+            this.sourceNodeId = sourceNodeId;
+            this.targetNodeId = targetNodeId;
+            this.totalCost = totalCost;
+            this.nodeIds = nodeIds;
+        }
+    }
+}
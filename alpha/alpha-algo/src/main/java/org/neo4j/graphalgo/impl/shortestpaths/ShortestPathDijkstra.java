@@ -21,111 +21,228 @@ package org.neo4j.graphalgo.impl.shortestpaths;
 
 import com.carrotsearch.hppc.BitSet;
 import com.carrotsearch.hppc.DoubleArrayDeque;
-import com.carrotsearch.hppc.IntArrayDeque;
-import com.carrotsearch.hppc.IntDoubleMap;
-import com.carrotsearch.hppc.IntDoubleScatterMap;
-import com.carrotsearch.hppc.IntIntMap;
-import com.carrotsearch.hppc.IntIntScatterMap;
+import com.carrotsearch.hppc.LongArrayDeque;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
-import org.neo4j.graphalgo.core.utils.queue.IntPriorityQueue;
-import org.neo4j.graphalgo.core.utils.queue.SharedIntPriorityQueue;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.PagedLongStack;
+import org.neo4j.graphalgo.core.utils.queue.HugeLongPriorityQueue;
 
+import java.util.Arrays;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
-import static org.neo4j.graphalgo.core.heavyweight.Converters.longToIntConsumer;
-
 /**
  * Dijkstra single source - single target shortest path algorithm
  * <p>
  * The algorithm computes a (there might be more then one) shortest path
  * between a given start and target-NodeId. It returns result tuples of
  * [nodeId, distance] of each node in the path.
+ * <p>
+ * Costs and parents are kept in huge arrays that are allocated once.
+ * Only the entries touched by a search are reset before the next one,
+ * so an instance can be reused for many queries on a large graph.
+ * <p>
+ * Besides the plain search the algorithm offers a bidirectional search
+ * for point-to-point queries and a search from one start node to many
+ * goal nodes which stops as soon as all goal nodes are settled.
  */
 public class ShortestPathDijkstra extends Algorithm<ShortestPathDijkstra, ShortestPathDijkstra> {
 
-    private static final int PATH_END = -1;
+    private static final long PATH_END = -1;
     public static final double NO_PATH_FOUND = -1.0;
     public static final int UNUSED = 42;
 
-    private Graph graph;
+    private final Graph graph;
+    private final long nodeCount;
+    private final DijkstraConfig config;
+    private final AllocationTracker tracker;
+
+    private final Search forward;
+    // lazily created for bidirectional searches
+    private Search backward;
+    // incoming relationships of a directed graph, lazily created for bidirectional searches
+    private InverseRelationships inverse;
+    // lazily created for multi-target searches
+    private BitSet goals;
 
-    // node to cost map
-    private IntDoubleMap costs;
-    // next node priority queue
-    private IntPriorityQueue queue;
-    // auxiliary path map
-    private IntIntMap path;
     // path map (stores the resulting shortest path)
-    private IntArrayDeque finalPath;
-    private DoubleArrayDeque finalPathCosts;
-    // visited set
-    private BitSet visited;
-    private final int nodeCount;
-    private final DijkstraConfig config;
+    private final LongArrayDeque finalPath;
+    private final DoubleArrayDeque finalPathCosts;
     // overall cost of the path
     private double totalCost;
-    private ProgressLogger progressLogger;
+    private final ProgressLogger progressLogger;
 
     public ShortestPathDijkstra(Graph graph, DijkstraConfig config) {
+        this(graph, config, AllocationTracker.EMPTY);
+    }
+
+    /**
+     * Creates an instance without start and goal node, which only supports
+     * the search methods that take the start node as a parameter.
+     */
+    public ShortestPathDijkstra(Graph graph, AllocationTracker tracker) {
+        this(graph, null, tracker);
+    }
+
+    public ShortestPathDijkstra(Graph graph, DijkstraConfig config, AllocationTracker tracker) {
         this.graph = graph;
-        this.nodeCount = Math.toIntExact(graph.nodeCount());
+        this.nodeCount = graph.nodeCount();
         this.config = config;
-        this.costs = new IntDoubleScatterMap();
-        this.queue = SharedIntPriorityQueue.min(
-                IntPriorityQueue.DEFAULT_CAPACITY,
-                costs,
-                Double.MAX_VALUE);
-        this.path = new IntIntScatterMap();
-        this.visited = new BitSet();
-        this.finalPath = new IntArrayDeque();
+        this.tracker = tracker;
+        this.forward = new Search((node, consumer) -> graph.forEachRelationship(node, 1.0D, consumer));
+        this.finalPath = new LongArrayDeque();
         this.finalPathCosts = new DoubleArrayDeque();
         this.progressLogger = getProgressLogger();
     }
 
     public ShortestPathDijkstra compute() {
-        return compute(config.startNode(), config.endNode());
+        if (config == null) {
+            throw new IllegalStateException("No start and goal node configured");
+        }
+        return config.bidirectional()
+            ? computeBidirectional(config.startNode(), config.endNode())
+            : compute(config.startNode(), config.endNode());
     }
 
     public ShortestPathDijkstra compute(long startNode, long goalNode) {
         reset();
 
-        int node = Math.toIntExact(graph.toMappedNodeId(startNode));
-        int goal = Math.toIntExact(graph.toMappedNodeId(goalNode));
-        costs.put(node, 0.0);
-        queue.add(node, 0.0);
-        run(goal);
-        if (!path.containsKey(goal)) {
+        long start = graph.toMappedNodeId(startNode);
+        long goal = graph.toMappedNodeId(goalNode);
+        forward.start(start);
+        while (!forward.queue.isEmpty() && running()) {
+            long node = forward.settleNext();
+            if (node == goal) {
+                break;
+            }
+            forward.relax(node, null);
+        }
+        if (!forward.isSettled(goal)) {
             return this;
         }
-        totalCost = costs.get(goal);
-        int last = goal;
-        while (last != PATH_END) {
-            finalPath.addFirst(last);
-            finalPathCosts.addFirst(costs.get(last));
-            last = path.getOrDefault(last, PATH_END);
-        }
-        // destroy costs and path to remove the data for nodes that are not part of the graph
-        // since clear never downsizes the buffer array
-        costs.release();
-        path.release();
+        totalCost = forward.costs.get(goal);
+        forward.collectPath(goal, finalPath, finalPathCosts);
         return this;
     }
 
+    /**
+     * Searches from the start and from the goal node at the same time and
+     * stops once the two searches cannot improve the best path anymore.
+     * The search from the goal node follows relationships in reverse. For
+     * directed graphs, the incoming relationships are indexed on the first
+     * call and the index is reused by all following calls of this instance.
+     */
+    public ShortestPathDijkstra computeBidirectional(long startNode, long goalNode) {
+        reset();
+        if (backward == null) {
+            backward = new Search(reverseAdjacency());
+        }
+        backward.reset();
+
+        long start = graph.toMappedNodeId(startNode);
+        long goal = graph.toMappedNodeId(goalNode);
+        forward.start(start);
+        backward.start(goal);
+
+        Meeting meeting = new Meeting();
+        if (start == goal) {
+            meeting.update(start, 0.0);
+        }
+        while (!forward.queue.isEmpty() && !backward.queue.isEmpty() && running()) {
+            if (forward.queue.topCost() + backward.queue.topCost() >= meeting.cost) {
+                break;
+            }
+            if (forward.queue.topCost() <= backward.queue.topCost()) {
+                forward.relax(forward.settleNext(), (node, cost) -> meeting.update(node, cost + backward.costs.get(node)));
+            } else {
+                backward.relax(backward.settleNext(), (node, cost) -> meeting.update(node, cost + forward.costs.get(node)));
+            }
+        }
+        if (meeting.node == PATH_END) {
+            return this;
+        }
+
+        totalCost = meeting.cost;
+        forward.collectPath(meeting.node, finalPath, finalPathCosts);
+        long node = backward.parents.get(meeting.node);
+        while (node != PATH_END) {
+            finalPath.addLast(node);
+            finalPathCosts.addLast(totalCost - backward.costs.get(node));
+            node = backward.parents.get(node);
+        }
+        return this;
+    }
+
+    /**
+     * Computes the shortest paths from the start node to all goal nodes.
+     * The search stops as soon as every goal node is settled.
+     *
+     * @return the cost for each goal node, {@link #NO_PATH_FOUND} if it is not reachable
+     */
+    public double[] compute(long startNode, long[] goalNodes) {
+        reset();
+
+        if (goals == null) {
+            goals = new BitSet(nodeCount);
+        }
+        long remaining = 0;
+        for (long goalNode : goalNodes) {
+            long goal = graph.toMappedNodeId(goalNode);
+            if (!goals.getAndSet(goal)) {
+                remaining++;
+            }
+        }
+
+        forward.start(graph.toMappedNodeId(startNode));
+        while (remaining > 0 && !forward.queue.isEmpty() && running()) {
+            long node = forward.settleNext();
+            if (goals.get(node)) {
+                remaining--;
+            }
+            forward.relax(node, null);
+        }
+
+        double[] costs = new double[goalNodes.length];
+        Arrays.setAll(costs, i -> {
+            long goal = graph.toMappedNodeId(goalNodes[i]);
+            goals.clear(goal);
+            return forward.isSettled(goal) ? forward.costs.get(goal) : NO_PATH_FOUND;
+        });
+        return costs;
+    }
+
+    /**
+     * Returns the path to one of the goal nodes of the last
+     * {@link #compute(long, long[])} call.
+     *
+     * @return mapped node ids of the path, empty if the goal node is not reachable
+     */
+    public LongArrayDeque getPath(long goalNode) {
+        LongArrayDeque path = new LongArrayDeque();
+        long goal = graph.toMappedNodeId(goalNode);
+        if (forward.isSettled(goal)) {
+            forward.collectPath(goal, path, new DoubleArrayDeque());
+        }
+        return path;
+    }
+
     /**
      * return the result stream
      *
      * @return stream of result DTOs
      */
     public Stream<Result> resultStream() {
-        double[] costs = finalPathCosts.buffer;
+        double[] costs = finalPathCosts.toArray();
         return StreamSupport.stream(finalPath.spliterator(), false)
                 .map(cursor -> new Result(graph.toOriginalNodeId(cursor.value), costs[cursor.index]));
     }
 
-    public IntArrayDeque getFinalPath() {
+    public LongArrayDeque getFinalPath() {
         return finalPath;
     }
 
@@ -151,41 +268,12 @@ public class ShortestPathDijkstra extends Algorithm<ShortestPathDijkstra, Shorte
         return finalPath.size();
     }
 
-    private void run(int goal) {
-        while (!queue.isEmpty() && running()) {
-            int node = queue.pop();
-            if (node == goal) {
-                return;
-            }
-
-            visited.set(node);
-            double costs = this.costs.getOrDefault(node, Double.MAX_VALUE);
-            graph.forEachRelationship(
-                    node,
-                    1.0D,
-                    longToIntConsumer((source, target, weight) -> {
-                        updateCosts(source, target, weight + costs);
-                        return true;
-                    }));
-            progressLogger.logProgress((double) node / (nodeCount - 1));
-        }
-    }
-
-    private void updateCosts(int source, int target, double newCosts) {
-
-        if (costs.containsKey(target)) {
-            if (newCosts < costs.getOrDefault(target, Double.MAX_VALUE)) {
-                costs.put(target, newCosts);
-                path.put(target, source);
-                queue.update(target);
-            }
-        } else  {
-            if (newCosts < costs.getOrDefault(target, Double.MAX_VALUE)) {
-                costs.put(target, newCosts);
-                path.put(target, source);
-                queue.add(target, newCosts);
-            }
+    private Adjacency reverseAdjacency() {
+        if (graph.isUndirected()) {
+            return (node, consumer) -> graph.forEachRelationship(node, 1.0D, consumer);
         }
+        inverse = InverseRelationships.of(graph, 1.0D, tracker);
+        return inverse::forEachRelationship;
     }
 
     @Override
@@ -195,21 +283,142 @@ public class ShortestPathDijkstra extends Algorithm<ShortestPathDijkstra, Shorte
 
     @Override
     public void release() {
-        costs = null;
-        queue = null;
-        path = null;
-        visited = null;
+        forward.release();
+        if (backward != null) {
+            backward.release();
+            backward = null;
+        }
+        if (inverse != null) {
+            inverse.release();
+            inverse = null;
+        }
+        goals = null;
     }
 
     private void reset() {
-        visited.clear();
-        queue.clear();
-        costs.clear();
-        path.clear();
+        forward.reset();
         finalPath.clear();
+        finalPathCosts.clear();
         totalCost = NO_PATH_FOUND;
     }
 
+    @FunctionalInterface
+    private interface Adjacency {
+        void forEachRelationship(long node, RelationshipWithPropertyConsumer consumer);
+    }
+
+    @FunctionalInterface
+    private interface Reached {
+        void accept(long node, double cost);
+    }
+
+    private static final class Meeting {
+        long node = PATH_END;
+        double cost = Double.MAX_VALUE;
+
+        void update(long node, double cost) {
+            if (cost < this.cost) {
+                this.node = node;
+                this.cost = cost;
+            }
+        }
+    }
+
+    /**
+     * State of a search from one direction.
+     */
+    private final class Search {
+
+        private final Adjacency adjacency;
+        // node to cost map, infinite for untouched nodes
+        private HugeDoubleArray costs;
+        private HugeLongArray parents;
+        private BitSet visited;
+        private HugeLongPriorityQueue queue;
+        // nodes with a cost, reset before the next search
+        private PagedLongStack touched;
+        private long settledCount;
+
+        Search(Adjacency adjacency) {
+            this.adjacency = adjacency;
+            this.costs = HugeDoubleArray.newArray(nodeCount, tracker);
+            this.costs.fill(Double.POSITIVE_INFINITY);
+            this.parents = HugeLongArray.newArray(nodeCount, tracker);
+            this.visited = new BitSet(nodeCount);
+            this.queue = HugeLongPriorityQueue.min(nodeCount, tracker);
+            this.touched = new PagedLongStack(0, tracker);
+        }
+
+        void start(long node) {
+            costs.set(node, 0.0);
+            parents.set(node, PATH_END);
+            touched.push(node);
+            queue.add(node, 0.0);
+        }
+
+        long settleNext() {
+            long node = queue.pop();
+            visited.set(node);
+            progressLogger.logProgress(++settledCount, nodeCount);
+            return node;
+        }
+
+        boolean isSettled(long node) {
+            return visited.get(node);
+        }
+
+        void relax(long node, Reached reached) {
+            double cost = costs.get(node);
+            adjacency.forEachRelationship(node, (source, target, weight) -> {
+                double newCost = cost + weight;
+                double oldCost = costs.get(target);
+                if (newCost < oldCost) {
+                    if (oldCost == Double.POSITIVE_INFINITY) {
+                        touched.push(target);
+                    }
+                    costs.set(target, newCost);
+                    parents.set(target, source);
+                    queue.set(target, newCost);
+                    if (reached != null) {
+                        reached.accept(target, newCost);
+                    }
+                }
+                return true;
+            });
+        }
+
+        void collectPath(long goal, LongArrayDeque path, DoubleArrayDeque pathCosts) {
+            long last = goal;
+            while (last != PATH_END) {
+                path.addFirst(last);
+                pathCosts.addFirst(costs.get(last));
+                last = parents.get(last);
+            }
+        }
+
+        void reset() {
+            while (!touched.isEmpty()) {
+                long node = touched.pop();
+                costs.set(node, Double.POSITIVE_INFINITY);
+                visited.clear(node);
+            }
+            queue.clear();
+            settledCount = 0;
+        }
+
+        void release() {
+            tracker.remove(costs.release());
+            tracker.remove(parents.release());
+            tracker.remove(touched.release());
+            queue.release();
+            costs = null;
+            parents = null;
+            visited = null;
+            queue = null;
+            touched = null;
+        }
+    }
+
     /**
      * Result DTO
      */
@@ -19,20 +19,19 @@
  */
 package org.neo4j.graphalgo.impl.shortestpaths;
 
-import com.carrotsearch.hppc.IntScatterSet;
-import com.carrotsearch.hppc.LongScatterSet;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
-import org.neo4j.graphalgo.core.utils.RawValues;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 
-import static org.neo4j.graphalgo.core.heavyweight.Converters.longToIntConsumer;
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
 /**
@@ -43,15 +42,25 @@ import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
  * traverse incoming or outgoing directions or load it as undirected and traverse
  * outgoing relationships only. Direction.BOTH leads to incorrect results and is
  * therefore not supported.
+ *
+ * The spur paths of one iteration are independent of each other and are computed
+ * in parallel. Each worker owns a {@link YensKShortestPathsDijkstra} whose state is
+ * reused across all spur paths and iterations; the root path nodes and the
+ * relationships of known paths are masked in that instance instead of being
+ * removed from the graph. Candidates are collected in spur node order, so the
+ * result does not depend on the concurrency.
  */
 public class YensKShortestPaths extends Algorithm<YensKShortestPaths, YensKShortestPaths> {
 
-    private YensKShortestPathsDijkstra dijkstra;
     private final long startNode;
     private final long goalNode;
     private final int k;
     private final int maxDepth;
+    private final int concurrency;
+    private final ExecutorService executor;
+    private final AllocationTracker tracker;
     private Graph graph;
+    private List<SpurPathTask> tasks;
     private List<WeightedPath> shortestPaths;
     private PriorityQueue<WeightedPath> candidates;
 
@@ -61,19 +70,33 @@ public class YensKShortestPaths extends Algorithm<YensKShortestPaths, YensKShort
         long goalNode,
         int k,
         int maxDepth
+    ) {
+        this(graph, startNode, goalNode, k, maxDepth, 1, null, AllocationTracker.EMPTY);
+    }
+
+    public YensKShortestPaths(
+        Graph graph,
+        long startNode,
+        long goalNode,
+        int k,
+        int maxDepth,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
     ) {
         this.graph = graph;
-        dijkstra = new YensKShortestPathsDijkstra(graph);
         this.startNode = startNode;
         this.goalNode = goalNode;
         this.k = k;
         this.maxDepth = maxDepth;
+        this.concurrency = concurrency;
+        this.executor = executor;
+        this.tracker = tracker;
+        tasks = new ArrayList<>();
         shortestPaths = new ArrayList<>();
         candidates = new PriorityQueue<>(WeightedPath.comparator());
     }
 
-
-
     /**
      * retrieve the list of shortest paths
      */
@@ -95,19 +118,13 @@ public class YensKShortestPaths extends Algorithm<YensKShortestPaths, YensKShort
 
     private void yens(int k, long start, long goal, int maxDepth) {
         final ProgressLogger progressLogger = getProgressLogger();
-        // blacklist container for dijkstra
-        final IntScatterSet nodeBlackList = new IntScatterSet();
-        final LongScatterSet edgeBlackList = new LongScatterSet();
         // clear result of previous execution
         shortestPaths.clear();
-        // equip dijkstra with a node and edge filter and set its traversal direction
-        final Optional<WeightedPath> shortestPathOpt = dijkstra.withTerminationFlag(getTerminationFlag())
-                .withFilter(longToIntConsumer((s, t) ->
-                        // set custom node filter
-                        !nodeBlackList.contains(t) &&
-                        // and edge filter by combining the nodeIds into a long
-                        !edgeBlackList.contains(RawValues.combineIntInt(s, t))))
-                .compute(start, goal, maxDepth);// compute the best shortest path first
+        // the first worker computes the best shortest path first,
+        // without the masks of the spur paths of a previous execution
+        final YensKShortestPathsDijkstra firstDijkstra = workers(1).get(0).dijkstra;
+        firstDijkstra.clearMasks();
+        final Optional<WeightedPath> shortestPathOpt = firstDijkstra.compute(start, goal, maxDepth);
         if (!shortestPathOpt.isPresent()) {
             // not a single path found
             return;
@@ -118,46 +135,21 @@ public class YensKShortestPaths extends Algorithm<YensKShortestPaths, YensKShort
                 shortestPath.size(),
                 shortestPath.getCost()));
         // keep running until k paths have been found or no further shortest path is possible
-        for (int n = 1; n < k; n++) {
+        for (int n = 1; n < k && running(); n++) {
             // retrieve the last best shortest path
             final WeightedPath basePath = shortestPaths.get(shortestPaths.size() - 1);
-            for (int i = basePath.size() - 2; i >= 0; i--) {
-                // we don't alter the graph therefore we clear the filters at the beginning of each iteration.
-                nodeBlackList.clear();
-                edgeBlackList.clear();
-                // Spur node is retrieved from the previous k-shortest path.
-                final int spurNode = basePath.node(i);
-                // The sequence of nodes from the source to the spur node of the previous k-shortest path.
-                final WeightedPath rootPath = basePath
-                        .pathTo(i)
-                        .evaluateAndSetCost(graph);
-                // check each of the known shortest paths
-                for (Iterator<WeightedPath> iterator = shortestPaths.iterator(); iterator.hasNext(); ) {
-                    final WeightedPath p = iterator.next();
-                    if (rootPath.elementWiseEquals(p, i + 1)) {
-                        // blacklist the rels that are part of the previous shortest paths with the same root path.
-                        edgeBlackList.add(p.edge(i));
-                    }
-                }
-                // blacklist nodes in rootPath if not spurNode to avoid cycles
-                rootPath.forEachDo(rootPathNode -> {
-                    if (rootPathNode != spurNode) {
-                        nodeBlackList.add(rootPathNode);
-                    }
-                });
-                // Calculate the spur path from the spur node to the goal node.
-                int spurPathMaxDepth = maxDepth - rootPath.size() + 1; // + 1 is for dropped tail of root path
-                final Optional<WeightedPath> spurPathOpt = dijkstra.compute(spurNode, goal, spurPathMaxDepth);
-                // no path found, continue
-                if (!spurPathOpt.isPresent()) {
-                    continue;
-                }
-                // new candidate is the concatenation of rootPath and the spurPath.
-                final WeightedPath concatenation = rootPath
-                        .dropTail()
-                        .concat(spurPathOpt.get());
-                // already found?
-                if (!candidates.contains(concatenation)) {
+            // every node of the base path except the goal is a spur node
+            final WeightedPath[] spurCandidates = new WeightedPath[basePath.size() - 1];
+            final AtomicInteger nextSpurNode = new AtomicInteger();
+            final List<SpurPathTask> workers = workers(Math.min(concurrency, spurCandidates.length));
+            for (SpurPathTask worker : workers) {
+                worker.prepare(basePath, goal, nextSpurNode, spurCandidates);
+            }
+            ParallelUtil.run(workers, executor);
+            for (int i = spurCandidates.length - 1; i >= 0; i--) {
+                final WeightedPath concatenation = spurCandidates[i];
+                // no path found or already found?
+                if (concatenation != null && !candidates.contains(concatenation)) {
                     progressLogger.logMessage(formatWithLocale("found candidate: %d nodes / %.2f weight",
                             concatenation.size(),
                             concatenation.getCost()));
@@ -177,6 +169,16 @@ public class YensKShortestPaths extends Algorithm<YensKShortestPaths, YensKShort
         }
     }
 
+    /**
+     * returns the first {@code count} workers, creating missing ones on demand
+     */
+    private List<SpurPathTask> workers(int count) {
+        while (tasks.size() < count) {
+            tasks.add(new SpurPathTask(tasks.isEmpty() ? graph : graph.concurrentCopy()));
+        }
+        return tasks.subList(0, count);
+    }
+
     @Override
     public YensKShortestPaths me() {
         return this;
@@ -184,8 +186,73 @@ public class YensKShortestPaths extends Algorithm<YensKShortestPaths, YensKShort
 
     @Override
     public void release() {
+        if (tasks != null) {
+            tasks.forEach(task -> task.dijkstra.release());
+        }
         graph = null;
-        dijkstra = null;
+        tasks = null;
         candidates = null;
     }
+
+    private final class SpurPathTask implements Runnable {
+
+        private final Graph localGraph;
+        private final YensKShortestPathsDijkstra dijkstra;
+        private WeightedPath basePath;
+        private long goal;
+        private AtomicInteger nextSpurNode;
+        private WeightedPath[] spurCandidates;
+
+        SpurPathTask(Graph localGraph) {
+            this.localGraph = localGraph;
+            this.dijkstra = new YensKShortestPathsDijkstra(localGraph, tracker)
+                .withTerminationFlag(getTerminationFlag());
+        }
+
+        void prepare(WeightedPath basePath, long goal, AtomicInteger nextSpurNode, WeightedPath[] spurCandidates) {
+            this.basePath = basePath;
+            this.goal = goal;
+            this.nextSpurNode = nextSpurNode;
+            this.spurCandidates = spurCandidates;
+        }
+
+        @Override
+        public void run() {
+            int i;
+            while ((i = nextSpurNode.getAndIncrement()) < spurCandidates.length && running()) {
+                spurCandidates[i] = spurPath(i);
+            }
+        }
+
+        private WeightedPath spurPath(int i) {
+            // Spur node is retrieved from the previous k-shortest path.
+            final int spurNode = basePath.node(i);
+            // The sequence of nodes from the source to the spur node of the previous k-shortest path.
+            final WeightedPath rootPath = basePath
+                    .pathTo(i)
+                    .evaluateAndSetCost(localGraph);
+            // we don't alter the graph therefore we clear the masks of the previous spur node.
+            dijkstra.clearMasks();
+            // check each of the known shortest paths
+            for (WeightedPath p : shortestPaths) {
+                if (rootPath.elementWiseEquals(p, i + 1)) {
+                    // mask the rels that are part of the previous shortest paths with the same root path.
+                    dijkstra.maskRelationship(p.node(i), p.node(i + 1));
+                }
+            }
+            // mask nodes in rootPath if not spurNode to avoid cycles
+            rootPath.forEachDo(rootPathNode -> {
+                if (rootPathNode != spurNode) {
+                    dijkstra.maskNode(rootPathNode);
+                }
+            });
+            // Calculate the spur path from the spur node to the goal node.
+            int spurPathMaxDepth = maxDepth - rootPath.size() + 1; // + 1 is for dropped tail of root path
+            // new candidate is the concatenation of rootPath and the spurPath.
+            return dijkstra
+                .compute(spurNode, goal, spurPathMaxDepth)
+                .map(spurPath -> rootPath.dropTail().concat(spurPath))
+                .orElse(null);
+        }
+    }
 }
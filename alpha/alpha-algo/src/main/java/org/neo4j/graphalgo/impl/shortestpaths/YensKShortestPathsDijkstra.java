@@ -20,15 +20,15 @@
 package org.neo4j.graphalgo.impl.shortestpaths;
 
 import com.carrotsearch.hppc.BitSet;
-import com.carrotsearch.hppc.IntDoubleMap;
-import com.carrotsearch.hppc.IntDoubleScatterMap;
-import com.carrotsearch.hppc.IntIntMap;
-import com.carrotsearch.hppc.IntIntScatterMap;
+import com.carrotsearch.hppc.IntArrayList;
+import com.carrotsearch.hppc.LongHashSet;
+import com.carrotsearch.hppc.cursors.IntCursor;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.RelationshipConsumer;
+import org.neo4j.graphalgo.core.utils.RawValues;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
-import org.neo4j.graphalgo.core.utils.queue.IntPriorityQueue;
-import org.neo4j.graphalgo.core.utils.queue.SharedIntPriorityQueue;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.queue.HugeLongPriorityQueue;
 
 import java.util.Arrays;
 import java.util.Optional;
@@ -37,6 +37,13 @@ import static org.neo4j.graphalgo.core.heavyweight.Converters.longToIntConsumer;
 
 /**
  * specialized dijkstra impl. for YensKShortestPath
+ *
+ * The search state is allocated once per instance and only the nodes touched by
+ * the previous search are reset, so that an instance can be reused for many
+ * spur path computations. Nodes and relationships can be masked out of the
+ * search without altering the graph.
+ *
+ * An instance is not thread-safe, every thread needs its own instance.
  */
 public class YensKShortestPathsDijkstra {
 
@@ -44,32 +51,50 @@ public class YensKShortestPathsDijkstra {
     public static final int INITIAL_CAPACITY = 64;
     private static final int PATH_END = -1;
     private final Graph graph;
-    private final int nodeCount;
     private TerminationFlag terminationFlag = TerminationFlag.RUNNING_TRUE;
-    // node to cost map
-    private final IntDoubleMap costs;
+    // node to cost array
+    private final double[] costs;
     // next node priority queue
-    private final IntPriorityQueue queue;
-    // auxiliary path map
-    private final IntIntMap path;
+    private final HugeLongPriorityQueue queue;
+    // auxiliary path array
+    private final int[] path;
+    // iteration depth, 0 if the node has not been reached
+    private final int[] depth;
     // visited set
     private final BitSet visited;
+    // nodes reached during the last search
+    private final IntArrayList touched;
+    // masked nodes
+    private final BitSet maskedNodes;
+    private final IntArrayList maskedNodeList;
+    // source nodes of masked relationships
+    private final BitSet maskedSources;
+    private final IntArrayList maskedSourceList;
+    // masked relationships, only consulted if the source node is masked
+    private final LongHashSet maskedRelationships;
     // visited filter
     private RelationshipConsumer filter = (sourceNodeId, targetNodeId) -> true;
-    // iteration depth
-    private int[] depth;
 
     public YensKShortestPathsDijkstra(Graph graph) {
+        this(graph, AllocationTracker.EMPTY);
+    }
+
+    public YensKShortestPathsDijkstra(Graph graph, AllocationTracker tracker) {
         this.graph = graph;
-        nodeCount = Math.toIntExact(graph.nodeCount());
-        costs = new IntDoubleScatterMap(nodeCount);
-        queue = SharedIntPriorityQueue.min(
-                nodeCount,
-                costs,
-                Double.MAX_VALUE);
-        path = new IntIntScatterMap(nodeCount);
-        visited = new BitSet(nodeCount);
+        int nodeCount = Math.toIntExact(graph.nodeCount());
+        costs = new double[nodeCount];
+        Arrays.fill(costs, Double.POSITIVE_INFINITY);
+        queue = HugeLongPriorityQueue.min(nodeCount, tracker);
+        path = new int[nodeCount];
+        Arrays.fill(path, PATH_END);
         depth = new int[nodeCount];
+        visited = new BitSet(nodeCount);
+        touched = new IntArrayList();
+        maskedNodes = new BitSet(nodeCount);
+        maskedNodeList = new IntArrayList();
+        maskedSources = new BitSet(nodeCount);
+        maskedSourceList = new IntArrayList();
+        maskedRelationships = new LongHashSet();
     }
 
     /**
@@ -94,6 +119,47 @@ public class YensKShortestPathsDijkstra {
         return this;
     }
 
+    /**
+     * exclude a node from all subsequent searches until {@link #clearMasks()} is called
+     *
+     * @param node mapped node id
+     */
+    public void maskNode(int node) {
+        if (!maskedNodes.get(node)) {
+            maskedNodes.set(node);
+            maskedNodeList.add(node);
+        }
+    }
+
+    /**
+     * exclude a relationship from all subsequent searches until {@link #clearMasks()} is called
+     *
+     * @param sourceNode mapped source node id
+     * @param targetNode mapped target node id
+     */
+    public void maskRelationship(int sourceNode, int targetNode) {
+        if (!maskedSources.get(sourceNode)) {
+            maskedSources.set(sourceNode);
+            maskedSourceList.add(sourceNode);
+        }
+        maskedRelationships.add(RawValues.combineIntInt(sourceNode, targetNode));
+    }
+
+    /**
+     * remove all node and relationship masks, the cost is linear in the number of masks
+     */
+    public void clearMasks() {
+        for (IntCursor cursor : maskedNodeList) {
+            maskedNodes.clear(cursor.value);
+        }
+        for (IntCursor cursor : maskedSourceList) {
+            maskedSources.clear(cursor.value);
+        }
+        maskedNodeList.clear();
+        maskedSourceList.clear();
+        maskedRelationships.clear();
+    }
+
     /**
      * compute shortest path from sourceNode to targetNode
      *
@@ -123,29 +189,30 @@ public class YensKShortestPathsDijkstra {
         final WeightedPath resultPath = new WeightedPath(INITIAL_CAPACITY);
         while (last != PATH_END) {
             resultPath.append(last);
-            last = path.getOrDefault(last, PATH_END);
+            last = path[last];
         }
         return Optional.of(resultPath
-                .withWeight(costs.get(targetNode))
+                .withWeight(costs[targetNode])
                 .reverse());
     }
 
+    public void release() {
+        queue.release();
+    }
+
     /**
      * calc path
      *
      * @return true if a path has been found, false otherwise
      */
     private boolean dijkstra(int source, int target, int maxDepth) {
-        costs.clear();
-        queue.clear();
-        path.clear();
-        visited.clear();
-        costs.put(source, 0.0);
-        queue.add(source, 0.0);
-        Arrays.fill(depth, 0);
+        reset();
+        touched.add(source);
+        costs[source] = 0.0;
         depth[source] = 1;
+        queue.add(source, 0.0);
         while (!queue.isEmpty() && terminationFlag.running()) {
-            int node = queue.pop();
+            int node = (int) queue.pop();
             final int d = depth[node];
             if (d >= maxDepth) {
                 continue;
@@ -154,57 +221,53 @@ public class YensKShortestPathsDijkstra {
                 return true;
             }
             visited.set(node);
-            double costs = this.costs.getOrDefault(node, Double.MAX_VALUE);
+            double costs = this.costs[node];
             graph.forEachRelationship(
                     node,
                     1.0D,
                     longToIntConsumer((s, t, w) -> {
-                        if (!filter.accept(s, t)) {
+                        if (visited.get(t) || isMasked(s, t) || !filter.accept(s, t)) {
                             return true;
                         }
-                        final UpdateResult updateCosts = updateCosts(s, t, w + costs);
-                        if (!visited.get(t)) {
-                            switch (updateCosts) {
-                                case NO_PREVIOUS_COSTS:
-                                    queue.add(t, w);
-                                    break;
-                                case UPDATED_COST:
-                                    queue.update(t);
-                                    break;
-                                default:
-                                    break;
-                            }
-                            depth[t] = depth[s] + 1;
-                        }
+                        updateCosts(s, t, w + costs, d + 1);
                         return terminationFlag.running();
                     }));
         }
         return false;
     }
 
+    private boolean isMasked(int source, int target) {
+        return maskedNodes.get(target) ||
+               (maskedSources.get(source) && maskedRelationships.contains(RawValues.combineIntInt(source, target)));
+    }
 
     /**
-     * update cost map
+     * update cost and queue if the new costs are lower
      */
-    private UpdateResult updateCosts(int source, int target, double newCosts) {
-        double oldCosts = costs.getOrDefault(target, Double.MAX_VALUE);
-        if (oldCosts == Double.MAX_VALUE) {
-            if (!costs.containsKey(target)) {
-                costs.put(target, newCosts);
-                path.put(target, source);
-                return UpdateResult.NO_PREVIOUS_COSTS;
-            }
-        }
-        if (newCosts < oldCosts) {
-            costs.put(target, newCosts);
-            path.put(target, source);
-            return UpdateResult.UPDATED_COST;
+    private void updateCosts(int source, int target, double newCosts, int newDepth) {
+        if (depth[target] == 0) {
+            touched.add(target);
+        } else if (newCosts >= costs[target]) {
+            return;
         }
-        return UpdateResult.COST_NOT_COMPETITIVE;
+        costs[target] = newCosts;
+        path[target] = source;
+        depth[target] = newDepth;
+        queue.set(target, newCosts);
     }
 
-    private enum UpdateResult {
-        NO_PREVIOUS_COSTS, UPDATED_COST, COST_NOT_COMPETITIVE;
+    /**
+     * reset the state of all nodes reached by the previous search
+     */
+    private void reset() {
+        for (IntCursor cursor : touched) {
+            int node = cursor.value;
+            costs[node] = Double.POSITIVE_INFINITY;
+            path[node] = PATH_END;
+            depth[node] = 0;
+            visited.clear(node);
+        }
+        touched.clear();
+        queue.clear();
     }
-
 }
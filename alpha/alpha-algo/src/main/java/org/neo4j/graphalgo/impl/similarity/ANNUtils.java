@@ -19,8 +19,6 @@
  */
 package org.neo4j.graphalgo.impl.similarity;
 
-import org.roaringbitmap.RoaringBitmap;
-
 import java.util.HashSet;
 import java.util.Random;
 import java.util.Set;
@@ -47,14 +45,6 @@ public class ANNUtils {
         }
     }
 
-    static RoaringBitmap[] initializeRoaringBitmaps(int length) {
-        RoaringBitmap[] tempVisitedRelationships = new RoaringBitmap[length];
-        for (int i = 0; i < length; i++) {
-            tempVisitedRelationships[i] = new RoaringBitmap();
-        }
-        return tempVisitedRelationships;
-    }
-
     public static Set<Integer> selectRandomNeighbors(
             final int topK, final int numberOfInputs, final int excludeIndex,
             final Random random) {
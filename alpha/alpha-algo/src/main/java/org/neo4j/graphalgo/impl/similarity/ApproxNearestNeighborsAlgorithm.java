@@ -19,56 +19,34 @@
  */
 package org.neo4j.graphalgo.impl.similarity;
 
-import com.carrotsearch.hppc.LongHashSet;
-import com.carrotsearch.hppc.cursors.LongCursor;
-import org.neo4j.graphalgo.Orientation;
-import org.neo4j.graphalgo.RelationshipType;
-import org.neo4j.graphalgo.annotation.ValueClass;
-import org.neo4j.graphalgo.api.Graph;
-import org.neo4j.graphalgo.api.GraphStore;
-import org.neo4j.graphalgo.api.RelationshipIterator;
-import org.neo4j.graphalgo.api.Relationships;
-import org.neo4j.graphalgo.core.Aggregation;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
-import org.neo4j.graphalgo.core.loading.CSRGraphStore;
-import org.neo4j.graphalgo.core.loading.HugeGraphUtil;
-import org.neo4j.graphalgo.core.loading.IdMap;
-import org.neo4j.graphalgo.core.loading.IdsAndProperties;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.results.SimilarityResult;
-import org.neo4j.kernel.database.NamedDatabaseId;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 import org.neo4j.logging.Log;
-import org.roaringbitmap.RoaringBitmap;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 public final class ApproxNearestNeighborsAlgorithm<INPUT extends SimilarityInput> extends SimilarityAlgorithm<ApproxNearestNeighborsAlgorithm<INPUT>, INPUT> {
 
-    private static final RelationshipType ANN_OUT_GRAPH = RelationshipType.of("ANN_OUT");
-    private static final RelationshipType ANN_IN_GRAPH = RelationshipType.of("ANN_IN");
+    private static final int BATCH_SIZE = 64;
 
     private final ApproximateNearestNeighborsConfig config;
     private final SimilarityAlgorithm<?, INPUT> algorithm;
     private final Log log;
     private final AtomicLong nodeQueue;
     private final AtomicInteger actualIterations;
-    private final Random random;
     private final ExecutorService executor;
-    private final AllocationTracker tracker;
 
     public ApproxNearestNeighborsAlgorithm(
         ApproximateNearestNeighborsConfig config,
@@ -83,11 +61,9 @@ public final class ApproxNearestNeighborsAlgorithm<INPUT extends SimilarityInput
         this.algorithm = algorithm;
         this.log = log;
         this.executor = executor;
-        this.tracker = tracker;
 
         this.nodeQueue = new AtomicLong();
         this.actualIterations = new AtomicInteger();
-        this.random = new Random(config.randomSeed());
     }
 
     @Override
@@ -114,6 +90,12 @@ public final class ApproxNearestNeighborsAlgorithm<INPUT extends SimilarityInput
         return algorithm.similarityComputer(skipValue, sourceIndexIds, targetIndexIds);
     }
 
+    /**
+     * NN-Descent: starting from random neighbours, every node repeatedly compares the neighbours of its neighbours
+     * (a local join) and keeps the best k it finds. Only pairs involving at least one new neighbour are compared.
+     * The neighbour lists and the sampled candidate lists are kept in flat arrays that are allocated once,
+     * nothing is materialised as a graph between iterations.
+     */
     @Override
     protected Stream<SimilarityResult> similarityStream(
         INPUT[] inputs,
@@ -126,64 +108,58 @@ public final class ApproxNearestNeighborsAlgorithm<INPUT extends SimilarityInput
     ) {
         double sampleSize = Math.min(config.p(), 1.0) * Math.abs(config.topK());
         int inputSize = inputs.length;
-        AnnTopKConsumer[] topKConsumers = AnnTopKConsumer.initializeTopKConsumers(inputSize, topK);
-        Collection<Runnable> tasks = createInitTasks(inputs, topKConsumers, decoderFactory, computer);
+        NeighborHeaps heaps = new NeighborHeaps(inputSize, topK);
+        int k = heaps.k();
 
+        Collection<Runnable> tasks = createInitTasks(inputs, heaps, decoderFactory, computer);
         ParallelUtil.runWithConcurrency(config.concurrency(), tasks, executor);
 
-        IdsAndProperties nodes = buildNodes(inputs);
+        int forwardSampleSize = config.sampling() ? (int) sampleSize : k;
+        int reverseSampleSize = config.sampling() ? (int) sampleSize : Integer.MAX_VALUE;
+        Candidates oldCandidates = new Candidates(inputSize, k);
+        Candidates newCandidates = new Candidates(inputSize, k);
 
-        RoaringBitmap[] visitedRelationships = ANNUtils.initializeRoaringBitmaps(inputSize);
-        RoaringBitmap[] tempVisitedRelationships = ANNUtils.initializeRoaringBitmaps(inputSize);
+        List<Worker> workers = new ArrayList<>(config.concurrency());
+        for (int i = 0; i < config.concurrency(); i++) {
+            workers.add(new Worker(inputSize, decoderFactory, new Random(config.randomSeed() + i)));
+        }
 
         for (int iteration = 1; iteration <= config.maxIterations(); iteration++) {
-            for (int i = 0; i < inputSize; i++) {
-                visitedRelationships[i] = RoaringBitmap.or(visitedRelationships[i], tempVisitedRelationships[i]);
-            }
-            tempVisitedRelationships = ANNUtils.initializeRoaringBitmaps(inputSize);
-
-            RelationshipImporter importer = RelationshipImporter.of(nodes.idMap(), executor, tracker);
-            importer.consume(topKConsumers);
-            Graph graph = importer.buildGraphStore(api.databaseId(), nodes.idMap(), config.concurrency(), tracker).getUnion();
-
-            RelationshipImporter oldImporter = RelationshipImporter.of(nodes.idMap(), executor, tracker);
-            RelationshipImporter newImporter = RelationshipImporter.of(nodes.idMap(), executor, tracker);
-
-            Collection<Runnable> setupTasks = setupTasks(
-                sampleSize,
-                inputSize,
-                visitedRelationships,
-                tempVisitedRelationships,
-                graph,
-                oldImporter,
-                newImporter
-            );
-            ParallelUtil.runWithConcurrency(1, setupTasks, executor);
-
-            GraphStore oldGraphStore = oldImporter.buildGraphStore(
-                api.databaseId(),
-                nodes.idMap(),
-                config.concurrency(),
-                tracker
-            );
-            GraphStore newGraphStore = newImporter.buildGraphStore(
-                api.databaseId(),
-                nodes.idMap(),
-                config.concurrency(),
-                tracker
-            );
+            oldCandidates.clear();
+            newCandidates.clear();
+
+            runOnAllNodes(inputSize, workers, (worker, nodeId) -> {
+                oldCandidates.setForward(nodeId, heaps.oldNeighbors(nodeId, oldCandidates.forward, nodeId * k));
+                newCandidates.setForward(nodeId, heaps.sampleNewNeighbors(
+                    nodeId,
+                    newCandidates.forward,
+                    nodeId * k,
+                    forwardSampleSize,
+                    worker.random
+                ));
+            });
+            oldCandidates.prepareReverse();
+            newCandidates.prepareReverse();
+            runOnAllNodes(inputSize, workers, (worker, nodeId) -> {
+                oldCandidates.addReverse(nodeId);
+                newCandidates.addReverse(nodeId);
+            });
 
-            Collection<NeighborhoodTask> computeTasks = computeTasks(
-                sampleSize,
+            runOnAllNodes(inputSize, workers, (worker, nodeId) -> worker.join(
+                nodeId,
                 inputs,
+                heaps,
                 computer,
-                newGraphStore,
-                decoderFactory,
-                oldGraphStore
-            );
-            ParallelUtil.runWithConcurrency(config.concurrency(), computeTasks, executor);
+                oldCandidates,
+                newCandidates,
+                reverseSampleSize
+            ));
 
-            int changes = mergeConsumers(computeTasks, topKConsumers);
+            int changes = 0;
+            for (Worker worker : workers) {
+                changes += worker.changes;
+                worker.changes = 0;
+            }
 
             log.info("ANN: Changes in iteration %d: %d", iteration, changes);
             actualIterations.set(iteration);
@@ -191,142 +167,77 @@ public final class ApproxNearestNeighborsAlgorithm<INPUT extends SimilarityInput
             if (shouldTerminate(changes, inputSize, config.topK())) {
                 break;
             }
-
         }
-        return Arrays.stream(topKConsumers).flatMap(AnnTopKConsumer::stream);
+        return heaps.stream();
     }
 
-    private Collection<Runnable> setupTasks(
-        double sampleSize,
-        int inputSize,
-        RoaringBitmap[] visitedRelationships,
-        RoaringBitmap[] tempVisitedRelationships,
-        Graph graph,
-        RelationshipImporter oldImporter,
-        RelationshipImporter newImporter
-    ) {
-        int batchSize = ParallelUtil.adjustedBatchSize(inputSize, config.concurrency(), 100);
-        int numberOfBatches = (inputSize / batchSize) + 1;
-        Collection<Runnable> setupTasks = new ArrayList<>(numberOfBatches);
-
-        long startNodeId = 0L;
-        for (int batch = 0; batch < numberOfBatches; batch++) {
-            long nodeCount = Math.min(batchSize, inputSize - (batch * batchSize));
-            setupTasks.add(
-                new SetupTask(
-                    new NewOldGraph(graph, visitedRelationships),
-                    tempVisitedRelationships,
-                    oldImporter,
-                    newImporter,
-                    sampleSize,
-                    startNodeId,
-                    nodeCount
-                )
-            );
-            startNodeId += nodeCount;
+    private void runOnAllNodes(int inputSize, Collection<Worker> workers, NodeTask task) {
+        nodeQueue.set(0);
+        Collection<Runnable> tasks = new ArrayList<>(workers.size());
+        for (Worker worker : workers) {
+            tasks.add(() -> {
+                for (; ; ) {
+                    long start = nodeQueue.getAndAdd(BATCH_SIZE);
+                    if (start >= inputSize || !running()) {
+                        return;
+                    }
+                    long end = Math.min(start + BATCH_SIZE, inputSize);
+                    for (int nodeId = (int) start; nodeId < end; nodeId++) {
+                        task.apply(worker, nodeId);
+                    }
+                }
+            });
         }
-        return setupTasks;
+        ParallelUtil.runWithConcurrency(config.concurrency(), tasks, executor);
     }
 
     private List<Runnable> createInitTasks(
         INPUT[] inputs,
-        AnnTopKConsumer[] topKConsumers,
+        NeighborHeaps heaps,
         Supplier<RleDecoder> rleDecoderFactory,
         SimilarityComputer<INPUT> similarityComputer
     ) {
         nodeQueue.set(0);
         List<Runnable> tasks = new ArrayList<>();
         for (int i = 0; i < config.concurrency(); i++) {
-            tasks.add(new InitTask(inputs, topKConsumers, rleDecoderFactory, similarityComputer));
+            tasks.add(new InitTask(inputs, heaps, rleDecoderFactory, similarityComputer, new Random(config.randomSeed() + i)));
         }
         return tasks;
     }
 
-    private Collection<NeighborhoodTask> computeTasks(
-        double sampleSize,
-        INPUT[] inputs,
-        SimilarityComputer<INPUT> similarityComputer,
-        GraphStore oldGraphStore,
-        Supplier<RleDecoder> rleDecoderFactory,
-        GraphStore newGraphStore
-    ) {
-        nodeQueue.set(0);
-        Collection<NeighborhoodTask> computeTasks = new ArrayList<>();
-        for (int i = 0; i < config.concurrency(); i++) {
-            computeTasks.add(
-                new ComputeTask(
-                    inputs,
-                    similarityComputer,
-                    rleDecoderFactory,
-                    inputs.length,
-                    oldGraphStore,
-                    newGraphStore,
-                    sampleSize
-                )
-            );
-        }
-        return computeTasks;
-    }
-
-    private IdsAndProperties buildNodes(INPUT[] inputs) {
-        long maxNeoId = Stream.of(inputs)
-            .mapToLong(SimilarityInput::getId)
-            .max().orElse(0L);
-
-        HugeGraphUtil.IdMapBuilder idMapBuilder = HugeGraphUtil.idMapBuilder(
-            maxNeoId, executor, tracker
-        );
-
-        for (INPUT input : inputs) {
-            idMapBuilder.addNode(input.getId());
-        }
-
-        IdMap idMap = idMapBuilder.build();
-        return new IdsAndProperties(idMap, Collections.emptyMap());
-    }
-
-    private int mergeConsumers(Iterable<NeighborhoodTask> neighborhoodTasks, AnnTopKConsumer[] topKConsumers) {
-        int changes = 0;
-        for (NeighborhoodTask task : neighborhoodTasks) {
-            changes += task.mergeInto(topKConsumers);
-        }
-        return changes;
-    }
-
     private boolean shouldTerminate(int changes, int inputSize, int topK) {
         return changes == 0 || changes < inputSize * Math.abs(topK) * config.precision();
     }
 
-    private LongHashSet findNeighbors(long nodeId, RelationshipIterator graph) {
-        LongHashSet neighbors = new LongHashSet();
-        graph.forEachRelationship(nodeId, (sourceNodeId, targetNodeId) -> {
-            neighbors.add(targetNodeId);
-            return true;
-        });
-        return neighbors;
-    }
-
     public int iterations() {
         return actualIterations.get();
     }
 
+    @FunctionalInterface
+    private interface NodeTask {
+        void apply(Worker worker, int nodeId);
+    }
+
     private class InitTask implements Runnable {
 
         private final INPUT[] inputs;
-        private final AnnTopKConsumer[] topKConsumers;
+        private final NeighborHeaps heaps;
         private final RleDecoder rleDecoder;
         private final SimilarityComputer<INPUT> similarityComputer;
+        private final Random random;
 
         InitTask(
             INPUT[] inputs,
-            AnnTopKConsumer[] topKConsumers,
+            NeighborHeaps heaps,
             Supplier<RleDecoder> rleDecoderFactory,
-            SimilarityComputer<INPUT> similarityComputer
+            SimilarityComputer<INPUT> similarityComputer,
+            Random random
         ) {
             this.inputs = inputs;
-            this.topKConsumers = topKConsumers;
+            this.heaps = heaps;
             this.rleDecoder = rleDecoderFactory.get();
             this.similarityComputer = similarityComputer;
+            this.random = random;
         }
 
         @Override
@@ -338,7 +249,6 @@ public final class ApproxNearestNeighborsAlgorithm<INPUT extends SimilarityInput
                 }
 
                 int index = Math.toIntExact(nodeId);
-                AnnTopKConsumer consumer = topKConsumers[index];
                 INPUT me = inputs[index];
                 Set<Integer> randomNeighbors = ANNUtils.selectRandomNeighbors(
                     Math.abs(config.topK()),
@@ -356,290 +266,193 @@ public final class ApproxNearestNeighborsAlgorithm<INPUT extends SimilarityInput
                         config.similarityCutoff()
                     );
                     if (result != null) {
-                        consumer.applyAsInt(result);
+                        heaps.offer(index, neighborIndex, result);
                     }
                 }
-
             }
         }
     }
 
-    private class SetupTask implements Runnable {
-        private final NewOldGraph graph;
-        private final RelationshipImporter oldImporter;
-        private final RelationshipImporter newImporter;
-        private final double sampleSize;
-        private final RoaringBitmap[] visitedRelationships;
-        private final long startNodeId;
-        private final long nodeCount;
-
-        SetupTask(
-            NewOldGraph graph,
-            RoaringBitmap[] visitedRelationships,
-            RelationshipImporter oldImporter,
-            RelationshipImporter newImporter,
-            double sampleSize,
-            long startNodeId,
-            long nodeCount
-        ) {
-            this.graph = graph;
-            this.visitedRelationships = visitedRelationships;
-            this.oldImporter = oldImporter;
-            this.newImporter = newImporter;
-            this.sampleSize = sampleSize;
-            this.startNodeId = startNodeId;
-            this.nodeCount = nodeCount;
+    /**
+     * The neighbours sampled for the local joins of one iteration, for every node, together with
+     * the reverse lists, i.e. the nodes that sampled a given node, stored in compressed sparse row layout.
+     */
+    static final class Candidates {
+        private final int k;
+        final int[] forward;
+        private final int[] forwardCounts;
+        private final int[] reverse;
+        private final int[] reverseOffsets;
+        private final AtomicIntegerArray reverseCursors;
+
+        Candidates(int nodeCount, int k) {
+            this.k = k;
+            this.forward = new int[Math.multiplyExact(nodeCount, k)];
+            this.forwardCounts = new int[nodeCount];
+            this.reverse = new int[forward.length];
+            this.reverseOffsets = new int[nodeCount + 1];
+            this.reverseCursors = new AtomicIntegerArray(nodeCount);
         }
 
-        @Override
-        public void run() {
-            long endNodeId = startNodeId + nodeCount;
-            for (long longNodeId = startNodeId; longNodeId < endNodeId; longNodeId++) {
-                if (!running()) {
-                    return;
-                }
-                int nodeId = Math.toIntExact(longNodeId);
-
-                for (LongCursor neighbor : graph.findOldNeighbors(longNodeId)) {
-                    oldImporter.addRelationshipFromInternalId(longNodeId, neighbor.value);
-                }
-
-                long[] potentialNewNeighbors = graph.findNewNeighbors(longNodeId).toArray();
-                long[] newOutgoingNeighbors = config.sampling() ? ANNUtils.sampleNeighbors(
-                    potentialNewNeighbors,
-                    sampleSize,
-                    random
-                ) : potentialNewNeighbors;
-                for (long neighbor : newOutgoingNeighbors) {
-                    newImporter.addRelationshipFromInternalId(longNodeId, neighbor);
-                }
-
-                for (Long neighbor : newOutgoingNeighbors) {
-                    int neighborNodeId = Math.toIntExact(neighbor);
-                    visitedRelationships[nodeId].add(neighborNodeId);
-                }
+        void clear() {
+            for (int i = 0; i < reverseCursors.length(); i++) {
+                reverseCursors.set(i, 0);
             }
         }
-    }
-
-    interface NeighborhoodTask extends Runnable {
-        int mergeInto(AnnTopKConsumer[] target);
-    }
-
-    private class ComputeTask implements NeighborhoodTask {
-        private final INPUT[] inputs;
-        private final SimilarityComputer<INPUT> similarityComputer;
-        private final RleDecoder rleDecoder;
-        private final AnnTopKConsumer[] localTopKConsumers;
-        private final RelationshipIterator oldOutRelationships;
-        private final RelationshipIterator oldInRelationships;
-        private final RelationshipIterator newOutRelationships;
-        private final RelationshipIterator newInRelationships;
-        private final double sampleRate;
-
-        ComputeTask(
-            INPUT[] inputs,
-            SimilarityComputer<INPUT> similarityComputer,
-            Supplier<RleDecoder> rleDecoderFactory,
-            int length,
-            GraphStore oldGraphStore,
-            GraphStore newGraphStore,
-            double sampleRate
-        ) {
-            this.inputs = inputs;
-            this.similarityComputer = similarityComputer;
-            this.rleDecoder = rleDecoderFactory.get();
-            this.localTopKConsumers = AnnTopKConsumer.initializeTopKConsumers(length, config.topK());
-            this.oldOutRelationships = oldGraphStore.getGraph(ANN_OUT_GRAPH).concurrentCopy();
-            this.oldInRelationships = oldGraphStore.getGraph(ANN_IN_GRAPH).concurrentCopy();
-            this.newOutRelationships = newGraphStore.getGraph(ANN_OUT_GRAPH).concurrentCopy();
-            this.newInRelationships = newGraphStore.getGraph(ANN_IN_GRAPH).concurrentCopy();
-            this.sampleRate = sampleRate;
-        }
 
-        @Override
-        public void run() {
-            for (; ; ) {
-                long nodeId = nodeQueue.getAndIncrement();
-                if (nodeId >= inputs.length || !running()) {
-                    return;
-                }
-
-                LongHashSet oldNeighbors = getNeighbors(nodeId, oldOutRelationships, oldInRelationships);
-                long[] newNeighbors = getNeighbors(nodeId, newOutRelationships, newInRelationships).toArray();
-
-                for (int sourceIndex = 0; sourceIndex < newNeighbors.length; sourceIndex++) {
-                    int sourceNodeId = Math.toIntExact(newNeighbors[sourceIndex]);
-                    INPUT sourceNode = inputs[sourceNodeId];
-                    for (int targetIndex = sourceIndex + 1; targetIndex < newNeighbors.length; targetIndex++) {
-                        int targetNodeId = Math.toIntExact(newNeighbors[targetIndex]);
-                        INPUT targetNode = inputs[targetNodeId];
-                        SimilarityResult result = similarityComputer.similarity(
-                            rleDecoder,
-                            sourceNode,
-                            targetNode,
-                            config.similarityCutoff()
-                        );
-                        if (result != null) {
-                            localTopKConsumers[sourceNodeId].applyAsInt(result);
-                            localTopKConsumers[targetNodeId].applyAsInt(result.reverse());
-                        }
-                    }
-
-                    for (LongCursor cursor : oldNeighbors) {
-                        int targetNodeId = Math.toIntExact(cursor.value);
-                        INPUT targetNode = inputs[targetNodeId];
-                        if (sourceNodeId != targetNodeId) {
-                            SimilarityResult result = similarityComputer.similarity(
-                                rleDecoder,
-                                sourceNode,
-                                targetNode,
-                                config.similarityCutoff()
-                            );
-                            if (result != null) {
-                                localTopKConsumers[sourceNodeId].applyAsInt(result);
-                                localTopKConsumers[targetNodeId].applyAsInt(result.reverse());
-                            }
-                        }
-                    }
-                }
+        void setForward(int nodeId, int count) {
+            forwardCounts[nodeId] = count;
+            for (int i = nodeId * k; i < nodeId * k + count; i++) {
+                reverseCursors.incrementAndGet(forward[i]);
             }
         }
 
-        private LongHashSet getNeighbors(long nodeId, RelationshipIterator outRelationships, RelationshipIterator inRelationships) {
-            long[] potentialIncomingNeighbors = findNeighbors(nodeId, inRelationships).toArray();
-            long[] incomingNeighbors = config.sampling()
-                ? ANNUtils.sampleNeighbors(potentialIncomingNeighbors, sampleRate, random)
-                : potentialIncomingNeighbors;
-
-            LongHashSet outgoingNeighbors = findNeighbors(nodeId, outRelationships);
-
-            LongHashSet newNeighbors = new LongHashSet();
-            newNeighbors.addAll(incomingNeighbors);
-            newNeighbors.addAll(outgoingNeighbors);
-            return newNeighbors;
-        }
-
-        public int mergeInto(AnnTopKConsumer[] target) {
-            int changes = 0;
-            for (int i = 0; i < target.length; i++) {
-                changes += target[i].apply(this.localTopKConsumers[i]);
+        /**
+         * Turns the reverse degrees counted by {@link #setForward(int, int)} into offsets.
+         */
+        void prepareReverse() {
+            for (int i = 0; i < forwardCounts.length; i++) {
+                int degree = reverseCursors.get(i);
+                reverseCursors.set(i, reverseOffsets[i]);
+                reverseOffsets[i + 1] = reverseOffsets[i] + degree;
             }
-            return changes;
         }
-    }
 
-    @ValueClass
-    public interface RelationshipImporter {
-        HugeGraphUtil.RelationshipsBuilder outImporter();
-        HugeGraphUtil.RelationshipsBuilder inImporter();
-
-        default void consume(AnnTopKConsumer[] topKConsumers) {
-            for (AnnTopKConsumer consumer : topKConsumers) {
-                consumer.stream().forEach(result -> {
-                    long source = result.item1;
-                    long target = result.item2;
-                    if(source != -1 && target != -1 && source != target) {
-                        addRelationshipFromOriginalId(source, target);
-                    }
-                });
+        void addReverse(int nodeId) {
+            for (int i = nodeId * k; i < nodeId * k + forwardCounts[nodeId]; i++) {
+                reverse[reverseCursors.getAndIncrement(forward[i])] = nodeId;
             }
         }
 
-        default void addRelationshipFromInternalId(long source, long target) {
-            outImporter().addFromInternal(source, target);
-            inImporter().addFromInternal(target, source);
+        int forwardOffset(int nodeId) {
+            return nodeId * k;
         }
 
-        default void addRelationshipFromOriginalId(long source, long target) {
-            outImporter().add(source, target);
-            inImporter().add(target, source);
+        int forwardCount(int nodeId) {
+            return forwardCounts[nodeId];
         }
 
-        default GraphStore buildGraphStore(
-            NamedDatabaseId databaseId,
-            IdMap idMap,
-            int concurrency,
-            AllocationTracker tracker
-        ) {
-            Relationships outRelationships = outImporter().build();
-            Relationships inRelationships = inImporter().build();
-
-            Map<RelationshipType, Relationships.Topology> topology = new HashMap<>();
-            topology.put(ANN_OUT_GRAPH, outRelationships.topology());
-            topology.put(ANN_IN_GRAPH, inRelationships.topology());
-
-            return CSRGraphStore.of(
-                databaseId,
-                idMap,
-                Collections.emptyMap(),
-                topology,
-                Collections.emptyMap(),
-                concurrency,
-                tracker
-            );
+        int reverseOffset(int nodeId) {
+            return reverseOffsets[nodeId];
         }
 
-        static RelationshipImporter of(IdMap idMap, ExecutorService executorService, AllocationTracker tracker) {
-            HugeGraphUtil.RelationshipsBuilder outImporter = new HugeGraphUtil.RelationshipsBuilder(
-                idMap,
-                Orientation.NATURAL,
-                false,
-                Aggregation.NONE,
-                executorService,
-                tracker
-            );
-
-            HugeGraphUtil.RelationshipsBuilder inImporter = new HugeGraphUtil.RelationshipsBuilder(
-                idMap,
-                Orientation.REVERSE,
-                false,
-                Aggregation.NONE,
-                executorService,
-                tracker
-            );
+        int reverseCount(int nodeId) {
+            return reverseOffsets[nodeId + 1] - reverseOffsets[nodeId];
+        }
 
-            return ImmutableRelationshipImporter.of(outImporter, inImporter);
+        int[] reverse() {
+            return reverse;
         }
     }
 
-    static class NewOldGraph {
-        private final Graph graph;
-        private final RoaringBitmap[] visitedRelationships;
-
-        NewOldGraph(Graph graph, RoaringBitmap[] visitedRelationships) {
-            this.graph = graph;
-            this.visitedRelationships = visitedRelationships;
+    /**
+     * Holds the buffers of one thread, reused for every node and iteration.
+     */
+    private class Worker {
+        private final RleDecoder rleDecoder;
+        private final Random random;
+        private final int[] seen;
+        private int[] newNeighbors;
+        private int[] oldNeighbors;
+        private int epoch;
+        private int changes;
+
+        Worker(int nodeCount, Supplier<RleDecoder> rleDecoderFactory, Random random) {
+            this.rleDecoder = rleDecoderFactory.get();
+            this.random = random;
+            this.seen = new int[nodeCount];
+            this.newNeighbors = new int[0];
+            this.oldNeighbors = new int[0];
         }
 
-        LongHashSet findOldNeighbors(final long nodeId) {
-            LongHashSet neighbors = new LongHashSet();
-            RoaringBitmap visited = visitedRelationships[(int) nodeId];
-
-            graph.forEachRelationship(nodeId, (sourceNodeId, targetNodeId) -> {
-                if (visited.contains((int) targetNodeId)) {
-                    neighbors.add(targetNodeId);
+        void join(
+            int nodeId,
+            INPUT[] inputs,
+            NeighborHeaps heaps,
+            SimilarityComputer<INPUT> similarityComputer,
+            Candidates oldCandidates,
+            Candidates newCandidates,
+            int reverseSampleSize
+        ) {
+            newNeighbors = ensureCapacity(newNeighbors, newCandidates, nodeId, reverseSampleSize);
+            int newCount = collect(nodeId, newCandidates, newNeighbors, reverseSampleSize);
+            if (newCount == 0) {
+                return;
+            }
+            oldNeighbors = ensureCapacity(oldNeighbors, oldCandidates, nodeId, reverseSampleSize);
+            int oldCount = collect(nodeId, oldCandidates, oldNeighbors, reverseSampleSize);
+
+            for (int i = 0; i < newCount; i++) {
+                int sourceNodeId = newNeighbors[i];
+                INPUT sourceNode = inputs[sourceNodeId];
+                for (int j = i + 1; j < newCount; j++) {
+                    compare(heaps, similarityComputer, sourceNodeId, sourceNode, newNeighbors[j], inputs);
                 }
-
-                return true;
-            });
-            return neighbors;
+                for (int j = 0; j < oldCount; j++) {
+                    if (sourceNodeId != oldNeighbors[j]) {
+                        compare(heaps, similarityComputer, sourceNodeId, sourceNode, oldNeighbors[j], inputs);
+                    }
+                }
+            }
         }
 
-        LongHashSet findNewNeighbors(final long nodeId) {
-            LongHashSet neighbors = new LongHashSet();
+        private void compare(
+            NeighborHeaps heaps,
+            SimilarityComputer<INPUT> similarityComputer,
+            int sourceNodeId,
+            INPUT sourceNode,
+            int targetNodeId,
+            INPUT[] inputs
+        ) {
+            SimilarityResult result = similarityComputer.similarity(
+                rleDecoder,
+                sourceNode,
+                inputs[targetNodeId],
+                config.similarityCutoff()
+            );
+            if (result != null) {
+                changes += heaps.offer(sourceNodeId, targetNodeId, result);
+                changes += heaps.offer(targetNodeId, sourceNodeId, result.reverse());
+            }
+        }
 
-            RoaringBitmap visited = visitedRelationships[(int) nodeId];
+        /**
+         * Collects the distinct forward and sampled reverse candidates of the node into {@code buffer}.
+         */
+        private int collect(int nodeId, Candidates candidates, int[] buffer, int reverseSampleSize) {
+            int mark = ++epoch;
+            int count = 0;
+
+            int forwardOffset = candidates.forwardOffset(nodeId);
+            for (int i = forwardOffset; i < forwardOffset + candidates.forwardCount(nodeId); i++) {
+                int neighbor = candidates.forward[i];
+                if (seen[neighbor] != mark) {
+                    seen[neighbor] = mark;
+                    buffer[count++] = neighbor;
+                }
+            }
 
-            graph.forEachRelationship(nodeId, (sourceNodeId, targetNodeId) -> {
-                if (!visited.contains((int) targetNodeId)) {
-                    neighbors.add(targetNodeId);
+            int[] reverse = candidates.reverse();
+            int reverseOffset = candidates.reverseOffset(nodeId);
+            int reverseCount = candidates.reverseCount(nodeId);
+            int sampled = Math.min(reverseSampleSize, reverseCount);
+            for (int i = 0; i < sampled; i++) {
+                // partial Fisher-Yates shuffle, the reverse list of this node is only read by this worker
+                int j = i + random.nextInt(reverseCount - i);
+                int neighbor = reverse[reverseOffset + j];
+                reverse[reverseOffset + j] = reverse[reverseOffset + i];
+                reverse[reverseOffset + i] = neighbor;
+                if (seen[neighbor] != mark) {
+                    seen[neighbor] = mark;
+                    buffer[count++] = neighbor;
                 }
+            }
+            return count;
+        }
 
-                return true;
-            });
-            return neighbors;
+        private int[] ensureCapacity(int[] buffer, Candidates candidates, int nodeId, int reverseSampleSize) {
+            int capacity = candidates.forwardCount(nodeId) + Math.min(reverseSampleSize, candidates.reverseCount(nodeId));
+            return buffer.length >= capacity ? buffer : new int[Math.max(capacity, buffer.length * 2)];
         }
     }
-
 }
@@ -0,0 +1,311 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.similarity;
+
+import com.carrotsearch.hppc.IntHashSet;
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.Intersections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Looks up the approximate nearest neighbours of query nodes or vectors in a k-nearest neighbours graph,
+ * as built by {@link ApproxNearestNeighborsAlgorithm} and stored as a relationship type of the graph.
+ *
+ * Each query runs a greedy best-first search: starting from the neighbours of the query node and a few
+ * random entry points, the best candidate that has not been expanded yet is expanded by scoring its
+ * neighbours in the graph, until all {@code searchWidth} best candidates have been expanded.
+ */
+public final class ApproxNearestNeighborsQuery extends Algorithm<ApproxNearestNeighborsQuery, ApproxNearestNeighborsQuery> {
+
+    private final Graph graph;
+    private final NodeProperties[] properties;
+    private final ApproximateNearestNeighborsConfig.SimilarityAlgorithm metric;
+    private final long[] queryNodes;
+    private final double[][] queryVectors;
+    private final int topK;
+    private final int searchWidth;
+    private final int entryPoints;
+    private final long randomSeed;
+    private final int concurrency;
+    private final ExecutorService executor;
+    private final Result[][] results;
+
+    /**
+     * @param queryNodes   original ids of the query nodes
+     * @param queryVectors query vectors, each with one value per node property
+     */
+    public ApproxNearestNeighborsQuery(
+        Graph graph,
+        List<String> nodeProperties,
+        ApproximateNearestNeighborsConfig.SimilarityAlgorithm metric,
+        long[] queryNodes,
+        double[][] queryVectors,
+        int topK,
+        int searchWidth,
+        int entryPoints,
+        long randomSeed,
+        int concurrency,
+        ExecutorService executor
+    ) {
+        this.graph = graph;
+        this.properties = new NodeProperties[nodeProperties.size()];
+        for (int i = 0; i < properties.length; i++) {
+            String propertyKey = nodeProperties.get(i);
+            properties[i] = graph.nodeProperties(propertyKey);
+            if (properties[i] == null) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Node property `%s` not found in graph with node properties: %s",
+                    propertyKey,
+                    graph.availableNodeProperties()
+                ));
+            }
+        }
+        this.metric = metric;
+        this.queryNodes = new long[queryNodes.length];
+        for (int i = 0; i < queryNodes.length; i++) {
+            this.queryNodes[i] = graph.toMappedNodeId(queryNodes[i]);
+            if (this.queryNodes[i] == -1) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Query node with id %d was not found in the graph",
+                    queryNodes[i]
+                ));
+            }
+        }
+        this.queryVectors = queryVectors;
+        this.topK = topK;
+        this.searchWidth = Math.max(topK, searchWidth);
+        this.entryPoints = entryPoints;
+        this.randomSeed = randomSeed;
+        this.concurrency = concurrency;
+        this.executor = executor;
+        this.results = new Result[queryNodes.length + queryVectors.length][];
+    }
+
+    @Override
+    public ApproxNearestNeighborsQuery compute() {
+        AtomicInteger queryQueue = new AtomicInteger();
+        int workerCount = Math.min(concurrency, results.length);
+        Collection<Runnable> tasks = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            tasks.add(new SearchTask(queryQueue));
+        }
+        ParallelUtil.runWithConcurrency(concurrency, tasks, executor);
+        return this;
+    }
+
+    public Stream<Result> resultStream() {
+        return Arrays.stream(results).flatMap(Arrays::stream);
+    }
+
+    @Override
+    public ApproxNearestNeighborsQuery me() {
+        return this;
+    }
+
+    @Override
+    public void release() {}
+
+    private final class SearchTask implements Runnable {
+        private final AtomicInteger queryQueue;
+        private final Graph localGraph;
+        private final Random random;
+        private final IntHashSet visited;
+        private final double[] vector;
+        private final int[] poolNodes;
+        private final double[] poolScores;
+        private final boolean[] poolExpanded;
+        private double[] query;
+        private int excludedNode;
+        private int poolSize;
+        private int nextUnexpanded;
+
+        SearchTask(AtomicInteger queryQueue) {
+            this.queryQueue = queryQueue;
+            this.localGraph = graph.concurrentCopy();
+            this.random = new Random();
+            this.visited = new IntHashSet();
+            this.vector = new double[properties.length];
+            this.poolNodes = new int[searchWidth];
+            this.poolScores = new double[searchWidth];
+            this.poolExpanded = new boolean[searchWidth];
+        }
+
+        @Override
+        public void run() {
+            for (; ; ) {
+                int queryIndex = queryQueue.getAndIncrement();
+                if (queryIndex >= results.length || !running()) {
+                    return;
+                }
+                results[queryIndex] = search(queryIndex);
+            }
+        }
+
+        private Result[] search(int queryIndex) {
+            visited.clear();
+            poolSize = 0;
+            nextUnexpanded = 0;
+            random.setSeed(randomSeed + queryIndex);
+
+            Long queryNodeId = null;
+            Long queryVectorIndex = null;
+            if (queryIndex < queryNodes.length) {
+                excludedNode = Math.toIntExact(queryNodes[queryIndex]);
+                query = readVector(excludedNode, new double[properties.length]);
+                queryNodeId = graph.toOriginalNodeId(excludedNode);
+                visited.add(excludedNode);
+                expand(excludedNode);
+            } else {
+                excludedNode = -1;
+                query = queryVectors[queryIndex - queryNodes.length];
+                queryVectorIndex = (long) (queryIndex - queryNodes.length);
+            }
+
+            int nodeCount = Math.toIntExact(graph.nodeCount());
+            for (int i = 0; i < entryPoints && visited.size() < nodeCount; i++) {
+                visit(random.nextInt(nodeCount));
+            }
+
+            while (nextUnexpanded < poolSize && running()) {
+                int index = nextUnexpanded;
+                poolExpanded[index] = true;
+                nextUnexpanded = nextUnexpanded(index + 1);
+                expand(poolNodes[index]);
+            }
+
+            int resultCount = Math.min(topK, poolSize);
+            Result[] queryResults = new Result[resultCount];
+            for (int i = 0; i < resultCount; i++) {
+                queryResults[i] = new Result(
+                    queryNodeId,
+                    queryVectorIndex,
+                    graph.toOriginalNodeId(poolNodes[i]),
+                    metric == ApproximateNearestNeighborsConfig.SimilarityAlgorithm.euclidean ? -poolScores[i] : poolScores[i]
+                );
+            }
+            return queryResults;
+        }
+
+        private void expand(int nodeId) {
+            localGraph.forEachRelationship(nodeId, (sourceNodeId, targetNodeId) -> {
+                visit(Math.toIntExact(targetNodeId));
+                return true;
+            });
+        }
+
+        private void visit(int nodeId) {
+            if (nodeId == excludedNode || !visited.add(nodeId)) {
+                return;
+            }
+            double score = score(query, readVector(nodeId, vector));
+            if (Double.isNaN(score)) {
+                return;
+            }
+            int position = insert(nodeId, score);
+            if (position >= 0 && position < nextUnexpanded) {
+                nextUnexpanded = position;
+            }
+        }
+
+        /**
+         * Inserts the node into the pool, which is sorted by descending score.
+         *
+         * @return the position of the node in the pool, or -1 if the score is too low
+         */
+        private int insert(int nodeId, double score) {
+            if (poolSize == searchWidth && score <= poolScores[poolSize - 1]) {
+                return -1;
+            }
+            int position = poolSize == searchWidth ? poolSize - 1 : poolSize++;
+            while (position > 0 && poolScores[position - 1] < score) {
+                poolNodes[position] = poolNodes[position - 1];
+                poolScores[position] = poolScores[position - 1];
+                poolExpanded[position] = poolExpanded[position - 1];
+                position--;
+            }
+            poolNodes[position] = nodeId;
+            poolScores[position] = score;
+            poolExpanded[position] = false;
+            if (nextUnexpanded > poolSize) {
+                nextUnexpanded = poolSize;
+            }
+            return position;
+        }
+
+        private int nextUnexpanded(int from) {
+            int index = from;
+            while (index < poolSize && poolExpanded[index]) {
+                index++;
+            }
+            return index;
+        }
+
+        private double[] readVector(int nodeId, double[] target) {
+            for (int i = 0; i < properties.length; i++) {
+                target[i] = properties[i].nodeProperty(nodeId);
+            }
+            return target;
+        }
+
+        /**
+         * Higher is better for every metric, so the euclidean distance is negated.
+         */
+        private double score(double[] query, double[] candidate) {
+            switch (metric) {
+                case cosine:
+                    return Intersections.cosine(query, candidate, candidate.length);
+                case pearson:
+                    return Intersections.pearson(query, candidate, candidate.length);
+                case euclidean:
+                    return -Math.sqrt(Intersections.sumSquareDelta(query, candidate, candidate.length));
+                default:
+                    throw new IllegalArgumentException("Unexpected value: " + metric);
+            }
+        }
+    }
+
+    public static final class Result {
+        public final @Nullable Long queryNodeId;
+        public final @Nullable Long queryVectorIndex;
+        public final long nodeId;
+        public final double similarity;
+
+        Result(@Nullable Long queryNodeId, @Nullable Long queryVectorIndex, long nodeId, double similarity) {
+            this.queryNodeId = queryNodeId;
+            this.queryVectorIndex = queryVectorIndex;
+            this.nodeId = nodeId;
+            this.similarity = similarity;
+        }
+    }
+}
@@ -31,7 +31,7 @@ import java.util.Map;
 @ValueClass
 @Configuration
 @SuppressWarnings({"immutables:subtype", "immutables:from"})
-public interface ApproximateNearestNeighborsConfig extends SimilarityConfig, IterationsConfig {
+public interface ApproximateNearestNeighborsConfig extends WeightedSimilarityConfig, IterationsConfig {
 
     @Configuration.ConvertWith("similarityAlgorithm")
     SimilarityAlgorithm algorithm();
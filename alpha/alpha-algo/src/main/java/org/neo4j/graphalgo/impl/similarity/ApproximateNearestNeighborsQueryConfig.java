@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.similarity;
+
+import org.immutables.value.Value;
+import org.neo4j.graphalgo.annotation.Configuration;
+import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.config.AlgoBaseConfig;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+@ValueClass
+@Configuration
+@SuppressWarnings("immutables:subtype")
+public interface ApproximateNearestNeighborsQueryConfig extends AlgoBaseConfig {
+
+    /**
+     * Node properties that form the vector of each node, in the same order as when the index was built.
+     */
+    List<String> nodeProperties();
+
+    @Configuration.ConvertWith("org.neo4j.graphalgo.impl.similarity.ApproximateNearestNeighborsConfig#similarityAlgorithm")
+    ApproximateNearestNeighborsConfig.SimilarityAlgorithm algorithm();
+
+    /**
+     * Nodes whose neighbours are looked up; the node itself is never part of its result.
+     */
+    @Value.Default
+    default List<Long> queryNodeIds() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Vectors whose neighbours are looked up, each with one value per node property.
+     */
+    @Value.Default
+    default List<List<Number>> queryVectors() {
+        return Collections.emptyList();
+    }
+
+    @Value.Default
+    default int topK() {
+        return 10;
+    }
+
+    /**
+     * The number of candidates kept during the search, larger values trade speed for accuracy.
+     */
+    @Value.Default
+    default int searchWidth() {
+        return 50;
+    }
+
+    /**
+     * The number of random nodes the search starts from, in addition to the neighbours of a query node.
+     */
+    @Value.Default
+    default int entryPoints() {
+        return 8;
+    }
+
+    @Value.Default
+    default long randomSeed() {
+        return 1;
+    }
+
+    @Value.Check
+    default void validate() {
+        if (nodeProperties().isEmpty()) {
+            throw new IllegalArgumentException("`nodeProperties` must contain at least one node property");
+        }
+        if (algorithm() == ApproximateNearestNeighborsConfig.SimilarityAlgorithm.jaccard) {
+            throw new IllegalArgumentException("Queries are only supported for the cosine, pearson and euclidean algorithms");
+        }
+        if (topK() <= 0) {
+            throw new IllegalArgumentException(formatWithLocale("`topK` must be positive, but got %d", topK()));
+        }
+        if (queryNodeIds().isEmpty() && queryVectors().isEmpty()) {
+            throw new IllegalArgumentException("Either `queryNodeIds` or `queryVectors` must be given");
+        }
+        for (List<Number> vector : queryVectors()) {
+            if (vector.size() != nodeProperties().size()) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Query vectors must have one value per node property, expected %d but got %d",
+                    nodeProperties().size(),
+                    vector.size()
+                ));
+            }
+        }
+    }
+
+    static ApproximateNearestNeighborsQueryConfig of(
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> implicitCreateConfig,
+        String username,
+        CypherMapWrapper userInput
+    ) {
+        return new ApproximateNearestNeighborsQueryConfigImpl(graphName, implicitCreateConfig, username, userInput);
+    }
+}
@@ -26,7 +26,7 @@ import org.neo4j.graphalgo.annotation.ValueClass;
 @ValueClass
 @Configuration
 @SuppressWarnings("immutables:subtype")
-public interface CosineConfig extends SimilarityConfig {
+public interface CosineConfig extends WeightedSimilarityConfig {
     @Value.Derived
     @Configuration.Ignore
     @Override
@@ -19,6 +19,8 @@
  */
 package org.neo4j.graphalgo.impl.similarity;
 
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.results.SimilarityResult;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 
@@ -28,6 +30,10 @@ public class EuclideanAlgorithm extends WeightedSimilarityAlgorithm<EuclideanAlg
         super(config, api);
     }
 
+    public EuclideanAlgorithm(EuclideanConfig config, @Nullable Graph graph, GraphDatabaseAPI api) {
+        super(config, graph, api);
+    }
+
     @Override
     SimilarityComputer<WeightedInput> similarityComputer(
         Double skipValue,
@@ -44,4 +50,9 @@ public class EuclideanAlgorithm extends WeightedSimilarityAlgorithm<EuclideanAlg
     SimilarityResult modifyResult(SimilarityResult result) {
         return result.squareRooted();
     }
+
+    @Override
+    TiledSimilarityEngine.Metric tiledMetric() {
+        return TiledSimilarityEngine.Metric.EUCLIDEAN;
+    }
 }
@@ -26,7 +26,7 @@ import org.neo4j.graphalgo.annotation.ValueClass;
 @ValueClass
 @Configuration
 @SuppressWarnings("immutables:subtype")
-public interface EuclideanConfig extends SimilarityConfig {
+public interface EuclideanConfig extends WeightedSimilarityConfig {
 
     @Value.Derived
     @Configuration.Ignore
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.similarity;
+
+import org.neo4j.graphalgo.results.SimilarityResult;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Fixed size lists of the best neighbours found so far for every input, as used by NN-Descent.
+ * Each entry is flagged as new until it has been sampled for a local join, after which it is old.
+ * All lists live in flat arrays that are allocated once and reused across iterations.
+ */
+final class NeighborHeaps {
+
+    private static final int LOCK_STRIPES = 1 << 12;
+
+    private final int k;
+    private final int[] neighbors;
+    private final SimilarityResult[] results;
+    private final boolean[] isNew;
+    private final int[] counts;
+    private final Comparator<SimilarityResult> comparator;
+    private final Object[] locks;
+
+    /**
+     * @param topK the size of every list; if negative, the lowest similarities are kept instead of the highest
+     */
+    NeighborHeaps(int nodeCount, int topK) {
+        this.k = Math.abs(topK);
+        int capacity = Math.multiplyExact(nodeCount, k);
+        this.neighbors = new int[capacity];
+        this.results = new SimilarityResult[capacity];
+        this.isNew = new boolean[capacity];
+        this.counts = new int[nodeCount];
+        this.comparator = topK > 0 ? SimilarityResult.DESCENDING : SimilarityResult.ASCENDING;
+        this.locks = new Object[Math.min(LOCK_STRIPES, Math.max(1, nodeCount))];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    int k() {
+        return k;
+    }
+
+    int size(int node) {
+        return counts[node];
+    }
+
+    /**
+     * Offers the neighbour to the list of the node. Safe to call concurrently.
+     *
+     * @return 1 if the list changed, 0 otherwise
+     */
+    int offer(int node, int neighbor, SimilarityResult result) {
+        synchronized (locks[node % locks.length]) {
+            int offset = node * k;
+            int count = counts[node];
+            if (k == 0 || count == k && comparator.compare(result, results[offset + count - 1]) >= 0) {
+                return 0;
+            }
+            for (int i = offset; i < offset + count; i++) {
+                if (neighbors[i] == neighbor) {
+                    return 0;
+                }
+            }
+
+            int position = offset + (count == k ? count - 1 : count);
+            while (position > offset && comparator.compare(result, results[position - 1]) < 0) {
+                neighbors[position] = neighbors[position - 1];
+                results[position] = results[position - 1];
+                isNew[position] = isNew[position - 1];
+                position--;
+            }
+            neighbors[position] = neighbor;
+            results[position] = result;
+            isNew[position] = true;
+            if (count < k) {
+                counts[node] = count + 1;
+            }
+            return 1;
+        }
+    }
+
+    /**
+     * Copies the old neighbours of the node into {@code buffer}, starting at {@code offset}.
+     * Must not run concurrently with {@link #offer(int, int, SimilarityResult)}.
+     *
+     * @return the number of neighbours copied
+     */
+    int oldNeighbors(int node, int[] buffer, int offset) {
+        int start = node * k;
+        int copied = 0;
+        for (int i = start; i < start + counts[node]; i++) {
+            if (!isNew[i]) {
+                buffer[offset + copied++] = neighbors[i];
+            }
+        }
+        return copied;
+    }
+
+    /**
+     * Copies up to {@code sampleSize} randomly chosen new neighbours of the node into {@code buffer},
+     * starting at {@code offset}, and flags them as old.
+     * Must not run concurrently with {@link #offer(int, int, SimilarityResult)}.
+     *
+     * @return the number of neighbours copied
+     */
+    int sampleNewNeighbors(int node, int[] buffer, int offset, int sampleSize, Random random) {
+        int start = node * k;
+        int end = start + counts[node];
+        int seen = 0;
+        int sampled = 0;
+        for (int i = start; i < end; i++) {
+            if (!isNew[i]) {
+                continue;
+            }
+            // reservoir sampling over the positions of the new neighbours
+            if (sampled < sampleSize) {
+                buffer[offset + sampled++] = i;
+            } else {
+                int j = random.nextInt(seen + 1);
+                if (j < sampleSize) {
+                    buffer[offset + j] = i;
+                }
+            }
+            seen++;
+        }
+        for (int i = offset; i < offset + sampled; i++) {
+            int position = buffer[i];
+            isNew[position] = false;
+            buffer[i] = neighbors[position];
+        }
+        return sampled;
+    }
+
+    Stream<SimilarityResult> stream() {
+        return IntStream.range(0, counts.length)
+            .boxed()
+            .flatMap(node -> Arrays.stream(results, node * k, node * k + counts[node]));
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.similarity;
+
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.core.utils.Intersections;
+
+/**
+ * All input vectors packed row by row into a single array, together with
+ * the squared norm of each row. Rows can optionally be centered by their mean.
+ */
+final class PackedVectors {
+
+    private static final long MAX_SIZE = Integer.MAX_VALUE - 8;
+
+    final double[] data;
+    final double[] squaredNorms;
+    final long[] ids;
+    final int[] itemCounts;
+    final int dimension;
+    final int count;
+
+    private PackedVectors(double[] data, double[] squaredNorms, long[] ids, int[] itemCounts, int dimension) {
+        this.data = data;
+        this.squaredNorms = squaredNorms;
+        this.ids = ids;
+        this.itemCounts = itemCounts;
+        this.dimension = dimension;
+        this.count = ids.length;
+    }
+
+    /**
+     * Packs the weights of all inputs.
+     *
+     * @param centered  whether to subtract the mean of each vector from its weights
+     * @param skipValue weights that are skipped by the similarity, may be null
+     * @return the packed vectors or null if the inputs differ in length, are empty,
+     *     contain a weight to skip or do not fit into a single array
+     */
+    static @Nullable PackedVectors of(WeightedInput[] inputs, boolean centered, @Nullable Double skipValue) {
+        if (inputs.length == 0) {
+            return null;
+        }
+        int dimension = inputs[0].weights().length;
+        if (dimension == 0 || (long) dimension * inputs.length > MAX_SIZE) {
+            return null;
+        }
+        boolean skipAnything = skipValue != null;
+        boolean skipNan = skipAnything && Double.isNaN(skipValue);
+
+        double[] data = new double[dimension * inputs.length];
+        double[] squaredNorms = new double[inputs.length];
+        long[] ids = new long[inputs.length];
+        int[] itemCounts = new int[inputs.length];
+        for (int row = 0; row < inputs.length; row++) {
+            double[] weights = inputs[row].weights();
+            if (weights.length != dimension) {
+                return null;
+            }
+            double mean = 0D;
+            if (centered) {
+                double sum = 0D;
+                for (double weight : weights) {
+                    sum += weight;
+                }
+                mean = sum / dimension;
+            }
+            int offset = row * dimension;
+            double squaredNorm = 0D;
+            for (int i = 0; i < dimension; i++) {
+                double weight = weights[i];
+                if (skipAnything && Intersections.shouldSkip(weight, skipValue, skipNan)) {
+                    return null;
+                }
+                double value = centered ? weight - mean : weight;
+                data[offset + i] = value;
+                squaredNorm += value * value;
+            }
+            squaredNorms[row] = squaredNorm;
+            ids[row] = inputs[row].getId();
+            itemCounts[row] = inputs[row].itemCount();
+        }
+        return new PackedVectors(data, squaredNorms, ids, itemCounts, dimension);
+    }
+}
@@ -19,14 +19,20 @@
  */
 package org.neo4j.graphalgo.impl.similarity;
 
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 
 public final class PearsonAlgorithm extends WeightedSimilarityAlgorithm<PearsonAlgorithm> {
 
-    public PearsonAlgorithm(SimilarityConfig config, GraphDatabaseAPI api) {
+    public PearsonAlgorithm(PearsonConfig config, GraphDatabaseAPI api) {
         super(config, api);
     }
 
+    public PearsonAlgorithm(PearsonConfig config, @Nullable Graph graph, GraphDatabaseAPI api) {
+        super(config, graph, api);
+    }
+
     @Override
     SimilarityComputer<WeightedInput> similarityComputer(
         Double skipValue,
@@ -39,4 +45,9 @@ public final class PearsonAlgorithm extends WeightedSimilarityAlgorithm<PearsonA
             (decoder, s, t, cutoff) -> s.pearson(decoder, cutoff, t, bidirectional) :
             (decoder, s, t, cutoff) -> s.pearsonSkip(decoder, cutoff, t, skipValue, bidirectional);
     }
+
+    @Override
+    TiledSimilarityEngine.Metric tiledMetric() {
+        return TiledSimilarityEngine.Metric.PEARSON;
+    }
 }
@@ -25,5 +25,5 @@ import org.neo4j.graphalgo.annotation.ValueClass;
 @ValueClass
 @Configuration
 @SuppressWarnings("immutables:subtype")
-public interface PearsonConfig extends SimilarityConfig {
+public interface PearsonConfig extends WeightedSimilarityConfig {
 }
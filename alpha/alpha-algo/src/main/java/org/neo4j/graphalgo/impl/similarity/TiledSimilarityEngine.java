@@ -0,0 +1,306 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.similarity;
+
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.results.SimilarityResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Computes the top k most similar targets of each source on {@link PackedVectors}.
+ * <p>
+ * Sources and targets are processed in tiles. A tile of source rows is compared
+ * against one tile of target rows at a time, so the target tile stays in cache
+ * while it is reused for every source of the tile. Within a tile, each source row
+ * is compared with four target rows at once, which reads the source row once for
+ * four dot products. Every source tile is owned by a single thread which feeds the
+ * bounded top k heaps of its sources directly, so no heaps need to be merged.
+ * If all vectors are compared with each other, only the tiles above the diagonal
+ * are computed and every result is offered to the heaps of both vectors.
+ * <p>
+ * The accumulation order per pair is the same as in {@link org.neo4j.graphalgo.core.utils.Intersections},
+ * therefore the results are identical to the pairwise computation.
+ */
+final class TiledSimilarityEngine {
+
+    // 64 source rows and 256 target rows of 128 dimensions occupy 320KB
+    static final int SOURCE_TILE_SIZE = 64;
+    static final int TARGET_TILE_SIZE = 256;
+
+    enum Metric {
+        COSINE {
+            @Override
+            double similarity(double dotProduct, double squaredNorm1, double squaredNorm2) {
+                if (squaredNorm1 == 0D || squaredNorm2 == 0D) return 0D;
+                return dotProduct * dotProduct / squaredNorm1 / squaredNorm2;
+            }
+
+            @Override
+            boolean rejects(double similarity, double cutoff) {
+                return cutoff >= 0D && (similarity == 0 || similarity < cutoff);
+            }
+        },
+        PEARSON {
+            @Override
+            boolean centered() {
+                return true;
+            }
+
+            @Override
+            double similarity(double dotProduct, double squaredNorm1, double squaredNorm2) {
+                double result = dotProduct / Math.sqrt(squaredNorm1 * squaredNorm2);
+                return Double.isNaN(result) ? 0 : result;
+            }
+
+            @Override
+            boolean rejects(double similarity, double cutoff) {
+                return cutoff >= 0D && (similarity == 0 || similarity < cutoff);
+            }
+        },
+        EUCLIDEAN {
+            @Override
+            boolean usesDeltas() {
+                return true;
+            }
+
+            @Override
+            double similarity(double sumSquareDelta, double squaredNorm1, double squaredNorm2) {
+                return sumSquareDelta;
+            }
+
+            @Override
+            boolean rejects(double similarity, double cutoff) {
+                return cutoff >= 0D && similarity > cutoff;
+            }
+        };
+
+        /**
+         * whether the vectors are centered by their mean before they are compared
+         */
+        boolean centered() {
+            return false;
+        }
+
+        /**
+         * whether the kernel sums the squared deltas instead of the products of two vectors
+         */
+        boolean usesDeltas() {
+            return false;
+        }
+
+        abstract double similarity(double kernel, double squaredNorm1, double squaredNorm2);
+
+        abstract boolean rejects(double similarity, double cutoff);
+    }
+
+    private final PackedVectors vectors;
+    private final Metric metric;
+    private final int concurrency;
+    private final TerminationFlag terminationFlag;
+
+    TiledSimilarityEngine(PackedVectors vectors, Metric metric, int concurrency, TerminationFlag terminationFlag) {
+        this.vectors = vectors;
+        this.metric = metric;
+        this.concurrency = concurrency;
+        this.terminationFlag = terminationFlag;
+    }
+
+    Stream<SimilarityResult> topK(int[] sourceIndexIds, int[] targetIndexIds, double cutoff, int topK) {
+        boolean bidirectional = sourceIndexIds.length == 0 && targetIndexIds.length == 0;
+        int[] sources = sourceIndexIds.length > 0
+            ? IntStream.of(sourceIndexIds).sorted().distinct().toArray()
+            : IntStream.range(0, vectors.count).toArray();
+        int[] targets = targetIndexIds.length > 0
+            ? targetIndexIds
+            : IntStream.range(0, vectors.count).toArray();
+
+        TopKConsumer<SimilarityResult>[] topKConsumers = TopKConsumer.initializeTopKConsumers(vectors.count, topK);
+
+        int sourceTiles = ParallelUtil.threadCount(SOURCE_TILE_SIZE, sources.length);
+        AtomicInteger nextSourceTile = new AtomicInteger();
+        int taskCount = Math.max(1, Math.min(concurrency, sourceTiles));
+        Collection<Runnable> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(new TileTask(sources, targets, nextSourceTile, sourceTiles, topKConsumers, cutoff, bidirectional));
+        }
+        ParallelUtil.runWithConcurrency(concurrency, tasks, terminationFlag, Pools.DEFAULT);
+
+        return Arrays.stream(topKConsumers).flatMap(TopKConsumer::stream);
+    }
+
+    private final class TileTask implements Runnable {
+
+        private final int[] sources;
+        private final int[] targets;
+        private final AtomicInteger nextSourceTile;
+        private final int sourceTiles;
+        private final TopKConsumer<SimilarityResult>[] topKConsumers;
+        private final double cutoff;
+        private final boolean bidirectional;
+        private final double[] kernels;
+
+        TileTask(
+            int[] sources,
+            int[] targets,
+            AtomicInteger nextSourceTile,
+            int sourceTiles,
+            TopKConsumer<SimilarityResult>[] topKConsumers,
+            double cutoff,
+            boolean bidirectional
+        ) {
+            this.sources = sources;
+            this.targets = targets;
+            this.nextSourceTile = nextSourceTile;
+            this.sourceTiles = sourceTiles;
+            this.topKConsumers = topKConsumers;
+            this.cutoff = cutoff;
+            this.bidirectional = bidirectional;
+            this.kernels = new double[4];
+        }
+
+        @Override
+        public void run() {
+            int tile;
+            while ((tile = nextSourceTile.getAndIncrement()) < sourceTiles && terminationFlag.running()) {
+                int sourceStart = tile * SOURCE_TILE_SIZE;
+                int sourceEnd = Math.min(sourceStart + SOURCE_TILE_SIZE, sources.length);
+                // sources and targets are all vectors in index order, a pair is computed once with the lower index as source
+                int firstTarget = bidirectional ? sourceStart : 0;
+                for (int targetStart = firstTarget; targetStart < targets.length; targetStart += TARGET_TILE_SIZE) {
+                    int targetEnd = Math.min(targetStart + TARGET_TILE_SIZE, targets.length);
+                    for (int i = sourceStart; i < sourceEnd; i++) {
+                        computeTile(sources[i], bidirectional ? Math.max(targetStart, i + 1) : targetStart, targetEnd);
+                    }
+                }
+            }
+        }
+
+        private void computeTile(int source, int targetStart, int targetEnd) {
+            int j = targetStart;
+            for (; j + 3 < targetEnd; j += 4) {
+                kernel(source, targets[j], targets[j + 1], targets[j + 2], targets[j + 3]);
+                for (int k = 0; k < 4; k++) {
+                    offer(source, targets[j + k], kernels[k]);
+                }
+            }
+            for (; j < targetEnd; j++) {
+                offer(source, targets[j], kernel(source, targets[j]));
+            }
+        }
+
+        private void kernel(int source, int target0, int target1, int target2, int target3) {
+            double[] data = vectors.data;
+            int dimension = vectors.dimension;
+            int s = source * dimension;
+            int t0 = target0 * dimension;
+            int t1 = target1 * dimension;
+            int t2 = target2 * dimension;
+            int t3 = target3 * dimension;
+            double sum0 = 0D, sum1 = 0D, sum2 = 0D, sum3 = 0D;
+            if (metric.usesDeltas()) {
+                for (int i = 0; i < dimension; i++) {
+                    double weight = data[s + i];
+                    double delta0 = weight - data[t0 + i];
+                    double delta1 = weight - data[t1 + i];
+                    double delta2 = weight - data[t2 + i];
+                    double delta3 = weight - data[t3 + i];
+                    sum0 += delta0 * delta0;
+                    sum1 += delta1 * delta1;
+                    sum2 += delta2 * delta2;
+                    sum3 += delta3 * delta3;
+                }
+            } else {
+                for (int i = 0; i < dimension; i++) {
+                    double weight = data[s + i];
+                    sum0 += weight * data[t0 + i];
+                    sum1 += weight * data[t1 + i];
+                    sum2 += weight * data[t2 + i];
+                    sum3 += weight * data[t3 + i];
+                }
+            }
+            kernels[0] = sum0;
+            kernels[1] = sum1;
+            kernels[2] = sum2;
+            kernels[3] = sum3;
+        }
+
+        private double kernel(int source, int target) {
+            double[] data = vectors.data;
+            int dimension = vectors.dimension;
+            int s = source * dimension;
+            int t = target * dimension;
+            double sum = 0D;
+            if (metric.usesDeltas()) {
+                for (int i = 0; i < dimension; i++) {
+                    double delta = data[s + i] - data[t + i];
+                    sum += delta * delta;
+                }
+            } else {
+                for (int i = 0; i < dimension; i++) {
+                    sum += data[s + i] * data[t + i];
+                }
+            }
+            return sum;
+        }
+
+        private void offer(int source, int target, double kernel) {
+            if (source == target) {
+                return;
+            }
+            double similarity = metric.similarity(
+                kernel,
+                vectors.squaredNorms[source],
+                vectors.squaredNorms[target]
+            );
+            if (metric.rejects(similarity, cutoff)) {
+                return;
+            }
+            SimilarityResult result = new SimilarityResult(
+                vectors.ids[source],
+                vectors.ids[target],
+                vectors.itemCounts[source],
+                vectors.itemCounts[target],
+                0,
+                similarity,
+                bidirectional,
+                false
+            );
+            if (bidirectional) {
+                // the heap of the target may be fed by the task that owns its tile at the same time
+                synchronized (topKConsumers[source]) {
+                    topKConsumers[source].apply(result);
+                }
+                synchronized (topKConsumers[target]) {
+                    topKConsumers[target].apply(result.reverse());
+                }
+            } else {
+                topKConsumers[source].apply(result);
+            }
+        }
+    }
+}
@@ -217,4 +217,12 @@ public class WeightedInput implements Comparable<WeightedInput>, SimilarityInput
     public int initialSize() {
         return initialSize;
     }
+
+    int itemCount() {
+        return itemCount;
+    }
+
+    double[] weights() {
+        return weights;
+    }
 }
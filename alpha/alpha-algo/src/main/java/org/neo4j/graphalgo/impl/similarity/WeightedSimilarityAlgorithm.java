@@ -23,7 +23,11 @@ import com.carrotsearch.hppc.LongDoubleHashMap;
 import com.carrotsearch.hppc.LongDoubleMap;
 import com.carrotsearch.hppc.LongHashSet;
 import com.carrotsearch.hppc.LongSet;
+import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
 import org.neo4j.graphalgo.core.ProcedureConstants;
+import org.neo4j.graphalgo.results.SimilarityResult;
 import org.neo4j.graphdb.Result;
 import org.neo4j.kernel.internal.GraphDatabaseAPI;
 
@@ -34,6 +38,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.applyInTransaction;
 import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.runQueryWithoutClosingTheResult;
@@ -43,14 +48,33 @@ import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
 public abstract class WeightedSimilarityAlgorithm<ME extends WeightedSimilarityAlgorithm<ME>> extends SimilarityAlgorithm<ME, WeightedInput> {
 
-    public WeightedSimilarityAlgorithm(SimilarityConfig config, GraphDatabaseAPI api) {
+    private final @Nullable Graph graph;
+    private final List<String> nodeProperties;
+    private boolean rleEncoded;
+
+    public WeightedSimilarityAlgorithm(WeightedSimilarityConfig config, GraphDatabaseAPI api) {
+        this(config, null, api);
+    }
+
+    /**
+     * @param graph if not {@code null}, the input vectors are read from this graph instead of {@link SimilarityConfig#data()}
+     */
+    public WeightedSimilarityAlgorithm(WeightedSimilarityConfig config, @Nullable Graph graph, GraphDatabaseAPI api) {
         super(config, api);
+        this.graph = graph;
+        this.nodeProperties = config.nodeProperties();
     }
 
     @Override
     WeightedInput[] prepareInputs(Object rawData, SimilarityConfig config) {
         Double skipValue = config.skipValue();
-        if (ProcedureConstants.CYPHER_QUERY_KEY.equals(config.graph())) {
+        if (graph != null) {
+            rleEncoded = nodeProperties.isEmpty();
+            return rleEncoded
+                ? prepareNeighbourhoodWeights(graph, skipValue)
+                : preparePropertyWeights(graph, skipValue);
+        } else if (ProcedureConstants.CYPHER_QUERY_KEY.equals(config.graph())) {
+            rleEncoded = true;
             return prepareSparseWeights(api, (String) rawData, skipValue);
         } else {
             List<Map<String, Object>> data = (List<Map<String, Object>>) rawData;
@@ -58,6 +82,92 @@ public abstract class WeightedSimilarityAlgorithm<ME extends WeightedSimilarityA
         }
     }
 
+    /**
+     * Builds a dense vector per node with one dimension per configured node property.
+     */
+    private WeightedInput[] preparePropertyWeights(Graph graph, @Nullable Double skipValue) {
+        NodeProperties[] properties = new NodeProperties[nodeProperties.size()];
+        for (int i = 0; i < properties.length; i++) {
+            String propertyKey = nodeProperties.get(i);
+            properties[i] = graph.nodeProperties(propertyKey);
+            if (properties[i] == null) {
+                throw new IllegalArgumentException(formatWithLocale(
+                    "Node property `%s` not found in graph with node properties: %s",
+                    propertyKey,
+                    graph.availableNodeProperties()
+                ));
+            }
+        }
+
+        long degreeCutoff = config.degreeCutoff();
+        int nodeCount = Math.toIntExact(graph.nodeCount());
+        WeightedInput[] inputs = new WeightedInput[nodeCount];
+        int idx = 0;
+
+        for (int nodeId = 0; nodeId < nodeCount; nodeId++) {
+            double[] weights = new double[properties.length];
+            for (int i = 0; i < properties.length; i++) {
+                weights[i] = properties[i].nodeProperty(nodeId);
+            }
+            long originalNodeId = graph.toOriginalNodeId(nodeId);
+            WeightedInput input = skipValue == null
+                ? WeightedInput.dense(originalNodeId, weights)
+                : WeightedInput.dense(originalNodeId, weights, skipValue);
+            if (input.itemCount() > degreeCutoff) {
+                inputs[idx++] = input;
+            }
+        }
+
+        if (idx != inputs.length) inputs = Arrays.copyOf(inputs, idx);
+        Arrays.sort(inputs);
+        return inputs;
+    }
+
+    /**
+     * Builds a run length encoded vector per node over all nodes of the graph, holding the
+     * relationship weights to the neighbours of the node and the skip value everywhere else.
+     * The vector is encoded directly from the adjacency list, so this is linear in the degree.
+     */
+    private WeightedInput[] prepareNeighbourhoodWeights(Graph graph, @Nullable Double skipValue) {
+        double fill = skipValue == null ? 0D : skipValue;
+        long degreeCutoff = config.degreeCutoff();
+        int repeatCutoff = config.sparseVectorRepeatCutoff();
+        int nodeCount = Math.toIntExact(graph.nodeCount());
+        WeightedInput[] inputs = new WeightedInput[nodeCount];
+        int idx = 0;
+
+        int[] targets = new int[0];
+        double[] values = new double[0];
+        for (int nodeId = 0; nodeId < nodeCount; nodeId++) {
+            int degree = graph.degree(nodeId);
+            if (degree <= degreeCutoff) {
+                continue;
+            }
+            if (targets.length < degree) {
+                targets = new int[degree];
+                values = new double[degree];
+            }
+            int[] neighbours = targets;
+            double[] weights = values;
+            int[] count = {0};
+            graph.forEachRelationship(nodeId, 1.0D, (source, target, weight) -> {
+                neighbours[count[0]] = Math.toIntExact(target);
+                weights[count[0]++] = weight;
+                return true;
+            });
+            int distinct = Weights.sortByIndex(neighbours, weights, count[0]);
+            if (distinct <= degreeCutoff) {
+                continue;
+            }
+            double[] rleWeights = Weights.buildRleWeights(nodeCount, neighbours, weights, distinct, fill, repeatCutoff);
+            inputs[idx++] = WeightedInput.sparse(graph.toOriginalNodeId(nodeId), rleWeights, nodeCount, distinct);
+        }
+
+        if (idx != inputs.length) inputs = Arrays.copyOf(inputs, idx);
+        Arrays.sort(inputs);
+        return inputs;
+    }
+
     private WeightedInput[] prepareSparseWeights(GraphDatabaseAPI api, String query, Double skipValue) {
         Map<String, Object> params = config.params();
         long degreeCutoff = config.degreeCutoff();
@@ -114,13 +224,59 @@ public abstract class WeightedSimilarityAlgorithm<ME extends WeightedSimilarityA
         });
     }
 
+    /**
+     * The metric used to compute the top k results on packed vectors, {@code null} if the
+     * similarity can only be computed pair by pair.
+     */
+    @Nullable TiledSimilarityEngine.Metric tiledMetric() {
+        return null;
+    }
+
+    /**
+     * Computes the top k results on all vectors packed into a single matrix if the inputs are
+     * dense, of equal length and don't contain the skip value. Otherwise falls back to the
+     * pairwise computation.
+     */
+    @Override
+    protected Stream<SimilarityResult> similarityStream(
+        WeightedInput[] inputs,
+        int[] sourceIndexIds,
+        int[] targetIndexIds,
+        SimilarityComputer<WeightedInput> computer,
+        Supplier<RleDecoder> decoderFactory,
+        double cutoff,
+        int topK
+    ) {
+        TiledSimilarityEngine.Metric metric = tiledMetric();
+        if (metric != null &&
+            topK != 0 &&
+            !config.showComputations() &&
+            !rleEncoded) {
+            PackedVectors vectors = PackedVectors.of(inputs, metric.centered(), config.skipValue());
+            if (vectors != null) {
+                return new TiledSimilarityEngine(vectors, metric, config.concurrency(), terminationFlag)
+                    .topK(sourceIndexIds, targetIndexIds, cutoff, topK);
+            }
+        }
+        return super.similarityStream(
+            inputs,
+            sourceIndexIds,
+            targetIndexIds,
+            computer,
+            decoderFactory,
+            cutoff,
+            topK
+        );
+    }
+
     @Override
     Supplier<RleDecoder> inputDecoderFactory(WeightedInput[] inputs) {
         return createDecoderFactory(inputs[0].initialSize());
     }
 
+    @Override
     protected Supplier<RleDecoder> createDecoderFactory(int size) {
-        if (ProcedureConstants.CYPHER_QUERY_KEY.equals(config.graph())) {
+        if (rleEncoded) {
             return () -> new RleDecoder(size);
         }
         return () -> null;
@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.similarity;
+
+import org.immutables.value.Value;
+import org.neo4j.graphalgo.config.RelationshipWeightConfig;
+
+import java.util.Collections;
+import java.util.List;
+
+public interface WeightedSimilarityConfig extends SimilarityConfig, RelationshipWeightConfig {
+
+    /**
+     * Node properties that form the dimensions of the input vectors when running on a named graph.
+     * If empty, each node is represented by the weights of its relationships to all other nodes.
+     */
+    @Value.Default
+    default List<String> nodeProperties() {
+        return Collections.emptyList();
+    }
+}
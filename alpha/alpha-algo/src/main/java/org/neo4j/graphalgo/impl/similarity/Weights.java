@@ -19,6 +19,10 @@
  */
 package org.neo4j.graphalgo.impl.similarity;
 
+import com.carrotsearch.hppc.DoubleArrayList;
+import com.carrotsearch.hppc.sorting.IndirectComparator;
+import com.carrotsearch.hppc.sorting.IndirectSort;
+
 import java.util.Arrays;
 import java.util.List;
 
@@ -115,4 +119,67 @@ public class Weights {
 
         return Arrays.copyOf(weights, i);
     }
+
+    /**
+     * Sorts the first {@code length} entries of {@code indices} and their {@code values} by index.
+     * For duplicate indices the last value wins.
+     *
+     * @return the number of distinct indices, which are stored at the front of both arrays
+     */
+    public static int sortByIndex(int[] indices, double[] values, int length) {
+        boolean sorted = true;
+        for (int i = 1; i < length && sorted; i++) {
+            sorted = indices[i - 1] < indices[i];
+        }
+        if (!sorted) {
+            int[] order = IndirectSort.mergesort(0, length, new IndirectComparator.AscendingIntComparator(indices));
+            int[] sortedIndices = new int[length];
+            double[] sortedValues = new double[length];
+            for (int i = 0; i < length; i++) {
+                sortedIndices[i] = indices[order[i]];
+                sortedValues[i] = values[order[i]];
+            }
+            System.arraycopy(sortedIndices, 0, indices, 0, length);
+            System.arraycopy(sortedValues, 0, values, 0, length);
+        }
+
+        int distinct = 0;
+        for (int i = 0; i < length; i++) {
+            if (distinct > 0 && indices[distinct - 1] == indices[i]) {
+                values[distinct - 1] = values[i];
+            } else {
+                indices[distinct] = indices[i];
+                values[distinct++] = values[i];
+            }
+        }
+        return distinct;
+    }
+
+    /**
+     * Run length encodes a vector of the given size that holds {@code values} at the sorted, distinct
+     * {@code indices} and {@code fill} everywhere else, without materializing the vector.
+     */
+    public static double[] buildRleWeights(int size, int[] indices, double[] values, int length, double fill, int limit) {
+        DoubleArrayList weights = new DoubleArrayList(length * 4 + 3);
+        int next = 0;
+        for (int i = 0; i < length; i++) {
+            appendFill(weights, fill, indices[i] - next, limit);
+            weights.add(values[i]);
+            next = indices[i] + 1;
+        }
+        appendFill(weights, fill, size - next, limit);
+        return weights.toArray();
+    }
+
+    private static void appendFill(DoubleArrayList weights, double fill, int count, int limit) {
+        if (count > limit) {
+            weights.add(Double.POSITIVE_INFINITY);
+            weights.add(count);
+            weights.add(fill);
+        } else {
+            for (int j = 0; j < count; j++) {
+                weights.add(fill);
+            }
+        }
+    }
 }
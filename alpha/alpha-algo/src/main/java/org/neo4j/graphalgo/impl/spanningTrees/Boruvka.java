@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.spanningTrees;
+
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.core.utils.paged.dss.HugeAtomicDisjointSetStruct;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Parallel minimum weight spanning forest algorithm (Boruvka).
+ * <p>
+ * Every round, each node looks up its cheapest relationship to another component, the cheapest of
+ * those per component is selected by compare-and-set and all selected relationships are added to the
+ * forest at once, merging their components in a {@link HugeAtomicDisjointSetStruct}. The number of
+ * components at least halves every round, so there are at most {@code log2(nodeCount)} rounds, each of
+ * which scans the remaining relationships in parallel. Nodes without relationships to other components
+ * are skipped in later rounds.
+ * <p>
+ * Ties are broken by the node ids of the relationship, so that the selected relationships never form a
+ * cycle. The graph has to be undirected, so that every component sees all of its relationships.
+ */
+public class Boruvka extends Algorithm<Boruvka, SpanningForest> {
+
+    private static final long NO_TARGET = -1L;
+    private static final long EXHAUSTED = -2L;
+    private static final int BATCH_SIZE = ParallelUtil.DEFAULT_BATCH_SIZE;
+
+    private final Graph graph;
+    private final long nodeCount;
+    private final DoubleUnaryOperator minMax;
+    private final int concurrency;
+    private final ExecutorService executor;
+    private final AllocationTracker tracker;
+
+    private HugeAtomicDisjointSetStruct dss;
+    private HugeLongArray components;
+    private HugeLongArray bestTargets;
+    private HugeDoubleArray bestWeights;
+    private HugeAtomicLongArray componentBest;
+
+    /**
+     * @param minMax {@link Prim#MIN_OPERATOR} for a minimum or {@link Prim#MAX_OPERATOR} for a maximum spanning forest
+     */
+    public Boruvka(
+        Graph graph,
+        DoubleUnaryOperator minMax,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        if (!graph.isUndirected()) {
+            throw new IllegalArgumentException(
+                "The spanning forest requires an undirected graph, use `orientation: 'UNDIRECTED'` in the relationship projection");
+        }
+        this.graph = graph;
+        this.nodeCount = graph.nodeCount();
+        this.minMax = minMax;
+        this.concurrency = concurrency;
+        this.executor = executor;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public SpanningForest compute() {
+        dss = new HugeAtomicDisjointSetStruct(nodeCount, tracker, concurrency);
+        components = HugeLongArray.newArray(nodeCount, tracker);
+        bestTargets = HugeLongArray.newArray(nodeCount, tracker);
+        bestWeights = HugeDoubleArray.newArray(nodeCount, tracker);
+        componentBest = HugeAtomicLongArray.newArray(nodeCount, tracker);
+
+        long maxRelationships = Math.max(0, nodeCount - 1);
+        HugeLongArray sources = HugeLongArray.newArray(maxRelationships, tracker);
+        HugeLongArray targets = HugeLongArray.newArray(maxRelationships, tracker);
+        HugeDoubleArray weights = HugeDoubleArray.newArray(maxRelationships, tracker);
+        AtomicLong relationshipCount = new AtomicLong();
+
+        long added;
+        do {
+            // snapshot the components of this round, unions only become visible in the next round
+            forEachNode((localGraph, nodeId) -> {
+                components.set(nodeId, dss.setIdOf(nodeId));
+                componentBest.set(nodeId, NO_TARGET);
+            });
+            forEachNode(this::findCheapestRelationship);
+            forEachNode(this::selectCheapestRelationship);
+
+            long before = relationshipCount.get();
+            forEachNode((localGraph, nodeId) -> {
+                if (components.get(nodeId) != nodeId) {
+                    return;
+                }
+                long source = componentBest.get(nodeId);
+                if (source == NO_TARGET) {
+                    return;
+                }
+                long target = bestTargets.get(source);
+                long targetComponent = components.get(target);
+                // both components selected the same relationship, only the smaller one adds it
+                long otherSource = componentBest.get(targetComponent);
+                if (otherSource != NO_TARGET
+                    && components.get(bestTargets.get(otherSource)) == nodeId
+                    && targetComponent < nodeId) {
+                    return;
+                }
+                dss.union(source, target);
+                long index = relationshipCount.getAndIncrement();
+                sources.set(index, source);
+                targets.set(index, target);
+                weights.set(index, bestWeights.get(source));
+            });
+            added = relationshipCount.get() - before;
+            if (maxRelationships > 0) {
+                progressLogger.logProgress(relationshipCount.get(), maxRelationships);
+            }
+        } while (added > 0 && running());
+
+        long forestSize = relationshipCount.get();
+        double totalWeight = 0D;
+        for (long i = 0; i < forestSize; i++) {
+            totalWeight += weights.get(i);
+        }
+
+        release();
+        return new SpanningForest(sources, targets, weights, forestSize, nodeCount - forestSize, totalWeight);
+    }
+
+    private void findCheapestRelationship(Graph localGraph, long nodeId) {
+        if (bestTargets.get(nodeId) == EXHAUSTED) {
+            return;
+        }
+        long component = components.get(nodeId);
+        long[] bestTarget = {NO_TARGET};
+        double[] bestWeight = {Double.NaN};
+        localGraph.forEachRelationship(nodeId, 0.0D, (sourceNodeId, targetNodeId, weight) -> {
+            if (components.get(targetNodeId) != component
+                && (bestTarget[0] == NO_TARGET || isCheaper(sourceNodeId, targetNodeId, weight, sourceNodeId, bestTarget[0], bestWeight[0]))) {
+                bestTarget[0] = targetNodeId;
+                bestWeight[0] = weight;
+            }
+            return true;
+        });
+        // components only grow, a node without relationships to other components keeps it that way
+        bestTargets.set(nodeId, bestTarget[0] == NO_TARGET ? EXHAUSTED : bestTarget[0]);
+        bestWeights.set(nodeId, bestWeight[0]);
+    }
+
+    private void selectCheapestRelationship(Graph localGraph, long nodeId) {
+        long target = bestTargets.get(nodeId);
+        if (target < 0) {
+            return;
+        }
+        double weight = bestWeights.get(nodeId);
+        long component = components.get(nodeId);
+        while (true) {
+            long current = componentBest.get(component);
+            if (current != NO_TARGET && !isCheaper(nodeId, target, weight, current, bestTargets.get(current), bestWeights.get(current))) {
+                return;
+            }
+            if (componentBest.compareAndSet(component, current, nodeId)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Total order on relationships: by weight, then by the smaller and then the larger node id.
+     */
+    private boolean isCheaper(long source1, long target1, double weight1, long source2, long target2, double weight2) {
+        int byWeight = Double.compare(minMax.applyAsDouble(weight1), minMax.applyAsDouble(weight2));
+        if (byWeight != 0) {
+            return byWeight < 0;
+        }
+        int byLow = Long.compare(Math.min(source1, target1), Math.min(source2, target2));
+        if (byLow != 0) {
+            return byLow < 0;
+        }
+        return Math.max(source1, target1) < Math.max(source2, target2);
+    }
+
+    private void forEachNode(NodeTask task) {
+        AtomicLong nextBatch = new AtomicLong();
+        long batchCount = ParallelUtil.threadCount(BATCH_SIZE, nodeCount);
+        int workerCount = (int) Math.max(1, Math.min(concurrency, batchCount));
+        List<Runnable> tasks = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            tasks.add(() -> {
+                Graph localGraph = graph.concurrentCopy();
+                long batch;
+                while ((batch = nextBatch.getAndIncrement()) < batchCount && running()) {
+                    long start = batch * BATCH_SIZE;
+                    long end = Math.min(start + BATCH_SIZE, nodeCount);
+                    for (long nodeId = start; nodeId < end; nodeId++) {
+                        task.apply(localGraph, nodeId);
+                    }
+                }
+            });
+        }
+        ParallelUtil.run(tasks, executor);
+    }
+
+    @Override
+    public Boruvka me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+        dss = null;
+        components = null;
+        bestTargets = null;
+        bestWeights = null;
+        componentBest = null;
+    }
+
+    @FunctionalInterface
+    private interface NodeTask {
+        void apply(Graph localGraph, long nodeId);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.spanningTrees;
+
+import org.neo4j.graphalgo.api.RelationshipWithPropertyConsumer;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+/**
+ * The relationships of a minimum or maximum weight spanning forest, as mapped node ids.
+ */
+public class SpanningForest {
+
+    private final HugeLongArray sources;
+    private final HugeLongArray targets;
+    private final HugeDoubleArray weights;
+    private final long relationshipCount;
+    private final long componentCount;
+    private final double totalWeight;
+
+    SpanningForest(
+        HugeLongArray sources,
+        HugeLongArray targets,
+        HugeDoubleArray weights,
+        long relationshipCount,
+        long componentCount,
+        double totalWeight
+    ) {
+        this.sources = sources;
+        this.targets = targets;
+        this.weights = weights;
+        this.relationshipCount = relationshipCount;
+        this.componentCount = componentCount;
+        this.totalWeight = totalWeight;
+    }
+
+    public long relationshipCount() {
+        return relationshipCount;
+    }
+
+    /**
+     * The number of trees in the forest, isolated nodes count as trees of their own.
+     */
+    public long componentCount() {
+        return componentCount;
+    }
+
+    public double totalWeight() {
+        return totalWeight;
+    }
+
+    public void forEach(RelationshipWithPropertyConsumer consumer) {
+        for (long i = 0; i < relationshipCount; i++) {
+            if (!consumer.accept(sources.get(i), targets.get(i), weights.get(i))) {
+                return;
+            }
+        }
+    }
+
+    public long source(long index) {
+        return sources.get(index);
+    }
+
+    public long target(long index) {
+        return targets.get(index);
+    }
+
+    public double weight(long index) {
+        return weights.get(index);
+    }
+}
@@ -0,0 +1,416 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.traverse;
+
+import com.carrotsearch.hppc.LongArrayList;
+import org.neo4j.graphalgo.Algorithm;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.BitUtil;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+import org.neo4j.graphalgo.impl.traverse.Traverse.Aggregator;
+import org.neo4j.graphalgo.impl.traverse.Traverse.ExitPredicate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Parallel, level synchronous breadth first search with direction optimization (Beamer et al.).
+ * <p>
+ * The current and the next frontier are bitmaps over all nodes. A top-down step expands every node of the
+ * frontier and claims unvisited neighbours, a bottom-up step lets every unvisited node look for a parent
+ * in the frontier and stops at the first one it finds. Bottom-up steps are taken while the frontier is
+ * large compared to the unexplored part of the graph, which saves most relationship checks of the middle
+ * levels. Bottom-up requires the incoming relationships of a node, it is therefore only used on undirected
+ * graphs; other graphs are traversed top-down in parallel.
+ * <p>
+ * The {@link ExitPredicate} is tested for every node when it is reached from a parent, with the weight
+ * aggregated along the BFS tree. {@code CONTINUE} leaves the node unvisited, so it may still be reached
+ * from another parent. {@code BREAK} stops the traversal after the current level, of which only the nodes
+ * that caused the break are kept.
+ */
+public final class DirectionOptimizingBfs extends Algorithm<DirectionOptimizingBfs, DirectionOptimizingBfs> {
+
+    public static final int NOT_REACHED = -1;
+
+    // switch to bottom-up once the frontier has more than 1/ALPHA of the unexplored relationships
+    private static final int ALPHA = 14;
+    // switch back to top-down once the frontier has less than 1/BETA of the nodes
+    private static final int BETA = 24;
+    private static final int WORDS_PER_BATCH = 256;
+
+    private final Graph graph;
+    private final long nodeCount;
+    private final long wordCount;
+    private final long startNodeId;
+    private final ExitPredicate exitPredicate;
+    private final Aggregator aggregator;
+    private final int concurrency;
+    private final ExecutorService executor;
+    private final AllocationTracker tracker;
+    private final boolean bottomUpSupported;
+
+    private HugeAtomicLongArray visited;
+    private HugeAtomicLongArray frontier;
+    private HugeAtomicLongArray next;
+    private HugeIntArray levels;
+    private HugeLongArray parents;
+    private HugeDoubleArray weights;
+    private LongArrayList levelSizes;
+    private volatile boolean breakReached;
+
+    /**
+     * @param startNodeId the original id of the start node
+     * @param aggregator  {@link Traverse#DEFAULT_AGGREGATOR} if no weights need to be aggregated
+     */
+    public DirectionOptimizingBfs(
+        Graph graph,
+        long startNodeId,
+        ExitPredicate exitPredicate,
+        Aggregator aggregator,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        this.graph = graph;
+        this.nodeCount = graph.nodeCount();
+        this.wordCount = BitUtil.ceilDiv(nodeCount, Long.SIZE);
+        this.startNodeId = startNodeId;
+        this.exitPredicate = exitPredicate;
+        this.aggregator = aggregator;
+        this.concurrency = concurrency;
+        this.executor = executor;
+        this.tracker = tracker;
+        this.bottomUpSupported = graph.isUndirected();
+    }
+
+    @Override
+    public DirectionOptimizingBfs compute() {
+        visited = HugeAtomicLongArray.newArray(wordCount, tracker);
+        frontier = HugeAtomicLongArray.newArray(wordCount, tracker);
+        next = HugeAtomicLongArray.newArray(wordCount, tracker);
+        levels = HugeIntArray.newArray(nodeCount, tracker);
+        levels.fill(NOT_REACHED);
+        parents = HugeLongArray.newArray(nodeCount, tracker);
+        parents.fill(NOT_REACHED);
+        weights = aggregator == Traverse.DEFAULT_AGGREGATOR ? null : HugeDoubleArray.newArray(nodeCount, tracker);
+        levelSizes = new LongArrayList();
+        breakReached = false;
+
+        long source = graph.toMappedNodeId(startNodeId);
+        ExitPredicate.Result startResult = exitPredicate.test(source, source, 0D);
+        if (startResult == ExitPredicate.Result.CONTINUE) {
+            releaseFrontiers();
+            return this;
+        }
+        setBit(visited, source);
+        setBit(frontier, source);
+        levels.set(source, 0);
+        parents.set(source, source);
+        levelSizes.add(1);
+        breakReached = startResult == ExitPredicate.Result.BREAK;
+
+        long reached = 1;
+        long frontierSize = 1;
+        long frontierRelationships = graph.degree(source);
+        long unexploredRelationships = graph.relationshipCount() - frontierRelationships;
+        boolean bottomUp = false;
+        int level = 0;
+
+        while (frontierSize > 0 && !breakReached && running()) {
+            if (bottomUpSupported) {
+                if (!bottomUp && frontierRelationships > unexploredRelationships / ALPHA) {
+                    bottomUp = true;
+                } else if (bottomUp && frontierSize < nodeCount / BETA) {
+                    bottomUp = false;
+                }
+            }
+            level++;
+
+            List<LevelStep> steps = levelSteps(level, bottomUp);
+            ParallelUtil.run(steps, executor);
+            frontierSize = 0;
+            frontierRelationships = 0;
+            for (LevelStep step : steps) {
+                frontierSize += step.reachedNodes;
+                frontierRelationships += step.reachedRelationships;
+            }
+            unexploredRelationships -= frontierRelationships;
+
+            clear(frontier);
+            HugeAtomicLongArray swap = frontier;
+            frontier = next;
+            next = swap;
+
+            if (breakReached) {
+                frontierSize = retainBreakNodes();
+            }
+            if (frontierSize > 0) {
+                levelSizes.add(frontierSize);
+                reached += frontierSize;
+            }
+            progressLogger.logProgress(reached, nodeCount);
+        }
+
+        releaseFrontiers();
+        return this;
+    }
+
+    /**
+     * The level of every node, {@link #NOT_REACHED} for nodes that were not reached. The start node has level 0.
+     */
+    public HugeIntArray levels() {
+        return levels;
+    }
+
+    /**
+     * The internal id of the BFS parent of every node, {@link #NOT_REACHED} for nodes that were not reached.
+     * The start node is its own parent.
+     */
+    public HugeLongArray parents() {
+        return parents;
+    }
+
+    public int levelCount() {
+        return levelSizes.size();
+    }
+
+    public long reachedNodeCount() {
+        long count = 0;
+        for (int i = 0; i < levelSizes.size(); i++) {
+            count += levelSizes.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * The original ids of all reached nodes, ordered by level.
+     */
+    public long[] resultNodes() {
+        long[] offsets = new long[levelSizes.size()];
+        long offset = 0;
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = offset;
+            offset += levelSizes.get(i);
+        }
+        long[] result = new long[Math.toIntExact(offset)];
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            int level = levels.get(nodeId);
+            if (level != NOT_REACHED) {
+                result[(int) offsets[level]++] = graph.toOriginalNodeId(nodeId);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public DirectionOptimizingBfs me() {
+        return this;
+    }
+
+    @Override
+    public void release() {
+        releaseFrontiers();
+        weights = null;
+    }
+
+    private void releaseFrontiers() {
+        visited = null;
+        frontier = null;
+        next = null;
+    }
+
+    private List<LevelStep> levelSteps(int level, boolean bottomUp) {
+        AtomicLong nextBatch = new AtomicLong();
+        long batchCount = ParallelUtil.threadCount(WORDS_PER_BATCH, wordCount);
+        int stepCount = (int) Math.max(1, Math.min(concurrency, batchCount));
+        List<LevelStep> steps = new ArrayList<>(stepCount);
+        for (int i = 0; i < stepCount; i++) {
+            steps.add(new LevelStep(graph.concurrentCopy(), level, bottomUp, nextBatch, batchCount));
+        }
+        return steps;
+    }
+
+    private void clear(HugeAtomicLongArray bits) {
+        AtomicLong nextBatch = new AtomicLong();
+        long batchCount = ParallelUtil.threadCount(WORDS_PER_BATCH, wordCount);
+        int taskCount = (int) Math.max(1, Math.min(concurrency, batchCount));
+        List<Runnable> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(() -> {
+                long batch;
+                while ((batch = nextBatch.getAndIncrement()) < batchCount) {
+                    long start = batch * WORDS_PER_BATCH;
+                    long end = Math.min(start + WORDS_PER_BATCH, wordCount);
+                    for (long word = start; word < end; word++) {
+                        bits.set(word, 0L);
+                    }
+                }
+            });
+        }
+        ParallelUtil.run(tasks, executor);
+    }
+
+    /**
+     * Removes all nodes of the last level that did not cause the traversal to break.
+     */
+    private long retainBreakNodes() {
+        long retained = 0;
+        for (long word = 0; word < wordCount; word++) {
+            long bits = frontier.get(word);
+            while (bits != 0) {
+                long nodeId = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (exitPredicate.test(parents.get(nodeId), nodeId, weightOf(nodeId)) == ExitPredicate.Result.BREAK) {
+                    retained++;
+                } else {
+                    levels.set(nodeId, NOT_REACHED);
+                    parents.set(nodeId, NOT_REACHED);
+                }
+            }
+        }
+        return retained;
+    }
+
+    private double weightOf(long nodeId) {
+        return weights == null ? 0D : weights.get(nodeId);
+    }
+
+    private static boolean isSet(HugeAtomicLongArray bits, long index) {
+        return (bits.get(index >>> 6) & (1L << index)) != 0;
+    }
+
+    private static void setBit(HugeAtomicLongArray bits, long index) {
+        long mask = 1L << index;
+        bits.update(index >>> 6, word -> word | mask);
+    }
+
+    /**
+     * @return true if the bit was unset before
+     */
+    private static boolean trySetBit(HugeAtomicLongArray bits, long index) {
+        long word = index >>> 6;
+        long mask = 1L << index;
+        while (true) {
+            long current = bits.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+            if (bits.compareAndSet(word, current, current | mask)) {
+                return true;
+            }
+        }
+    }
+
+    private final class LevelStep implements Runnable {
+
+        private final Graph localGraph;
+        private final int level;
+        private final boolean bottomUp;
+        private final AtomicLong nextBatch;
+        private final long batchCount;
+
+        long reachedNodes;
+        long reachedRelationships;
+
+        LevelStep(Graph localGraph, int level, boolean bottomUp, AtomicLong nextBatch, long batchCount) {
+            this.localGraph = localGraph;
+            this.level = level;
+            this.bottomUp = bottomUp;
+            this.nextBatch = nextBatch;
+            this.batchCount = batchCount;
+        }
+
+        @Override
+        public void run() {
+            long batch;
+            while ((batch = nextBatch.getAndIncrement()) < batchCount && running()) {
+                long start = batch * WORDS_PER_BATCH;
+                long end = Math.min(start + WORDS_PER_BATCH, wordCount);
+                for (long word = start; word < end; word++) {
+                    if (bottomUp) {
+                        bottomUp(word);
+                    } else {
+                        topDown(word);
+                    }
+                }
+            }
+        }
+
+        private void topDown(long word) {
+            long bits = frontier.get(word);
+            while (bits != 0) {
+                long nodeId = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                double weight = weightOf(nodeId);
+                localGraph.forEachRelationship(nodeId, (source, target) -> {
+                    if (!isSet(visited, target)) {
+                        visit(source, target, weight);
+                    }
+                    return true;
+                });
+            }
+        }
+
+        private void bottomUp(long word) {
+            long bits = ~visited.get(word);
+            long base = word << 6;
+            if (nodeCount - base < Long.SIZE) {
+                bits &= (1L << (nodeCount - base)) - 1;
+            }
+            while (bits != 0) {
+                long nodeId = base + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                localGraph.forEachRelationship(nodeId, (target, source) ->
+                    !isSet(frontier, source) || !visit(source, target, weightOf(source))
+                );
+            }
+        }
+
+        /**
+         * @return true if {@code target} was added to the next frontier
+         */
+        private boolean visit(long source, long target, double weightAtSource) {
+            double weight = aggregator.apply(source, target, weightAtSource);
+            ExitPredicate.Result result = exitPredicate.test(source, target, weight);
+            if (result == ExitPredicate.Result.CONTINUE || !trySetBit(visited, target)) {
+                return false;
+            }
+            levels.set(target, level);
+            parents.set(target, source);
+            if (weights != null) {
+                weights.set(target, weight);
+            }
+            setBit(next, target);
+            reachedNodes++;
+            reachedRelationships += localGraph.degree(target);
+            if (result == ExitPredicate.Result.BREAK) {
+                breakReached = true;
+            }
+            return true;
+        }
+    }
+}
@@ -27,13 +27,14 @@ import org.neo4j.graphalgo.annotation.ValueClass;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.config.AlgoBaseConfig;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.config.RelationshipWeightConfig;
 
 import java.util.Optional;
 
 @ValueClass
 @Configuration
 @SuppressWarnings("immutables:subtype")
-public interface RandomWalkConfig extends AlgoBaseConfig {
+public interface RandomWalkConfig extends AlgoBaseConfig, RelationshipWeightConfig {
 
     @Value.Default
     default @Nullable Object start() {
@@ -25,9 +25,11 @@ import org.neo4j.graphalgo.AlgoTestBase;
 import org.neo4j.graphalgo.PropertyMapping;
 import org.neo4j.graphalgo.StoreLoaderBuilder;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
 import org.neo4j.graphalgo.graphbuilder.GraphBuilder;
 import org.neo4j.graphalgo.graphbuilder.GridBuilder;
 
+import java.util.Arrays;
 import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
@@ -91,9 +93,13 @@ class ParallelDeltaSteppingTest extends AlgoTestBase {
     }
 
     private double[] compute(int threads) {
-        return new ShortestPathDeltaStepping(graph, rootNodeId, 2.5)
+        HugeAtomicDoubleArray distances = new ShortestPathDeltaStepping(graph, rootNodeId, 2.5)
                 .withExecutorService(Executors.newFixedThreadPool(threads))
+                .withConcurrency(threads)
                 .compute()
                 .getShortestPaths();
+        double[] result = new double[Math.toIntExact(distances.size())];
+        Arrays.setAll(result, distances::get);
+        return result;
     }
 }
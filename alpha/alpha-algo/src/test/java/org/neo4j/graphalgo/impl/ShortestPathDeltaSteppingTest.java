@@ -25,6 +25,7 @@ import org.neo4j.graphalgo.AlgoTestBase;
 import org.neo4j.graphalgo.PropertyMapping;
 import org.neo4j.graphalgo.StoreLoaderBuilder;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
 import org.neo4j.graphdb.Node;
 
 import java.util.concurrent.Executors;
@@ -106,10 +107,10 @@ final class ShortestPathDeltaSteppingTest extends AlgoTestBase {
     void testSequential() {
         final ShortestPathDeltaStepping sssp = new ShortestPathDeltaStepping(graph, head, 3);
 
-        final double[] sp = sssp.compute()
+        final HugeAtomicDoubleArray sp = sssp.compute()
                 .getShortestPaths();
 
-        assertEquals(8, sp[Math.toIntExact(graph.toMappedNodeId(tail))],0.1);
+        assertEquals(8, sp.get(graph.toMappedNodeId(tail)),0.1);
     }
 
     @Test
@@ -117,19 +118,68 @@ final class ShortestPathDeltaSteppingTest extends AlgoTestBase {
         final ShortestPathDeltaStepping sssp = new ShortestPathDeltaStepping(graph, head, 3)
                 .withExecutorService(Executors.newFixedThreadPool(3));
 
-        final double[] sp = sssp.compute()
+        final HugeAtomicDoubleArray sp = sssp.compute()
                 .getShortestPaths();
 
-        assertEquals(8, sp[Math.toIntExact(graph.toMappedNodeId(tail))],0.1);
+        assertEquals(8, sp.get(graph.toMappedNodeId(tail)),0.1);
     }
 
     @Test
     void distanceToNodeInDifferentComponentShouldBeInfinity() {
         final ShortestPathDeltaStepping sssp = new ShortestPathDeltaStepping(graph, head,3);
 
-        final double[] sp = sssp.compute().getShortestPaths();
+        final HugeAtomicDoubleArray sp = sssp.compute().getShortestPaths();
 
-        assertEquals(Double.POSITIVE_INFINITY, sp[Math.toIntExact(graph.toMappedNodeId(getNode("z").getId()))],0.1);
+        assertEquals(Double.POSITIVE_INFINITY, sp.get(graph.toMappedNodeId(getNode("z").getId())),0.1);
+    }
+
+    @Test
+    void shouldKeepPrecisionOfSmallWeights() {
+        runQuery("CREATE (p:Small)-[:SMALL {cost: 0.000001}]->(:Small)-[:SMALL {cost: 0.000002}]->(r:Small {name: 'r'})");
+
+        Graph smallGraph = new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel("Small")
+            .addRelationshipType("SMALL")
+            .addRelationshipProperty(PropertyMapping.of("cost", Double.MAX_VALUE))
+            .build()
+            .graph();
+
+        long start = runQuery("MATCH (p:Small)-[:SMALL]->(:Small)-[:SMALL]->(:Small) RETURN id(p) AS id", result -> (long) result.next().get("id"));
+        long end = runQuery("MATCH (r:Small {name: 'r'}) RETURN id(r) AS id", result -> (long) result.next().get("id"));
+
+        HugeAtomicDoubleArray sp = new ShortestPathDeltaStepping(smallGraph, start, 0.000001)
+            .withExecutorService(Executors.newFixedThreadPool(2))
+            .withConcurrency(2)
+            .compute()
+            .getShortestPaths();
+
+        assertEquals(0.000003, sp.get(smallGraph.toMappedNodeId(end)), 1E-12);
+    }
+
+    @Test
+    void shouldHandleDistancesFarBeyondDelta() {
+        // the distances are 10^15 and 2 * 10^15 buckets away from the start
+        runQuery("CREATE (p:Far)-[:FAR {cost: 1000000000000}]->(:Far)-[:FAR {cost: 1000000000000}]->(r:Far {name: 'r'})");
+
+        Graph farGraph = new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel("Far")
+            .addRelationshipType("FAR")
+            .addRelationshipProperty(PropertyMapping.of("cost", Double.MAX_VALUE))
+            .build()
+            .graph();
+
+        long start = runQuery("MATCH (p:Far)-[:FAR]->(:Far)-[:FAR]->(:Far) RETURN id(p) AS id", result -> (long) result.next().get("id"));
+        long end = runQuery("MATCH (r:Far {name: 'r'}) RETURN id(r) AS id", result -> (long) result.next().get("id"));
+
+        HugeAtomicDoubleArray sp = new ShortestPathDeltaStepping(farGraph, start, 0.001)
+            .withExecutorService(Executors.newFixedThreadPool(2))
+            .withConcurrency(2)
+            .compute()
+            .getShortestPaths();
+
+        assertEquals(2E12, sp.get(farGraph.toMappedNodeId(end)), 1E-3);
     }
 
     Node getNode(String name) {
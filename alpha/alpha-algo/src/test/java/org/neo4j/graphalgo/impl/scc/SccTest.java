@@ -21,19 +21,28 @@ package org.neo4j.graphalgo.impl.scc;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.neo4j.graphalgo.AlgoTestBase;
 import org.neo4j.graphalgo.PropertyMapping;
 import org.neo4j.graphalgo.StoreLoaderBuilder;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.beta.generator.RandomGraphGenerator;
+import org.neo4j.graphalgo.beta.generator.RelationshipDistribution;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.graphdb.Node;
 
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class SccTest extends AlgoTestBase {
 
@@ -90,6 +99,47 @@ class SccTest extends AlgoTestBase {
         assertCC(components);
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void testMultiStep(int concurrency) {
+        loadGraph();
+        MultiStepScc scc = new MultiStepScc(graph, concurrency, Pools.DEFAULT, AllocationTracker.EMPTY);
+        HugeLongArray components = scc.compute();
+
+        assertCC(components);
+        assertEquals(3, scc.getMaxSetSize());
+        assertEquals(3, scc.getMinSetSize());
+        assertEquals(3, scc.getSetCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void testMultiStepFindsSameComponentsAsTarjan(int concurrency) {
+        Graph randomGraph = new RandomGraphGenerator(
+            10_000,
+            2,
+            RelationshipDistribution.POWER_LAW,
+            42L,
+            Optional.empty(),
+            AllocationTracker.EMPTY
+        ).generate();
+
+        HugeLongArray expected = new SccAlgorithm(randomGraph, AllocationTracker.EMPTY).compute();
+        MultiStepScc scc = new MultiStepScc(randomGraph, concurrency, Pools.DEFAULT, AllocationTracker.EMPTY);
+        HugeLongArray actual = scc.compute();
+
+        // both algorithms may pick different ids, but have to agree on the partition
+        Map<Long, Long> expectedToActual = new HashMap<>();
+        Map<Long, Long> actualToExpected = new HashMap<>();
+        for (long node = 0; node < randomGraph.nodeCount(); node++) {
+            assertEquals(expectedToActual.computeIfAbsent(expected.get(node), id -> actual.get(node)), actual.get(node));
+            assertEquals(actualToExpected.computeIfAbsent(actual.get(node), id -> expected.get(node)), expected.get(node));
+            // components are identified by their smallest node id
+            assertTrue(actual.get(node) <= node);
+        }
+        assertEquals(expectedToActual.size(), scc.getSetCount());
+    }
+
     private void loadGraph() {
         graph = new StoreLoaderBuilder()
             .api(db)
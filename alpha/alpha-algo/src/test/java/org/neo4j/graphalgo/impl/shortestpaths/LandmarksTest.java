@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.shortestpaths;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.AlgoTestBase;
+import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LandmarksTest extends AlgoTestBase {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Node)" +
+        ", (b:Node)" +
+        ", (c:Node)" +
+        ", (d:Node)" +
+        ", (e:Node)" +
+        ", (f:Node)" +
+        ", (x:Node)" +
+        ", (a)-[:REL {cost: 2}]->(b)" +
+        ", (b)-[:REL {cost: 2}]->(c)" +
+        ", (c)-[:REL {cost: 2}]->(f)" +
+        ", (f)-[:REL {cost: 1}]->(e)" +
+        ", (e)-[:REL {cost: 1}]->(d)" +
+        ", (d)-[:REL {cost: 1}]->(a)" +
+        ", (a)-[:REL {cost: 7}]->(e)";
+
+    private Graph graph;
+
+    @BeforeEach
+    void setup() {
+        runQuery(DB_CYPHER);
+        graph = new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel("Node")
+            .addRelationshipType("REL")
+            .addRelationshipProperty(PropertyMapping.of("cost", 1.0))
+            .build()
+            .graph();
+    }
+
+    @Test
+    void shouldComputeDistancesFromAndToLandmarks() {
+        Landmarks landmarks = new Landmarks(graph, 3, 1.0, 2, Pools.DEFAULT, AllocationTracker.EMPTY).compute();
+
+        assertEquals(3, landmarks.landmarks().length);
+        for (int i = 0; i < 3; i++) {
+            long landmark = landmarks.landmarks()[i];
+            assertEquals(0.0, landmarks.distancesFrom(i).get(landmark));
+            assertEquals(0.0, landmarks.distancesTo(i).get(landmark));
+        }
+    }
+
+    @Test
+    void shouldProvideLowerBounds() {
+        Landmarks landmarks = new Landmarks(graph, 2, 1.0, 2, Pools.DEFAULT, AllocationTracker.EMPTY).compute();
+        int count = landmarks.landmarks().length;
+        NodeProperties[] from = new NodeProperties[count];
+        NodeProperties[] to = new NodeProperties[count];
+        for (int i = 0; i < count; i++) {
+            from[i] = landmarks.distancesFrom(i)::get;
+            to[i] = landmarks.distancesTo(i)::get;
+        }
+        ShortestPathAStar.Heuristic heuristic = Landmarks.heuristic(from, to);
+
+        ShortestPathDijkstra dijkstra = new ShortestPathDijkstra(graph, DijkstraConfig.of(0, 0));
+        for (long source = 0; source < graph.nodeCount(); source++) {
+            for (long target = 0; target < graph.nodeCount(); target++) {
+                dijkstra.compute(graph.toOriginalNodeId(source), graph.toOriginalNodeId(target));
+                double bound = heuristic.estimate(source, target);
+                if (dijkstra.getTotalCost() == ShortestPathDijkstra.NO_PATH_FOUND) {
+                    continue;
+                }
+                assertTrue(
+                    bound <= dijkstra.getTotalCost() + 1E-9,
+                    "bound " + bound + " exceeds distance " + dijkstra.getTotalCost()
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.shortestpaths;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.AlgoTestBase;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.RelationshipProjection;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphdb.Label;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.applyInTransaction;
+
+class ShortestPathBatchTest extends AlgoTestBase {
+
+    private Graph graph;
+
+    @BeforeEach
+    void setup() {
+        runQuery(DirectedDijkstraSPTest.DB_CYPHER);
+
+        graph = new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel("Node")
+            .putRelationshipProjectionsWithIdentifier("REL", RelationshipProjection.of("REL", Orientation.NATURAL, Aggregation.NONE))
+            .addRelationshipProperty(PropertyMapping.of("cost", Double.MAX_VALUE))
+            .build()
+            .graph();
+    }
+
+    private long id(String name) {
+        return applyInTransaction(db, tx -> tx.findNode(Label.label("Node"), "name", name).getId());
+    }
+
+    @Test
+    void shouldMatchSinglePairSearches() {
+        long[] sources = {id("a"), id("a"), id("e"), id("a"), id("f"), id("c")};
+        long[] targets = {id("f"), id("c"), id("b"), id("x"), id("a"), id("c")};
+
+        ShortestPathBatch batch = new ShortestPathBatch(
+            graph,
+            sources,
+            targets,
+            false,
+            4,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        ).compute();
+
+        double[] expected = new double[sources.length];
+        ShortestPathDijkstra dijkstra = new ShortestPathDijkstra(graph, AllocationTracker.EMPTY);
+        for (int i = 0; i < sources.length; i++) {
+            expected[i] = dijkstra.compute(sources[i], targets[i]).getTotalCost();
+        }
+
+        assertArrayEquals(expected, batch.costs(), 1E-6);
+        assertEquals(ShortestPathDijkstra.NO_PATH_FOUND, batch.costs()[3]);
+        // unreachable pairs are not streamed
+        assertEquals(sources.length - 1, batch.resultStream().count());
+        batch.resultStream().forEach(result -> assertNull(result.nodeIds));
+    }
+
+    @Test
+    void shouldReturnPaths() {
+        long[] sources = {id("a"), id("f")};
+        long[] targets = {id("f"), id("b")};
+
+        List<ShortestPathBatch.Result> results = new ShortestPathBatch(
+            graph,
+            sources,
+            targets,
+            true,
+            1,
+            null,
+            AllocationTracker.EMPTY
+        ).compute().resultStream().collect(Collectors.toList());
+
+        assertEquals(2, results.size());
+        assertEquals(6.0, results.get(0).totalCost, 1E-6);
+        assertEquals(
+            Arrays.asList(id("a"), id("b"), id("c"), id("f")),
+            results.get(0).nodeIds
+        );
+        assertEquals(5.0, results.get(1).totalCost, 1E-6);
+        assertEquals(
+            Arrays.asList(id("f"), id("e"), id("d"), id("a"), id("b")),
+            results.get(1).nodeIds
+        );
+    }
+}
@@ -137,7 +137,7 @@ final class ShortestPathDijkstraTest extends AlgoTestBase {
         shortestPathDijkstra.compute();
         long[] path = Arrays
                 .stream(shortestPathDijkstra.getFinalPath().toArray())
-                .mapToLong(graph::toOriginalNodeId)
+                .map(graph::toOriginalNodeId)
                 .toArray();
 
         assertEquals(expected.weight, shortestPathDijkstra.getTotalCost(), 0.1);
@@ -168,7 +168,7 @@ final class ShortestPathDijkstraTest extends AlgoTestBase {
         shortestPathDijkstra.compute();
         long[] path = Arrays
                 .stream(shortestPathDijkstra.getFinalPath().toArray())
-                .mapToLong(graph::toOriginalNodeId)
+                .map(graph::toOriginalNodeId)
                 .toArray();
 
         assertEquals(expected.weight, shortestPathDijkstra.getTotalCost(), 0.1);
@@ -200,7 +200,7 @@ final class ShortestPathDijkstraTest extends AlgoTestBase {
         shortestPathDijkstra.compute();
         long[] path = Arrays
                 .stream(shortestPathDijkstra.getFinalPath().toArray())
-                .mapToLong(graph::toOriginalNodeId)
+                .map(graph::toOriginalNodeId)
                 .toArray();
 
         assertArrayEquals(expected.nodeIds, path);
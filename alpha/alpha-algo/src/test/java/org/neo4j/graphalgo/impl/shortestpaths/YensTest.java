@@ -30,7 +30,9 @@ import org.neo4j.graphalgo.StoreLoaderBuilder;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.api.RelationshipConsumer;
 import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.RawValues;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphdb.Node;
 
 import java.util.List;
@@ -154,6 +156,51 @@ class YensTest extends AlgoTestBase {
                 weightedPath.toArray());
     }
 
+    @Test
+    void parallelSpurPathsYieldSequentialResult() {
+        List<WeightedPath> sequential = new YensKShortestPaths(
+            graph,
+            id("a"),
+            id("f"),
+            42,
+            10
+        ).compute().getPaths();
+
+        List<WeightedPath> parallel = new YensKShortestPaths(
+            graph,
+            id("a"),
+            id("f"),
+            42,
+            10,
+            4,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        ).compute().getPaths();
+
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    void reusedDijkstraRespectsMasks() {
+        YensKShortestPathsDijkstra dijkstra = new YensKShortestPathsDijkstra(graph);
+        dijkstra.maskRelationship(id("a"), id("f"));
+        dijkstra.maskRelationship(id("e"), id("f"));
+        dijkstra.maskRelationship(id("d"), id("f"));
+        dijkstra.maskRelationship(id("a"), id("b"));
+        final WeightedPath masked = dijkstra.compute(id("a"), id("f")).orElseThrow(AssertionError::new);
+        assertArrayEquals(
+                new int[]{id("a"), id("e"), id("d"), id("c"), id("f")},
+                masked.toArray());
+
+        dijkstra.clearMasks();
+        dijkstra.maskNode(id("c"));
+        final WeightedPath reused = dijkstra.compute(id("a"), id("f")).orElseThrow(AssertionError::new);
+        assertEquals(3., reused.getCost(), DELTA);
+        assertArrayEquals(
+                new int[]{id("a"), id("e"), id("d"), id("f")},
+                reused.toArray());
+    }
+
     private static RelationshipConsumer filter(int... pairs) {
         if (pairs.length % 2 != 0) {
             throw new IllegalArgumentException("Invalid count of pair elements");
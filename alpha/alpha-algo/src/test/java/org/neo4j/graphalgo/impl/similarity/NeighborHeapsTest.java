@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.similarity;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.results.SimilarityResult;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class NeighborHeapsTest {
+
+    @Test
+    void keepsTheBestNeighbors() {
+        NeighborHeaps heaps = new NeighborHeaps(5, 2);
+        assertEquals(1, heaps.offer(0, 1, result(0, 1, 0.1)));
+        assertEquals(1, heaps.offer(0, 2, result(0, 2, 0.5)));
+        assertEquals(1, heaps.offer(0, 3, result(0, 3, 0.3)));
+        assertEquals(0, heaps.offer(0, 4, result(0, 4, 0.2)));
+        assertEquals(0, heaps.offer(0, 2, result(0, 2, 0.5)));
+
+        assertEquals(2, heaps.size(0));
+        assertEquals(
+            Arrays.asList(2L, 3L),
+            heaps.stream().map(result -> result.item2).collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    void keepsTheWorstNeighborsForNegativeTopK() {
+        NeighborHeaps heaps = new NeighborHeaps(5, -2);
+        heaps.offer(0, 1, result(0, 1, 0.1));
+        heaps.offer(0, 2, result(0, 2, 0.5));
+        heaps.offer(0, 3, result(0, 3, 0.3));
+
+        assertEquals(
+            Arrays.asList(1L, 3L),
+            heaps.stream().map(result -> result.item2).collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    void allNeighborsNewByDefault() {
+        NeighborHeaps heaps = new NeighborHeaps(5, 3);
+        heaps.offer(0, 1, result(0, 1, 0.1));
+        heaps.offer(0, 2, result(0, 2, 0.2));
+        heaps.offer(0, 3, result(0, 3, 0.3));
+
+        int[] buffer = new int[3];
+        assertEquals(0, heaps.oldNeighbors(0, buffer, 0));
+        assertEquals(3, heaps.sampleNewNeighbors(0, buffer, 0, 3, new Random(42)));
+        int[] sampled = Arrays.copyOf(buffer, 3);
+        Arrays.sort(sampled);
+        assertArrayEquals(new int[]{1, 2, 3}, sampled);
+    }
+
+    @Test
+    void sampledNeighborsBecomeOld() {
+        NeighborHeaps heaps = new NeighborHeaps(5, 3);
+        heaps.offer(0, 1, result(0, 1, 0.1));
+        heaps.offer(0, 2, result(0, 2, 0.2));
+        heaps.offer(0, 3, result(0, 3, 0.3));
+
+        int[] buffer = new int[3];
+        assertEquals(1, heaps.sampleNewNeighbors(0, buffer, 0, 1, new Random(42)));
+        int sampled = buffer[0];
+
+        assertEquals(1, heaps.oldNeighbors(0, buffer, 0));
+        assertEquals(sampled, buffer[0]);
+        assertEquals(2, heaps.sampleNewNeighbors(0, buffer, 0, 3, new Random(42)));
+        assertEquals(0, heaps.sampleNewNeighbors(0, buffer, 0, 3, new Random(42)));
+        assertEquals(3, heaps.oldNeighbors(0, buffer, 0));
+    }
+
+    @Test
+    void replacedNeighborsAreNew() {
+        NeighborHeaps heaps = new NeighborHeaps(5, 1);
+        heaps.offer(0, 1, result(0, 1, 0.1));
+        int[] buffer = new int[1];
+        heaps.sampleNewNeighbors(0, buffer, 0, 1, new Random(42));
+
+        heaps.offer(0, 2, result(0, 2, 0.2));
+        assertEquals(0, heaps.oldNeighbors(0, buffer, 0));
+        assertEquals(1, heaps.sampleNewNeighbors(0, buffer, 0, 1, new Random(42)));
+        assertEquals(2, buffer[0]);
+    }
+
+    private static SimilarityResult result(long item1, long item2, double similarity) {
+        return new SimilarityResult(item1, item2, -1, -1, -1, similarity);
+    }
+}
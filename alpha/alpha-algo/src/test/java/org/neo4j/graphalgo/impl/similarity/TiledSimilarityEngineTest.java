@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.similarity;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.results.SimilarityResult;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.params.provider.Arguments.arguments;
+
+class TiledSimilarityEngineTest {
+
+    // not a multiple of the tile sizes, to cover partial tiles
+    private static final int COUNT = 301;
+    private static final int DIMENSION = 19;
+
+    static Stream<Arguments> metricsAndConcurrencies() {
+        return Arrays.stream(TiledSimilarityEngine.Metric.values())
+            .flatMap(metric -> Stream.of(arguments(metric, 1), arguments(metric, 4)));
+    }
+
+    @ParameterizedTest(name = "{0}, concurrency = {1}")
+    @MethodSource("metricsAndConcurrencies")
+    void allPairsShouldMatchPairwiseComputation(TiledSimilarityEngine.Metric metric, int concurrency) {
+        WeightedInput[] inputs = inputs();
+        int topK = topK(metric);
+
+        List<SimilarityResult> expected = new SimilarityStreamGenerator<>(
+            TerminationFlag.RUNNING_TRUE,
+            1,
+            () -> null,
+            computer(metric, true)
+        ).stream(inputs, -1.0, topK).collect(Collectors.toList());
+
+        List<SimilarityResult> actual = engine(inputs, metric, concurrency)
+            .topK(new int[0], new int[0], -1.0, topK)
+            .collect(Collectors.toList());
+
+        assertEquals(expected, actual);
+    }
+
+    @ParameterizedTest(name = "{0}, concurrency = {1}")
+    @MethodSource("metricsAndConcurrencies")
+    void sourceTargetShouldMatchPairwiseComputation(TiledSimilarityEngine.Metric metric, int concurrency) {
+        WeightedInput[] inputs = inputs();
+        int topK = topK(metric);
+        int[] sourceIndexIds = {3, 42, 77, 150, 300};
+        int[] targetIndexIds = {0, 1, 2, 3, 5, 8, 13, 21, 34, 55, 89, 144, 233};
+
+        List<SimilarityResult> expected = new SimilarityStreamGenerator<>(
+            TerminationFlag.RUNNING_TRUE,
+            1,
+            () -> null,
+            computer(metric, false)
+        ).stream(inputs, sourceIndexIds, targetIndexIds, -1.0, topK).collect(Collectors.toList());
+
+        List<SimilarityResult> actual = engine(inputs, metric, concurrency)
+            .topK(sourceIndexIds, targetIndexIds, -1.0, topK)
+            .collect(Collectors.toList());
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void shouldNotPackVectorsContainingTheSkipValue() {
+        WeightedInput[] inputs = {
+            WeightedInput.dense(0, new double[]{1.0, 2.0}),
+            WeightedInput.dense(1, new double[]{Double.NaN, 2.0})
+        };
+        assertNull(PackedVectors.of(inputs, false, Double.NaN));
+        assertNotNull(PackedVectors.of(inputs, false, null));
+    }
+
+    @Test
+    void shouldNotPackVectorsOfDifferentLength() {
+        WeightedInput[] inputs = {
+            WeightedInput.dense(0, new double[]{1.0, 2.0}),
+            WeightedInput.dense(1, new double[]{1.0, 2.0, 3.0})
+        };
+        assertNull(PackedVectors.of(inputs, false, null));
+    }
+
+    private static TiledSimilarityEngine engine(
+        WeightedInput[] inputs,
+        TiledSimilarityEngine.Metric metric,
+        int concurrency
+    ) {
+        PackedVectors vectors = PackedVectors.of(inputs, metric.centered(), Double.NaN);
+        assertNotNull(vectors);
+        return new TiledSimilarityEngine(vectors, metric, concurrency, TerminationFlag.RUNNING_TRUE);
+    }
+
+    private static int topK(TiledSimilarityEngine.Metric metric) {
+        return metric == TiledSimilarityEngine.Metric.EUCLIDEAN ? -5 : 5;
+    }
+
+    private static SimilarityComputer<WeightedInput> computer(TiledSimilarityEngine.Metric metric, boolean bidirectional) {
+        switch (metric) {
+            case COSINE:
+                return (decoder, s, t, cutoff) -> s.cosineSquares(decoder, cutoff, t, bidirectional);
+            case PEARSON:
+                return (decoder, s, t, cutoff) -> s.pearson(decoder, cutoff, t, bidirectional);
+            case EUCLIDEAN:
+                return (decoder, s, t, cutoff) -> s.sumSquareDelta(decoder, cutoff, t, bidirectional);
+            default:
+                throw new IllegalArgumentException("Unknown metric " + metric);
+        }
+    }
+
+    private static WeightedInput[] inputs() {
+        Random random = new Random(42);
+        WeightedInput[] inputs = new WeightedInput[COUNT];
+        for (int i = 0; i < COUNT; i++) {
+            double[] weights = new double[DIMENSION];
+            for (int j = 0; j < DIMENSION; j++) {
+                weights[j] = random.nextDouble() * 10 - 5;
+            }
+            inputs[i] = WeightedInput.dense(i, weights);
+        }
+        return inputs;
+    }
+}
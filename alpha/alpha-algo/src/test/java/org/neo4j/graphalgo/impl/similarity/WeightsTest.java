@@ -26,6 +26,7 @@ import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class WeightsTest {
 
@@ -102,4 +103,28 @@ class WeightsTest {
         assertArrayEquals(new double[0], actuals, 0.01);
     }
 
+    @Test
+    void rleFromSparseIndices() {
+        int[] indices = {1, 6, 7};
+        double[] values = {3.0, 5.0, 2.0};
+        double[] actuals = Weights.buildRleWeights(10, indices, values, 3, 0.0, 3);
+        assertArrayEquals(new double[]{
+                0.0, 3.0,
+                Double.POSITIVE_INFINITY, 4.0, 0.0,
+                5.0, 2.0,
+                0.0, 0.0}, actuals, 0.01);
+
+        List<Number> dense = Arrays.asList(0.0, 3.0, 0.0, 0.0, 0.0, 0.0, 5.0, 2.0, 0.0, 0.0);
+        assertArrayEquals(Weights.buildRleWeights(dense, 3), actuals, 0.01);
+    }
+
+    @Test
+    void sortByIndexKeepsLastDuplicate() {
+        int[] indices = {4, 1, 4, 0};
+        double[] values = {1.0, 2.0, 3.0, 4.0};
+        int distinct = Weights.sortByIndex(indices, values, 4);
+        assertEquals(3, distinct);
+        assertArrayEquals(new int[]{0, 1, 4}, Arrays.copyOf(indices, distinct));
+        assertArrayEquals(new double[]{4.0, 2.0, 3.0}, Arrays.copyOf(values, distinct), 0.01);
+    }
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.spanningTree;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.AlgoTestBase;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.impl.spanningTrees.Boruvka;
+import org.neo4j.graphalgo.impl.spanningTrees.Prim;
+import org.neo4j.graphalgo.impl.spanningTrees.SpanningForest;
+import org.neo4j.graphalgo.impl.spanningTrees.SpanningTree;
+
+import java.util.function.DoubleUnaryOperator;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BoruvkaTest extends AlgoTestBase {
+
+    /**
+     * Same graph as in {@link PrimTest}, with two isolated nodes.
+     */
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Node {name: 'a'})" +
+        ", (b:Node {name: 'b'})" +
+        ", (c:Node {name: 'c'})" +
+        ", (d:Node {name: 'd'})" +
+        ", (e:Node {name: 'e'})" +
+        ", (y:Node {name: 'y'})" +
+        ", (z:Node {name: 'z'})" +
+        ", (a)-[:TYPE {cost: 1.0}]->(b)" +
+        ", (a)-[:TYPE {cost: 2.0}]->(c)" +
+        ", (b)-[:TYPE {cost: 3.0}]->(c)" +
+        ", (b)-[:TYPE {cost: 4.0}]->(d)" +
+        ", (c)-[:TYPE {cost: 5.0}]->(e)" +
+        ", (d)-[:TYPE {cost: 6.0}]->(e)";
+
+    /**
+     * A 40x40 grid with pseudo-random, partially equal weights.
+     */
+    private static final String GRID_CYPHER =
+        "UNWIND range(0, 1599) AS id CREATE (:Node {id: id}) " +
+        "WITH count(*) AS ignored " +
+        "MATCH (n:Node), (m:Node) " +
+        "WHERE (m.id = n.id + 1 AND m.id % 40 <> 0) OR m.id = n.id + 40 " +
+        "CREATE (n)-[:TYPE {cost: toFloat((n.id * 7919 + m.id * 104729) % 13)}]->(m)";
+
+    @Test
+    void shouldComputeMinimumForest() {
+        runQuery(DB_CYPHER);
+        SpanningForest forest = compute(loadGraph(Orientation.UNDIRECTED), Prim.MIN_OPERATOR, 4);
+
+        assertEquals(4, forest.relationshipCount());
+        assertEquals(3, forest.componentCount());
+        assertEquals(1.0 + 2.0 + 4.0 + 5.0, forest.totalWeight());
+    }
+
+    @Test
+    void shouldComputeMaximumForest() {
+        runQuery(DB_CYPHER);
+        SpanningForest forest = compute(loadGraph(Orientation.UNDIRECTED), Prim.MAX_OPERATOR, 4);
+
+        assertEquals(4, forest.relationshipCount());
+        assertEquals(3, forest.componentCount());
+        assertEquals(2.0 + 4.0 + 5.0 + 6.0, forest.totalWeight());
+    }
+
+    @Test
+    void shouldMatchPrimOnGridWithTies() {
+        runQuery(GRID_CYPHER);
+        Graph graph = loadGraph(Orientation.UNDIRECTED);
+
+        SpanningTree tree = new Prim(graph, graph, Prim.MIN_OPERATOR, 0).compute();
+        double[] primWeight = {0D};
+        tree.forEach((parent, node) -> {
+            primWeight[0] += graph.relationshipProperty(parent, node, 0D);
+            return true;
+        });
+
+        for (int concurrency : new int[]{1, 4}) {
+            SpanningForest forest = compute(graph, Prim.MIN_OPERATOR, concurrency);
+            assertEquals(1599, forest.relationshipCount());
+            assertEquals(1, forest.componentCount());
+            assertEquals(primWeight[0], forest.totalWeight(), 1E-9);
+        }
+    }
+
+    @Test
+    void shouldFailOnDirectedGraph() {
+        runQuery(DB_CYPHER);
+        Graph graph = loadGraph(Orientation.NATURAL);
+        assertThrows(IllegalArgumentException.class, () -> compute(graph, Prim.MIN_OPERATOR, 1));
+    }
+
+    private SpanningForest compute(Graph graph, DoubleUnaryOperator minMax, int concurrency) {
+        return new Boruvka(graph, minMax, concurrency, Pools.DEFAULT, AllocationTracker.EMPTY).compute();
+    }
+
+    private Graph loadGraph(Orientation orientation) {
+        return new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel("Node")
+            .addRelationshipType("TYPE")
+            .globalOrientation(orientation)
+            .addRelationshipProperty(PropertyMapping.of("cost", Double.MAX_VALUE))
+            .build()
+            .graph();
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.impl.traverse;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.neo4j.graphalgo.AlgoTestBase;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.QueryRunner;
+import org.neo4j.graphalgo.StoreLoaderBuilder;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.impl.traverse.Traverse.ExitPredicate.Result;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.neo4j.graphalgo.impl.traverse.DirectionOptimizingBfs.NOT_REACHED;
+import static org.neo4j.graphalgo.impl.traverse.Traverse.DEFAULT_AGGREGATOR;
+
+/**
+ * Graph:
+ *
+ *     (b)   (e)
+ *    / \   / \
+ * >(a)  (d)  ((g))
+ *    \ /   \ /
+ *    (c)   (f)
+ */
+class DirectionOptimizingBfsTest extends AlgoTestBase {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Node {name: 'a'})" +
+        ", (b:Node {name: 'b'})" +
+        ", (c:Node {name: 'c'})" +
+        ", (d:Node {name: 'd'})" +
+        ", (e:Node {name: 'e'})" +
+        ", (f:Node {name: 'f'})" +
+        ", (g:Node {name: 'g'})" +
+        ", (h:Node {name: 'h'})" +
+        ", (a)-[:REL]->(b)" +
+        ", (a)-[:REL]->(c)" +
+        ", (b)-[:REL]->(d)" +
+        ", (c)-[:REL]->(d)" +
+        ", (d)-[:REL]->(e)" +
+        ", (d)-[:REL]->(f)" +
+        ", (e)-[:REL]->(g)" +
+        ", (f)-[:REL]->(g)";
+
+    /**
+     * 5000 nodes with 8 pseudo-random relationships each, small diameter and large frontiers.
+     */
+    private static final String DENSE_CYPHER =
+        "UNWIND range(0, 4999) AS id CREATE (:Node {id: id}) " +
+        "WITH count(*) AS ignored " +
+        "MATCH (n:Node) " +
+        "UNWIND [7, 31, 127, 257, 1031, 2053, 3001, 4049] AS step " +
+        "WITH n, (n.id * step + step) % 5000 AS targetId " +
+        "MATCH (m:Node {id: targetId}) " +
+        "CREATE (n)-[:REL]->(m)";
+
+    @ParameterizedTest
+    @EnumSource(value = Orientation.class, names = {"NATURAL", "UNDIRECTED"})
+    void shouldComputeLevelsAndParents(Orientation orientation) {
+        runQuery(DB_CYPHER);
+        Graph graph = loadGraph(orientation);
+
+        DirectionOptimizingBfs bfs = bfs(graph, id("a"), (s, t, w) -> Result.FOLLOW, 1).compute();
+
+        assertEquals(5, bfs.levelCount());
+        assertEquals(7, bfs.reachedNodeCount());
+        assertEquals(0, level(graph, bfs, "a"));
+        assertEquals(1, level(graph, bfs, "b"));
+        assertEquals(1, level(graph, bfs, "c"));
+        assertEquals(2, level(graph, bfs, "d"));
+        assertEquals(3, level(graph, bfs, "e"));
+        assertEquals(3, level(graph, bfs, "f"));
+        assertEquals(4, level(graph, bfs, "g"));
+        assertEquals(NOT_REACHED, level(graph, bfs, "h"));
+
+        assertEquals(mapped(graph, "a"), bfs.parents().get(mapped(graph, "a")));
+        assertEquals(mapped(graph, "a"), bfs.parents().get(mapped(graph, "b")));
+        assertEquals(mapped(graph, "d"), bfs.parents().get(mapped(graph, "e")));
+        assertEquals(NOT_REACHED, bfs.parents().get(mapped(graph, "h")));
+
+        long[] resultNodes = bfs.resultNodes();
+        assertEquals(7, resultNodes.length);
+        assertEquals(id("a"), resultNodes[0]);
+        assertEquals(id("d"), resultNodes[3]);
+        assertEquals(id("g"), resultNodes[6]);
+    }
+
+    @Test
+    void shouldStopAtTarget() {
+        runQuery(DB_CYPHER);
+        Graph graph = loadGraph(Orientation.NATURAL);
+        long target = mapped(graph, "e");
+
+        long[] resultNodes = bfs(graph, id("a"), (s, t, w) -> t == target ? Result.BREAK : Result.FOLLOW, 1)
+            .compute()
+            .resultNodes();
+
+        assertArrayEquals(new long[]{id("a"), id("b"), id("c"), id("d"), id("e")}, sorted(resultNodes));
+    }
+
+    @Test
+    void shouldRespectMaxDepth() {
+        runQuery(DB_CYPHER);
+        Graph graph = loadGraph(Orientation.UNDIRECTED);
+
+        DirectionOptimizingBfs bfs = new DirectionOptimizingBfs(
+            graph,
+            id("g"),
+            (s, t, w) -> w > 2 ? Result.CONTINUE : Result.FOLLOW,
+            (s, t, w) -> w + 1.,
+            1,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        ).compute();
+
+        assertArrayEquals(new long[]{id("d"), id("e"), id("f"), id("g")}, sorted(bfs.resultNodes()));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = Orientation.class, names = {"NATURAL", "UNDIRECTED"})
+    void shouldMatchSequentialBfs(Orientation orientation) {
+        runQuery(DENSE_CYPHER);
+        Graph graph = loadGraph(orientation);
+        long start = graph.toOriginalNodeId(0);
+
+        long[] expected = new long[Math.toIntExact(graph.nodeCount())];
+        Arrays.fill(expected, NOT_REACHED);
+        expected[0] = 0;
+        Deque<Long> queue = new ArrayDeque<>();
+        queue.add(0L);
+        while (!queue.isEmpty()) {
+            long node = queue.poll();
+            graph.forEachRelationship(node, (s, t) -> {
+                if (expected[(int) t] == NOT_REACHED) {
+                    expected[(int) t] = expected[(int) s] + 1;
+                    queue.add(t);
+                }
+                return true;
+            });
+        }
+
+        for (int concurrency : new int[]{1, 4}) {
+            DirectionOptimizingBfs bfs = bfs(graph, start, (s, t, w) -> Result.FOLLOW, concurrency).compute();
+            for (int node = 0; node < expected.length; node++) {
+                assertEquals(expected[node], bfs.levels().get(node), "level of node " + node);
+                long parent = bfs.parents().get(node);
+                if (node != 0 && parent != NOT_REACHED) {
+                    assertEquals(expected[node] - 1, bfs.levels().get(parent), "level of parent of node " + node);
+                }
+            }
+        }
+    }
+
+    private DirectionOptimizingBfs bfs(Graph graph, long startNode, Traverse.ExitPredicate exitPredicate, int concurrency) {
+        return new DirectionOptimizingBfs(
+            graph,
+            startNode,
+            exitPredicate,
+            DEFAULT_AGGREGATOR,
+            concurrency,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        );
+    }
+
+    private Graph loadGraph(Orientation orientation) {
+        return new StoreLoaderBuilder()
+            .api(db)
+            .addNodeLabel("Node")
+            .addRelationshipType("REL")
+            .globalOrientation(orientation)
+            .build()
+            .graph();
+    }
+
+    private long id(String name) {
+        return QueryRunner.runQuery(
+            db,
+            "MATCH (n:Node) WHERE n.name = '" + name + "' RETURN id(n) AS id",
+            result -> result.<Long>columnAs("id").next()
+        );
+    }
+
+    private long mapped(Graph graph, String name) {
+        return graph.toMappedNodeId(id(name));
+    }
+
+    private int level(Graph graph, DirectionOptimizingBfs bfs, String name) {
+        return bfs.levels().get(mapped(graph, name));
+    }
+
+    private static long[] sorted(long[] nodes) {
+        long[] copy = nodes.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+}
@@ -0,0 +1,340 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.container;
+
+import com.carrotsearch.hppc.sorting.IndirectSort;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.utils.AscendingLongComparator;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeIntArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+/**
+ * Uncompressed adjacency of a graph for random walks, with the neighbours of every node sorted by id.
+ * <p>
+ * For weighted graphs every node gets an alias table (Vose) over the weights of its relationships,
+ * so that drawing a neighbour proportional to the relationship weight takes constant time, independent
+ * of the degree. Unweighted graphs draw neighbours uniformly and need no tables.
+ * <p>
+ * Second order (node2vec) steps are drawn by rejection sampling (KnightKing): a neighbour is drawn from the
+ * first order distribution and accepted with its return or in-out bias relative to the largest bias.
+ * Sorted neighbours allow the adjacency check of the bias by binary search. On unweighted graphs the return
+ * relationship is folded out of the envelope when {@code 1 / returnFactor} is the largest bias, so that a
+ * small return factor does not make all other neighbours unlikely to be accepted.
+ */
+public final class AliasTableAdjacency {
+
+    public static final long NO_NEIGHBOUR = -1L;
+
+    private static final int BATCH_SIZE = ParallelUtil.DEFAULT_BATCH_SIZE;
+    // after this many rejections a second order step is drawn from the exact distribution
+    private static final int MAX_REJECTIONS = 32;
+
+    private final HugeLongArray offsets;
+    private final HugeLongArray targets;
+    private final HugeDoubleArray weights;
+    private final HugeDoubleArray probabilities;
+    private final HugeIntArray aliases;
+
+    private AliasTableAdjacency(
+        HugeLongArray offsets,
+        HugeLongArray targets,
+        HugeDoubleArray weights,
+        HugeDoubleArray probabilities,
+        HugeIntArray aliases
+    ) {
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.probabilities = probabilities;
+        this.aliases = aliases;
+    }
+
+    /**
+     * @param weighted whether neighbours are drawn proportional to the relationship property of the graph,
+     *                 relationships without a property count with weight {@code 1.0}
+     */
+    public static AliasTableAdjacency of(
+        Graph graph,
+        boolean weighted,
+        int concurrency,
+        ExecutorService executor,
+        AllocationTracker tracker
+    ) {
+        long nodeCount = graph.nodeCount();
+        HugeLongArray offsets = HugeLongArray.newArray(nodeCount + 1, tracker);
+        long offset = 0;
+        for (long nodeId = 0; nodeId < nodeCount; nodeId++) {
+            offsets.set(nodeId, offset);
+            offset += graph.degree(nodeId);
+        }
+        offsets.set(nodeCount, offset);
+
+        HugeLongArray targets = HugeLongArray.newArray(offset, tracker);
+        HugeDoubleArray weights = weighted ? HugeDoubleArray.newArray(offset, tracker) : null;
+        HugeDoubleArray probabilities = weighted ? HugeDoubleArray.newArray(offset, tracker) : null;
+        HugeIntArray aliases = weighted ? HugeIntArray.newArray(offset, tracker) : null;
+        AliasTableAdjacency adjacency = new AliasTableAdjacency(offsets, targets, weights, probabilities, aliases);
+
+        AtomicLong nextBatch = new AtomicLong();
+        long batchCount = ParallelUtil.threadCount(BATCH_SIZE, nodeCount);
+        int taskCount = (int) Math.max(1, Math.min(concurrency, batchCount));
+        List<Runnable> tasks = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(() -> {
+                Graph localGraph = graph.concurrentCopy();
+                long batch;
+                while ((batch = nextBatch.getAndIncrement()) < batchCount) {
+                    long start = batch * BATCH_SIZE;
+                    long end = Math.min(start + BATCH_SIZE, nodeCount);
+                    for (long nodeId = start; nodeId < end; nodeId++) {
+                        adjacency.fill(localGraph, nodeId, weighted);
+                    }
+                }
+            });
+        }
+        ParallelUtil.run(tasks, executor);
+        return adjacency;
+    }
+
+    public int degree(long nodeId) {
+        return (int) (offsets.get(nodeId + 1) - offsets.get(nodeId));
+    }
+
+    public long target(long nodeId, int index) {
+        return targets.get(offsets.get(nodeId) + index);
+    }
+
+    /**
+     * Draws a neighbour of {@code nodeId}, proportional to the relationship weight if the adjacency is
+     * weighted and uniformly otherwise.
+     *
+     * @return the neighbour or {@link #NO_NEIGHBOUR} if the node has no relationships
+     */
+    public long sample(long nodeId, Random random) {
+        long start = offsets.get(nodeId);
+        int degree = (int) (offsets.get(nodeId + 1) - start);
+        if (degree == 0) {
+            return NO_NEIGHBOUR;
+        }
+        int index = random.nextInt(degree);
+        if (probabilities != null && random.nextDouble() >= probabilities.get(start + index)) {
+            index = aliases.get(start + index);
+        }
+        return targets.get(start + index);
+    }
+
+    /**
+     * Draws the next node of a node2vec walk that went from {@code previousNodeId} to {@code nodeId}.
+     * The first order probability of every neighbour is multiplied with {@code 1 / returnFactor} for the
+     * previous node, {@code 1} for neighbours of the previous node and {@code 1 / inOutFactor} otherwise.
+     *
+     * @return the neighbour or {@link #NO_NEIGHBOUR} if the node has no relationships
+     */
+    public long sample(long nodeId, long previousNodeId, double returnFactor, double inOutFactor, Random random) {
+        int degree = degree(nodeId);
+        if (degree == 0) {
+            return NO_NEIGHBOUR;
+        }
+        double returnBias = 1D / returnFactor;
+        double inOutBias = 1D / inOutFactor;
+        double envelope = Math.max(1D, inOutBias);
+        double outlier = 0D;
+        if (weights == null && returnBias > envelope && isNeighbour(nodeId, previousNodeId)) {
+            // the return relationship only gets the envelope in the main area and the rest in an area of its own
+            outlier = returnBias - envelope;
+        } else {
+            envelope = Math.max(envelope, returnBias);
+        }
+        double area = degree * envelope + outlier;
+
+        for (int rejections = 0; rejections < MAX_REJECTIONS; rejections++) {
+            if (outlier > 0 && random.nextDouble() * area < outlier) {
+                return previousNodeId;
+            }
+            long candidate = sample(nodeId, random);
+            if (random.nextDouble() * envelope < bias(previousNodeId, candidate, returnBias, inOutBias)) {
+                return candidate;
+            }
+        }
+        return sampleExact(nodeId, previousNodeId, returnBias, inOutBias, random);
+    }
+
+    public boolean isNeighbour(long nodeId, long candidate) {
+        long low = offsets.get(nodeId);
+        long high = offsets.get(nodeId + 1) - 1;
+        while (low <= high) {
+            long mid = (low + high) >>> 1;
+            long target = targets.get(mid);
+            if (target < candidate) {
+                low = mid + 1;
+            } else if (target > candidate) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private double bias(long previousNodeId, long candidate, double returnBias, double inOutBias) {
+        if (candidate == previousNodeId) {
+            return returnBias;
+        }
+        return isNeighbour(previousNodeId, candidate) ? 1D : inOutBias;
+    }
+
+    private long sampleExact(long nodeId, long previousNodeId, double returnBias, double inOutBias, Random random) {
+        long start = offsets.get(nodeId);
+        int degree = degree(nodeId);
+        double[] cumulative = new double[degree];
+        double sum = 0D;
+        for (int i = 0; i < degree; i++) {
+            double weight = weights == null ? 1D : weights.get(start + i);
+            sum += weight * bias(previousNodeId, targets.get(start + i), returnBias, inOutBias);
+            cumulative[i] = sum;
+        }
+        if (sum == 0D) {
+            return targets.get(start + random.nextInt(degree));
+        }
+        double threshold = random.nextDouble() * sum;
+        for (int i = 0; i < degree; i++) {
+            if (threshold < cumulative[i]) {
+                return targets.get(start + i);
+            }
+        }
+        return targets.get(start + degree - 1);
+    }
+
+    private void fill(Graph localGraph, long nodeId, boolean weighted) {
+        long start = offsets.get(nodeId);
+        int degree = (int) (offsets.get(nodeId + 1) - start);
+        if (degree == 0) {
+            return;
+        }
+        long[] neighbours = new long[degree];
+        double[] relationshipWeights = weighted ? new double[degree] : null;
+        int[] count = {0};
+        if (weighted) {
+            localGraph.forEachRelationship(nodeId, 1.0D, (source, target, weight) -> {
+                if (weight < 0) {
+                    throw new IllegalArgumentException(formatWithLocale(
+                        "Relationship weights must not be negative, got %f for the relationship (%d)-->(%d)",
+                        weight,
+                        localGraph.toOriginalNodeId(source),
+                        localGraph.toOriginalNodeId(target)
+                    ));
+                }
+                neighbours[count[0]] = target;
+                relationshipWeights[count[0]++] = weight;
+                return count[0] < degree;
+            });
+        } else {
+            localGraph.forEachRelationship(nodeId, (source, target) -> {
+                neighbours[count[0]++] = target;
+                return count[0] < degree;
+            });
+        }
+
+        int[] order = isSorted(neighbours) ? null : IndirectSort.mergesort(0, degree, new AscendingLongComparator(neighbours));
+        for (int i = 0; i < degree; i++) {
+            targets.set(start + i, neighbours[order == null ? i : order[i]]);
+        }
+        if (weighted) {
+            double[] sortedWeights = new double[degree];
+            for (int i = 0; i < degree; i++) {
+                sortedWeights[i] = relationshipWeights[order == null ? i : order[i]];
+                weights.set(start + i, sortedWeights[i]);
+            }
+            fillAliasTable(start, sortedWeights);
+        }
+    }
+
+    /**
+     * Vose's alias method: every slot keeps the probability of its own relationship and the index of
+     * the relationship that fills up the rest of the slot.
+     */
+    private void fillAliasTable(long start, double[] nodeWeights) {
+        int degree = nodeWeights.length;
+        double sum = 0;
+        for (double weight : nodeWeights) {
+            sum += weight;
+        }
+        double[] scaled = new double[degree];
+        for (int i = 0; i < degree; i++) {
+            scaled[i] = sum > 0 ? nodeWeights[i] * degree / sum : 1.0D;
+        }
+
+        int[] small = new int[degree];
+        int[] large = new int[degree];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < degree; i++) {
+            if (scaled[i] < 1.0D) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probabilities.set(start + less, scaled[less]);
+            aliases.set(start + less, more);
+            scaled[more] = (scaled[more] + scaled[less]) - 1.0D;
+            if (scaled[more] < 1.0D) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // the remaining slots are full, up to rounding errors
+        while (largeCount > 0) {
+            int index = large[--largeCount];
+            probabilities.set(start + index, 1.0D);
+            aliases.set(start + index, index);
+        }
+        while (smallCount > 0) {
+            int index = small[--smallCount];
+            probabilities.set(start + index, 1.0D);
+            aliases.set(start + index, index);
+        }
+    }
+
+    private static boolean isSorted(long[] values) {
+        for (int i = 1; i < values.length; i++) {
+            if (values[i - 1] > values[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
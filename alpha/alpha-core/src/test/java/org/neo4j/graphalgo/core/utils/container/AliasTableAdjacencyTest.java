@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.container;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.extension.TestGraph;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.TestSupport.fromGdl;
+
+class AliasTableAdjacencyTest {
+
+    private static final int SAMPLES = 100_000;
+
+    private final Random random = new Random(42);
+
+    @Test
+    void shouldSampleProportionalToWeight() {
+        TestGraph graph = fromGdl(
+            "(a)-[{w: 1.0D}]->(b), (a)-[{w: 2.0D}]->(c), (a)-[{w: 7.0D}]->(d), (a)-[{w: 0.0D}]->(e)"
+        );
+        AliasTableAdjacency adjacency = AliasTableAdjacency.of(graph, true, 1, Pools.DEFAULT, AllocationTracker.EMPTY);
+
+        Map<Long, Double> frequencies = frequencies(() -> adjacency.sample(graph.toMappedNodeId("a"), random));
+
+        assertEquals(0.1, frequencies.getOrDefault(graph.toMappedNodeId("b"), 0D), 0.01);
+        assertEquals(0.2, frequencies.getOrDefault(graph.toMappedNodeId("c"), 0D), 0.01);
+        assertEquals(0.7, frequencies.getOrDefault(graph.toMappedNodeId("d"), 0D), 0.01);
+        assertEquals(0.0, frequencies.getOrDefault(graph.toMappedNodeId("e"), 0D));
+    }
+
+    @Test
+    void shouldSampleUniformlyWithoutWeights() {
+        TestGraph graph = fromGdl("(a)-->(b), (a)-->(c), (a)-->(d), (a)-->(e)");
+        AliasTableAdjacency adjacency = AliasTableAdjacency.of(graph, false, 1, Pools.DEFAULT, AllocationTracker.EMPTY);
+
+        Map<Long, Double> frequencies = frequencies(() -> adjacency.sample(graph.toMappedNodeId("a"), random));
+
+        for (String neighbour : new String[]{"b", "c", "d", "e"}) {
+            assertEquals(0.25, frequencies.get(graph.toMappedNodeId(neighbour)), 0.01);
+        }
+        assertEquals(AliasTableAdjacency.NO_NEIGHBOUR, adjacency.sample(graph.toMappedNodeId("b"), random));
+    }
+
+    @Test
+    void shouldCheckNeighbours() {
+        TestGraph graph = fromGdl("(a)-->(b), (a)-->(c), (b)-->(c)");
+        AliasTableAdjacency adjacency = AliasTableAdjacency.of(graph, false, 1, Pools.DEFAULT, AllocationTracker.EMPTY);
+
+        assertEquals(2, adjacency.degree(graph.toMappedNodeId("a")));
+        assertTrue(adjacency.isNeighbour(graph.toMappedNodeId("a"), graph.toMappedNodeId("b")));
+        assertTrue(adjacency.isNeighbour(graph.toMappedNodeId("a"), graph.toMappedNodeId("c")));
+        assertFalse(adjacency.isNeighbour(graph.toMappedNodeId("b"), graph.toMappedNodeId("a")));
+        assertFalse(adjacency.isNeighbour(graph.toMappedNodeId("c"), graph.toMappedNodeId("a")));
+    }
+
+    @Test
+    void shouldSampleSecondOrderSteps() {
+        TestGraph graph = fromGdl("(a)-->(b), (b)-->(c), (b)-->(d), (a)-->(c)", Orientation.UNDIRECTED);
+        AliasTableAdjacency adjacency = AliasTableAdjacency.of(graph, false, 1, Pools.DEFAULT, AllocationTracker.EMPTY);
+        long a = graph.toMappedNodeId("a");
+        long b = graph.toMappedNodeId("b");
+
+        // return factor 0.25 makes the return relationship an outlier, in-out factor 4 penalizes (d)
+        Map<Long, Double> frequencies = frequencies(() -> adjacency.sample(b, a, 0.25, 4, random));
+
+        double sum = 4 + 1 + 0.25;
+        assertEquals(4 / sum, frequencies.get(a), 0.01);
+        assertEquals(1 / sum, frequencies.get(graph.toMappedNodeId("c")), 0.01);
+        assertEquals(0.25 / sum, frequencies.get(graph.toMappedNodeId("d")), 0.01);
+    }
+
+    @Test
+    void shouldFallBackToExactSecondOrderSteps() {
+        TestGraph graph = fromGdl("(a)-->(b), (b)-->(d)");
+        AliasTableAdjacency adjacency = AliasTableAdjacency.of(graph, false, 1, Pools.DEFAULT, AllocationTracker.EMPTY);
+
+        // (d) is the only neighbour, but rejection sampling accepts it only with probability 1e-6
+        for (int i = 0; i < 100; i++) {
+            assertEquals(
+                graph.toMappedNodeId("d"),
+                adjacency.sample(graph.toMappedNodeId("b"), graph.toMappedNodeId("a"), 1, 1_000_000, random)
+            );
+        }
+    }
+
+    @Test
+    void shouldFailOnNegativeWeights() {
+        TestGraph graph = fromGdl("(a)-[{w: -1.0D}]->(b)");
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> AliasTableAdjacency.of(graph, true, 1, Pools.DEFAULT, AllocationTracker.EMPTY)
+        );
+    }
+
+    private static Map<Long, Double> frequencies(Sampler sampler) {
+        Map<Long, Double> frequencies = new HashMap<>();
+        for (int i = 0; i < SAMPLES; i++) {
+            frequencies.merge(sampler.sample(), 1D / SAMPLES, Double::sum);
+        }
+        return frequencies;
+    }
+
+    @FunctionalInterface
+    private interface Sampler {
+        long sample();
+    }
+}
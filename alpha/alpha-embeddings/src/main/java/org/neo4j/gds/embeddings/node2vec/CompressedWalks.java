@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.node2vec;
+
+import org.apache.lucene.util.ArrayUtil;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static org.neo4j.graphalgo.core.loading.VarLongEncoding.encodeVLongs;
+import static org.neo4j.graphalgo.core.loading.VarLongEncoding.zigZag;
+
+/**
+ * A chunk of consecutive random walks that is handed from the walk producer to a training thread.
+ * Each walk is stored as its length followed by the zig-zag encoded differences between
+ * consecutive node ids, written as variable length longs.
+ * Walks mostly move between nodes that are close in id space, which keeps most steps at one or two bytes.
+ */
+final class CompressedWalks implements Iterable<long[]> {
+
+    private static final byte[] EMPTY_BYTES = new byte[0];
+
+    private final long startIndex;
+    private byte[] storage;
+    private long[] encodingBuffer;
+    private int pos;
+    private int walkCount;
+
+    CompressedWalks(long startIndex) {
+        this.startIndex = startIndex;
+        this.storage = EMPTY_BYTES;
+        this.encodingBuffer = new long[0];
+    }
+
+    /**
+     * Index of the first walk of this chunk within the whole walk corpus.
+     */
+    long startIndex() {
+        return startIndex;
+    }
+
+    int walkCount() {
+        return walkCount;
+    }
+
+    void add(long[] walk) {
+        if (encodingBuffer.length < walk.length + 1) {
+            encodingBuffer = new long[walk.length + 1];
+        }
+        encodingBuffer[0] = walk.length;
+        long lastValue = 0L;
+        for (int i = 0; i < walk.length; i++) {
+            encodingBuffer[i + 1] = zigZag(walk[i] - lastValue);
+            lastValue = walk[i];
+        }
+        // a variable length long takes at most 9 bytes
+        int requiredBytes = pos + 9 * (walk.length + 1);
+        if (requiredBytes > storage.length) {
+            storage = ArrayUtil.grow(storage, requiredBytes);
+        }
+        pos = encodeVLongs(encodingBuffer, walk.length + 1, storage, pos);
+        walkCount++;
+    }
+
+    @Override
+    public Iterator<long[]> iterator() {
+        return new Iterator<>() {
+            private int offset = 0;
+            private int remaining = walkCount;
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            public long[] next() {
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                remaining--;
+                long[] walk = new long[(int) readVLong()];
+                long value = 0L;
+                for (int i = 0; i < walk.length; i++) {
+                    long zigZagged = readVLong();
+                    value += (zigZagged >>> 1L) ^ -(zigZagged & 1L);
+                    walk[i] = value;
+                }
+                return walk;
+            }
+
+            private long readVLong() {
+                long input, value = 0L;
+                int shift = 0;
+                do {
+                    input = storage[offset++];
+                    value += (input & 127L) << shift;
+                    shift += 7;
+                } while ((input & 128L) != 128L);
+                return value;
+            }
+        };
+    }
+}
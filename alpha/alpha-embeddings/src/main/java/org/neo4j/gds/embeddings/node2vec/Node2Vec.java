@@ -19,10 +19,11 @@
  */
 package org.neo4j.gds.embeddings.node2vec;
 
-import org.apache.commons.lang3.mutable.MutableLong;
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
+import org.neo4j.graphalgo.core.utils.container.AliasTableAdjacency;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 
@@ -44,27 +45,20 @@ public class Node2Vec extends Algorithm<Node2Vec, HugeObjectArray<Vector>> {
         RandomWalk randomWalk = new RandomWalk(
             graph,
             config.walkLength(),
-            new RandomWalk.NextNodeStrategy(graph, config.returnFactor(), config.inOutFactor()),
+            new RandomWalk.NextNodeStrategy(
+                AliasTableAdjacency.of(graph, false, config.concurrency(), Pools.DEFAULT, tracker),
+                config.returnFactor(),
+                config.inOutFactor()
+            ),
             config.concurrency(),
             config.walksPerNode(),
             config.walkBufferSize()
-        );
-
-        HugeObjectArray<long[]> walks = HugeObjectArray.newArray(
-            long[].class,
-            graph.nodeCount() * config.walksPerNode(),
-            tracker
-        );
-        MutableLong counter = new MutableLong(0);
-        randomWalk
-            .compute()
-            .forEach(walk -> {
-                walks.set(counter.longValue(), walk);
-                counter.increment();
-            });
+        ).withTerminationFlag(terminationFlag);
 
+        // the sampling distributions are estimated from a first walk pass,
+        // training then runs on freshly generated walks so that the corpus is never materialised
         var probabilityComputer = new ProbabilityComputer(
-            walks,
+            randomWalk.compute(),
             graph.nodeCount(),
             config.centerSamplingFactor(),
             config.contextSamplingExponent(),
@@ -74,8 +68,9 @@ public class Node2Vec extends Algorithm<Node2Vec, HugeObjectArray<Vector>> {
 
         var node2VecModel = new Node2VecModel(
             graph.nodeCount(),
+            graph.nodeCount() * config.walksPerNode(),
             config,
-            walks,
+            randomWalk::walksFrom,
             probabilityComputer,
             progressLogger
         );
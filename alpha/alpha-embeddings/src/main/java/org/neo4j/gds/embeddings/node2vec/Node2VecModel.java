@@ -26,31 +26,53 @@ import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Random;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
 
 import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
 
+/**
+ * Trains the embeddings on a walk corpus that is never held in memory as a whole.
+ * For every iteration producer threads on their own executor run the walks of consecutive start nodes and pack them
+ * into {@link CompressedWalks} chunks of about {@link Node2VecBaseConfig#walkBufferSize()} walks,
+ * which the training threads take from a bounded queue.
+ */
 public class Node2VecModel {
 
+    private static final CompressedWalks TOMB = new CompressedWalks(-1);
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+
     private final NegativeSampleProducer negativeSamples;
 
     private final HugeObjectArray<Vector> centerEmbeddings;
     private final HugeObjectArray<Vector> contextEmbeddings;
+    private final long nodeCount;
     private final Node2VecBaseConfig config;
-    private final HugeObjectArray<long[]> walks;
+    private final long walkCount;
+    private final LongFunction<Stream<long[]>> walksOfNode;
     private final ProbabilityComputer probabilityComputer;
     private final ProgressLogger progressLogger;
-    private final long batchSize;
 
     Node2VecModel(
         long nodeCount,
+        long walkCount,
         Node2VecBaseConfig config,
-        HugeObjectArray<long[]> walks,
+        LongFunction<Stream<long[]>> walksOfNode,
         ProbabilityComputer probabilityComputer,
         ProgressLogger progressLogger
     ) {
+        this.nodeCount = nodeCount;
         this.config = config;
-        this.walks = walks;
+        this.walkCount = walkCount;
+        this.walksOfNode = walksOfNode;
         this.probabilityComputer = probabilityComputer;
         this.progressLogger = progressLogger;
         this.negativeSamples = new NegativeSampleProducer(probabilityComputer.getContextNodeDistribution());
@@ -58,29 +80,92 @@ public class Node2VecModel {
         // TODO research how the weights are initialized
         centerEmbeddings = initializeEmbeddings(nodeCount, config.embeddingSize());
         contextEmbeddings = initializeEmbeddings(nodeCount, config.embeddingSize());
-
-        this.batchSize = ParallelUtil.adjustedBatchSize(
-            walks.size(),
-            config.concurrency(),
-            1000
-        );
     }
 
     void train() {
         progressLogger.logMessage(":: Training :: Start");
-        for (int iteration = 0; iteration < config.iterations(); iteration++) {
-            progressLogger.reset(walks.size());
-            progressLogger.logMessage(formatWithLocale(":: Iteration %d :: Start", iteration + 1));
-            var tasks = new ArrayList<TrainingTask>();
-            for (long sampleIndex = 0; sampleIndex < walks.size(); sampleIndex += batchSize) {
-                tasks.add(new TrainingTask(sampleIndex, Math.min(walks.size(), sampleIndex + batchSize) - 1));
+        ExecutorService walkProducers = Pools.createFixedPool(config.concurrency(), "node2vec-walks");
+        try {
+            for (int iteration = 0; iteration < config.iterations(); iteration++) {
+                trainIteration(iteration, walkProducers);
             }
-            ParallelUtil.runWithConcurrency(config.concurrency(), tasks, Pools.DEFAULT);
-            progressLogger.logMessage(formatWithLocale(":: Iteration %d :: Finished", iteration + 1));
+        } finally {
+            walkProducers.shutdownNow();
         }
         progressLogger.logMessage(":: Training :: Finished");
     }
 
+    private void trainIteration(int iteration, ExecutorService walkProducers) {
+        progressLogger.reset(walkCount);
+        progressLogger.logMessage(formatWithLocale(":: Iteration %d :: Start", iteration + 1));
+        BlockingQueue<CompressedWalks> chunks = new ArrayBlockingQueue<>(config.concurrency());
+        var tasks = new ArrayList<TrainingTask>();
+        for (int i = 0; i < config.concurrency(); i++) {
+            tasks.add(new TrainingTask(chunks));
+        }
+        var futures = ParallelUtil.run(tasks, false, Pools.DEFAULT, null);
+        try {
+            produceChunks(chunks, tasks.size(), futures, walkProducers);
+        } catch (RuntimeException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+        ParallelUtil.awaitTermination(futures);
+        progressLogger.logMessage(formatWithLocale(":: Iteration %d :: Finished", iteration + 1));
+    }
+
+    private void produceChunks(
+        BlockingQueue<CompressedWalks> chunks,
+        int consumers,
+        Collection<Future<?>> futures,
+        ExecutorService walkProducers
+    ) {
+        // every node starts walksPerNode walks, so a chunk of start nodes knows the corpus index of its first walk
+        long nodesPerChunk = Math.max(1, config.walkBufferSize() / config.walksPerNode());
+        var nextChunkStart = new AtomicLong();
+        var producers = new ArrayList<Runnable>();
+        for (int i = 0; i < config.concurrency(); i++) {
+            producers.add(() -> {
+                long start;
+                while ((start = nextChunkStart.getAndAdd(nodesPerChunk)) < nodeCount) {
+                    long end = Math.min(start + nodesPerChunk, nodeCount);
+                    var chunk = new CompressedWalks(start * config.walksPerNode());
+                    for (long node = start; node < end; node++) {
+                        try (Stream<long[]> walks = walksOfNode.apply(node)) {
+                            walks.forEach(chunk::add);
+                        }
+                    }
+                    put(chunks, chunk, futures);
+                }
+            });
+        }
+        var producerFutures = ParallelUtil.run(producers, false, walkProducers, null);
+        try {
+            ParallelUtil.awaitTermination(producerFutures);
+        } catch (RuntimeException e) {
+            producerFutures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+        for (int i = 0; i < consumers; i++) {
+            put(chunks, TOMB, futures);
+        }
+    }
+
+    private static void put(BlockingQueue<CompressedWalks> chunks, CompressedWalks chunk, Collection<Future<?>> futures) {
+        try {
+            while (!chunks.offer(chunk, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                // training threads only stop before seeing a TOMB if they failed
+                if (futures.stream().allMatch(Future::isDone)) {
+                    ParallelUtil.awaitTermination(futures);
+                    throw new IllegalStateException("All training threads stopped before the walks were consumed.");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+
     public HugeObjectArray<Vector> getEmbeddings() {
         return centerEmbeddings;
     }
@@ -97,35 +182,43 @@ public class Node2VecModel {
     }
 
     private class TrainingTask implements Runnable {
-        private final PositiveSampleProducer positiveSamples;
+        private final BlockingQueue<CompressedWalks> chunks;
         private final Vector centerGradientBuffer;
         private final Vector contextGradientBuffer;
         private final float initialLearningRate;
         private final float learningRateModifier;
-        private final long startIndex;
 
         private float learningRate;
 
-        TrainingTask(long startIndex, long endIndex) {
-            this.startIndex = startIndex;
-            this.positiveSamples = new PositiveSampleProducer(
-                walks,
-                probabilityComputer.getCenterNodeProbabilities(),
-                startIndex,
-                endIndex,
-                config.windowSize(),
-                progressLogger
-            );
+        TrainingTask(BlockingQueue<CompressedWalks> chunks) {
+            this.chunks = chunks;
             this.centerGradientBuffer = new Vector(config.embeddingSize());
             this.contextGradientBuffer = new Vector(config.embeddingSize());
 
             this.initialLearningRate = (float) config.initialLearningRate();
-            this.learningRateModifier = (float) ((initialLearningRate - config.minLearningRate()) / (endIndex - startIndex));
+            this.learningRateModifier = (float) ((initialLearningRate - config.minLearningRate()) / Math.max(1, walkCount));
             this.learningRate = initialLearningRate;
         }
 
         @Override
         public void run() {
+            try {
+                CompressedWalks chunk;
+                while ((chunk = chunks.take()) != TOMB) {
+                    train(chunk);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void train(CompressedWalks chunk) {
+            var positiveSamples = new PositiveSampleProducer(
+                chunk.iterator(),
+                probabilityComputer.getCenterNodeProbabilities(),
+                config.windowSize(),
+                progressLogger
+            );
             var buffer = new long[2];
             while (positiveSamples.hasNext()) {
                 positiveSamples.next(buffer);
@@ -135,7 +228,8 @@ public class Node2VecModel {
                     trainSample(buffer[0], negativeSamples.nextSample(), false);
                 }
 
-                learningRate = initialLearningRate - (learningRateModifier * (positiveSamples.currentWalkIndex() - startIndex));
+                long walkIndex = chunk.startIndex() + positiveSamples.currentWalkIndex();
+                learningRate = initialLearningRate - (learningRateModifier * walkIndex);
             }
         }
 
@@ -21,51 +21,49 @@ package org.neo4j.gds.embeddings.node2vec;
 
 import org.neo4j.graphalgo.core.utils.ProgressLogger;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.concurrent.ThreadLocalRandom;
 
 import static org.neo4j.graphalgo.core.utils.BitUtil.ceilDiv;
 
 public class PositiveSampleProducer {
 
-    private final HugeObjectArray<long[]> walks;
+    private final Iterator<long[]> walks;
     private final HugeDoubleArray centerNodeProbabilities;
-    private final long batchEnd;
     private final int prefixWindowSize;
     private final int postfixWindowSize;
     private long[] currentWalk;
     private long currentCenterWord;
     private long walkIndex;
+    private boolean hasNext;
     private final ProgressLogger progressLogger;
     private int centerWordIndex;
     private int contextWordIndex;
 
     public PositiveSampleProducer(
-        HugeObjectArray<long[]> walks,
+        Iterator<long[]> walks,
         HugeDoubleArray centerNodeProbabilities,
-        long batchStart,
-        long batchEnd,
         int windowSize,
         ProgressLogger progressLogger
     ) {
         this.walks = walks;
-        this.batchEnd = batchEnd;
         this.progressLogger = progressLogger;
         this.centerNodeProbabilities = centerNodeProbabilities;
 
         prefixWindowSize = (int) ceilDiv(windowSize - 1, 2);
         postfixWindowSize = (windowSize - 1) / 2;
 
-        this.walkIndex = batchStart -1;
+        this.walkIndex = -1;
+        this.hasNext = true;
         this.centerWordIndex = -1;
         this.contextWordIndex = 1;
         nextWalk();
     }
 
     public boolean hasNext() {
-        return walkIndex <= batchEnd;
+        return hasNext;
     }
 
     public void next(long[] buffer) {
@@ -75,32 +73,27 @@ public class PositiveSampleProducer {
         nextContextWord();
     }
 
+    /**
+     * Index of the walk the current pair is taken from, counted from the first walk of the given iterator.
+     */
     public long currentWalkIndex() {
         return walkIndex;
     }
 
     private void nextWalk() {
-        walkIndex++;
-
-        if (walkIndex >= walks.size()) {
-            return;
-        }
-        long[] walk = filter(walks.get(walkIndex));
-
-        while (walkIndex <= batchEnd && walk.length < 2) {
+        while (walks.hasNext()) {
+            long[] walk = filter(walks.next());
             walkIndex++;
-            if (walkIndex < walks.size()) {
-                walk = filter(walks.get(walkIndex));
-            }
             progressLogger.logProgress();
-        }
 
-        if (walkIndex < walks.size()) {
-            progressLogger.logProgress();
-            this.currentWalk = walk;
-            centerWordIndex = -1;
-            nextCenterWord();
+            if (walk.length >= 2) {
+                this.currentWalk = walk;
+                centerWordIndex = -1;
+                nextCenterWord();
+                return;
+            }
         }
+        hasNext = false;
     }
 
     private void nextCenterWord() {
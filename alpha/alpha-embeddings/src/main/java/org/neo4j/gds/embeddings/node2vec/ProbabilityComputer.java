@@ -21,44 +21,45 @@ package org.neo4j.gds.embeddings.node2vec;
 
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
-import org.neo4j.graphalgo.core.utils.paged.HugeAtomicLongArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 
 import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static java.lang.Math.addExact;
 
+/**
+ * Derives the center and context sampling distributions from the node frequencies of a walk corpus.
+ * The walks are consumed as a stream and only their node counts are kept.
+ */
 public class ProbabilityComputer {
 
-    private final HugeObjectArray<long[]> walks;
     private final long nodeCount;
     private final int concurrency;
     private final AllocationTracker tracker;
     private final double centerSamplingFactor;
     private final double contextSamplingExponent;
 
-    private HugeAtomicLongArray nodeFrequencies;
+    private HugeLongArray nodeFrequencies;
     private HugeDoubleArray centerProbabilities;
     private HugeLongArray contextDistribution;
 
     public ProbabilityComputer(
-        HugeObjectArray<long[]> walks,
+        Stream<long[]> walks,
         long nodeCount,
         double centerSamplingFactor,
         double contextSamplingExponent,
         int concurrency,
         AllocationTracker tracker
     ) {
-        this.walks = walks;
         this.nodeCount = nodeCount;
         this.concurrency = concurrency;
         this.tracker = tracker;
         this.centerSamplingFactor = centerSamplingFactor;
         this.contextSamplingExponent = contextSamplingExponent;
 
-        computeFrequencies();
+        computeFrequencies(walks);
         computeCenterProbabilities();
         computeContextDistribution();
     }
@@ -71,18 +72,13 @@ public class ProbabilityComputer {
         return contextDistribution;
     }
 
-    private void computeFrequencies() {
-        nodeFrequencies = HugeAtomicLongArray.newArray(nodeCount, tracker);
-        ParallelUtil.parallelStreamConsume(
-            LongStream.range(0, walks.size()),
-            concurrency,
-            walkIdStream -> walkIdStream.forEach(walkId -> {
-                var walk = walks.get(walkId);
-                for (long node : walk) {
-                    nodeFrequencies.update(node, count -> addExact(count, 1));
-                }
-            })
-        );
+    private void computeFrequencies(Stream<long[]> walks) {
+        nodeFrequencies = HugeLongArray.newArray(nodeCount, tracker);
+        walks.forEach(walk -> {
+            for (long node : walk) {
+                nodeFrequencies.addTo(node, 1L);
+            }
+        });
     }
 
     private void computeCenterProbabilities() {
@@ -110,7 +106,6 @@ public class ProbabilityComputer {
         contextDistribution = HugeLongArray.newArray(nodeCount, tracker);
         long sum = 0;
         for (var i = 0L; i < nodeCount; i++) {
-            sum += Math.pow(nodeFrequencies.get(i), contextSamplingExponent);
             sum = addExact(sum, (long) Math.pow(nodeFrequencies.get(i), contextSamplingExponent));
             contextDistribution.set(i, sum);
         }
@@ -21,9 +21,9 @@ package org.neo4j.gds.embeddings.node2vec;
 
 import org.neo4j.graphalgo.Algorithm;
 import org.neo4j.graphalgo.api.Graph;
-import org.neo4j.graphalgo.api.RelationshipConsumer;
 import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.container.AliasTableAdjacency;
 import org.neo4j.graphalgo.core.utils.queue.QueueBasedSpliterator;
 
 import java.util.ArrayList;
@@ -88,6 +88,14 @@ public class RandomWalk extends Algorithm<RandomWalk, Stream<long[]>> {
         return StreamSupport.stream(spliterator, false);
     }
 
+    /**
+     * Runs the walks of a single start node lazily on the calling thread.
+     * Used when the consumer of the walks runs its own producer threads.
+     */
+    public Stream<long[]> walksFrom(long startNodeId) {
+        return doWalk(startNodeId);
+    }
+
     @Override
     public RandomWalk me() {
         return this;
@@ -127,130 +135,23 @@ public class RandomWalk extends Algorithm<RandomWalk, Stream<long[]>> {
         } catch (InterruptedException e) {}
     }
 
+    /**
+     * Draws the next node of a node2vec walk by rejection sampling,
+     * see {@link AliasTableAdjacency#sample(long, long, double, double, java.util.Random)}.
+     */
     public static class NextNodeStrategy {
-        private final Graph graph;
+        private final AliasTableAdjacency adjacency;
         private final double returnParam;
         private final double inOutParam;
 
-
-        public NextNodeStrategy(Graph graph, double returnParam, double inOutParam) {
-            this.graph = graph;
+        public NextNodeStrategy(AliasTableAdjacency adjacency, double returnParam, double inOutParam) {
+            this.adjacency = adjacency;
             this.returnParam = returnParam;
             this.inOutParam = inOutParam;
         }
 
         public long getNextNode(long currentNode, long previousNode) {
-            Graph threadLocalGraph = graph.concurrentCopy();
-
-            int degree = threadLocalGraph.degree(currentNode);
-            if (degree == 0) {
-                return -1;
-            }
-
-            double[] distribution = buildProbabilityDistribution(
-                threadLocalGraph,
-                currentNode,
-                previousNode,
-                returnParam,
-                inOutParam,
-                degree
-            );
-            int neighbourIndex = pickIndexFromDistribution(distribution, ThreadLocalRandom.current().nextDouble());
-
-            return threadLocalGraph.getTarget(currentNode, neighbourIndex);
-        }
-
-        private double[] buildProbabilityDistribution(
-            Graph threadLocalGraph,
-            long currentNodeId,
-            long previousNodeId,
-            double returnParam,
-            double inOutParam,
-            int degree
-        ) {
-            ProbabilityDistributionComputer consumer = new ProbabilityDistributionComputer(
-                threadLocalGraph.concurrentCopy(),
-                degree,
-                currentNodeId,
-                previousNodeId,
-                returnParam,
-                inOutParam
-            );
-            threadLocalGraph.forEachRelationship(currentNodeId, consumer);
-            return consumer.probabilities();
-        }
-
-        private static double[] normalizeDistribution(double[] array, double sum) {
-            for (int i = 0; i < array.length; i++) {
-                array[i] /= sum;
-            }
-            return array;
-        }
-
-        private static int pickIndexFromDistribution(double[] normalizedDistribution, double randomThreshold) {
-            double cumulativeProbability = 0.0;
-            for (int i = 0; i < normalizedDistribution.length; i++) {
-                cumulativeProbability += normalizedDistribution[i];
-                if (randomThreshold <= cumulativeProbability) {
-                    return i;
-                }
-            }
-            return normalizedDistribution.length - 1;
-        }
-
-        private class ProbabilityDistributionComputer implements RelationshipConsumer {
-            private final Graph threadLocalGraph;
-            final double[] probabilities;
-            private final long currentNodeId;
-            private final long previousNodeId;
-            private final double returnParam;
-            private final double inOutParam;
-            double probSum;
-            int index;
-
-            public ProbabilityDistributionComputer(
-                Graph threadLocalGraph,
-                int degree,
-                long currentNodeId,
-                long previousNodeId,
-                double returnParam,
-                double inOutParam
-            ) {
-                this.threadLocalGraph = threadLocalGraph;
-                this.currentNodeId = currentNodeId;
-                this.previousNodeId = previousNodeId;
-                this.returnParam = returnParam;
-                this.inOutParam = inOutParam;
-                probabilities = new double[degree];
-                probSum = 0;
-                index = 0;
-            }
-
-            @Override
-            public boolean accept(long start, long end) {
-                long neighbourId = start == currentNodeId ? end : start;
-
-                double probability;
-
-                if (neighbourId == previousNodeId) {
-                    // node is previous node
-                    probability = 1D / returnParam;
-                } else if (threadLocalGraph.exists(previousNodeId, neighbourId)) {
-                    // node is also adjacent to previous node --> distance to previous node is 1
-                    probability = 1D;
-                } else {
-                    // node is not adjacent to previous node --> distance to previous node is 2
-                    probability = 1D / inOutParam;
-                }
-                probabilities[index] = probability;
-                probSum += probability;
-                index++;
-                return true;
-            }
-
-            private double[] probabilities() {
-                return normalizeDistribution(probabilities, probSum);
-            }
+            return adjacency.sample(currentNode, previousNode, returnParam, inOutParam, ThreadLocalRandom.current());
         }
     }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.gds.embeddings.node2vec;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CompressedWalksTest {
+
+    @Test
+    void shouldRestoreWalksInOrder() {
+        List<long[]> expected = List.of(
+            new long[]{0, 1, 2},
+            new long[]{42, 1, 1, 42},
+            new long[]{},
+            new long[]{7},
+            new long[]{1L << 40, 0, 1L << 40, (1L << 40) - 1}
+        );
+
+        CompressedWalks walks = new CompressedWalks(1337);
+        expected.forEach(walks::add);
+
+        assertEquals(1337, walks.startIndex());
+        assertEquals(expected.size(), walks.walkCount());
+
+        List<long[]> actual = new ArrayList<>();
+        walks.forEach(actual::add);
+
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertArrayEquals(expected.get(i), actual.get(i));
+        }
+    }
+
+    @Test
+    void shouldRestoreAlternatingStepsAroundLargeIds() {
+        CompressedWalks walks = new CompressedWalks(0);
+        long[] walk = new long[81];
+        for (int i = 0; i < walk.length; i++) {
+            walk[i] = 1_000_000_000L + (i % 2 == 0 ? i : -i);
+        }
+        walks.add(walk);
+        walks.add(walk);
+
+        var iterator = walks.iterator();
+        assertArrayEquals(walk, iterator.next());
+        assertArrayEquals(walk, iterator.next());
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+}
@@ -21,12 +21,12 @@ package org.neo4j.gds.embeddings.node2vec;
 
 import org.junit.jupiter.api.Test;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 
 import java.util.Map;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -34,7 +34,7 @@ class NegativeSampleProducerTest {
 
     @Test
     void shouldProduceSamplesAccordingToNodeDistribution() {
-        var walks = HugeObjectArray.of(
+        var walks = Stream.of(
             new long[]{0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0},
             new long[]{1}
         );
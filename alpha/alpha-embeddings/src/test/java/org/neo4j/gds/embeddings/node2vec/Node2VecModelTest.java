@@ -19,14 +19,14 @@
  */
 package org.neo4j.gds.embeddings.node2vec;
 
-import org.apache.commons.lang3.mutable.MutableLong;
 import org.junit.jupiter.api.Test;
 import org.neo4j.graphalgo.TestProgressLogger;
 import org.neo4j.graphalgo.core.utils.Intersections;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 
+import java.util.List;
 import java.util.Random;
+import java.util.stream.Collectors;
 import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -41,13 +41,7 @@ class Node2VecModelTest {
         int numberOfWalks = 10;
         int walkLength = 80;
 
-        MutableLong counter = new MutableLong(0);
-        var walks = HugeObjectArray.newArray(
-            long[].class,
-            numberOfClusters * clusterSize * numberOfWalks,
-            AllocationTracker.EMPTY
-        );
-        LongStream.range(0, numberOfClusters)
+        List<long[]> walks = LongStream.range(0, numberOfClusters)
             .boxed()
             .flatMap(clusterId ->
                 LongStream.range(clusterSize * clusterId, clusterSize * (clusterId + 1))
@@ -60,22 +54,24 @@ class Node2VecModelTest {
                                     .toArray()
                             )
                     )
-            ).forEach(walk -> walks.set(counter.getAndIncrement(), walk));
+            ).collect(Collectors.toList());
 
 
         Node2VecStreamConfig config = ImmutableNode2VecStreamConfig.builder()
             .embeddingSize(10)
             .initialLearningRate(0.05)
             .negativeSamplingRate(1)
+            .walksPerNode(numberOfWalks)
             .concurrency(4)
             .build();
 
         int nodeCount = numberOfClusters * clusterSize;
         Node2VecModel word2Vec = new Node2VecModel(
             nodeCount,
+            walks.size(),
             config,
-            walks,
-            new ProbabilityComputer(walks, nodeCount, 0.001, 0.75, 4, AllocationTracker.EMPTY),
+            nodeId -> walks.subList((int) nodeId * numberOfWalks, (int) (nodeId + 1) * numberOfWalks).stream(),
+            new ProbabilityComputer(walks.stream(), nodeCount, 0.001, 0.75, 4, AllocationTracker.EMPTY),
             TestProgressLogger.NULL_LOGGER
         );
 
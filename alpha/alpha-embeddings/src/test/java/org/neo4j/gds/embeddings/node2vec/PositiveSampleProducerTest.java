@@ -26,7 +26,6 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.neo4j.graphalgo.TestProgressLogger;
 import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
-import org.neo4j.graphalgo.core.utils.paged.HugeObjectArray;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -53,16 +52,14 @@ class PositiveSampleProducerTest {
     void shouldProducePairsWith(
         String name,
         int windowSize,
-        HugeObjectArray<long[]> walks,
+        List<long[]> walks,
         List<Pair<Long, Long>> expectedPairs
     ) {
         Collection<Pair<Long, Long>> actualPairs = new ArrayList<>();
 
         PositiveSampleProducer producer = new PositiveSampleProducer(
-            walks,
+            walks.iterator(),
             centerNodeProbabilities,
-            0,
-            walks.size() - 1L,
             windowSize,
             TestProgressLogger.NULL_LOGGER
         );
@@ -75,20 +72,15 @@ class PositiveSampleProducerTest {
     }
 
     @Test
-    void shouldProducePairsWithBounds() {
-        HugeObjectArray<long[]> walks = HugeObjectArray.of(
-            new long[]{0, 1, 2},
-            new long[]{3, 4, 5},
-            new long[]{3, 4, 5},
-            new long[]{3, 4, 5}
-        );
+    void shouldProducePairsFromCompressedWalks() {
+        CompressedWalks walks = new CompressedWalks(0);
+        walks.add(new long[]{0, 1, 2});
+        walks.add(new long[]{3, 4, 5});
 
         Collection<Pair<Long, Long>> actualPairs = new ArrayList<>();
         PositiveSampleProducer producer = new PositiveSampleProducer(
-            walks,
+            walks.iterator(),
             centerNodeProbabilities,
-            0,
-            1,
             3,
             TestProgressLogger.NULL_LOGGER
         );
@@ -115,7 +107,7 @@ class PositiveSampleProducerTest {
 
     @Test
     void shouldRemoveDownsampledWordFromWalk() {
-        HugeObjectArray<long[]> walks = HugeObjectArray.of(
+        List<long[]> walks = List.of(
             new long[]{0, 1},       // 1 is downsampled, and the walk is then too short and will be ignored
             new long[]{0, 1, 2},    // 1 is downsampled, the remaining walk is (0,2)
             new long[]{3, 4, 5, 6}, // 5 is downsampled, the remaining walk is (3,4,6)
@@ -134,10 +126,8 @@ class PositiveSampleProducerTest {
 
         Collection<Pair<Long, Long>> actualPairs = new ArrayList<>();
         PositiveSampleProducer producer = new PositiveSampleProducer(
-            walks,
+            walks.iterator(),
             centerNodeProbabilities,
-            0,
-            3,
             3,
             TestProgressLogger.NULL_LOGGER
         );
@@ -169,7 +159,7 @@ class PositiveSampleProducerTest {
             arguments(
                 "Uneven window size",
                 3,
-                HugeObjectArray.of(
+                List.of(
                     new long[]{0, 1, 2}
                 ),
                 List.of(
@@ -183,7 +173,7 @@ class PositiveSampleProducerTest {
             arguments(
                 "Even window size",
                 4,
-                HugeObjectArray.of(
+                List.of(
                     new long[]{0, 1, 2, 3}
                 ),
                 List.of(
@@ -201,7 +191,7 @@ class PositiveSampleProducerTest {
             arguments(
                 "Window size greater than walk length",
                 3,
-                HugeObjectArray.of(
+                List.of(
                     new long[]{0, 1}
                 ),
                 List.of(
@@ -213,7 +203,7 @@ class PositiveSampleProducerTest {
             arguments(
                 "Multiple walks",
                 3,
-                HugeObjectArray.of(
+                List.of(
                     new long[]{0, 1, 2},
                     new long[]{3, 4, 5}
                 ),
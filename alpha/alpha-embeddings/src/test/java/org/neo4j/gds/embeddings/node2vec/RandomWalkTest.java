@@ -23,6 +23,9 @@ import org.junit.jupiter.api.Test;
 import org.neo4j.graphalgo.AlgoTestBase;
 import org.neo4j.graphalgo.TestGraphLoader;
 import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.utils.container.AliasTableAdjacency;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 
 import java.util.Arrays;
 import java.util.HashMap;
@@ -50,6 +53,10 @@ class RandomWalkTest extends AlgoTestBase {
         ", (b)-[:REL]->(c)" +
         ", (c)-[:REL]->(b)";
 
+    private static AliasTableAdjacency aliasTables(Graph graph) {
+        return AliasTableAdjacency.of(graph, false, 1, Pools.DEFAULT, AllocationTracker.EMPTY);
+    }
+
     @Test
     void testWithDefaultConfig() {
         runQuery(DEFAULT_DB_CYPHER);
@@ -58,7 +65,7 @@ class RandomWalkTest extends AlgoTestBase {
         RandomWalk randomWalk = new RandomWalk(
             graph,
             config.walkLength(),
-            new RandomWalk.NextNodeStrategy(graph, config.returnFactor(), config.inOutFactor()),
+            new RandomWalk.NextNodeStrategy(aliasTables(graph), config.returnFactor(), config.inOutFactor()),
             config.concurrency(),
             config.walksPerNode(),
             config.walkBufferSize()
@@ -87,7 +94,7 @@ class RandomWalkTest extends AlgoTestBase {
         RandomWalk randomWalk = new RandomWalk(
             graph,
             10,
-            new RandomWalk.NextNodeStrategy(graph, 0.01, 1),
+            new RandomWalk.NextNodeStrategy(aliasTables(graph), 0.01, 1),
             4,
             100,
             1000
@@ -153,7 +160,7 @@ class RandomWalkTest extends AlgoTestBase {
         RandomWalk randomWalk = new RandomWalk(
             graph,
             10,
-            new RandomWalk.NextNodeStrategy(graph, 0.01, 100000),
+            new RandomWalk.NextNodeStrategy(aliasTables(graph), 0.01, 100000),
             4,
             1000,
             1000
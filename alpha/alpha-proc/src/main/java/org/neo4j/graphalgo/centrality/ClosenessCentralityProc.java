@@ -27,11 +27,14 @@ import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.write.NodePropertyExporter;
 import org.neo4j.graphalgo.impl.closeness.ClosenessCentralityConfig;
 import org.neo4j.graphalgo.impl.closeness.MSClosenessCentrality;
 import org.neo4j.graphalgo.result.AbstractResultBuilder;
 import org.neo4j.graphalgo.results.CentralityScore;
+import org.neo4j.logging.Log;
 import org.neo4j.procedure.Description;
 import org.neo4j.procedure.Name;
 import org.neo4j.procedure.Procedure;
@@ -122,12 +125,26 @@ public class ClosenessCentralityProc extends AlgoBaseProc<MSClosenessCentrality,
 
     @Override
     protected AlgorithmFactory<MSClosenessCentrality, ClosenessCentralityConfig> algorithmFactory() {
-        return (AlphaAlgorithmFactory<MSClosenessCentrality, ClosenessCentralityConfig>) (graph, configuration, tracker, log) ->
-            new MSClosenessCentrality(
-                graph,
-                tracker,
-                configuration.concurrency(),
-                Pools.DEFAULT, configuration.improved()
-            );
+        return new AlphaAlgorithmFactory<>() {
+            @Override
+            public MSClosenessCentrality buildAlphaAlgo(
+                Graph graph,
+                ClosenessCentralityConfig configuration,
+                AllocationTracker tracker,
+                Log log
+            ) {
+                return new MSClosenessCentrality(
+                    graph,
+                    tracker,
+                    configuration.concurrency(),
+                    Pools.DEFAULT, configuration.improved()
+                );
+            }
+
+            @Override
+            public MemoryEstimation memoryEstimation(ClosenessCentralityConfig configuration) {
+                return MSClosenessCentrality.memoryEstimation();
+            }
+        };
     }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.linkprediction;
+
+import org.immutables.value.Value;
+import org.neo4j.graphalgo.annotation.Configuration;
+import org.neo4j.graphalgo.config.AlgoBaseConfig;
+import org.neo4j.graphalgo.impl.linkprediction.LinkPredictor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+public interface LinkPredictionBaseConfig extends AlgoBaseConfig {
+
+    @Configuration.ConvertWith("org.neo4j.graphalgo.linkprediction.LinkPredictionBaseConfig#linkPredictor")
+    @Configuration.ToMapValue("org.neo4j.graphalgo.impl.linkprediction.LinkPredictor#toString")
+    LinkPredictor algorithm();
+
+    /**
+     * Source node of each candidate pair, all pairs of nodes two hops apart are scored if empty.
+     */
+    @Value.Default
+    default List<Long> sourceNodes() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Target node of each candidate pair, the i-th target node belongs to the i-th source node.
+     */
+    @Value.Default
+    default List<Long> targetNodes() {
+        return Collections.emptyList();
+    }
+
+    @Value.Check
+    default void validatePairs() {
+        if (sourceNodes().size() != targetNodes().size()) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "`sourceNodes` and `targetNodes` must have the same length, but got %d and %d",
+                sourceNodes().size(),
+                targetNodes().size()
+            ));
+        }
+    }
+
+    /**
+     * The configuration to return from a procedure, without the candidate pairs, which can be as long as the input.
+     */
+    @Configuration.Ignore
+    default Map<String, Object> toMapWithoutPairs() {
+        Map<String, Object> map = new LinkedHashMap<>(toMap());
+        map.remove("sourceNodes");
+        map.remove("targetNodes");
+        return map;
+    }
+
+    static LinkPredictor linkPredictor(String input) {
+        try {
+            return LinkPredictor.valueOf(input);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "Unknown link prediction algorithm `%s`, expected one of %s",
+                input,
+                Arrays.toString(LinkPredictor.values())
+            ));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.linkprediction;
+
+import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.AlphaAlgorithmFactory;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.impl.linkprediction.LinkPrediction;
+
+public abstract class LinkPredictionBaseProc<CONFIG extends LinkPredictionBaseConfig> extends AlgoBaseProc<LinkPrediction, LinkPrediction, CONFIG> {
+
+    static final String DESCRIPTION =
+        "Scores candidate links between pairs of nodes of an in-memory graph, " +
+        "either the given pairs or all pairs of nodes two hops apart.";
+
+    @Override
+    protected AlgorithmFactory<LinkPrediction, CONFIG> algorithmFactory() {
+        return (AlphaAlgorithmFactory<LinkPrediction, CONFIG>) (graph, configuration, tracker, log) -> new LinkPrediction(
+            graph,
+            configuration.algorithm(),
+            configuration.sourceNodes().stream().mapToLong(Long::longValue).toArray(),
+            configuration.targetNodes().stream().mapToLong(Long::longValue).toArray(),
+            configuration.concurrency(),
+            Pools.DEFAULT
+        );
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.linkprediction;
+
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.HugeGraphUtil;
+import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.impl.linkprediction.LinkPrediction;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+import org.neo4j.values.storable.NumberType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+
+public class LinkPredictionMutateProc extends LinkPredictionBaseProc<LinkPredictionMutateConfig> {
+
+    @Procedure(name = "gds.alpha.linkprediction.mutate", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<MutateResult> mutate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        ComputationResult<LinkPrediction, LinkPrediction, LinkPredictionMutateConfig> computationResult = compute(
+            graphNameOrConfig,
+            configuration,
+            true,
+            false
+        );
+        LinkPredictionMutateConfig config = computationResult.config();
+        Graph graph = computationResult.graph();
+
+        if (computationResult.isGraphEmpty()) {
+            graph.releaseTopology();
+            return Stream.of(new MutateResult(computationResult.createMillis(), 0, 0, 0, config.toMapWithoutPairs()));
+        }
+
+        GraphStore graphStore = computationResult.graphStore();
+        HugeGraphUtil.RelationshipsBuilder relationshipsBuilder = new HugeGraphUtil.RelationshipsBuilder(
+            graphStore.nodes(),
+            Orientation.NATURAL,
+            true,
+            Aggregation.NONE,
+            Pools.DEFAULT,
+            computationResult.tracker()
+        );
+
+        List<HugeGraphUtil.RelationshipsBuilder.LocalBuilder> localBuilders = new ArrayList<>();
+        AtomicLong scoreMillis = new AtomicLong();
+        long relationshipCount;
+        try (ProgressTimer ignored = ProgressTimer.start(scoreMillis::set)) {
+            relationshipCount = computationResult.result().forEachPair(() -> {
+                HugeGraphUtil.RelationshipsBuilder.LocalBuilder localBuilder = relationshipsBuilder.localBuilder();
+                localBuilders.add(localBuilder);
+                return (sourceNodeId, targetNodeId, score) -> {
+                    localBuilder.add(graph.toOriginalNodeId(sourceNodeId), graph.toOriginalNodeId(targetNodeId), score);
+                    return true;
+                };
+            });
+            localBuilders.forEach(HugeGraphUtil.RelationshipsBuilder.LocalBuilder::flush);
+        }
+        graph.releaseTopology();
+
+        AtomicLong mutateMillis = new AtomicLong();
+        try (ProgressTimer ignored = ProgressTimer.start(mutateMillis::set)) {
+            graphStore.addRelationshipType(
+                RelationshipType.of(config.mutateRelationshipType()),
+                Optional.of(config.mutateProperty()),
+                Optional.of(NumberType.FLOATING_POINT),
+                relationshipsBuilder.build()
+            );
+        }
+
+        return Stream.of(new MutateResult(
+            computationResult.createMillis(),
+            computationResult.computeMillis() + scoreMillis.get(),
+            mutateMillis.get(),
+            relationshipCount,
+            config.toMapWithoutPairs()
+        ));
+    }
+
+    @Override
+    protected LinkPredictionMutateConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return LinkPredictionMutateConfig.of(graphName, maybeImplicitCreate, username, config);
+    }
+
+    public static final class MutateResult {
+        public final long createMillis;
+        public final long computeMillis;
+        public final long mutateMillis;
+        public final long relationshipsWritten;
+        public final Map<String, Object> configuration;
+
+        MutateResult(
+            long createMillis,
+            long computeMillis,
+            long mutateMillis,
+            long relationshipsWritten,
+            Map<String, Object> configuration
+        ) {
+            this.createMillis = createMillis;
+            this.computeMillis = computeMillis;
+            this.mutateMillis = mutateMillis;
+            this.relationshipsWritten = relationshipsWritten;
+            this.configuration = configuration;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.linkprediction;
+
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.HugeGraphUtil;
+import org.neo4j.graphalgo.core.loading.IdMap;
+import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.core.write.RelationshipExporter;
+import org.neo4j.graphalgo.impl.linkprediction.LinkPrediction;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.WRITE;
+
+public class LinkPredictionWriteProc extends LinkPredictionBaseProc<LinkPredictionWriteConfig> {
+
+    @Procedure(name = "gds.alpha.linkprediction.write", mode = WRITE)
+    @Description(DESCRIPTION)
+    public Stream<WriteResult> write(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        ComputationResult<LinkPrediction, LinkPrediction, LinkPredictionWriteConfig> computationResult = compute(
+            graphNameOrConfig,
+            configuration,
+            true,
+            false
+        );
+        LinkPredictionWriteConfig config = computationResult.config();
+        Graph graph = computationResult.graph();
+
+        if (computationResult.isGraphEmpty()) {
+            graph.releaseTopology();
+            return Stream.of(new WriteResult(computationResult.createMillis(), 0, 0, 0, config.toMapWithoutPairs()));
+        }
+
+        if (!(graph.nodeMapping() instanceof IdMap)) {
+            throw new IllegalArgumentException("Base graph must contain an IdMap.");
+        }
+        IdMap idMap = (IdMap) graph.nodeMapping();
+        HugeGraphUtil.RelationshipsBuilder relationshipsBuilder = HugeGraphUtil.createRelImporter(
+            idMap,
+            Orientation.NATURAL,
+            true,
+            Aggregation.NONE,
+            Pools.DEFAULT,
+            computationResult.tracker()
+        );
+
+        LinkPrediction linkPrediction = computationResult.result();
+        List<HugeGraphUtil.RelationshipsBuilder.LocalBuilder> localBuilders = new ArrayList<>();
+        AtomicLong scoreMillis = new AtomicLong();
+        long relationshipCount;
+        try (ProgressTimer ignored = ProgressTimer.start(scoreMillis::set)) {
+            relationshipCount = linkPrediction.forEachPair(() -> {
+                HugeGraphUtil.RelationshipsBuilder.LocalBuilder localBuilder = relationshipsBuilder.localBuilder();
+                localBuilders.add(localBuilder);
+                return (sourceNodeId, targetNodeId, score) -> {
+                    localBuilder.addFromInternal(sourceNodeId, targetNodeId, score);
+                    return true;
+                };
+            });
+            localBuilders.forEach(HugeGraphUtil.RelationshipsBuilder.LocalBuilder::flush);
+        }
+        graph.releaseTopology();
+
+        AtomicLong writeMillis = new AtomicLong();
+        if (relationshipCount > 0) {
+            try (ProgressTimer ignored = ProgressTimer.start(writeMillis::set)) {
+                Graph scoreGraph = HugeGraphUtil.create(idMap, relationshipsBuilder.build(), computationResult.tracker());
+                RelationshipExporter
+                    .of(api, scoreGraph, linkPrediction.getTerminationFlag())
+                    .withLog(log)
+                    .build()
+                    .write(config.writeRelationshipType(), config.writeProperty());
+            }
+        }
+
+        return Stream.of(new WriteResult(
+            computationResult.createMillis(),
+            computationResult.computeMillis() + scoreMillis.get(),
+            writeMillis.get(),
+            relationshipCount,
+            config.toMapWithoutPairs()
+        ));
+    }
+
+    @Override
+    protected LinkPredictionWriteConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return LinkPredictionWriteConfig.of(graphName, maybeImplicitCreate, username, config);
+    }
+
+    public static final class WriteResult {
+        public final long createMillis;
+        public final long computeMillis;
+        public final long writeMillis;
+        public final long relationshipsWritten;
+        public final Map<String, Object> configuration;
+
+        WriteResult(
+            long createMillis,
+            long computeMillis,
+            long writeMillis,
+            long relationshipsWritten,
+            Map<String, Object> configuration
+        ) {
+            this.createMillis = createMillis;
+            this.computeMillis = computeMillis;
+            this.writeMillis = writeMillis;
+            this.relationshipsWritten = relationshipsWritten;
+            this.configuration = configuration;
+        }
+    }
+}
@@ -32,6 +32,7 @@ import org.neo4j.graphalgo.core.utils.TerminationFlag;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
 import org.neo4j.graphalgo.core.write.NodePropertyExporter;
+import org.neo4j.graphalgo.impl.scc.MultiStepScc;
 import org.neo4j.graphalgo.impl.scc.SccAlgorithm;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.result.AbstractCommunityResultBuilder;
@@ -50,7 +51,7 @@ import java.util.stream.Stream;
 import static org.neo4j.procedure.Mode.READ;
 import static org.neo4j.procedure.Mode.WRITE;
 
-public class SccProc extends AlgoBaseProc<SccAlgorithm, HugeLongArray, SccConfig> {
+public class SccProc extends AlgoBaseProc<MultiStepScc, HugeLongArray, SccConfig> {
 
     private static final String DESCRIPTION =
         "The SCC algorithm finds sets of connected nodes in an directed graph, " +
@@ -62,9 +63,9 @@ public class SccProc extends AlgoBaseProc<SccAlgorithm, HugeLongArray, SccConfig
         @Name(value = "graphName") Object graphNameOrConfig,
         @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
     ) {
-        ComputationResult<SccAlgorithm, HugeLongArray, SccConfig> computationResult = compute(graphNameOrConfig, configuration);
+        ComputationResult<MultiStepScc, HugeLongArray, SccConfig> computationResult = compute(graphNameOrConfig, configuration);
 
-        SccAlgorithm algorithm = computationResult.algorithm();
+        MultiStepScc algorithm = computationResult.algorithm();
         HugeLongArray components = computationResult.result();
         SccConfig config = computationResult.config();
         AllocationTracker tracker = computationResult.tracker();
@@ -114,7 +115,7 @@ public class SccProc extends AlgoBaseProc<SccAlgorithm, HugeLongArray, SccConfig
         @Name(value = "graphName") Object graphNameOrConfig,
         @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
     ) {
-        ComputationResult<SccAlgorithm, HugeLongArray, SccConfig> computationResult = compute(graphNameOrConfig, configuration);
+        ComputationResult<MultiStepScc, HugeLongArray, SccConfig> computationResult = compute(graphNameOrConfig, configuration);
 
         AllocationTracker tracker = computationResult.tracker();
         Graph graph = computationResult.graph();
@@ -144,9 +145,9 @@ public class SccProc extends AlgoBaseProc<SccAlgorithm, HugeLongArray, SccConfig
     }
 
     @Override
-    protected AlgorithmFactory<SccAlgorithm, SccConfig> algorithmFactory() {
-        return (AlphaAlgorithmFactory<SccAlgorithm, SccConfig>) (graph, configuration, tracker, log) ->
-            new SccAlgorithm(graph, tracker)
+    protected AlgorithmFactory<MultiStepScc, SccConfig> algorithmFactory() {
+        return (AlphaAlgorithmFactory<MultiStepScc, SccConfig>) (graph, configuration, tracker, log) ->
+            new MultiStepScc(graph, configuration.concurrency(), Pools.DEFAULT, tracker)
                 .withTerminationFlag(TerminationFlag.wrap(transaction));
     }
 
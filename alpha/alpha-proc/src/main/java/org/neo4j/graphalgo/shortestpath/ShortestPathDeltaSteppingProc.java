@@ -28,8 +28,8 @@ import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.ProgressTimer;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeAtomicDoubleArray;
 import org.neo4j.graphalgo.core.write.NodePropertyExporter;
-import org.neo4j.graphalgo.core.write.Translators;
 import org.neo4j.graphalgo.impl.ShortestPathDeltaStepping;
 import org.neo4j.graphalgo.result.AbstractResultBuilder;
 import org.neo4j.graphalgo.results.DeltaSteppingProcResult;
@@ -113,7 +113,7 @@ public class ShortestPathDeltaSteppingProc extends AlgoBaseProc<ShortestPathDelt
                 .write(
                     config.writeProperty(),
                     algorithm.getShortestPaths(),
-                    Translators.DOUBLE_ARRAY_TRANSLATOR
+                    HugeAtomicDoubleArray.Translator.INSTANCE
                 );
         }
 
@@ -137,8 +137,11 @@ public class ShortestPathDeltaSteppingProc extends AlgoBaseProc<ShortestPathDelt
             return new ShortestPathDeltaStepping(
                 graph,
                 configuration.startNode(),
-                configuration.delta()
-            );
+                configuration.delta(),
+                tracker
+            )
+                .withExecutorService(Pools.DEFAULT)
+                .withConcurrency(configuration.concurrency());
         };
     }
 }
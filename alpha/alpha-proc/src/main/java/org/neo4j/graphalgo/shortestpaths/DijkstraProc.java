@@ -19,7 +19,7 @@
  */
 package org.neo4j.graphalgo.shortestpaths;
 
-import com.carrotsearch.hppc.IntArrayDeque;
+import com.carrotsearch.hppc.LongArrayDeque;
 import org.neo4j.graphalgo.AlgoBaseProc;
 import org.neo4j.graphalgo.AlgorithmFactory;
 import org.neo4j.graphalgo.AlphaAlgorithmFactory;
@@ -100,7 +100,7 @@ public class DijkstraProc extends AlgoBaseProc<ShortestPathDijkstra, ShortestPat
                .withTotalCosts(dijkstra.getTotalCost());
 
         try (ProgressTimer ignore = ProgressTimer.start(builder::withWriteMillis)) {
-            final IntArrayDeque finalPath = dijkstra.getFinalPath();
+            final LongArrayDeque finalPath = dijkstra.getFinalPath();
             final double[] finalPathCost = dijkstra.getFinalPathCosts();
             dijkstra.release();
 
@@ -134,17 +134,17 @@ public class DijkstraProc extends AlgoBaseProc<ShortestPathDijkstra, ShortestPat
         return (AlphaAlgorithmFactory<ShortestPathDijkstra, DijkstraConfig>) (graph, configuration, tracker, log) -> {
             validateStartNode(configuration.startNode(), graph);
             validateEndNode(configuration.endNode(), graph);
-            return new ShortestPathDijkstra(graph, configuration);
+            return new ShortestPathDijkstra(graph, configuration, tracker);
         };
     }
 
     private static final class DequeMapping implements IdMapping {
         private final IdMapping mapping;
-        private final int[] data;
+        private final long[] data;
         private final int offset;
         private final int length;
 
-        private DequeMapping(IdMapping mapping, IntArrayDeque data) {
+        private DequeMapping(IdMapping mapping, LongArrayDeque data) {
             this.mapping = mapping;
             if (data.head <= data.tail) {
                 this.data = data.buffer;
@@ -201,7 +201,10 @@ public class KShortestPathsProc extends AlgoBaseProc<YensKShortestPaths, YensKSh
                 configuration.startNode(),
                 configuration.endNode(),
                 configuration.k(),
-                configuration.maxDepth()
+                configuration.maxDepth(),
+                configuration.concurrency(),
+                Pools.DEFAULT,
+                tracker
             );
         };
     }
@@ -20,6 +20,7 @@
 package org.neo4j.graphalgo.shortestpaths;
 
 import org.immutables.value.Value;
+import org.jetbrains.annotations.Nullable;
 import org.neo4j.graphalgo.annotation.Configuration;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.config.AlgoBaseConfig;
@@ -44,6 +45,16 @@ public interface ShortestPathAStarConfig extends
         return "longitude";
     }
 
+    /**
+     * Prefix of the landmark distance properties written by {@code gds.alpha.shortestPath.landmarks.mutate}.
+     * If set, the landmark lower bound is used instead of the haversine distance.
+     */
+    @Value.Default
+    @Configuration.ConvertWith("org.apache.commons.lang3.StringUtils#trimToNull")
+    default @Nullable String landmarkProperty() {
+        return null;
+    }
+
     @Configuration.ConvertWith("nodeId")
     @Configuration.Key("startNode")
     long startNodeId();
@@ -26,6 +26,7 @@ import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.impl.shortestpaths.Landmarks;
 import org.neo4j.graphalgo.impl.shortestpaths.ShortestPathAStar;
 import org.neo4j.logging.Log;
 import org.neo4j.procedure.Description;
@@ -82,12 +83,17 @@ public class ShortestPathAStarProc extends AlgoBaseProc<ShortestPathAStar, Short
         return (AlphaAlgorithmFactory<ShortestPathAStar, ShortestPathAStarConfig>) (graph, configuration, tracker, log) -> {
             validateStartNode(configuration.startNodeId(), graph);
             validateEndNode(configuration.endNodeId(), graph);
+            ShortestPathAStar.Heuristic heuristic = configuration.landmarkProperty() == null
+                ? ShortestPathAStar.haversine(
+                    graph.nodeProperties(configuration.propertyKeyLat()),
+                    graph.nodeProperties(configuration.propertyKeyLon())
+                )
+                : Landmarks.heuristic(graph, configuration.landmarkProperty());
             return new ShortestPathAStar(
                 graph,
                 configuration.startNodeId(),
                 configuration.endNodeId(),
-                graph.nodeProperties(configuration.propertyKeyLat()),
-                graph.nodeProperties(configuration.propertyKeyLon())
+                heuristic
             );
         };
     }
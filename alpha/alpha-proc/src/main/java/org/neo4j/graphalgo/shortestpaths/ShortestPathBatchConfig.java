@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.shortestpaths;
+
+import org.immutables.value.Value;
+import org.neo4j.graphalgo.annotation.Configuration;
+import org.neo4j.graphalgo.annotation.ValueClass;
+import org.neo4j.graphalgo.config.AlgoBaseConfig;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.config.RelationshipWeightConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+@ValueClass
+@Configuration
+@SuppressWarnings("immutables:subtype")
+public interface ShortestPathBatchConfig extends AlgoBaseConfig, RelationshipWeightConfig {
+
+    /**
+     * Source node of each pair, the i-th source node belongs to the i-th target node.
+     */
+    List<Long> sourceNodes();
+
+    /**
+     * Target node of each pair, the i-th target node belongs to the i-th source node.
+     */
+    List<Long> targetNodes();
+
+    @Value.Default
+    default boolean path() {
+        return false;
+    }
+
+    @Value.Check
+    default void validate() {
+        if (sourceNodes().size() != targetNodes().size()) {
+            throw new IllegalArgumentException(formatWithLocale(
+                "`sourceNodes` and `targetNodes` must have the same length, but got %d and %d",
+                sourceNodes().size(),
+                targetNodes().size()
+            ));
+        }
+    }
+
+    static ShortestPathBatchConfig of(
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> implicitCreateConfig,
+        String username,
+        CypherMapWrapper userInput
+    ) {
+        return new ShortestPathBatchConfigImpl(graphName, implicitCreateConfig, username, userInput);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.shortestpaths;
+
+import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.AlphaAlgorithmFactory;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.impl.shortestpaths.ShortestPathBatch;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.utils.InputNodeValidator.validateSourceNode;
+import static org.neo4j.graphalgo.utils.InputNodeValidator.validateTargetNode;
+import static org.neo4j.procedure.Mode.READ;
+
+public class ShortestPathBatchProc extends AlgoBaseProc<ShortestPathBatch, ShortestPathBatch, ShortestPathBatchConfig> {
+
+    private static final String DESCRIPTION =
+        "Computes the shortest (weighted) paths for many pairs of source and target nodes, " +
+        "running a single search per distinct source node.";
+
+    @Procedure(name = "gds.alpha.shortestPath.batch.stream", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<ShortestPathBatch.Result> stream(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        ComputationResult<ShortestPathBatch, ShortestPathBatch, ShortestPathBatchConfig> computationResult = compute(
+            graphNameOrConfig,
+            configuration
+        );
+        if (computationResult.isGraphEmpty()) {
+            return Stream.empty();
+        }
+        return computationResult.result().resultStream();
+    }
+
+    @Override
+    protected ShortestPathBatchConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return ShortestPathBatchConfig.of(graphName, maybeImplicitCreate, username, config);
+    }
+
+    @Override
+    protected AlgorithmFactory<ShortestPathBatch, ShortestPathBatchConfig> algorithmFactory() {
+        return (AlphaAlgorithmFactory<ShortestPathBatch, ShortestPathBatchConfig>) (graph, configuration, tracker, log) -> {
+            long[] sourceNodes = configuration.sourceNodes().stream().mapToLong(Long::longValue).toArray();
+            long[] targetNodes = configuration.targetNodes().stream().mapToLong(Long::longValue).toArray();
+            for (long sourceNode : sourceNodes) {
+                validateSourceNode(sourceNode, graph);
+            }
+            for (long targetNode : targetNodes) {
+                validateTargetNode(targetNode, graph);
+            }
+            return new ShortestPathBatch(
+                graph,
+                sourceNodes,
+                targetNodes,
+                configuration.path(),
+                configuration.concurrency(),
+                Pools.DEFAULT,
+                tracker
+            );
+        };
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.shortestpaths;
+
+import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.AlphaAlgorithmFactory;
+import org.neo4j.graphalgo.NodeLabel;
+import org.neo4j.graphalgo.PropertyMapping;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.api.NodeProperties;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.huge.NodeFilteredGraph;
+import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.impl.shortestpaths.Landmarks;
+import org.neo4j.graphalgo.result.AbstractResultBuilder;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+import org.neo4j.values.storable.NumberType;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+
+public class ShortestPathLandmarksProc extends AlgoBaseProc<Landmarks, Landmarks, ShortestPathLandmarksConfig> {
+
+    private static final String DESCRIPTION =
+        "Computes distances from and to landmark nodes, which A* can use as a lower bound on non-spatial graphs.";
+
+    @Procedure(value = "gds.alpha.shortestPath.landmarks.mutate", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<MutateResult> mutate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        ComputationResult<Landmarks, Landmarks, ShortestPathLandmarksConfig> computationResult = compute(
+            graphNameOrConfig,
+            configuration
+        );
+
+        ShortestPathLandmarksConfig config = computationResult.config();
+        Graph graph = computationResult.graph();
+        MutateResult.Builder builder = new MutateResult.Builder();
+        builder
+            .withCreateMillis(computationResult.createMillis())
+            .withComputeMillis(computationResult.computeMillis())
+            .withNodeCount(graph.nodeCount())
+            .withConfig(config);
+
+        if (computationResult.isGraphEmpty()) {
+            return Stream.of(builder.build());
+        }
+
+        Landmarks landmarks = computationResult.result();
+        GraphStore graphStore = computationResult.graphStore();
+        int landmarkCount = landmarks.landmarks().length;
+        try (ProgressTimer ignored = ProgressTimer.start(builder::withMutateMillis)) {
+            for (NodeLabel label : config.nodeLabelIdentifiers(graphStore)) {
+                for (int i = 0; i < landmarkCount; i++) {
+                    graphStore.addNodeProperty(
+                        label,
+                        Landmarks.fromLandmarkProperty(config.mutateProperty(), i),
+                        NumberType.FLOATING_POINT,
+                        nodeProperties(landmarks.distancesFrom(i), graph)
+                    );
+                    graphStore.addNodeProperty(
+                        label,
+                        Landmarks.toLandmarkProperty(config.mutateProperty(), i),
+                        NumberType.FLOATING_POINT,
+                        nodeProperties(landmarks.distancesTo(i), graph)
+                    );
+                }
+            }
+            builder.withNodePropertiesWritten(2L * landmarkCount * graph.nodeCount());
+        }
+        builder.withLandmarkCount(landmarkCount);
+
+        return Stream.of(builder.build());
+    }
+
+    private static NodeProperties nodeProperties(HugeDoubleArray distances, Graph graph) {
+        if (graph instanceof NodeFilteredGraph) {
+            NodeFilteredGraph filteredGraph = (NodeFilteredGraph) graph;
+            return new NodeProperties() {
+                @Override
+                public double nodeProperty(long nodeId) {
+                    return filteredGraph.contains(nodeId)
+                        ? distances.get(filteredGraph.getMappedNodeId(nodeId))
+                        : PropertyMapping.DEFAULT_FALLBACK_VALUE;
+                }
+
+                @Override
+                public long size() {
+                    return graph.nodeCount();
+                }
+            };
+        }
+        return new NodeProperties() {
+            @Override
+            public double nodeProperty(long nodeId) {
+                return distances.get(nodeId);
+            }
+
+            @Override
+            public long size() {
+                return graph.nodeCount();
+            }
+        };
+    }
+
+    @Override
+    protected ShortestPathLandmarksConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return ShortestPathLandmarksConfig.of(username, graphName, maybeImplicitCreate, config);
+    }
+
+    @Override
+    protected AlgorithmFactory<Landmarks, ShortestPathLandmarksConfig> algorithmFactory() {
+        return (AlphaAlgorithmFactory<Landmarks, ShortestPathLandmarksConfig>) (graph, configuration, tracker, log) ->
+            new Landmarks(
+                graph,
+                configuration.landmarkCount(),
+                1.0D,
+                configuration.concurrency(),
+                Pools.DEFAULT,
+                tracker
+            );
+    }
+
+    public static final class MutateResult {
+
+        public final long nodePropertiesWritten;
+        public final long landmarkCount;
+        public final long createMillis;
+        public final long computeMillis;
+        public final long mutateMillis;
+        public final Map<String, Object> configuration;
+
+        MutateResult(
+            long nodePropertiesWritten,
+            long landmarkCount,
+            long createMillis,
+            long computeMillis,
+            long mutateMillis,
+            Map<String, Object> configuration
+        ) {
+            this.nodePropertiesWritten = nodePropertiesWritten;
+            this.landmarkCount = landmarkCount;
+            this.createMillis = createMillis;
+            this.computeMillis = computeMillis;
+            this.mutateMillis = mutateMillis;
+            this.configuration = configuration;
+        }
+
+        static final class Builder extends AbstractResultBuilder<MutateResult> {
+
+            private long landmarkCount;
+
+            Builder withLandmarkCount(long landmarkCount) {
+                this.landmarkCount = landmarkCount;
+                return this;
+            }
+
+            @Override
+            public MutateResult build() {
+                return new MutateResult(
+                    nodePropertiesWritten,
+                    landmarkCount,
+                    createMillis,
+                    computeMillis,
+                    mutateMillis,
+                    config.toMap()
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity;
+
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.HugeGraphUtil;
+import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.impl.similarity.ApproxNearestNeighborsAlgorithm;
+import org.neo4j.graphalgo.impl.similarity.ApproximateNearestNeighborsMutateConfig;
+import org.neo4j.graphalgo.impl.similarity.ApproximateNearestNeighborsMutateConfigImpl;
+import org.neo4j.graphalgo.impl.similarity.SimilarityAlgorithmResult;
+import org.neo4j.graphalgo.impl.similarity.SimilarityInput;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+import org.neo4j.values.storable.NumberType;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+
+/**
+ * Builds the approximate k-nearest neighbours graph and stores it as a relationship type of the named graph,
+ * where it serves as the index for {@link ApproxNearestNeighborsQueryProc}.
+ */
+public class ApproxNearestNeighborsMutateProc extends NamedGraphSimilarityProc<ApproxNearestNeighborsAlgorithm<SimilarityInput>, ApproximateNearestNeighborsMutateConfig> {
+
+    private static final String DESCRIPTION =
+        "Builds an approximate k-Nearest Neighbors graph from node properties " +
+        "and adds it to the named graph as a relationship type.";
+
+    @Procedure(name = "gds.alpha.ml.ann.mutate", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<MutateResult> mutate(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        if (!(graphNameOrConfig instanceof String)) {
+            throw new IllegalArgumentException("The approximate nearest neighbors graph can only be added to a named graph");
+        }
+
+        ComputationResult<ApproxNearestNeighborsAlgorithm<SimilarityInput>, SimilarityAlgorithmResult, ApproximateNearestNeighborsMutateConfig> computationResult = compute(
+            graphNameOrConfig,
+            configuration
+        );
+        ApproximateNearestNeighborsMutateConfig config = computationResult.config();
+        SimilarityAlgorithmResult result = computationResult.result();
+
+        if (computationResult.isGraphEmpty() || result.isEmpty()) {
+            return Stream.of(new MutateResult(
+                computationResult.createMillis(),
+                computationResult.computeMillis(),
+                0,
+                0,
+                0,
+                0,
+                config.toMap()
+            ));
+        }
+
+        AtomicLong mutateMillis = new AtomicLong();
+        AtomicLong relationshipsWritten = new AtomicLong();
+        try (ProgressTimer ignored = ProgressTimer.start(mutateMillis::set)) {
+            GraphStore graphStore = computationResult.graphStore();
+            HugeGraphUtil.RelationshipsBuilder relationshipsBuilder = new HugeGraphUtil.RelationshipsBuilder(
+                graphStore.nodes(),
+                Orientation.NATURAL,
+                true,
+                Aggregation.NONE,
+                Pools.DEFAULT,
+                computationResult.tracker()
+            );
+            result.stream().forEach(similarity -> {
+                relationshipsBuilder.add(similarity.item1, similarity.item2, similarity.similarity);
+                relationshipsWritten.incrementAndGet();
+            });
+            graphStore.addRelationshipType(
+                RelationshipType.of(config.mutateRelationshipType()),
+                Optional.of(config.mutateProperty()),
+                Optional.of(NumberType.FLOATING_POINT),
+                relationshipsBuilder.build()
+            );
+        }
+
+        return Stream.of(new MutateResult(
+            computationResult.createMillis(),
+            computationResult.computeMillis(),
+            mutateMillis.get(),
+            result.nodes(),
+            relationshipsWritten.get(),
+            computationResult.algorithm().iterations(),
+            config.toMap()
+        ));
+    }
+
+    @Override
+    protected ApproximateNearestNeighborsMutateConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return new ApproximateNearestNeighborsMutateConfigImpl(graphName, maybeImplicitCreate, username, config);
+    }
+
+    @Override
+    ApproxNearestNeighborsAlgorithm<SimilarityInput> newAlgo(ApproximateNearestNeighborsMutateConfig config) {
+        return ApproxNearestNeighborsProc.newAnnAlgo(config, null, api, log);
+    }
+
+    @Override
+    ApproxNearestNeighborsAlgorithm<SimilarityInput> newAlgo(Graph graph, ApproximateNearestNeighborsMutateConfig config) {
+        return ApproxNearestNeighborsProc.newAnnAlgo(config, graph, api, log);
+    }
+
+    public static final class MutateResult {
+        public final long createMillis;
+        public final long computeMillis;
+        public final long mutateMillis;
+        public final long nodes;
+        public final long relationshipsWritten;
+        public final long iterations;
+        public final Map<String, Object> configuration;
+
+        MutateResult(
+            long createMillis,
+            long computeMillis,
+            long mutateMillis,
+            long nodes,
+            long relationshipsWritten,
+            long iterations,
+            Map<String, Object> configuration
+        ) {
+            this.createMillis = createMillis;
+            this.computeMillis = computeMillis;
+            this.mutateMillis = mutateMillis;
+            this.nodes = nodes;
+            this.relationshipsWritten = relationshipsWritten;
+            this.iterations = iterations;
+            this.configuration = configuration;
+        }
+    }
+}
@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.similarity;
 
 import org.HdrHistogram.DoubleHistogram;
 import org.jetbrains.annotations.Nullable;
+import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.core.SecureTransaction;
@@ -48,6 +49,8 @@ import org.neo4j.graphalgo.impl.similarity.SimilarityInput;
 import org.neo4j.graphalgo.results.ApproxSimilaritySummaryResult;
 import org.neo4j.graphalgo.results.SimilarityExporter;
 import org.neo4j.graphalgo.results.SimilarityResult;
+import org.neo4j.kernel.internal.GraphDatabaseAPI;
+import org.neo4j.logging.Log;
 import org.neo4j.procedure.Description;
 import org.neo4j.procedure.Name;
 import org.neo4j.procedure.Procedure;
@@ -62,7 +65,7 @@ import static org.neo4j.graphalgo.core.ProcedureConstants.HISTOGRAM_PRECISION_DE
 import static org.neo4j.procedure.Mode.READ;
 import static org.neo4j.procedure.Mode.WRITE;
 
-public class ApproxNearestNeighborsProc extends SimilarityProc<ApproxNearestNeighborsAlgorithm<SimilarityInput>, ApproximateNearestNeighborsConfig> {
+public class ApproxNearestNeighborsProc extends NamedGraphSimilarityProc<ApproxNearestNeighborsAlgorithm<SimilarityInput>, ApproximateNearestNeighborsConfig> {
 
     private static final String DESCRIPTION =
         "The Approximate Nearest Neighbors algorithm constructs a k-Nearest Neighbors " +
@@ -100,8 +103,25 @@ public class ApproxNearestNeighborsProc extends SimilarityProc<ApproxNearestNeig
 
     @Override
     ApproxNearestNeighborsAlgorithm<SimilarityInput> newAlgo(ApproximateNearestNeighborsConfig config) {
+        return newAnnAlgo(config, null, api, log);
+    }
+
+    @Override
+    ApproxNearestNeighborsAlgorithm<SimilarityInput> newAlgo(Graph graph, ApproximateNearestNeighborsConfig config) {
+        return newAnnAlgo(config, graph, api, log);
+    }
+
+    /**
+     * @param graph if not {@code null}, the input vectors are read from this graph
+     */
+    static ApproxNearestNeighborsAlgorithm<SimilarityInput> newAnnAlgo(
+        ApproximateNearestNeighborsConfig config,
+        @Nullable Graph graph,
+        GraphDatabaseAPI api,
+        Log log
+    ) {
         SimilarityAlgorithm<?, SimilarityInput> similarity =
-            (SimilarityAlgorithm<?, SimilarityInput>) similarityAlgorithm(config);
+            (SimilarityAlgorithm<?, SimilarityInput>) similarityAlgorithm(config, graph, api);
         return new ApproxNearestNeighborsAlgorithm<>(
             config,
             similarity,
@@ -112,20 +132,28 @@ public class ApproxNearestNeighborsProc extends SimilarityProc<ApproxNearestNeig
         );
     }
 
-    SimilarityAlgorithm<?, ? extends SimilarityInput> similarityAlgorithm(ApproximateNearestNeighborsConfig config) {
+    private static SimilarityAlgorithm<?, ? extends SimilarityInput> similarityAlgorithm(
+        ApproximateNearestNeighborsConfig config,
+        @Nullable Graph graph,
+        GraphDatabaseAPI api
+    ) {
         switch (config.algorithm()) {
             case jaccard:
+                if (graph != null) {
+                    throw new IllegalArgumentException(
+                        "Named graphs are only supported for the cosine, pearson and euclidean algorithms");
+                }
                 JaccardConfig jaccardConfig = ImmutableJaccardConfig.builder().from(config).build();
                 return new JaccardAlgorithm(jaccardConfig, api);
             case cosine:
                 CosineConfig cosineConfig = ImmutableCosineConfig.builder().from(config).build();
-                return new CosineAlgorithm(cosineConfig, api);
+                return new CosineAlgorithm(cosineConfig, graph, api);
             case pearson:
                 PearsonConfig pearsonConfig = ImmutablePearsonConfig.builder().from(config).build();
-                return new PearsonAlgorithm(pearsonConfig, api);
+                return new PearsonAlgorithm(pearsonConfig, graph, api);
             case euclidean:
                 EuclideanConfig euclideanConfig = ImmutableEuclideanConfig.builder().from(config).build();
-                return new EuclideanAlgorithm(euclideanConfig, api);
+                return new EuclideanAlgorithm(euclideanConfig, graph, api);
             default:
                 throw new IllegalArgumentException("Unexpected value: " + config.algorithm() + " (sad java 😞)");
         }
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity;
+
+import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.AlphaAlgorithmFactory;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.impl.similarity.ApproxNearestNeighborsQuery;
+import org.neo4j.graphalgo.impl.similarity.ApproximateNearestNeighborsQueryConfig;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+
+public class ApproxNearestNeighborsQueryProc extends AlgoBaseProc<ApproxNearestNeighborsQuery, ApproxNearestNeighborsQuery, ApproximateNearestNeighborsQueryConfig> {
+
+    private static final String DESCRIPTION =
+        "Looks up the approximate nearest neighbors of query nodes or vectors " +
+        "in a k-Nearest Neighbors graph added by gds.alpha.ml.ann.mutate.";
+
+    @Procedure(name = "gds.alpha.ml.ann.query.stream", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<ApproxNearestNeighborsQuery.Result> stream(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        ComputationResult<ApproxNearestNeighborsQuery, ApproxNearestNeighborsQuery, ApproximateNearestNeighborsQueryConfig> computationResult = compute(
+            graphNameOrConfig,
+            configuration
+        );
+        if (computationResult.isGraphEmpty()) {
+            return Stream.empty();
+        }
+        return computationResult.result().resultStream();
+    }
+
+    @Override
+    protected ApproximateNearestNeighborsQueryConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return ApproximateNearestNeighborsQueryConfig.of(graphName, maybeImplicitCreate, username, config);
+    }
+
+    @Override
+    protected AlgorithmFactory<ApproxNearestNeighborsQuery, ApproximateNearestNeighborsQueryConfig> algorithmFactory() {
+        return (AlphaAlgorithmFactory<ApproxNearestNeighborsQuery, ApproximateNearestNeighborsQueryConfig>) (graph, configuration, tracker, log) -> {
+            long[] queryNodes = configuration.queryNodeIds().stream().mapToLong(Long::longValue).toArray();
+            List<List<Number>> vectors = configuration.queryVectors();
+            double[][] queryVectors = new double[vectors.size()][];
+            for (int i = 0; i < queryVectors.length; i++) {
+                queryVectors[i] = vectors.get(i).stream().mapToDouble(Number::doubleValue).toArray();
+            }
+            return new ApproxNearestNeighborsQuery(
+                graph,
+                configuration.nodeProperties(),
+                configuration.algorithm(),
+                queryNodes,
+                queryVectors,
+                configuration.topK(),
+                configuration.searchWidth(),
+                configuration.entryPoints(),
+                configuration.randomSeed(),
+                configuration.concurrency(),
+                Pools.DEFAULT
+            );
+        };
+    }
+}
@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.similarity;
 
+import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.impl.similarity.CosineAlgorithm;
@@ -38,7 +39,7 @@ import java.util.stream.Stream;
 import static org.neo4j.procedure.Mode.READ;
 import static org.neo4j.procedure.Mode.WRITE;
 
-public class CosineProc extends SimilarityProc<CosineAlgorithm, CosineConfig> {
+public class CosineProc extends NamedGraphSimilarityProc<CosineAlgorithm, CosineConfig> {
 
     private static final String DESCRIPTION = "Cosine-similarity is an algorithm for finding similar nodes based on the cosine similarity metric.";
 
@@ -83,4 +84,9 @@ public class CosineProc extends SimilarityProc<CosineAlgorithm, CosineConfig> {
     CosineAlgorithm newAlgo(CosineConfig config) {
         return new CosineAlgorithm(config, api);
     }
+
+    @Override
+    CosineAlgorithm newAlgo(Graph graph, CosineConfig config) {
+        return new CosineAlgorithm(config, graph, api);
+    }
 }
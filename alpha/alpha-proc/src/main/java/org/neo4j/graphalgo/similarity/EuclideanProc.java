@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.similarity;
 
+import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.impl.similarity.EuclideanAlgorithm;
@@ -38,7 +39,7 @@ import java.util.stream.Stream;
 import static org.neo4j.procedure.Mode.READ;
 import static org.neo4j.procedure.Mode.WRITE;
 
-public class EuclideanProc extends SimilarityProc<EuclideanAlgorithm, EuclideanConfig> {
+public class EuclideanProc extends NamedGraphSimilarityProc<EuclideanAlgorithm, EuclideanConfig> {
 
     private static final String DESCRIPTION = "Euclidean-similarity is an algorithm for finding similar nodes based on the euclidean distance.";
 
@@ -83,4 +84,9 @@ public class EuclideanProc extends SimilarityProc<EuclideanAlgorithm, EuclideanC
     EuclideanAlgorithm newAlgo(EuclideanConfig config) {
         return new EuclideanAlgorithm(config, api);
     }
+
+    @Override
+    EuclideanAlgorithm newAlgo(Graph graph, EuclideanConfig config) {
+        return new EuclideanAlgorithm(config, graph, api);
+    }
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.impl.similarity.SimilarityAlgorithm;
+import org.neo4j.graphalgo.impl.similarity.SimilarityConfig;
+
+/**
+ * Similarity procedures which accept a named graph besides the anonymous syntax.
+ * The input vectors are then read from the node properties of the graph.
+ */
+abstract class NamedGraphSimilarityProc
+    <ALGO extends SimilarityAlgorithm<ALGO, ?>, CONFIG extends SimilarityConfig>
+    extends SimilarityProc<ALGO, CONFIG> {
+
+    /**
+     * Creates the algorithm reading its input from the given named graph.
+     */
+    abstract ALGO newAlgo(Graph graph, CONFIG config);
+
+    @Override
+    final boolean supportsNamedGraphs() {
+        return true;
+    }
+
+    @Override
+    final ALGO buildAlgo(Graph graph, CONFIG config, boolean anonymous) {
+        return anonymous
+            ? super.buildAlgo(graph, config, true)
+            : newAlgo(graph, config);
+    }
+}
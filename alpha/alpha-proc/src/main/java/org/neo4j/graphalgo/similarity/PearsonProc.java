@@ -19,6 +19,7 @@
  */
 package org.neo4j.graphalgo.similarity;
 
+import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.impl.similarity.PearsonAlgorithm;
@@ -38,7 +39,7 @@ import java.util.stream.Stream;
 import static org.neo4j.procedure.Mode.READ;
 import static org.neo4j.procedure.Mode.WRITE;
 
-public final class PearsonProc extends SimilarityProc<PearsonAlgorithm, PearsonConfig> {
+public final class PearsonProc extends NamedGraphSimilarityProc<PearsonAlgorithm, PearsonConfig> {
 
     private static final String DESCRIPTION =
         "Pearson-similarity is an algorithm for finding similar nodes " +
@@ -85,4 +86,9 @@ public final class PearsonProc extends SimilarityProc<PearsonAlgorithm, PearsonC
     PearsonAlgorithm newAlgo(PearsonConfig config) {
         return new PearsonAlgorithm(config, api);
     }
+
+    @Override
+    PearsonAlgorithm newAlgo(Graph graph, PearsonConfig config) {
+        return new PearsonAlgorithm(config, graph, api);
+    }
 }
@@ -70,6 +70,10 @@ abstract class SimilarityProc
             configuration
         );
 
+        if (compute.isGraphEmpty()) {
+            return Stream.empty();
+        }
+
         SimilarityAlgorithmResult result = compute.result();
         assert result != null;
 
@@ -86,6 +90,10 @@ abstract class SimilarityProc
         );
 
         CONFIG config = compute.config();
+        if (compute.isGraphEmpty()) {
+            return emptyStream(config.writeRelationshipType(), config.writeProperty());
+        }
+
         SimilarityAlgorithmResult result = compute.result();
         assert result != null;
 
@@ -106,9 +114,8 @@ abstract class SimilarityProc
         );
 
         SimilarityAlgorithmResult result = compute.result();
-        assert result != null;
 
-        if (result.isEmpty()) {
+        if (compute.isGraphEmpty() || result.isEmpty()) {
             return Stream.of(SimilarityStatsResult.from(
                 0,
                 0,
@@ -136,21 +143,37 @@ abstract class SimilarityProc
     }
     abstract ALGO newAlgo(CONFIG config);
 
-    @Override
-    protected final AlgorithmFactory<ALGO, CONFIG> algorithmFactory() {
-        return (AlphaAlgorithmFactory<ALGO, CONFIG>) (graph, configuration, tracker, log) -> {
-            removeGraph();
-            return newAlgo(configuration);
-        };
+    /**
+     * Whether the algorithm can read its input from a named graph, see {@link NamedGraphSimilarityProc}.
+     */
+    boolean supportsNamedGraphs() {
+        return false;
     }
 
+    /**
+     * Creates the algorithm for the given graph, which is the fake graph of the anonymous syntax
+     * unless {@link #supportsNamedGraphs()}.
+     */
+    ALGO buildAlgo(Graph graph, CONFIG config, boolean anonymous) {
+        removeGraph();
+        return newAlgo(config);
+    }
 
+    @Override
+    protected final AlgorithmFactory<ALGO, CONFIG> algorithmFactory() {
+        return (AlphaAlgorithmFactory<ALGO, CONFIG>) (graph, configuration, tracker, log) ->
+            buildAlgo(graph, configuration, isAnonymous(configuration));
+    }
 
     // Alpha similarities don't play well with the API, so we must hook in here and hack graph creation
     @Override
     protected Pair<CONFIG, Optional<String>> processInput(Object graphNameOrConfig, Map<String, Object> configuration) {
         if (graphNameOrConfig instanceof String) {
-            throw new IllegalArgumentException("Similarity algorithms do not support named graphs");
+            // Named graphs are only supported by algorithms that can read their input vectors from the graph
+            if (!supportsNamedGraphs() || SIMILARITY_FAKE_GRAPH_NAME.equals(graphNameOrConfig)) {
+                throw new IllegalArgumentException("Similarity algorithms do not support named graphs");
+            }
+            return super.processInput(graphNameOrConfig, configuration);
         } else if (graphNameOrConfig instanceof Map) {
             // User is doing the only supported thing: anonymous syntax
 
@@ -188,6 +211,10 @@ abstract class SimilarityProc
         }
     }
 
+    private boolean isAnonymous(CONFIG config) {
+        return config.graphName().map(SIMILARITY_FAKE_GRAPH_NAME::equals).orElse(false);
+    }
+
     private void removeGraph() {
         GraphStoreCatalog.remove(username(), databaseId(), SIMILARITY_FAKE_GRAPH_NAME, (gsc) -> {});
     }
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.spanningtree;
+
+import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.AlphaAlgorithmFactory;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.impl.spanningTrees.Boruvka;
+import org.neo4j.graphalgo.impl.spanningTrees.Prim;
+import org.neo4j.graphalgo.impl.spanningTrees.SpanningForest;
+
+import java.util.function.DoubleUnaryOperator;
+
+public abstract class SpanningForestBaseProc<CONFIG extends SpanningForestBaseConfig> extends AlgoBaseProc<Boruvka, SpanningForest, CONFIG> {
+
+    static final String MIN_DESCRIPTION =
+        "Minimum weight spanning forest computes a spanning tree for every connected component of the graph, " +
+        "where the total weight of the relationships is minimized.";
+
+    static final String MAX_DESCRIPTION =
+        "Maximum weight spanning forest computes a spanning tree for every connected component of the graph, " +
+        "where the total weight of the relationships is maximized.";
+
+    DoubleUnaryOperator minMax = Prim.MIN_OPERATOR;
+
+    @Override
+    protected AlgorithmFactory<Boruvka, CONFIG> algorithmFactory() {
+        return (AlphaAlgorithmFactory<Boruvka, CONFIG>) (graph, configuration, tracker, log) -> new Boruvka(
+            graph,
+            minMax,
+            configuration.concurrency(),
+            Pools.DEFAULT,
+            tracker
+        );
+    }
+}
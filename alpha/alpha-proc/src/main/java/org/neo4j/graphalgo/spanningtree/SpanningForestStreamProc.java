@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.spanningtree;
+
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.impl.spanningTrees.Boruvka;
+import org.neo4j.graphalgo.impl.spanningTrees.Prim;
+import org.neo4j.graphalgo.impl.spanningTrees.SpanningForest;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.READ;
+
+public class SpanningForestStreamProc extends SpanningForestBaseProc<SpanningForestStreamConfig> {
+
+    @Procedure(value = "gds.alpha.spanningForest.minimum.stream", mode = READ)
+    @Description(MIN_DESCRIPTION)
+    public Stream<StreamResult> minimum(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        minMax = Prim.MIN_OPERATOR;
+        return stream(graphNameOrConfig, configuration);
+    }
+
+    @Procedure(value = "gds.alpha.spanningForest.maximum.stream", mode = READ)
+    @Description(MAX_DESCRIPTION)
+    public Stream<StreamResult> maximum(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        minMax = Prim.MAX_OPERATOR;
+        return stream(graphNameOrConfig, configuration);
+    }
+
+    private Stream<StreamResult> stream(Object graphNameOrConfig, Map<String, Object> configuration) {
+        ComputationResult<Boruvka, SpanningForest, SpanningForestStreamConfig> computationResult = compute(
+            graphNameOrConfig,
+            configuration
+        );
+        if (computationResult.isGraphEmpty()) {
+            return Stream.empty();
+        }
+
+        Graph graph = computationResult.graph();
+        SpanningForest forest = computationResult.result();
+        return LongStream.range(0, forest.relationshipCount()).mapToObj(index -> new StreamResult(
+            graph.toOriginalNodeId(forest.source(index)),
+            graph.toOriginalNodeId(forest.target(index)),
+            forest.weight(index)
+        ));
+    }
+
+    @Override
+    protected SpanningForestStreamConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return SpanningForestStreamConfig.of(graphName, maybeImplicitCreate, username, config);
+    }
+
+    public static final class StreamResult {
+        public final long sourceNodeId;
+        public final long targetNodeId;
+        public final double weight;
+
+        StreamResult(long sourceNodeId, long targetNodeId, double weight) {
+            this.sourceNodeId = sourceNodeId;
+            this.targetNodeId = targetNodeId;
+            this.weight = weight;
+        }
+    }
+}
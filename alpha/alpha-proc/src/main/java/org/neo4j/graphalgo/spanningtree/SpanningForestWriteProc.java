@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.spanningtree;
+
+import org.neo4j.graphalgo.Orientation;
+import org.neo4j.graphalgo.api.Graph;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.core.loading.HugeGraphUtil;
+import org.neo4j.graphalgo.core.loading.IdMap;
+import org.neo4j.graphalgo.core.utils.ProgressTimer;
+import org.neo4j.graphalgo.core.write.RelationshipExporter;
+import org.neo4j.graphalgo.impl.spanningTrees.Boruvka;
+import org.neo4j.graphalgo.impl.spanningTrees.Prim;
+import org.neo4j.graphalgo.impl.spanningTrees.SpanningForest;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.neo4j.procedure.Mode.WRITE;
+
+public class SpanningForestWriteProc extends SpanningForestBaseProc<SpanningForestWriteConfig> {
+
+    @Procedure(value = "gds.alpha.spanningForest.minimum.write", mode = WRITE)
+    @Description(MIN_DESCRIPTION)
+    public Stream<WriteResult> minimum(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        minMax = Prim.MIN_OPERATOR;
+        return write(graphNameOrConfig, configuration);
+    }
+
+    @Procedure(value = "gds.alpha.spanningForest.maximum.write", mode = WRITE)
+    @Description(MAX_DESCRIPTION)
+    public Stream<WriteResult> maximum(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        minMax = Prim.MAX_OPERATOR;
+        return write(graphNameOrConfig, configuration);
+    }
+
+    private Stream<WriteResult> write(Object graphNameOrConfig, Map<String, Object> configuration) {
+        ComputationResult<Boruvka, SpanningForest, SpanningForestWriteConfig> computationResult = compute(
+            graphNameOrConfig,
+            configuration
+        );
+        SpanningForestWriteConfig config = computationResult.config();
+
+        if (computationResult.isGraphEmpty()) {
+            return Stream.of(new WriteResult(computationResult.createMillis(), 0, 0, 0, 0, 0D, config.toMap()));
+        }
+
+        Graph graph = computationResult.graph();
+        SpanningForest forest = computationResult.result();
+        AtomicLong writeMillis = new AtomicLong();
+        if (forest.relationshipCount() > 0) {
+            try (ProgressTimer ignored = ProgressTimer.start(writeMillis::set)) {
+                RelationshipExporter
+                    .of(api, forestGraph(graph, forest, computationResult), computationResult.algorithm().getTerminationFlag())
+                    .withLog(log)
+                    .build()
+                    .write(config.writeRelationshipType(), config.writeProperty());
+            }
+        }
+
+        return Stream.of(new WriteResult(
+            computationResult.createMillis(),
+            computationResult.computeMillis(),
+            writeMillis.get(),
+            forest.relationshipCount(),
+            forest.componentCount(),
+            forest.totalWeight(),
+            config.toMap()
+        ));
+    }
+
+    private Graph forestGraph(
+        Graph graph,
+        SpanningForest forest,
+        ComputationResult<Boruvka, SpanningForest, SpanningForestWriteConfig> computationResult
+    ) {
+        if (!(graph.nodeMapping() instanceof IdMap)) {
+            throw new IllegalArgumentException("Base graph must contain an IdMap.");
+        }
+        IdMap idMap = (IdMap) graph.nodeMapping();
+        HugeGraphUtil.RelationshipsBuilder relationshipsBuilder = HugeGraphUtil.createRelImporter(
+            idMap,
+            Orientation.NATURAL,
+            true,
+            Aggregation.NONE,
+            Pools.DEFAULT,
+            computationResult.tracker()
+        );
+        forest.forEach((sourceNodeId, targetNodeId, weight) -> {
+            relationshipsBuilder.addFromInternal(sourceNodeId, targetNodeId, weight);
+            return true;
+        });
+        return HugeGraphUtil.create(idMap, relationshipsBuilder.build(), computationResult.tracker());
+    }
+
+    @Override
+    protected SpanningForestWriteConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper config
+    ) {
+        return SpanningForestWriteConfig.of(graphName, maybeImplicitCreate, username, config);
+    }
+
+    public static final class WriteResult {
+        public final long createMillis;
+        public final long computeMillis;
+        public final long writeMillis;
+        public final long relationshipsWritten;
+        public final long componentCount;
+        public final double totalWeight;
+        public final Map<String, Object> configuration;
+
+        WriteResult(
+            long createMillis,
+            long computeMillis,
+            long writeMillis,
+            long relationshipsWritten,
+            long componentCount,
+            double totalWeight,
+            Map<String, Object> configuration
+        ) {
+            this.createMillis = createMillis;
+            this.computeMillis = computeMillis;
+            this.writeMillis = writeMillis;
+            this.relationshipsWritten = relationshipsWritten;
+            this.componentCount = componentCount;
+            this.totalWeight = totalWeight;
+            this.configuration = configuration;
+        }
+    }
+}
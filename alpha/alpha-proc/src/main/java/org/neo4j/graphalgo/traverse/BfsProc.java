@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.traverse;
+
+import org.neo4j.graphalgo.AlgoBaseProc;
+import org.neo4j.graphalgo.AlgorithmFactory;
+import org.neo4j.graphalgo.AlphaAlgorithmFactory;
+import org.neo4j.graphalgo.config.GraphCreateConfig;
+import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+import org.neo4j.graphalgo.impl.traverse.DirectionOptimizingBfs;
+import org.neo4j.graphalgo.impl.traverse.TraverseConfig;
+import org.neo4j.graphalgo.impl.walking.WalkPath;
+import org.neo4j.graphalgo.impl.walking.WalkResult;
+import org.neo4j.procedure.Description;
+import org.neo4j.procedure.Name;
+import org.neo4j.procedure.Procedure;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.neo4j.graphalgo.traverse.TraverseProc.aggregator;
+import static org.neo4j.graphalgo.traverse.TraverseProc.exitPredicate;
+import static org.neo4j.graphalgo.traverse.TraverseProc.validateNodes;
+import static org.neo4j.procedure.Mode.READ;
+
+public class BfsProc extends AlgoBaseProc<DirectionOptimizingBfs, DirectionOptimizingBfs, TraverseConfig> {
+
+    private static final String DESCRIPTION =
+        "BFS is a traversal algorithm, which explores all of the neighbor nodes at " +
+        "the present depth prior to moving on to the nodes at the next depth level.";
+
+    @Procedure(name = "gds.alpha.bfs.stream", mode = READ)
+    @Description(DESCRIPTION)
+    public Stream<WalkResult> bfs(
+        @Name(value = "graphName") Object graphNameOrConfig,
+        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
+    ) {
+        ComputationResult<DirectionOptimizingBfs, DirectionOptimizingBfs, TraverseConfig> computationResult = compute(
+            graphNameOrConfig,
+            configuration
+        );
+
+        if (computationResult.graph().isEmpty()) {
+            return Stream.empty();
+        }
+
+        long[] nodes = computationResult.algorithm().resultNodes();
+        return Stream.of(new WalkResult(nodes, WalkPath.toPath(transaction, nodes)));
+    }
+
+    @Override
+    protected TraverseConfig newConfig(
+        String username,
+        Optional<String> graphName,
+        Optional<GraphCreateConfig> maybeImplicitCreate,
+        CypherMapWrapper userInput
+    ) {
+        return TraverseConfig.of(graphName, maybeImplicitCreate, username, userInput);
+    }
+
+    @Override
+    protected AlgorithmFactory<DirectionOptimizingBfs, TraverseConfig> algorithmFactory() {
+        return (AlphaAlgorithmFactory<DirectionOptimizingBfs, TraverseConfig>) (graph, configuration, tracker, log) -> {
+            validateNodes(graph, configuration);
+            return new DirectionOptimizingBfs(
+                graph,
+                configuration.startNode(),
+                exitPredicate(graph, configuration),
+                aggregator(graph, configuration),
+                configuration.concurrency(),
+                Pools.DEFAULT,
+                tracker
+            );
+        };
+    }
+}
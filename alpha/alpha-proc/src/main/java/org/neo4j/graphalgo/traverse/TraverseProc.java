@@ -22,6 +22,7 @@ package org.neo4j.graphalgo.traverse;
 import org.neo4j.graphalgo.AlgoBaseProc;
 import org.neo4j.graphalgo.AlgorithmFactory;
 import org.neo4j.graphalgo.AlphaAlgorithmFactory;
+import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
 import org.neo4j.graphalgo.impl.traverse.Traverse;
@@ -45,19 +46,8 @@ import static org.neo4j.procedure.Mode.READ;
 public class TraverseProc extends AlgoBaseProc<Traverse, Traverse, TraverseConfig> {
 
     private static final String DESCRIPTION =
-        "BFS is a traversal algorithm, which explores all of the neighbor nodes at " +
-        "the present depth prior to moving on to the nodes at the next depth level.";
-    private static boolean isBfs;
-
-    @Procedure(name = "gds.alpha.bfs.stream", mode = READ)
-    @Description(DESCRIPTION)
-    public Stream<WalkResult> bfs(
-        @Name(value = "graphName") Object graphNameOrConfig,
-        @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
-    ) {
-        isBfs = true;
-        return stream(graphNameOrConfig, configuration);
-    }
+        "DFS is a traversal algorithm, which explores as far as possible along each " +
+        "branch before backtracking.";
 
     @Procedure(name = "gds.alpha.dfs.stream", mode = READ)
     @Description(DESCRIPTION)
@@ -65,8 +55,18 @@ public class TraverseProc extends AlgoBaseProc<Traverse, Traverse, TraverseConfi
         @Name(value = "graphName") Object graphNameOrConfig,
         @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
     ) {
-        isBfs = false;
-        return stream(graphNameOrConfig, configuration);
+        ComputationResult<Traverse, Traverse, TraverseConfig> computationResult = compute(
+            graphNameOrConfig,
+            configuration
+        );
+
+        if (computationResult.graph().isEmpty()) {
+            return Stream.empty();
+        }
+
+        Traverse traverse = computationResult.algorithm();
+        long[] nodes = traverse.resultNodes();
+        return Stream.of(new WalkResult(nodes, WalkPath.toPath(transaction, nodes)));
     }
 
     @Override
@@ -82,51 +82,44 @@ public class TraverseProc extends AlgoBaseProc<Traverse, Traverse, TraverseConfi
     @Override
     protected AlgorithmFactory<Traverse, TraverseConfig> algorithmFactory() {
         return (AlphaAlgorithmFactory<Traverse, TraverseConfig>) (graph, configuration, tracker, log) -> {
-            Traverse.ExitPredicate exitFunction;
-            Traverse.Aggregator aggregatorFunction;
-            // target node given; terminate if target is reached
-            if (!configuration.targetNodes().isEmpty()) {
-                List<Long> mappedTargets = configuration.targetNodes().stream()
-                    .map(graph::toMappedNodeId)
-                    .collect(Collectors.toList());
-                exitFunction = (s, t, w) -> mappedTargets.contains(t) ? Traverse.ExitPredicate.Result.BREAK : Traverse.ExitPredicate.Result.FOLLOW;
-                aggregatorFunction = (s, t, w) -> .0;
-                // maxDepth given; continue to aggregate nodes with lower depth until no more nodes left
-            } else if (configuration.maxDepth() != -1) {
-                exitFunction = (s, t, w) -> w > configuration.maxDepth() ? Traverse.ExitPredicate.Result.CONTINUE : Traverse.ExitPredicate.Result.FOLLOW;
-                aggregatorFunction = (s, t, w) -> w + 1.;
-                // maxCost & weightProperty given; aggregate nodes with lower cost then maxCost
-            } else if (configuration.relationshipWeightProperty() != null && !Double.isNaN(configuration.maxCost())) {
-                double maxCost = configuration.maxCost();
-                exitFunction = (s, t, w) -> w > maxCost ? Traverse.ExitPredicate.Result.CONTINUE : Traverse.ExitPredicate.Result.FOLLOW;
-                aggregatorFunction = (s, t, w) -> w + graph.relationshipProperty(s, t, 0.0D);
-                // do complete BFS until all nodes have been visited
-            } else {
-                exitFunction = (s, t, w) -> Traverse.ExitPredicate.Result.FOLLOW;
-                aggregatorFunction = (s, t, w) -> .0;
-            }
-
-            validateStartNode(configuration.startNode(), graph);
-            configuration.targetNodes().stream().forEach(neoId -> validateEndNode(neoId, graph));
-
-            return isBfs
-                ? Traverse.bfs(graph, configuration.startNode(), exitFunction, aggregatorFunction)
-                : Traverse.dfs(graph, configuration.startNode(), exitFunction, aggregatorFunction);
+            validateNodes(graph, configuration);
+            return Traverse.dfs(graph, configuration.startNode(), exitPredicate(graph, configuration), aggregator(graph, configuration));
         };
     }
 
-    private Stream<WalkResult> stream(Object graphNameOrConfig, Map<String, Object> configuration) {
-        ComputationResult<Traverse, Traverse, TraverseConfig> computationResult = compute(
-            graphNameOrConfig,
-            configuration
-        );
+    static void validateNodes(Graph graph, TraverseConfig configuration) {
+        validateStartNode(configuration.startNode(), graph);
+        configuration.targetNodes().stream().forEach(neoId -> validateEndNode(neoId, graph));
+    }
 
-        if (computationResult.graph().isEmpty()) {
-            return Stream.empty();
+    static Traverse.ExitPredicate exitPredicate(Graph graph, TraverseConfig configuration) {
+        // target node given; terminate if target is reached
+        if (!configuration.targetNodes().isEmpty()) {
+            List<Long> mappedTargets = configuration.targetNodes().stream()
+                .map(graph::toMappedNodeId)
+                .collect(Collectors.toList());
+            return (s, t, w) -> mappedTargets.contains(t) ? Traverse.ExitPredicate.Result.BREAK : Traverse.ExitPredicate.Result.FOLLOW;
+        // maxDepth given; continue to aggregate nodes with lower depth until no more nodes left
+        } else if (configuration.maxDepth() != -1) {
+            return (s, t, w) -> w > configuration.maxDepth() ? Traverse.ExitPredicate.Result.CONTINUE : Traverse.ExitPredicate.Result.FOLLOW;
+        // maxCost & weightProperty given; aggregate nodes with lower cost then maxCost
+        } else if (configuration.relationshipWeightProperty() != null && !Double.isNaN(configuration.maxCost())) {
+            double maxCost = configuration.maxCost();
+            return (s, t, w) -> w > maxCost ? Traverse.ExitPredicate.Result.CONTINUE : Traverse.ExitPredicate.Result.FOLLOW;
+        // do complete traversal until all nodes have been visited
+        } else {
+            return (s, t, w) -> Traverse.ExitPredicate.Result.FOLLOW;
         }
+    }
 
-        Traverse traverse = computationResult.algorithm();
-        long[] nodes = traverse.resultNodes();
-        return Stream.of(new WalkResult(nodes, WalkPath.toPath(transaction, nodes)));
+    static Traverse.Aggregator aggregator(Graph graph, TraverseConfig configuration) {
+        if (configuration.targetNodes().isEmpty()) {
+            if (configuration.maxDepth() != -1) {
+                return (s, t, w) -> w + 1.;
+            } else if (configuration.relationshipWeightProperty() != null && !Double.isNaN(configuration.maxCost())) {
+                return (s, t, w) -> w + graph.relationshipProperty(s, t, 0.0D);
+            }
+        }
+        return Traverse.DEFAULT_AGGREGATOR;
     }
 }
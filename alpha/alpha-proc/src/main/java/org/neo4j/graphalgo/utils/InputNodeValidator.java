@@ -33,6 +33,14 @@ public final class InputNodeValidator {
         validateNodeIsLoaded(nodeId, graph.toMappedNodeId(nodeId), "endNode");
     }
 
+    public static void validateSourceNode(long nodeId, Graph graph) throws IllegalArgumentException {
+        validateNodeIsLoaded(nodeId, graph.toMappedNodeId(nodeId), "sourceNode");
+    }
+
+    public static void validateTargetNode(long nodeId, Graph graph) throws IllegalArgumentException {
+        validateNodeIsLoaded(nodeId, graph.toMappedNodeId(nodeId), "targetNode");
+    }
+
     private static void validateNodeIsLoaded(long nodeId, long mappedId, String nodeDescription) throws IllegalArgumentException {
         if (mappedId == -1) {
             throw new IllegalArgumentException(formatWithLocale(
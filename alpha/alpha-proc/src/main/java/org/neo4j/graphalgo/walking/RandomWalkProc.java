@@ -26,7 +26,10 @@ import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.compat.Neo4jProxy;
 import org.neo4j.graphalgo.config.GraphCreateConfig;
 import org.neo4j.graphalgo.core.CypherMapWrapper;
+import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.TerminationFlag;
+import org.neo4j.graphalgo.core.utils.container.AliasTableAdjacency;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 import org.neo4j.graphalgo.impl.walking.RandomWalk;
 import org.neo4j.graphalgo.impl.walking.RandomWalkConfig;
 import org.neo4j.graphalgo.impl.walking.WalkPath;
@@ -91,9 +94,21 @@ public class RandomWalkProc extends AlgoBaseProc<RandomWalk, Stream<long[]>, Ran
             Number returnParam = configuration.returnKey();
             Number inOut = configuration.inOut();
 
-            RandomWalk.NextNodeStrategy strategy = configuration.mode().equalsIgnoreCase("random") ?
-                new RandomWalk.RandomNextNodeStrategy(graph, graph) :
-                new RandomWalk.Node2VecStrategy(graph, graph, returnParam.doubleValue(), inOut.doubleValue());
+            boolean weighted = configuration.relationshipWeightProperty() != null;
+            RandomWalk.NextNodeStrategy strategy;
+            if (configuration.mode().equalsIgnoreCase("random")) {
+                strategy = weighted
+                    ? new RandomWalk.WeightedNextNodeStrategy(graph, graph, aliasTables(graph, true, configuration, tracker))
+                    : new RandomWalk.RandomNextNodeStrategy(graph, graph);
+            } else {
+                strategy = new RandomWalk.Node2VecStrategy(
+                    graph,
+                    graph,
+                    aliasTables(graph, weighted, configuration, tracker),
+                    returnParam.doubleValue(),
+                    inOut.doubleValue()
+                );
+            }
 
             int limit = (configuration.walks() == -1)
                 ? Math.toIntExact(graph.nodeCount())
@@ -120,6 +135,15 @@ public class RandomWalkProc extends AlgoBaseProc<RandomWalk, Stream<long[]>, Ran
         };
     }
 
+    private static AliasTableAdjacency aliasTables(
+        Graph graph,
+        boolean weighted,
+        RandomWalkConfig configuration,
+        AllocationTracker tracker
+    ) {
+        return AliasTableAdjacency.of(graph, weighted, configuration.concurrency(), Pools.DEFAULT, tracker);
+    }
+
     private IntStream idStream(Object start, Graph graph, int limit) {
         int nodeCount = Math.toIntExact(graph.nodeCount());
         if (start instanceof String) {
@@ -271,4 +271,33 @@ class RandomWalkProcTest extends BaseProcTest {
             assertTrue(!results.hasNext(), "There should be only two results.");
         });
     }
+
+    @Test
+    void shouldFollowRelationshipWeights() {
+        runQuery("CREATE (x:Weighted)-[:W {w: 0.0}]->(:Weighted), (x)-[:W {w: 1.0}]->(:Weighted {name: 'z'})");
+        long x = runQuery("MATCH (x:Weighted)-->() RETURN id(x) AS id LIMIT 1", r -> r.<Long>columnAs("id").next());
+        long z = runQuery("MATCH (z:Weighted {name: 'z'}) RETURN id(z) AS id", r -> r.<Long>columnAs("id").next());
+
+        String query = GdsCypher.call()
+            .withNodeLabel("Weighted")
+            .withRelationshipType("W")
+            .withRelationshipProperty("w")
+            .algo("gds", "alpha", "randomWalk")
+            .streamMode()
+            .addParameter("start", x)
+            .addParameter("steps", 1)
+            .addParameter("walks", 50)
+            .addParameter("relationshipWeightProperty", "w")
+            .yields();
+
+        runQueryWithResultConsumer(query, r -> {
+            ResourceIterator<List<Long>> results = r.columnAs("nodeIds");
+            int walks = 0;
+            while (results.hasNext()) {
+                assertEquals(z, results.next().get(1).longValue());
+                walks++;
+            }
+            assertEquals(50, walks);
+        });
+    }
 }
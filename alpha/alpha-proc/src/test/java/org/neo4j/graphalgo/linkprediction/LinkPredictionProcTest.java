@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.linkprediction;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.api.GraphStore;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.functions.AsNodeFunc;
+import org.neo4j.graphalgo.impl.linkprediction.LinkPredictor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.compat.MapUtil.map;
+import static org.neo4j.graphalgo.utils.StringFormatting.formatWithLocale;
+
+class LinkPredictionProcTest extends BaseProcTest {
+
+    private static final String DB_CYPHER =
+        "CREATE (mark:Person {name: 'Mark'})\n" +
+        "CREATE (michael:Person {name: 'Michael'})\n" +
+        "CREATE (praveena:Person {name: 'Praveena'})\n" +
+        "CREATE (ryan:Person {name: 'Ryan'})\n" +
+        "CREATE (karin:Person {name: 'Karin'})\n" +
+        "CREATE (jennifer:Person {name: 'Jennifer'})\n" +
+        "CREATE (elaine:Person {name: 'Elaine'})\n" +
+
+        "MERGE (jennifer)-[:FRIENDS]-(ryan)\n" +
+        "MERGE (jennifer)-[:FRIENDS]-(karin)\n" +
+        "MERGE (elaine)-[:FRIENDS]-(ryan)\n" +
+        "MERGE (elaine)-[:FRIENDS]-(karin)\n" +
+
+        "MERGE (mark)-[:FRIENDS]-(michael)\n" +
+        "MERGE (mark)-[:WORKS_WITH]->(michael)\n" +
+
+        "MERGE (praveena)-[:FRIENDS]->(michael)";
+
+    @BeforeEach
+    void setUp() throws Exception {
+        registerProcedures(
+            GraphCreateProc.class,
+            LinkPredictionStreamProc.class,
+            LinkPredictionMutateProc.class,
+            LinkPredictionWriteProc.class
+        );
+        registerFunctions(LinkPredictionFunc.class, AsNodeFunc.class);
+        runQuery(DB_CYPHER);
+        runQuery("CALL gds.graph.create('friends', 'Person', {FRIENDS: {orientation: 'UNDIRECTED'}})");
+    }
+
+    @AfterEach
+    void tearDown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @ParameterizedTest
+    @EnumSource(LinkPredictor.class)
+    void shouldMatchFunctionsForGivenPairs(LinkPredictor predictor) {
+        String query = formatWithLocale(
+            " MATCH (p:Person) WITH collect(p) AS people" +
+            " UNWIND people AS p1 UNWIND people AS p2" +
+            " WITH collect(id(p1)) AS sources, collect(id(p2)) AS targets" +
+            " CALL gds.alpha.linkprediction.stream('friends', {algorithm: $algorithm, sourceNodes: sources, targetNodes: targets})" +
+            " YIELD node1, node2, score" +
+            " WITH gds.util.asNode(node1) AS p1, gds.util.asNode(node2) AS p2, score" +
+            " RETURN score, gds.alpha.linkprediction.%s(p1, p2, {relationshipQuery: 'FRIENDS'}) AS expected",
+            predictor.name()
+        );
+
+        long[] rows = {0};
+        runQueryWithRowConsumer(query, map("algorithm", predictor.name()), row -> {
+            assertEquals(row.getNumber("expected").doubleValue(), row.getNumber("score").doubleValue(), 1E-9);
+            rows[0]++;
+        });
+        assertEquals(49, rows[0]);
+    }
+
+    @Test
+    void shouldScoreTwoHopPairs() {
+        String query =
+            " CALL gds.alpha.linkprediction.stream('friends', {algorithm: 'commonNeighbors'})" +
+            " YIELD node1, node2, score" +
+            " RETURN gds.util.asNode(node1).name AS name1, gds.util.asNode(node2).name AS name2, score";
+
+        Map<String, Double> scores = new HashMap<>();
+        runQueryWithRowConsumer(query, row -> {
+            String name1 = row.getString("name1");
+            String name2 = row.getString("name2");
+            String pair = name1.compareTo(name2) < 0 ? name1 + "-" + name2 : name2 + "-" + name1;
+            assertNull(scores.put(pair, row.getNumber("score").doubleValue()));
+        });
+
+        assertEquals(map("Elaine-Jennifer", 2.0, "Karin-Ryan", 2.0, "Mark-Praveena", 1.0), scores);
+    }
+
+    @Test
+    void shouldMutateScores() {
+        runQueryWithRowConsumer(
+            "CALL gds.alpha.linkprediction.mutate('friends', {" +
+            "  algorithm: 'adamicAdar', mutateRelationshipType: 'PREDICTED', mutateProperty: 'score'" +
+            "}) YIELD relationshipsWritten",
+            row -> assertEquals(3L, row.getNumber("relationshipsWritten").longValue())
+        );
+
+        GraphStore graphStore = GraphStoreCatalog.get(getUsername(), db.databaseId(), "friends").graphStore();
+        assertTrue(graphStore.hasRelationshipType(RelationshipType.of("PREDICTED")));
+        assertEquals(3, graphStore.relationshipCount(RelationshipType.of("PREDICTED")));
+    }
+
+    @Test
+    void shouldNotReturnCandidatePairsInConfiguration() {
+        String query =
+            " MATCH (p1:Person {name: 'Mark'}), (p2:Person {name: 'Praveena'})" +
+            " CALL gds.alpha.linkprediction.mutate('friends', {" +
+            "  algorithm: 'commonNeighbors', sourceNodes: [id(p1)], targetNodes: [id(p2)]," +
+            "  mutateRelationshipType: 'PREDICTED', mutateProperty: 'score'" +
+            " }) YIELD relationshipsWritten, configuration" +
+            " RETURN relationshipsWritten, configuration";
+
+        runQueryWithRowConsumer(query, row -> {
+            assertEquals(1L, row.getNumber("relationshipsWritten").longValue());
+            Map<?, ?> configuration = (Map<?, ?>) row.get("configuration");
+            assertEquals("commonNeighbors", configuration.get("algorithm").toString());
+            assertFalse(configuration.containsKey("sourceNodes"));
+            assertFalse(configuration.containsKey("targetNodes"));
+        });
+    }
+
+    @Test
+    void shouldWriteScores() {
+        runQueryWithRowConsumer(
+            "CALL gds.alpha.linkprediction.write('friends', {" +
+            "  algorithm: 'resourceAllocation', writeRelationshipType: 'PREDICTED', writeProperty: 'score'" +
+            "}) YIELD relationshipsWritten",
+            row -> assertEquals(3L, row.getNumber("relationshipsWritten").longValue())
+        );
+
+        runQueryWithRowConsumer(
+            "MATCH (:Person {name: 'Mark'})-[r:PREDICTED]-(:Person {name: 'Praveena'}) RETURN r.score AS score",
+            row -> assertEquals(0.5, row.getNumber("score").doubleValue(), 1E-9)
+        );
+    }
+}
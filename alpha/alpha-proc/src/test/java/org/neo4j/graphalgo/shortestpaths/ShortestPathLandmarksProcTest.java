@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.shortestpaths;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ShortestPathLandmarksProcTest extends BaseProcTest {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Node {name: 'a'})" +
+        ", (b:Node {name: 'b'})" +
+        ", (c:Node {name: 'c'})" +
+        ", (d:Node {name: 'd'})" +
+        ", (e:Node {name: 'e'})" +
+        ", (f:Node {name: 'f'})" +
+        ", (a)-[:TYPE {cost: 2.0}]->(b)" +
+        ", (b)-[:TYPE {cost: 2.0}]->(c)" +
+        ", (c)-[:TYPE {cost: 2.0}]->(f)" +
+        ", (a)-[:TYPE {cost: 1.0}]->(d)" +
+        ", (d)-[:TYPE {cost: 4.0}]->(e)" +
+        ", (e)-[:TYPE {cost: 4.0}]->(f)" +
+        ", (f)-[:TYPE {cost: 1.0}]->(a)";
+
+    @BeforeEach
+    void setup() throws Exception {
+        registerProcedures(GraphCreateProc.class, ShortestPathLandmarksProc.class, ShortestPathAStarProc.class);
+        runQuery(DB_CYPHER);
+        runQuery("CALL gds.graph.create('graph', 'Node', {TYPE: {properties: 'cost'}})");
+    }
+
+    @AfterEach
+    void teardown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void shouldMutateLandmarkDistances() {
+        runQueryWithRowConsumer(
+            "CALL gds.alpha.shortestPath.landmarks.mutate('graph', {landmarkCount: 2, relationshipWeightProperty: 'cost'})" +
+            " YIELD landmarkCount, nodePropertiesWritten",
+            row -> {
+                assertEquals(2L, row.getNumber("landmarkCount"));
+                assertEquals(24L, row.getNumber("nodePropertiesWritten"));
+            }
+        );
+    }
+
+    @Test
+    void shouldUseLandmarksInAStar() {
+        runQuery("CALL gds.alpha.shortestPath.landmarks.mutate('graph', {landmarkCount: 2, relationshipWeightProperty: 'cost'})");
+
+        List<Double> costs = new ArrayList<>();
+        runQueryWithRowConsumer(
+            "MATCH (start:Node {name: 'a'}), (end:Node {name: 'f'}) " +
+            "CALL gds.alpha.shortestPath.astar.stream('graph', {" +
+            "  startNode: start, endNode: end, relationshipWeightProperty: 'cost', landmarkProperty: 'landmark'" +
+            "}) YIELD cost RETURN cost",
+            row -> costs.add(row.getNumber("cost").doubleValue())
+        );
+
+        assertEquals(List.of(0.0, 2.0, 4.0, 6.0), costs);
+    }
+}
@@ -185,6 +185,11 @@ class ApproxNearestNeighborsProcTest extends SimilarityProcTest<ApproxNearestNei
         });
     }
 
+    @Override
+    boolean supportsNamedGraphs() {
+        return true;
+    }
+
     @Override
     Map<String, Object> minimalViableConfig() {
         var config = super.minimalViableConfig();
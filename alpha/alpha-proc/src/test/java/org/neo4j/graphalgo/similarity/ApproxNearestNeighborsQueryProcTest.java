@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.similarity;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.BaseProcTest;
+import org.neo4j.graphalgo.RelationshipType;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
+import org.neo4j.graphalgo.core.loading.GraphStoreCatalog;
+import org.neo4j.graphalgo.functions.AsNodeFunc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.compat.MapUtil.map;
+
+class ApproxNearestNeighborsQueryProcTest extends BaseProcTest {
+
+    private static final String DB_CYPHER =
+        "CREATE" +
+        "  (a:Point {name: 'a', x: 0.0, y: 0.0})" +
+        ", (b:Point {name: 'b', x: 1.0, y: 0.0})" +
+        ", (c:Point {name: 'c', x: 0.0, y: 1.0})" +
+        ", (d:Point {name: 'd', x: 10.0, y: 10.0})" +
+        ", (e:Point {name: 'e', x: 11.0, y: 10.0})" +
+        ", (f:Point {name: 'f', x: 10.0, y: 12.0})";
+
+    @BeforeEach
+    void setUp() throws Exception {
+        registerProcedures(
+            GraphCreateProc.class,
+            ApproxNearestNeighborsMutateProc.class,
+            ApproxNearestNeighborsQueryProc.class
+        );
+        registerFunctions(AsNodeFunc.class);
+        runQuery(DB_CYPHER);
+        runQuery("CALL gds.graph.create('points', 'Point', '*', {nodeProperties: ['x', 'y']})");
+        runQuery(
+            "CALL gds.alpha.ml.ann.mutate('points', {" +
+            "  algorithm: 'euclidean', nodeProperties: ['x', 'y'], topK: 2, randomSeed: 42, concurrency: 1," +
+            "  mutateRelationshipType: 'ANN', mutateProperty: 'distance'" +
+            "})"
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        GraphStoreCatalog.removeAllLoadedGraphs();
+    }
+
+    @Test
+    void shouldAddNearestNeighborsGraph() {
+        var graphStore = GraphStoreCatalog.get(getUsername(), db.databaseId(), "points").graphStore();
+        assertTrue(graphStore.hasRelationshipType(RelationshipType.of("ANN")));
+        assertEquals(12, graphStore.relationshipCount(RelationshipType.of("ANN")));
+    }
+
+    @Test
+    void shouldQueryNodes() {
+        String query =
+            " MATCH (n:Point {name: 'a'})" +
+            " CALL gds.alpha.ml.ann.query.stream('points', {" +
+            "   relationshipTypes: ['ANN'], algorithm: 'euclidean', nodeProperties: ['x', 'y']," +
+            "   queryNodeIds: [id(n)], topK: 2" +
+            " }) YIELD nodeId, similarity" +
+            " RETURN gds.util.asNode(nodeId).name AS name, similarity" +
+            " ORDER BY similarity, name";
+
+        List<String> names = new ArrayList<>();
+        List<Double> distances = new ArrayList<>();
+        runQueryWithRowConsumer(query, row -> {
+            names.add(row.getString("name"));
+            distances.add(row.getNumber("similarity").doubleValue());
+        });
+
+        assertEquals(Arrays.asList("b", "c"), names);
+        assertEquals(Arrays.asList(1.0, 1.0), distances);
+    }
+
+    @Test
+    void shouldQueryVectors() {
+        Map<String, Object> config = map(
+            "relationshipTypes", Collections.singletonList("ANN"),
+            "algorithm", "euclidean",
+            "nodeProperties", Arrays.asList("x", "y"),
+            "queryVectors", Collections.singletonList(Arrays.asList(10.0, 10.5)),
+            "topK", 1
+        );
+        String query =
+            " CALL gds.alpha.ml.ann.query.stream('points', $config)" +
+            " YIELD queryVectorIndex, nodeId, similarity" +
+            " RETURN queryVectorIndex, gds.util.asNode(nodeId).name AS name, similarity";
+
+        List<String> names = new ArrayList<>();
+        runQueryWithRowConsumer(query, map("config", config), row -> {
+            assertEquals(0L, row.getNumber("queryVectorIndex").longValue());
+            assertEquals(0.5, row.getNumber("similarity").doubleValue());
+            names.add(row.getString("name"));
+        });
+
+        assertEquals(Collections.singletonList("d"), names);
+    }
+}
@@ -21,6 +21,7 @@ package org.neo4j.graphalgo.similarity;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.catalog.GraphCreateProc;
 import org.neo4j.graphalgo.core.Settings;
 import org.neo4j.graphalgo.functions.IsFiniteFunc;
 import org.neo4j.graphalgo.impl.similarity.CosineAlgorithm;
@@ -30,6 +31,7 @@ import org.neo4j.graphdb.Result;
 import org.neo4j.test.TestDatabaseManagementServiceBuilder;
 import org.neo4j.test.extension.ExtensionCallback;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
 
@@ -118,7 +120,7 @@ class CosineProcTest extends SimilarityProcTest<CosineAlgorithm, WeightedInput>
 
     @BeforeEach
     void setup() throws Exception {
-        registerProcedures(CosineProc.class);
+        registerProcedures(CosineProc.class, GraphCreateProc.class);
         registerFunctions(IsFiniteFunc.class);
         runQuery(DB_CYPHER);
     }
@@ -329,6 +331,58 @@ class CosineProcTest extends SimilarityProcTest<CosineAlgorithm, WeightedInput>
         );
     }
 
+    @Test
+    void cosineNamedGraphNeighbourhoodStreamTest() {
+        runQuery("CALL gds.graph.create('likes', ['Person', 'Item'], {LIKES: {properties: 'stars'}})");
+        runQueryWithResultConsumer(
+            "CALL gds.alpha.similarity.cosine.stream('likes', $config)" +
+            " YIELD item1, item2, count1, count2, intersection, similarity" +
+            " RETURN * ORDER BY item1, item2",
+            map("config", map("concurrency", 1, "relationshipWeightProperty", "stars", "skipValue", 0.0, "topK", 0)),
+            results -> {
+                assertTrue(results.hasNext());
+                assert01Skip(results.next());
+                assert02Skip(results.next());
+                assert12Skip(results.next());
+                assertFalse(results.hasNext());
+            }
+        );
+    }
+
+    @Test
+    void cosineNamedGraphNodePropertiesStreamTest() {
+        runQuery(
+            " MATCH (i:Item)" +
+            " WITH i ORDER BY id(i)" +
+            " MATCH (p:Person)" +
+            " OPTIONAL MATCH (p)-[r:LIKES]->(i)" +
+            " WITH p, collect(coalesce(r.stars, 0)) AS stars" +
+            " SET p.stars1 = stars[0], p.stars2 = stars[1], p.stars3 = stars[2]"
+        );
+        runQuery("CALL gds.graph.create('people', 'Person', '*', {nodeProperties: ['stars1', 'stars2', 'stars3']})");
+        Map<String, Object> config = map(
+            "concurrency", 1,
+            "nodeProperties", Arrays.asList("stars1", "stars2", "stars3"),
+            "topK", 0
+        );
+        runQueryWithResultConsumer(
+            "CALL gds.alpha.similarity.cosine.stream('people', $config)" +
+            " YIELD item1, item2, count1, count2, intersection, similarity" +
+            " RETURN * ORDER BY item1, item2",
+            map("config", config),
+            results -> {
+                assertTrue(results.hasNext());
+                assert01(results.next());
+                assert02(results.next());
+                assert03(results.next());
+                assert12(results.next());
+                assert13(results.next());
+                assert23(results.next());
+                assertFalse(results.hasNext());
+            }
+        );
+    }
+
     @Test
     void topKCosineStreamTest() {
         Map<String, Object> params = map("config", map("concurrency", 1, "topK", 1), "missingValue", 0);
@@ -625,4 +679,9 @@ class CosineProcTest extends SimilarityProcTest<CosineAlgorithm, WeightedInput>
     Class<? extends SimilarityProc<CosineAlgorithm, ? extends SimilarityConfig>> getProcedureClazz() {
         return CosineProc.class;
     }
+
+    @Override
+    boolean supportsNamedGraphs() {
+        return true;
+    }
 }
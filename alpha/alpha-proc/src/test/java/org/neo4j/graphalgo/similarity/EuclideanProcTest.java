@@ -643,4 +643,9 @@ class EuclideanProcTest extends SimilarityProcTest<EuclideanAlgorithm, WeightedI
     Class<? extends SimilarityProc<EuclideanAlgorithm, ? extends SimilarityConfig>> getProcedureClazz() {
         return EuclideanProc.class;
     }
+
+    @Override
+    boolean supportsNamedGraphs() {
+        return true;
+    }
 }
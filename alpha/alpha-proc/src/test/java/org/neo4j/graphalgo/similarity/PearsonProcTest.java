@@ -645,4 +645,9 @@ class PearsonProcTest extends SimilarityProcTest<PearsonAlgorithm, WeightedInput
     Class<? extends SimilarityProc<PearsonAlgorithm, ? extends SimilarityConfig>> getProcedureClazz() {
         return PearsonProc.class;
     }
+
+    @Override
+    boolean supportsNamedGraphs() {
+        return true;
+    }
 }
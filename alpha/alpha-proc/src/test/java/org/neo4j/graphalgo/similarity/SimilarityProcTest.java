@@ -53,6 +53,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
 import static org.neo4j.graphalgo.ElementProjection.PROJECT_ALL;
 import static org.neo4j.graphalgo.compat.GraphDatabaseApiProxy.newKernelTransaction;
 import static org.neo4j.graphalgo.config.GraphCreateFromCypherConfig.ALL_NODES_QUERY;
@@ -108,6 +109,10 @@ public abstract class SimilarityProcTest<
             );
     }
 
+    boolean supportsNamedGraphs() {
+        return false;
+    }
+
     Map<String, Object> minimalViableConfig() {
         return new HashMap<>();
     }
@@ -119,6 +124,7 @@ public abstract class SimilarityProcTest<
 
     @Test
     void throwsOnExplicitGraph() {
+        assumeFalse(supportsNamedGraphs());
         GraphStoreCatalog.set(
             emptyWithNameNative(getUsername(), "foo"), new NullGraphStore(db.databaseId())
         );
@@ -66,7 +66,7 @@ class TraverseProcTest extends BaseProcTest {
 
     @BeforeEach
     void setupGraph() throws Exception {
-        registerProcedures(TraverseProc.class);
+        registerProcedures(TraverseProc.class, BfsProc.class);
         runQuery(DB_CYPHER);
     }
 
@@ -208,6 +208,51 @@ class TraverseProcTest extends BaseProcTest {
         });
     }
 
+    @Test
+    void testBfsTargetNodes() {
+        long id = id("a");
+        String query = GdsCypher.call()
+            .withNodeLabel("Node")
+            .withRelationshipType("TYPE")
+            .algo("gds.alpha.bfs")
+            .streamMode()
+            .addParameter("startNode", id)
+            .addParameter("targetNodes", Arrays.asList(id("e")))
+            .yields("startNodeId, nodeIds");
+        runQueryWithRowConsumer(query, row -> {
+            assertEquals(row.getNumber("startNodeId").longValue(), id);
+            @SuppressWarnings("unchecked") List<Long> nodeIds = (List<Long>) row.get("nodeIds");
+            // f is on the same level as e, but only the target nodes of the last level are kept
+            var expectedOrder = new HashMap<String, List<Integer>>();
+            expectedOrder.put("a", Arrays.asList(0));
+            expectedOrder.put("b", Arrays.asList(1, 2));
+            expectedOrder.put("c", Arrays.asList(1, 2));
+            expectedOrder.put("d", Arrays.asList(3));
+            expectedOrder.put("e", Arrays.asList(4));
+
+            assertOrder(expectedOrder, nodeIds);
+        });
+    }
+
+    @Test
+    void testBfsKeepsAllTargetNodesOfLastLevel() {
+        long id = id("a");
+        String query = GdsCypher.call()
+            .withNodeLabel("Node")
+            .withRelationshipType("TYPE")
+            .algo("gds.alpha.bfs")
+            .streamMode()
+            .addParameter("startNode", id)
+            .addParameter("targetNodes", Arrays.asList(id("e"), id("f"), id("g")))
+            .yields("startNodeId, nodeIds");
+        runQueryWithRowConsumer(query, row -> {
+            assertEquals(row.getNumber("startNodeId").longValue(), id);
+            @SuppressWarnings("unchecked") List<Long> nodeIds = (List<Long>) row.get("nodeIds");
+            // g is a target as well, but the traversal stops at the level of e and f
+            assertContains(new String[]{"a", "b", "c", "d", "e", "f"}, nodeIds);
+        });
+    }
+
     @Test
     void failOnInvalidStartNode() {
         String query = GdsCypher.call()
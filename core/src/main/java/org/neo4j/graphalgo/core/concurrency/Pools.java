@@ -70,6 +70,10 @@ public final class Pools {
         return Executors.newSingleThreadExecutor(NamedThreadFactory.daemon("algo"));
     }
 
+    public static ExecutorService createFixedPool(int threads, String threadNamePrefix) {
+        return Executors.newFixedThreadPool(threads, NamedThreadFactory.daemon(threadNamePrefix));
+    }
+
     static class CallerBlocksPolicy implements RejectedExecutionHandler {
         @Override
         public void rejectedExecution(Runnable r, ThreadPoolExecutor executor) {
@@ -172,7 +172,7 @@ public final class HugeGraphUtil {
         private final ExecutorService executorService;
         private final Aggregation aggregation;
 
-        private long importedRelationships = 0;
+        private final LongAdder importedRelationships = new LongAdder();
 
         public RelationshipsBuilder(
             IdMapping idMapping,
@@ -266,12 +266,20 @@ public final class HugeGraphUtil {
             addFromInternal(relationship.sourceNodeId(), relationship.targetNodeId(), relationship.property());
         }
 
+        /**
+         * Returns a builder with its own buffer that imports into this builder.
+         * Local builders can be used concurrently, one per thread, and must be flushed before calling {@link #build()}.
+         */
+        public LocalBuilder localBuilder() {
+            return new LocalBuilder();
+        }
+
         public Relationships build() {
             flushBuffer();
 
             ParallelUtil.run(relationshipImporter.flushTasks(), executorService);
             return Relationships.of(
-                importedRelationships,
+                importedRelationships.sum(),
                 orientation,
                 Aggregation.equivalentToNone(aggregation),
                 relationshipsBuilder.adjacencyList(),
@@ -283,11 +291,42 @@ public final class HugeGraphUtil {
         }
 
         private void flushBuffer() {
+            flushBuffer(relationshipBuffer);
+        }
+
+        private void flushBuffer(RelationshipsBatchBuffer buffer) {
             RelationshipImporter.PropertyReader propertyReader = loadRelationshipProperty ? RelationshipImporter.preLoadedPropertyReader() : null;
 
-            long newImportedInOut = imports.importRelationships(relationshipBuffer, propertyReader);
-            importedRelationships += RawValues.getHead(newImportedInOut);
-            relationshipBuffer.reset();
+            long newImportedInOut = imports.importRelationships(buffer, propertyReader);
+            importedRelationships.add(RawValues.getHead(newImportedInOut));
+            buffer.reset();
+        }
+
+        public final class LocalBuilder {
+
+            private final RelationshipsBatchBuffer buffer = new RelationshipsBatchBuffer(
+                idMapping,
+                -1,
+                ParallelUtil.DEFAULT_BATCH_SIZE
+            );
+
+            private LocalBuilder() {
+            }
+
+            public void add(long source, long target, double relationshipPropertyValue) {
+                addFromInternal(idMapping.toMappedNodeId(source), idMapping.toMappedNodeId(target), relationshipPropertyValue);
+            }
+
+            public void addFromInternal(long source, long target, double relationshipPropertyValue) {
+                buffer.add(source, target, -1L, Double.doubleToLongBits(relationshipPropertyValue));
+                if (buffer.isFull()) {
+                    flush();
+                }
+            }
+
+            public void flush() {
+                flushBuffer(buffer);
+            }
         }
     }
 
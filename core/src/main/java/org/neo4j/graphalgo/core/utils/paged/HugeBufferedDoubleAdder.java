@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import com.carrotsearch.hppc.BitMixer;
+import org.neo4j.graphalgo.core.utils.BitUtil;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.utils.CloseableThreadLocal;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfDoubleArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfInstance;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
+
+/**
+ * Adds double values to a {@link HugeAtomicDoubleArray} the way a {@link java.util.concurrent.atomic.DoubleAdder}
+ * adds to a single value: concurrent writers add to their own cells and the cells are summed up later.
+ * <p>
+ * Every writing thread owns an {@link Accumulator} with a fixed number of cells, each holding the partial sum
+ * of one index. Adding to an index that already has a cell is a plain addition, so frequent updates of the same
+ * index, such as the score of a hub node, neither contend nor touch the shared array. A cell is only added to the
+ * shared array, using a compare-and-set loop, when its slot is taken by another index or when the accumulators
+ * are {@link #flush() flushed} after all writers are done.
+ * <p>
+ * The cells take at most {@link #BUFFER_SIZE} longs and doubles per thread, independent of the size of the array.
+ */
+public final class HugeBufferedDoubleAdder {
+
+    static final int BUFFER_SIZE = 1 << 12;
+    private static final long EMPTY = -1L;
+
+    private final HugeAtomicDoubleArray target;
+    private final AllocationTracker tracker;
+    private final Queue<Accumulator> accumulators;
+    private final CloseableThreadLocal<Accumulator> localAccumulator;
+
+    public static HugeBufferedDoubleAdder of(HugeAtomicDoubleArray target, AllocationTracker tracker) {
+        return new HugeBufferedDoubleAdder(target, tracker);
+    }
+
+    public static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(HugeBufferedDoubleAdder.class)
+            .perThread("accumulator", MemoryEstimations.builder(Accumulator.class)
+                .perNode("indices", size -> sizeOfLongArray(bufferSize(size)))
+                .perNode("values", size -> sizeOfDoubleArray(bufferSize(size)))
+                .build())
+            .build();
+    }
+
+    private HugeBufferedDoubleAdder(HugeAtomicDoubleArray target, AllocationTracker tracker) {
+        this.target = target;
+        this.tracker = tracker;
+        this.accumulators = new ConcurrentLinkedQueue<>();
+        this.localAccumulator = CloseableThreadLocal.withInitial(this::newAccumulator);
+    }
+
+    /**
+     * Adds the value to the accumulator of the calling thread.
+     */
+    public void add(long index, double value) {
+        localAccumulator.get().add(index, value);
+    }
+
+    /**
+     * Returns the accumulator of the calling thread, which avoids the thread local lookup of {@link #add(long, double)}.
+     * The accumulator must not be shared with other threads.
+     */
+    public Accumulator accumulator() {
+        return localAccumulator.get();
+    }
+
+    /**
+     * Adds the cells of all accumulators to the target array and empties them.
+     * Must only be called once all writers are done.
+     */
+    public void flush() {
+        for (Accumulator accumulator : accumulators) {
+            accumulator.flush();
+        }
+    }
+
+    /**
+     * Releases all accumulators without flushing them. The target array is not released.
+     *
+     * @return the number of bytes freed
+     */
+    public long release() {
+        localAccumulator.close();
+        long freed = accumulators.size() * accumulatorSize();
+        accumulators.clear();
+        return freed;
+    }
+
+    private Accumulator newAccumulator() {
+        var accumulator = new Accumulator(target, bufferSize(target.size()));
+        tracker.add(accumulatorSize());
+        accumulators.add(accumulator);
+        return accumulator;
+    }
+
+    private long accumulatorSize() {
+        int bufferSize = bufferSize(target.size());
+        return sizeOfInstance(Accumulator.class) + sizeOfLongArray(bufferSize) + sizeOfDoubleArray(bufferSize);
+    }
+
+    // small arrays do not need more cells than indices
+    private static int bufferSize(long size) {
+        return (int) Math.min(BUFFER_SIZE, BitUtil.nextHighestPowerOfTwo(Math.max(1L, size)));
+    }
+
+    public static final class Accumulator {
+
+        private final HugeAtomicDoubleArray target;
+        private final long[] indices;
+        private final double[] values;
+        private final int mask;
+
+        private Accumulator(HugeAtomicDoubleArray target, int bufferSize) {
+            this.target = target;
+            this.indices = new long[bufferSize];
+            this.values = new double[bufferSize];
+            this.mask = bufferSize - 1;
+            Arrays.fill(indices, EMPTY);
+        }
+
+        public void add(long index, double value) {
+            int slot = BitMixer.mixPhi(index) & mask;
+            long current = indices[slot];
+            if (current == index) {
+                values[slot] += value;
+                return;
+            }
+            if (current != EMPTY) {
+                addToTarget(current, values[slot]);
+            }
+            indices[slot] = index;
+            values[slot] = value;
+        }
+
+        private void flush() {
+            for (int slot = 0; slot < indices.length; slot++) {
+                if (indices[slot] != EMPTY) {
+                    addToTarget(indices[slot], values[slot]);
+                    indices[slot] = EMPTY;
+                }
+            }
+        }
+
+        private void addToTarget(long index, double value) {
+            double current;
+            do {
+                current = target.get(index);
+            } while (!target.compareAndSet(index, current, current + value));
+        }
+    }
+}
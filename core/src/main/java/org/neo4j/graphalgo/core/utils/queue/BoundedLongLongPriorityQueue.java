@@ -62,23 +62,44 @@ public abstract class BoundedLongLongPriorityQueue {
 
     public abstract void foreach(Consumer consumer);
 
+    /**
+     * Returns the priority of the last element in queue order or NaN if the queue is empty.
+     * Once the queue is full, an offered element with a worse priority is rejected.
+     */
+    public abstract double lastPriority();
+
     public int size() {
         return elementCount;
     }
 
+    public boolean isFull() {
+        return elementCount == bound;
+    }
+
     protected boolean add(long element1, long element2, double priority) {
-        if (elementCount < bound || Double.isNaN(minValue) || priority < minValue) {
+        if (elementCount < bound
+            || Double.isNaN(minValue)
+            || priority < minValue
+            || (priority == minValue && precedes(element1, element2, elementCount - 1))) {
             int idx = Arrays.binarySearch(priorities, 0, elementCount, priority);
-            idx = (idx < 0) ? -idx : idx + 1;
-            int length = bound - idx;
-            if (length > 0 && idx < bound) {
-                System.arraycopy(priorities, idx - 1, priorities, idx, length);
-                System.arraycopy(elements1, idx - 1, elements1, idx, length);
-                System.arraycopy(elements2, idx - 1, elements2, idx, length);
+            idx = (idx < 0) ? -idx - 1 : idx;
+            // Equal priorities are ordered by their elements, so that the retained
+            // elements do not depend on the order in which they have been offered.
+            while (idx > 0 && priorities[idx - 1] == priority && precedes(element1, element2, idx - 1)) {
+                idx--;
+            }
+            while (idx < elementCount && priorities[idx] == priority && !precedes(element1, element2, idx)) {
+                idx++;
             }
-            priorities[idx - 1] = priority;
-            elements1[idx - 1] = element1;
-            elements2[idx - 1] = element2;
+            int length = bound - idx - 1;
+            if (length > 0) {
+                System.arraycopy(priorities, idx, priorities, idx + 1, length);
+                System.arraycopy(elements1, idx, elements1, idx + 1, length);
+                System.arraycopy(elements2, idx, elements2, idx + 1, length);
+            }
+            priorities[idx] = priority;
+            elements1[idx] = element1;
+            elements2[idx] = element2;
             if (elementCount < bound) {
                 elementCount++;
             }
@@ -88,6 +109,10 @@ public abstract class BoundedLongLongPriorityQueue {
         return false;
     }
 
+    private boolean precedes(long element1, long element2, int index) {
+        return element1 < elements1[index] || (element1 == elements1[index] && element2 < elements2[index]);
+    }
+
     public LongStream elements1() {
         return elementCount == 0
             ? LongStream.empty()
@@ -121,6 +146,11 @@ public abstract class BoundedLongLongPriorityQueue {
                 }
             }
 
+            @Override
+            public double lastPriority() {
+                return elementCount == 0 ? Double.NaN : -priorities[elementCount - 1];
+            }
+
             @Override
             public DoubleStream priorities() {
                 return elementCount == 0
@@ -144,6 +174,11 @@ public abstract class BoundedLongLongPriorityQueue {
                     consumer.accept(elements1[i], elements2[i], priorities[i]);
                 }
             }
+
+            @Override
+            public double lastPriority() {
+                return elementCount == 0 ? Double.NaN : priorities[elementCount - 1];
+            }
         };
     }
 }
@@ -75,6 +75,11 @@ public abstract class BoundedLongPriorityQueue {
         return elementCount;
     }
 
+    public void clear() {
+        elementCount = 0;
+        minValue = Double.NaN;
+    }
+
     protected boolean add(long element, double priority) {
         if (elementCount < bound || Double.isNaN(minValue) || priority < minValue) {
             int idx = Arrays.binarySearch(priorities, 0, elementCount, priority);
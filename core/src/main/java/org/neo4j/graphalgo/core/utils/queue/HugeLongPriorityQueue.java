@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.queue;
+
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimation;
+import org.neo4j.graphalgo.core.utils.mem.MemoryEstimations;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+import org.neo4j.graphalgo.core.utils.paged.HugeDoubleArray;
+import org.neo4j.graphalgo.core.utils.paged.HugeLongArray;
+
+/**
+ * A binary heap of node ids in the range {@code [0, capacity)} with
+ * decrease-key support.
+ * <p>
+ * Positions and costs are kept in huge arrays indexed by the element,
+ * so every operation is a plain array access instead of a hash probe.
+ * {@link #clear()} only touches the elements that are currently
+ * in the queue, which makes it cheap to reuse the queue for many
+ * small searches on a large graph.
+ */
+public abstract class HugeLongPriorityQueue {
+
+    public static MemoryEstimation memoryEstimation() {
+        return MemoryEstimations.builder(HugeLongPriorityQueue.class)
+            .perNode("heap", HugeLongArray::memoryEstimation)
+            .perNode("positions", HugeLongArray::memoryEstimation)
+            .perNode("costs", HugeDoubleArray::memoryEstimation)
+            .build();
+    }
+
+    private final AllocationTracker tracker;
+
+    // 1-based binary heap of elements
+    private HugeLongArray heap;
+    // element -> position in the heap, 0 if the element is not in the queue
+    private HugeLongArray positions;
+    // element -> cost, only valid while the element is in the queue
+    private HugeDoubleArray costs;
+    private long size;
+
+    HugeLongPriorityQueue(long capacity, AllocationTracker tracker) {
+        this.tracker = tracker;
+        this.heap = HugeLongArray.newArray(capacity + 1, tracker);
+        this.positions = HugeLongArray.newArray(capacity, tracker);
+        this.costs = HugeDoubleArray.newArray(capacity, tracker);
+    }
+
+    /**
+     * Defines the order of the queue.
+     */
+    protected abstract boolean lessThan(double cost1, double cost2);
+
+    /**
+     * Adds an element which must not be in the queue.
+     */
+    public void add(long element, double cost) {
+        assert !containsElement(element);
+        size++;
+        costs.set(element, cost);
+        heap.set(size, element);
+        positions.set(element, size);
+        upHeap(size);
+    }
+
+    /**
+     * Adds the element or changes its cost if it is already in the queue.
+     */
+    public void set(long element, double cost) {
+        long position = positions.get(element);
+        if (position == 0) {
+            add(element, cost);
+        } else {
+            costs.set(element, cost);
+            upHeap(position);
+            downHeap(positions.get(element));
+        }
+    }
+
+    public boolean containsElement(long element) {
+        return positions.get(element) != 0;
+    }
+
+    public double cost(long element) {
+        return costs.get(element);
+    }
+
+    public long top() {
+        return heap.get(1);
+    }
+
+    public double topCost() {
+        return costs.get(heap.get(1));
+    }
+
+    /**
+     * Removes and returns the element with the lowest order.
+     */
+    public long pop() {
+        long result = heap.get(1);
+        long last = heap.get(size);
+        heap.set(1, last);
+        positions.set(last, 1);
+        size--;
+        positions.set(result, 0);
+        if (size > 0) {
+            downHeap(1);
+        }
+        return result;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all elements, the cost is linear in the size of the queue.
+     */
+    public void clear() {
+        for (long i = 1; i <= size; i++) {
+            positions.set(heap.get(i), 0);
+        }
+        size = 0;
+    }
+
+    public void release() {
+        tracker.remove(heap.release());
+        tracker.remove(positions.release());
+        tracker.remove(costs.release());
+        heap = null;
+        positions = null;
+        costs = null;
+    }
+
+    private void upHeap(long position) {
+        long element = heap.get(position);
+        double cost = costs.get(element);
+        long i = position;
+        long parent = i >>> 1;
+        while (parent > 0) {
+            long parentElement = heap.get(parent);
+            if (!lessThan(cost, costs.get(parentElement))) {
+                break;
+            }
+            heap.set(i, parentElement);
+            positions.set(parentElement, i);
+            i = parent;
+            parent = i >>> 1;
+        }
+        heap.set(i, element);
+        positions.set(element, i);
+    }
+
+    private void downHeap(long position) {
+        long element = heap.get(position);
+        double cost = costs.get(element);
+        long i = position;
+        long child = i << 1;
+        while (child <= size) {
+            long right = child + 1;
+            if (right <= size && lessThan(costs.get(heap.get(right)), costs.get(heap.get(child)))) {
+                child = right;
+            }
+            long childElement = heap.get(child);
+            if (!lessThan(costs.get(childElement), cost)) {
+                break;
+            }
+            heap.set(i, childElement);
+            positions.set(childElement, i);
+            i = child;
+            child = i << 1;
+        }
+        heap.set(i, element);
+        positions.set(element, i);
+    }
+
+    public static HugeLongPriorityQueue min(long capacity, AllocationTracker tracker) {
+        return new HugeLongPriorityQueue(capacity, tracker) {
+            @Override
+            protected boolean lessThan(double cost1, double cost2) {
+                return cost1 < cost2;
+            }
+        };
+    }
+
+    public static HugeLongPriorityQueue max(long capacity, AllocationTracker tracker) {
+        return new HugeLongPriorityQueue(capacity, tracker) {
+            @Override
+            protected boolean lessThan(double cost1, double cost2) {
+                return cost1 > cost2;
+            }
+        };
+    }
+}
@@ -25,9 +25,12 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.neo4j.graphalgo.Orientation;
 import org.neo4j.graphalgo.api.Graph;
 import org.neo4j.graphalgo.core.Aggregation;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
 import org.neo4j.graphalgo.core.concurrency.Pools;
 import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -129,6 +132,55 @@ class HugeGraphUtilTest {
         assertGraphEquals(expectedWithoutAggregation(Orientation.UNDIRECTED), graph);
     }
 
+    @Test
+    void concurrentLocalBuilders() {
+        int nodeCount = 10_000;
+        int concurrency = 4;
+
+        HugeGraphUtil.IdMapBuilder idMapBuilder = HugeGraphUtil.idMapBuilder(
+            nodeCount,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        );
+        for (int i = 0; i < nodeCount; i++) {
+            idMapBuilder.addNode(i);
+        }
+
+        IdMap idMap = idMapBuilder.build();
+        HugeGraphUtil.RelationshipsBuilder relationshipsBuilder = HugeGraphUtil.createRelImporter(
+            idMap,
+            Orientation.NATURAL,
+            true,
+            Aggregation.NONE,
+            Pools.DEFAULT,
+            AllocationTracker.EMPTY
+        );
+
+        List<Runnable> tasks = new ArrayList<>();
+        for (int t = 0; t < concurrency; t++) {
+            int offset = t;
+            tasks.add(() -> {
+                HugeGraphUtil.RelationshipsBuilder.LocalBuilder localBuilder = relationshipsBuilder.localBuilder();
+                for (int i = offset; i < nodeCount; i += concurrency) {
+                    long source = idMap.toMappedNodeId(i);
+                    long target = idMap.toMappedNodeId((i + 1) % nodeCount);
+                    localBuilder.addFromInternal(source, target, i);
+                }
+                localBuilder.flush();
+            });
+        }
+        ParallelUtil.run(tasks, Pools.DEFAULT);
+
+        Graph graph = HugeGraphUtil.create(idMap, relationshipsBuilder.build(), AllocationTracker.EMPTY);
+        assertEquals(nodeCount, graph.relationshipCount());
+        for (int i = 0; i < nodeCount; i++) {
+            long source = idMap.toMappedNodeId(i);
+            long target = idMap.toMappedNodeId((i + 1) % nodeCount);
+            assertEquals(1, graph.degree(source));
+            assertEquals(i, graph.relationshipProperty(source, target, Double.NaN));
+        }
+    }
+
     private Graph generateGraph(Orientation orientation, Aggregation aggregation) {
         int nodeCount = 4;
 
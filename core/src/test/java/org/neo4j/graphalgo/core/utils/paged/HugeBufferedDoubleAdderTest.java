@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.paged;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.GraphDimensions;
+import org.neo4j.graphalgo.core.concurrency.ParallelUtil;
+import org.neo4j.graphalgo.core.concurrency.Pools;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfDoubleArray;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfInstance;
+import static org.neo4j.graphalgo.core.utils.mem.MemoryUsage.sizeOfLongArray;
+
+class HugeBufferedDoubleAdderTest {
+
+    @Test
+    void testAddAndFlush() {
+        var target = HugeAtomicDoubleArray.newArray(10, AllocationTracker.EMPTY);
+        target.set(3, 1.0);
+        var adder = HugeBufferedDoubleAdder.of(target, AllocationTracker.EMPTY);
+        adder.add(3, 1.5);
+        adder.add(3, 2.0);
+        adder.accumulator().add(7, 42.0);
+        assertEquals(1.0, target.get(3));
+
+        adder.flush();
+        assertEquals(4.5, target.get(3));
+        assertEquals(42.0, target.get(7));
+        assertEquals(0.0, target.get(0));
+
+        // flushing empties the cells
+        adder.flush();
+        assertEquals(4.5, target.get(3));
+    }
+
+    @Test
+    void testConcurrentAddWithEvictions() {
+        int concurrency = 4;
+        // more indices than cells, so that cells are evicted into the target while adding
+        int size = 4 * HugeBufferedDoubleAdder.BUFFER_SIZE;
+        int rounds = 10;
+        var target = HugeAtomicDoubleArray.newArray(size, AllocationTracker.EMPTY);
+        var adder = HugeBufferedDoubleAdder.of(target, AllocationTracker.EMPTY);
+
+        var tasks = ParallelUtil.tasks(concurrency, () -> () -> {
+            var accumulator = adder.accumulator();
+            for (int round = 0; round < rounds; round++) {
+                for (long index = 0; index < size; index++) {
+                    accumulator.add(index, 1.0);
+                }
+            }
+        });
+        ParallelUtil.run(tasks, Pools.DEFAULT);
+        adder.flush();
+
+        for (long index = 0; index < size; index++) {
+            assertEquals(concurrency * rounds, target.get(index));
+        }
+    }
+
+    @Test
+    void testReleaseTracksAccumulators() {
+        var tracker = AllocationTracker.create();
+        var adder = HugeBufferedDoubleAdder.of(HugeAtomicDoubleArray.newArray(10, AllocationTracker.EMPTY), tracker);
+        adder.add(1, 1.0);
+        assertTrue(tracker.tracked() > 0);
+
+        tracker.remove(adder.release());
+        assertEquals(0, tracker.tracked());
+    }
+
+    @Test
+    void testMemoryEstimationIsBoundedPerThread() {
+        var estimation = HugeBufferedDoubleAdder.memoryEstimation();
+        var large = estimation.estimate(GraphDimensions.of(100_000), 4).memoryUsage();
+        var huge = estimation.estimate(GraphDimensions.of(100_000_000_000L), 4).memoryUsage();
+        assertEquals(large, huge);
+
+        var single = estimation.estimate(GraphDimensions.of(100_000), 1).memoryUsage();
+        long accumulator = sizeOfInstance(HugeBufferedDoubleAdder.Accumulator.class) +
+                           sizeOfLongArray(HugeBufferedDoubleAdder.BUFFER_SIZE) +
+                           sizeOfDoubleArray(HugeBufferedDoubleAdder.BUFFER_SIZE);
+        assertEquals(single.max + 3 * accumulator, large.max);
+    }
+}
@@ -87,6 +87,37 @@ class BoundedLongLongPriorityQueueTest {
         assertResults(expected, queue);
     }
 
+    @Test
+    void shouldReturnLastPriority() {
+        BoundedLongLongPriorityQueue max = BoundedLongLongPriorityQueue.max(2);
+        assertTrue(Double.isNaN(max.lastPriority()));
+        max.offer(0, 0, 1.0);
+        max.offer(1, 1, 3.0);
+        assertTrue(max.isFull());
+        max.offer(2, 2, 2.0);
+        assertEquals(2.0, max.lastPriority());
+
+        BoundedLongLongPriorityQueue min = BoundedLongLongPriorityQueue.min(2);
+        min.offer(0, 0, 1.0);
+        assertFalse(min.isFull());
+        min.offer(1, 1, 3.0);
+        min.offer(2, 2, 2.0);
+        assertEquals(2.0, min.lastPriority());
+    }
+
+    @Test
+    void shouldOrderEqualPrioritiesByElements() {
+        BoundedLongLongPriorityQueue queue = BoundedLongLongPriorityQueue.max(2);
+
+        assertTrue(queue.offer(3, 0, 1.0));
+        assertTrue(queue.offer(1, 2, 1.0));
+        assertTrue(queue.offer(1, 1, 1.0));
+        assertFalse(queue.offer(2, 0, 1.0));
+
+        assertEquals(List.of(1L, 1L), queue.elements1().boxed().collect(Collectors.toList()));
+        assertEquals(List.of(1L, 2L), queue.elements2().boxed().collect(Collectors.toList()));
+    }
+
     private void assertResults(List<Long> expected, BoundedLongLongPriorityQueue queue) {
         List<Double> expectedPriorities = expected.stream().map(Long::doubleValue).collect(Collectors.toList());
 
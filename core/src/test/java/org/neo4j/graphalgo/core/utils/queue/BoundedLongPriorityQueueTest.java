@@ -89,4 +89,26 @@ class BoundedLongPriorityQueueTest {
         List<Long> actual = queue.elements().boxed().collect(Collectors.toList());
         assertEquals(expected, actual);
     }
+
+    @Test
+    void shouldAcceptAllValuesAfterClear() {
+        List<Long> expected = new ArrayList<>();
+        expected.add(1L);
+        expected.add(0L);
+
+        BoundedLongPriorityQueue queue = BoundedLongPriorityQueue.max(2);
+
+        assertTrue(queue.offer(6, 6.0));
+        assertTrue(queue.offer(5, 5.0));
+        assertFalse(queue.offer(4, 4.0));
+
+        queue.clear();
+        assertEquals(0, queue.size());
+
+        assertTrue(queue.offer(0, 0.0));
+        assertTrue(queue.offer(1, 1.0));
+
+        List<Long> actual = queue.elements().boxed().collect(Collectors.toList());
+        assertEquals(expected, actual);
+    }
 }
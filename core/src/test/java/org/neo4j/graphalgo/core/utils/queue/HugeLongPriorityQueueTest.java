@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2017-2020 "Neo4j,"
+ * Neo4j Sweden AB [http://neo4j.com]
+ *
+ * This file is part of Neo4j.
+ *
+ * Neo4j is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.neo4j.graphalgo.core.utils.queue;
+
+import org.junit.jupiter.api.Test;
+import org.neo4j.graphalgo.core.utils.paged.AllocationTracker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HugeLongPriorityQueueTest {
+
+    @Test
+    void shouldPopInCostOrder() {
+        HugeLongPriorityQueue queue = HugeLongPriorityQueue.min(10, AllocationTracker.EMPTY);
+        queue.add(3, 3.0);
+        queue.add(1, 1.0);
+        queue.add(7, 7.0);
+        queue.add(5, 5.0);
+
+        List<Long> actual = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            actual.add(queue.pop());
+        }
+        assertEquals(Arrays.asList(1L, 3L, 5L, 7L), actual);
+    }
+
+    @Test
+    void shouldPopMaxFirst() {
+        HugeLongPriorityQueue queue = HugeLongPriorityQueue.max(10, AllocationTracker.EMPTY);
+        queue.add(3, 3.0);
+        queue.add(1, 1.0);
+        queue.add(7, 7.0);
+
+        assertEquals(7L, queue.pop());
+        assertEquals(3L, queue.pop());
+        assertEquals(1L, queue.pop());
+    }
+
+    @Test
+    void shouldUpdateCosts() {
+        HugeLongPriorityQueue queue = HugeLongPriorityQueue.min(10, AllocationTracker.EMPTY);
+        queue.add(1, 1.0);
+        queue.add(2, 2.0);
+        queue.add(3, 3.0);
+
+        queue.set(3, 0.5);
+        assertEquals(3L, queue.top());
+        assertEquals(0.5, queue.topCost());
+
+        queue.set(3, 4.0);
+        assertEquals(1L, queue.pop());
+        assertEquals(2L, queue.pop());
+        assertEquals(3L, queue.pop());
+    }
+
+    @Test
+    void shouldClearOnlyContainedElements() {
+        HugeLongPriorityQueue queue = HugeLongPriorityQueue.min(10, AllocationTracker.EMPTY);
+        queue.add(4, 4.0);
+        queue.add(2, 2.0);
+        queue.pop();
+        queue.clear();
+
+        assertTrue(queue.isEmpty());
+        assertFalse(queue.containsElement(2));
+        assertFalse(queue.containsElement(4));
+
+        queue.add(4, 1.0);
+        assertEquals(4L, queue.pop());
+    }
+
+    @Test
+    void shouldMatchSortedOrderForRandomCosts() {
+        int capacity = 1000;
+        Random random = new Random(42);
+        HugeLongPriorityQueue queue = HugeLongPriorityQueue.min(capacity, AllocationTracker.EMPTY);
+        double[] costs = new double[capacity];
+        for (int i = 0; i < capacity; i++) {
+            costs[i] = random.nextDouble();
+            queue.add(i, costs[i]);
+        }
+        for (int i = 0; i < capacity; i += 3) {
+            costs[i] = random.nextDouble();
+            queue.set(i, costs[i]);
+        }
+
+        double[] expected = costs.clone();
+        Arrays.sort(expected);
+        for (double cost : expected) {
+            long element = queue.pop();
+            assertEquals(cost, costs[(int) element]);
+        }
+        assertTrue(queue.isEmpty());
+    }
+}
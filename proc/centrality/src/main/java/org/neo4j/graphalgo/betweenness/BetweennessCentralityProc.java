@@ -52,6 +52,10 @@ final class BetweennessCentralityProc {
             f.equalsIgnoreCase("scoreSum")
         );
 
+        procResultBuilder.approximationError(
+            computeResult.isGraphEmpty() ? 0.0 : computeResult.algorithm().approximationError()
+        );
+
         var result = computeResult.result();
         if (result != null && computeStatistics) {
             ProgressTimer timer = ProgressTimer.start();
@@ -88,6 +92,7 @@ final class BetweennessCentralityProc {
     abstract static class BetweennessCentralityResultBuilder<PROC_RESULT> extends AbstractResultBuilder<PROC_RESULT> {
 
         double minimumScore, maximumScore, scoreSum = -1;
+        double approximationError = 0.0;
         long postProcessingMillis = 0;
 
         BetweennessCentralityResultBuilder<PROC_RESULT> minimumScore(double minimumScore) {
@@ -105,6 +110,11 @@ final class BetweennessCentralityProc {
             return this;
         }
 
+        BetweennessCentralityResultBuilder<PROC_RESULT> approximationError(double approximationError) {
+            this.approximationError = approximationError;
+            return this;
+        }
+
         BetweennessCentralityResultBuilder<PROC_RESULT> withPostProcessingMillis(long postProcessingMillis) {
             this.postProcessingMillis = postProcessingMillis;
             return this;
@@ -93,6 +93,7 @@ public class BetweennessCentralityStatsProc extends StatsProc<BetweennessCentral
         public final double minimumScore;
         public final double maximumScore;
         public final double scoreSum;
+        public final double approximationError;
 
         public final long postProcessingMillis;
         public final long createMillis;
@@ -107,6 +108,7 @@ public class BetweennessCentralityStatsProc extends StatsProc<BetweennessCentral
             double minimumScore,
             double maximumScore,
             double scoreSum,
+            double approximationError,
             Map<String, Object> configuration
         ) {
             this.createMillis = createMillis;
@@ -116,6 +118,7 @@ public class BetweennessCentralityStatsProc extends StatsProc<BetweennessCentral
             this.minimumScore = minimumScore;
             this.maximumScore = maximumScore;
             this.scoreSum = scoreSum;
+            this.approximationError = approximationError;
             this.configuration = configuration;
         }
 
@@ -130,6 +133,7 @@ public class BetweennessCentralityStatsProc extends StatsProc<BetweennessCentral
                     minimumScore,
                     maximumScore,
                     scoreSum,
+                    approximationError,
                     config.toMap()
                 );
             }
@@ -103,6 +103,7 @@ public class BetweennessCentralityWriteProc extends WriteProc<BetweennessCentral
             double minCentrality,
             double maxCentrality,
             double sumCentrality,
+            double approximationError,
             Map<String, Object> config
         ) {
             super(
@@ -112,6 +113,7 @@ public class BetweennessCentralityWriteProc extends WriteProc<BetweennessCentral
                 minCentrality,
                 maxCentrality,
                 sumCentrality,
+                approximationError,
                 config
             );
             this.nodePropertiesWritten = nodePropertiesWritten;
@@ -131,6 +133,7 @@ public class BetweennessCentralityWriteProc extends WriteProc<BetweennessCentral
                     minimumScore,
                     maximumScore,
                     scoreSum,
+                    approximationError,
                     config.toMap()
                 );
             }
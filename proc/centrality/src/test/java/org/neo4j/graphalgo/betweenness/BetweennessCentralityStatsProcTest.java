@@ -61,6 +61,7 @@ public class BetweennessCentralityStatsProcTest extends BetweennessCentralityPro
             "minimumScore", 0.0,
             "maximumScore", 4.0,
             "scoreSum", 10.0,
+            "approximationError", 0.0,
             "createMillis", greaterThan(-1L),
             "computeMillis", greaterThan(-1L),
             "postProcessingMillis", greaterThan(-1L),
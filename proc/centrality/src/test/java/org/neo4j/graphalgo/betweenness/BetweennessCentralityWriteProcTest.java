@@ -74,6 +74,7 @@ class BetweennessCentralityWriteProcTest
             "minimumScore", 0.0,
             "maximumScore", 4.0,
             "scoreSum", 10.0,
+            "approximationError", 0.0,
             "nodePropertiesWritten", 5L,
             "createMillis", greaterThan(-1L),
             "computeMillis", greaterThan(-1L),
@@ -70,12 +70,18 @@ final class LocalClusteringCoefficientCompanion {
             .orElse(EmptyResult.EMPTY_RESULT);
 
         return procResultBuilder
-            .withAverageClusteringCoefficient(result.averageClusteringCoefficient());
+            .withAverageClusteringCoefficient(result.averageClusteringCoefficient())
+            .withAverageClusteringCoefficientBounds(
+                result.averageClusteringCoefficientLowerBound(),
+                result.averageClusteringCoefficientUpperBound()
+            );
     }
 
     abstract static class ResultBuilder<PROC_RESULT> extends AbstractCommunityResultBuilder<PROC_RESULT> {
 
         double averageClusteringCoefficient = 0;
+        double averageClusteringCoefficientLowerBound = 0;
+        double averageClusteringCoefficientUpperBound = 0;
 
         ResultBuilder(ProcedureCallContext callContext, AllocationTracker tracker) {
             super(callContext, tracker);
@@ -85,6 +91,12 @@ final class LocalClusteringCoefficientCompanion {
             this.averageClusteringCoefficient = averageClusteringCoefficient;
             return this;
         }
+
+        ResultBuilder<PROC_RESULT> withAverageClusteringCoefficientBounds(double lowerBound, double upperBound) {
+            this.averageClusteringCoefficientLowerBound = lowerBound;
+            this.averageClusteringCoefficientUpperBound = upperBound;
+            return this;
+        }
     }
 
 
@@ -110,6 +110,8 @@ public class LocalClusteringCoefficientMutateProc extends MutateProc<LocalCluste
 
         public MutateResult(
             double averageClusteringCoefficient,
+            double averageClusteringCoefficientLowerBound,
+            double averageClusteringCoefficientUpperBound,
             long nodeCount,
             long nodePropertiesWritten,
             long createMillis,
@@ -119,6 +121,8 @@ public class LocalClusteringCoefficientMutateProc extends MutateProc<LocalCluste
         ) {
             super(
                 averageClusteringCoefficient,
+                averageClusteringCoefficientLowerBound,
+                averageClusteringCoefficientUpperBound,
                 nodeCount,
                 createMillis,
                 computeMillis,
@@ -142,6 +146,8 @@ public class LocalClusteringCoefficientMutateProc extends MutateProc<LocalCluste
         protected MutateResult buildResult() {
             return new MutateResult(
                 averageClusteringCoefficient,
+                averageClusteringCoefficientLowerBound,
+                averageClusteringCoefficientUpperBound,
                 nodeCount,
                 nodePropertiesWritten,
                 createMillis,
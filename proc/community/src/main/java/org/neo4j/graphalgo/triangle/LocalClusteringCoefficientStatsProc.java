@@ -98,6 +98,8 @@ public class LocalClusteringCoefficientStatsProc extends StatsProc<LocalClusteri
 
     public static class StatsResult {
         public final double averageClusteringCoefficient;
+        public final double averageClusteringCoefficientLowerBound;
+        public final double averageClusteringCoefficientUpperBound;
         public final long nodeCount;
         public final long createMillis;
         public final long computeMillis;
@@ -105,12 +107,16 @@ public class LocalClusteringCoefficientStatsProc extends StatsProc<LocalClusteri
 
         public StatsResult(
             double averageClusteringCoefficient,
+            double averageClusteringCoefficientLowerBound,
+            double averageClusteringCoefficientUpperBound,
             long nodeCount,
             long createMillis,
             long computeMillis,
             Map<String, Object> configuration
         ) {
             this.averageClusteringCoefficient = averageClusteringCoefficient;
+            this.averageClusteringCoefficientLowerBound = averageClusteringCoefficientLowerBound;
+            this.averageClusteringCoefficientUpperBound = averageClusteringCoefficientUpperBound;
             this.createMillis = createMillis;
             this.computeMillis = computeMillis;
             this.nodeCount = nodeCount;
@@ -131,6 +137,8 @@ public class LocalClusteringCoefficientStatsProc extends StatsProc<LocalClusteri
         protected StatsResult buildResult() {
             return new StatsResult(
                 averageClusteringCoefficient,
+                averageClusteringCoefficientLowerBound,
+                averageClusteringCoefficientUpperBound,
                 nodeCount,
                 createMillis,
                 computeMillis,
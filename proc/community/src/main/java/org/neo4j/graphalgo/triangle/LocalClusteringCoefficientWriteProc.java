@@ -111,6 +111,8 @@ public class LocalClusteringCoefficientWriteProc extends WriteProc<LocalClusteri
 
         public WriteResult(
             double averageClusteringCoefficient,
+            double averageClusteringCoefficientLowerBound,
+            double averageClusteringCoefficientUpperBound,
             long nodeCount,
             long createMillis,
             long computeMillis,
@@ -118,7 +120,15 @@ public class LocalClusteringCoefficientWriteProc extends WriteProc<LocalClusteri
             long writeMillis,
             Map<String, Object> configuration
         ) {
-            super(averageClusteringCoefficient, nodeCount, createMillis, computeMillis, configuration);
+            super(
+                averageClusteringCoefficient,
+                averageClusteringCoefficientLowerBound,
+                averageClusteringCoefficientUpperBound,
+                nodeCount,
+                createMillis,
+                computeMillis,
+                configuration
+            );
 
             this.nodePropertiesWritten = nodePropertiesWritten;
             this.writeMillis = writeMillis;
@@ -139,6 +149,8 @@ public class LocalClusteringCoefficientWriteProc extends WriteProc<LocalClusteri
         protected WriteResult buildResult() {
             return new WriteResult(
                 averageClusteringCoefficient,
+                averageClusteringCoefficientLowerBound,
+                averageClusteringCoefficientUpperBound,
                 nodeCount,
                 createMillis,
                 computeMillis,
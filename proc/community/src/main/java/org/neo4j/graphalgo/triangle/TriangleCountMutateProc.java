@@ -103,6 +103,8 @@ public class TriangleCountMutateProc extends MutateProc<IntersectingTriangleCoun
 
         public MutateResult(
             long globalTriangleCount,
+            long globalTriangleCountLowerBound,
+            long globalTriangleCountUpperBound,
             long nodeCount,
             long nodePropertiesWritten,
             long createMillis,
@@ -112,6 +114,8 @@ public class TriangleCountMutateProc extends MutateProc<IntersectingTriangleCoun
         ) {
             super(
                 globalTriangleCount,
+                globalTriangleCountLowerBound,
+                globalTriangleCountUpperBound,
                 nodeCount,
                 createMillis,
                 computeMillis,
@@ -128,6 +132,8 @@ public class TriangleCountMutateProc extends MutateProc<IntersectingTriangleCoun
         public MutateResult build() {
             return new MutateResult(
                 globalTriangleCount,
+                globalTriangleCountLowerBound,
+                globalTriangleCountUpperBound,
                 nodeCount,
                 nodePropertiesWritten,
                 createMillis,
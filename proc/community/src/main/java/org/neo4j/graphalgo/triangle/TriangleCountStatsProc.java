@@ -90,6 +90,8 @@ public class TriangleCountStatsProc extends StatsProc<IntersectingTriangleCount,
 
     public static class StatsResult {
         public final long globalTriangleCount;
+        public final long globalTriangleCountLowerBound;
+        public final long globalTriangleCountUpperBound;
         public final long nodeCount;
         public final long createMillis;
         public final long computeMillis;
@@ -97,6 +99,8 @@ public class TriangleCountStatsProc extends StatsProc<IntersectingTriangleCount,
 
         public StatsResult(
             long globalTriangleCount,
+            long globalTriangleCountLowerBound,
+            long globalTriangleCountUpperBound,
             long nodeCount,
             long createMillis,
             long computeMillis,
@@ -106,6 +110,8 @@ public class TriangleCountStatsProc extends StatsProc<IntersectingTriangleCount,
             this.computeMillis = computeMillis;
             this.nodeCount = nodeCount;
             this.globalTriangleCount = globalTriangleCount;
+            this.globalTriangleCountLowerBound = globalTriangleCountLowerBound;
+            this.globalTriangleCountUpperBound = globalTriangleCountUpperBound;
             this.configuration = configuration;
         }
     }
@@ -116,6 +122,8 @@ public class TriangleCountStatsProc extends StatsProc<IntersectingTriangleCount,
         public StatsResult build() {
             return new StatsResult(
                 globalTriangleCount,
+                globalTriangleCountLowerBound,
+                globalTriangleCountUpperBound,
                 nodeCount,
                 createMillis,
                 computeMillis,
@@ -102,6 +102,8 @@ public class TriangleCountWriteProc extends WriteProc<IntersectingTriangleCount,
 
         public WriteResult(
             long globalTriangleCount,
+            long globalTriangleCountLowerBound,
+            long globalTriangleCountUpperBound,
             long nodeCount,
             long nodePropertiesWritten,
             long createMillis,
@@ -111,6 +113,8 @@ public class TriangleCountWriteProc extends WriteProc<IntersectingTriangleCount,
         ) {
             super(
                 globalTriangleCount,
+                globalTriangleCountLowerBound,
+                globalTriangleCountUpperBound,
                 nodeCount,
                 createMillis,
                 computeMillis,
@@ -128,6 +132,8 @@ public class TriangleCountWriteProc extends WriteProc<IntersectingTriangleCount,
         public WriteResult build() {
             return new WriteResult(
                 globalTriangleCount,
+                globalTriangleCountLowerBound,
+                globalTriangleCountUpperBound,
                 nodeCount,
                 nodePropertiesWritten,
                 createMillis,
@@ -101,6 +101,8 @@ class LocalClusteringCoefficientMutateProcTest
 
         assertCypherResult(query, List.of(Map.of(
             "averageClusteringCoefficient", closeTo(expectedAverageClusteringCoefficient() / 5, 1e-10),
+            "averageClusteringCoefficientLowerBound", closeTo(expectedAverageClusteringCoefficient() / 5, 1e-10),
+            "averageClusteringCoefficientUpperBound", closeTo(expectedAverageClusteringCoefficient() / 5, 1e-10),
             "nodeCount", 5L,
             "createMillis", greaterThan(-1L),
             "computeMillis", greaterThan(-1L),
@@ -119,6 +121,8 @@ class LocalClusteringCoefficientMutateProcTest
 
         assertCypherResult(query, Map.of("mutateProperty", mutateProperty()), List.of(Map.of(
             "averageClusteringCoefficient", closeTo(expectedAverageClusteringCoefficientSeeded() / 5, 1e-10),
+            "averageClusteringCoefficientLowerBound", closeTo(expectedAverageClusteringCoefficientSeeded() / 5, 1e-10),
+            "averageClusteringCoefficientUpperBound", closeTo(expectedAverageClusteringCoefficientSeeded() / 5, 1e-10),
             "nodeCount", 5L,
             "createMillis", greaterThan(-1L),
             "computeMillis", greaterThan(-1L),
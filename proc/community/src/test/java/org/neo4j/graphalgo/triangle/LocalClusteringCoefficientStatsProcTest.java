@@ -39,6 +39,8 @@ class LocalClusteringCoefficientStatsProcTest extends LocalClusteringCoefficient
 
         assertCypherResult(query, List.of(Map.of(
             "averageClusteringCoefficient", closeTo(expectedAverageClusteringCoefficient() / 5, 1e-10),
+            "averageClusteringCoefficientLowerBound", closeTo(expectedAverageClusteringCoefficient() / 5, 1e-10),
+            "averageClusteringCoefficientUpperBound", closeTo(expectedAverageClusteringCoefficient() / 5, 1e-10),
             "nodeCount", 5L,
             "createMillis", greaterThan(-1L),
             "computeMillis", greaterThan(-1L),
@@ -52,6 +54,8 @@ class LocalClusteringCoefficientStatsProcTest extends LocalClusteringCoefficient
 
         assertCypherResult(query, List.of(Map.of(
             "averageClusteringCoefficient", closeTo(expectedAverageClusteringCoefficientSeeded() / 5, 1e-10),
+            "averageClusteringCoefficientLowerBound", closeTo(expectedAverageClusteringCoefficientSeeded() / 5, 1e-10),
+            "averageClusteringCoefficientUpperBound", closeTo(expectedAverageClusteringCoefficientSeeded() / 5, 1e-10),
             "nodeCount", 5L,
             "createMillis", greaterThan(-1L),
             "computeMillis", greaterThan(-1L),
@@ -86,6 +86,8 @@ class TriangleCountMutateProcTest
 
         assertCypherResult(query, List.of(Map.of(
             "globalTriangleCount", 1L,
+            "globalTriangleCountLowerBound", 1L,
+            "globalTriangleCountUpperBound", 1L,
             "nodeCount", 3L,
             "createMillis", greaterThan(-1L),
             "computeMillis", greaterThan(-1L),
@@ -120,6 +122,8 @@ class TriangleCountMutateProcTest
 
         assertCypherResult(query, List.of(Map.of(
             "globalTriangleCount", 0L,
+            "globalTriangleCountLowerBound", 0L,
+            "globalTriangleCountUpperBound", 0L,
             "nodeCount", 4L,
             "createMillis", greaterThan(-1L),
             "computeMillis", greaterThan(-1L),
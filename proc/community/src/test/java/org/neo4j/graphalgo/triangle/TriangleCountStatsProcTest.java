@@ -30,7 +30,10 @@ import java.util.Map;
 import java.util.Optional;
 
 import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.isA;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 
 class TriangleCountStatsProcTest extends TriangleCountBaseProcTest<TriangleCountStatsConfig> {
 
@@ -44,6 +47,8 @@ class TriangleCountStatsProcTest extends TriangleCountBaseProcTest<TriangleCount
 
         assertCypherResult(query, List.of(Map.of(
             "globalTriangleCount", 1L,
+            "globalTriangleCountLowerBound", 1L,
+            "globalTriangleCountUpperBound", 1L,
             "nodeCount", 3L,
             "createMillis", greaterThan(-1L),
             "computeMillis", greaterThan(-1L),
@@ -68,6 +73,8 @@ class TriangleCountStatsProcTest extends TriangleCountBaseProcTest<TriangleCount
 
         assertCypherResult(query, List.of(Map.of(
             "globalTriangleCount", 0L,
+            "globalTriangleCountLowerBound", 0L,
+            "globalTriangleCountUpperBound", 0L,
             "nodeCount", 4L,
             "createMillis", greaterThan(-1L),
             "computeMillis", greaterThan(-1L),
@@ -75,6 +82,52 @@ class TriangleCountStatsProcTest extends TriangleCountBaseProcTest<TriangleCount
         )));
     }
 
+    @Test
+    void testStatsInSamplingMode() {
+        // connect a hub to a ring of 100 nodes, which adds 100 triangles
+        runQuery("CREATE (hub) " +
+                 "WITH hub UNWIND range(0, 99) AS i " +
+                 "CREATE (hub)-[:T]->(:Ring {i: i})");
+        runQuery("MATCH (a:Ring), (b:Ring) " +
+                 "WHERE b.i = (a.i + 1) % 100 " +
+                 "CREATE (a)-[:T]->(b)");
+
+        // 726 samples per node, the hub has 4950 wedges
+        var query = GdsCypher.call()
+            .loadEverything(Orientation.UNDIRECTED)
+            .algo("triangleCount")
+            .statsMode()
+            .addParameter("mode", "SAMPLING")
+            .addParameter("errorBound", 0.1)
+            .addParameter("confidenceLevel", 0.999999)
+            .yields();
+
+        assertCypherResult(query, List.of(Map.of(
+            "globalTriangleCount", greaterThan(-1L),
+            "globalTriangleCountLowerBound", lessThanOrEqualTo(101L),
+            "globalTriangleCountUpperBound", greaterThanOrEqualTo(101L),
+            "nodeCount", 104L,
+            "createMillis", greaterThan(-1L),
+            "computeMillis", greaterThan(-1L),
+            "configuration", isA(Map.class)
+        )));
+
+        var seededQuery = GdsCypher.call()
+            .loadEverything(Orientation.UNDIRECTED)
+            .algo("triangleCount")
+            .statsMode()
+            .addParameter("mode", "SAMPLING")
+            .addParameter("errorBound", 0.1)
+            .addParameter("confidenceLevel", 0.999999)
+            .addParameter("randomSeed", 42L)
+            .yields("globalTriangleCount");
+
+        long seededEstimate = runQuery(seededQuery, result -> result.<Long>columnAs("globalTriangleCount").next());
+        for (int run = 0; run < 3; run++) {
+            assertEquals(seededEstimate, runQuery(seededQuery, result -> result.<Long>columnAs("globalTriangleCount").next()));
+        }
+    }
+
     @Override
     public Class<? extends AlgoBaseProc<IntersectingTriangleCount, IntersectingTriangleCount.TriangleCountResult, TriangleCountStatsConfig>> getProcedureClazz() {
         return TriangleCountStatsProc.class;
@@ -44,9 +44,12 @@ public class NodeSimilarityStreamProc extends StreamProc<NodeSimilarity, NodeSim
         @Name(value = "graphName") Object graphNameOrConfig,
         @Name(value = "configuration", defaultValue = "{}") Map<String, Object> configuration
     ) {
+        // the similarities are computed lazily, so the neighbour vectors are released once the stream is closed
         ComputationResult<NodeSimilarity, NodeSimilarityResult, NodeSimilarityStreamConfig> result = compute(
             graphNameOrConfig,
-            configuration
+            configuration,
+            false,
+            true
         );
         Graph graph = result.graph();
 
@@ -55,12 +58,14 @@ public class NodeSimilarityStreamProc extends StreamProc<NodeSimilarity, NodeSim
             return Stream.empty();
         }
 
+        NodeSimilarity algorithm = result.algorithm();
         return result.result().maybeStreamResult().get()
             .map(similarityResult -> {
                 similarityResult.node1 = graph.toOriginalNodeId(similarityResult.node1);
                 similarityResult.node2 = graph.toOriginalNodeId(similarityResult.node2);
                 return similarityResult;
-            });
+            })
+            .onClose(algorithm::release);
     }
 
     @Procedure(value = "gds.nodeSimilarity.stream.estimate", mode = READ)
@@ -31,21 +31,31 @@ import org.neo4j.graphalgo.compat.MapUtil;
 import org.neo4j.graphalgo.functions.IsFiniteFunc;
 import org.neo4j.graphalgo.functions.OneHotEncodingFunc;
 import org.neo4j.graphalgo.linkprediction.LinkPredictionFunc;
+import org.neo4j.graphalgo.linkprediction.LinkPredictionMutateProc;
+import org.neo4j.graphalgo.linkprediction.LinkPredictionStreamProc;
+import org.neo4j.graphalgo.linkprediction.LinkPredictionWriteProc;
 import org.neo4j.graphalgo.scc.SccProc;
 import org.neo4j.graphalgo.shortestpath.ShortestPathDeltaSteppingProc;
 import org.neo4j.graphalgo.shortestpaths.AllShortestPathsProc;
 import org.neo4j.graphalgo.shortestpaths.DijkstraProc;
 import org.neo4j.graphalgo.shortestpaths.KShortestPathsProc;
 import org.neo4j.graphalgo.shortestpaths.ShortestPathAStarProc;
+import org.neo4j.graphalgo.shortestpaths.ShortestPathBatchProc;
+import org.neo4j.graphalgo.shortestpaths.ShortestPathLandmarksProc;
 import org.neo4j.graphalgo.shortestpaths.ShortestPathsProc;
+import org.neo4j.graphalgo.similarity.ApproxNearestNeighborsMutateProc;
 import org.neo4j.graphalgo.similarity.ApproxNearestNeighborsProc;
+import org.neo4j.graphalgo.similarity.ApproxNearestNeighborsQueryProc;
 import org.neo4j.graphalgo.similarity.CosineProc;
 import org.neo4j.graphalgo.similarity.EuclideanProc;
 import org.neo4j.graphalgo.similarity.OverlapProc;
 import org.neo4j.graphalgo.similarity.PearsonProc;
 import org.neo4j.graphalgo.similarity.SimilaritiesFunc;
 import org.neo4j.graphalgo.spanningtree.KSpanningTreeProc;
+import org.neo4j.graphalgo.spanningtree.SpanningForestStreamProc;
+import org.neo4j.graphalgo.spanningtree.SpanningForestWriteProc;
 import org.neo4j.graphalgo.spanningtree.SpanningTreeProc;
+import org.neo4j.graphalgo.traverse.BfsProc;
 import org.neo4j.graphalgo.traverse.TraverseProc;
 import org.neo4j.graphalgo.triangle.TriangleProc;
 import org.neo4j.graphalgo.walking.RandomWalkProc;
@@ -83,6 +93,7 @@ class AlphaListProcTest extends BaseProcTest {
         "gds.alpha.randomWalk.stream",
         "gds.alpha.shortestPath.write",
         "gds.alpha.shortestPath.stream",
+        "gds.alpha.shortestPath.batch.stream",
         "gds.alpha.shortestPaths.write",
         "gds.alpha.shortestPaths.stream",
         "gds.alpha.similarity.cosine.write",
@@ -97,6 +108,10 @@ class AlphaListProcTest extends BaseProcTest {
         "gds.alpha.similarity.pearson.write",
         "gds.alpha.similarity.pearson.stream",
         "gds.alpha.similarity.pearson.stats",
+        "gds.alpha.spanningForest.minimum.stream",
+        "gds.alpha.spanningForest.maximum.stream",
+        "gds.alpha.spanningForest.minimum.write",
+        "gds.alpha.spanningForest.maximum.write",
         "gds.alpha.spanningTree.write",
         "gds.alpha.spanningTree.kmax.write",
         "gds.alpha.spanningTree.kmin.write",
@@ -107,9 +122,15 @@ class AlphaListProcTest extends BaseProcTest {
         "gds.alpha.eigenvector.stream",
         "gds.alpha.kShortestPaths.write",
         "gds.alpha.kShortestPaths.stream",
+        "gds.alpha.linkprediction.stream",
+        "gds.alpha.linkprediction.mutate",
+        "gds.alpha.linkprediction.write",
         "gds.alpha.ml.ann.write",
         "gds.alpha.ml.ann.stream",
-        "gds.alpha.shortestPath.astar.stream"
+        "gds.alpha.ml.ann.mutate",
+        "gds.alpha.ml.ann.query.stream",
+        "gds.alpha.shortestPath.astar.stream",
+        "gds.alpha.shortestPath.landmarks.mutate"
     ));
 
     private static final Collection<String> FUNCTIONS = new HashSet<>(asList(
@@ -142,7 +163,10 @@ class AlphaListProcTest extends BaseProcTest {
         registerProcedures(
             AllShortestPathsProc.class,
             ApproxNearestNeighborsProc.class,
+            ApproxNearestNeighborsMutateProc.class,
+            ApproxNearestNeighborsQueryProc.class,
             ArticleRankProc.class,
+            BfsProc.class,
             ClosenessCentralityProc.class,
             DegreeCentralityProc.class,
             DijkstraProc.class,
@@ -151,6 +175,9 @@ class AlphaListProcTest extends BaseProcTest {
             IsFiniteFunc.class,
             KShortestPathsProc.class,
             KSpanningTreeProc.class,
+            LinkPredictionMutateProc.class,
+            LinkPredictionStreamProc.class,
+            LinkPredictionWriteProc.class,
             ListProc.class,
             CosineProc.class,
             EuclideanProc.class,
@@ -158,9 +185,13 @@ class AlphaListProcTest extends BaseProcTest {
             PearsonProc.class,
             RandomWalkProc.class,
             OneHotEncodingFunc.class,
+            SpanningForestStreamProc.class,
+            SpanningForestWriteProc.class,
             SpanningTreeProc.class,
             ShortestPathDeltaSteppingProc.class,
             ShortestPathAStarProc.class,
+            ShortestPathBatchProc.class,
+            ShortestPathLandmarksProc.class,
             ShortestPathsProc.class,
             SimilaritiesFunc.class,
             SccProc.class,
@@ -188,7 +219,9 @@ class AlphaListProcTest extends BaseProcTest {
     @Test
     void listFunctions() {
         Set<String> actual = listProcs("adamicAdar");
-        actual.addAll(listProcs("linkprediction"));
+        actual.addAll(listProcs("linkprediction").stream()
+            .filter(name -> !name.matches(".*(stream|mutate|write)$")).collect(
+            Collectors.toList()));
         Set<String> similarity = listProcs("similarity");
         actual.addAll(similarity.stream()
             .filter(name -> !name.matches(".*(stream|write|stats)$")).collect(